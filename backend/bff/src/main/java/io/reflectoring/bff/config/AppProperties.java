@@ -8,6 +8,8 @@ public class AppProperties {
     private String baseUrl;
     private String resourceServerUrl;
     private String frontServerUrl;
+    /** Upper bound on upstream timer streams held open at once, one per user. */
+    private int timerRelayLimit = 256;
 
     public String getBaseUrl() {
         return this.baseUrl;
@@ -33,4 +35,12 @@ public class AppProperties {
         this.frontServerUrl = frontServerUrl;
     }
 
+    public int getTimerRelayLimit() {
+        return this.timerRelayLimit;
+    }
+
+    public void setTimerRelayLimit(int timerRelayLimit) {
+        this.timerRelayLimit = timerRelayLimit;
+    }
+
 }
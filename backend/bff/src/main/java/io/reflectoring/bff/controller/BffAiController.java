@@ -2,6 +2,7 @@ package io.reflectoring.bff.controller;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
 import org.springframework.security.oauth2.client.annotation.RegisteredOAuth2AuthorizedClient;
@@ -11,6 +12,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.client.RestClientResponseException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import io.reflectoring.bff.dto.AiTaskDto;
 import io.reflectoring.bff.service.BffAiService;
@@ -71,6 +73,24 @@ public class BffAiController {
                 }
         }
 
+        /**
+         * 会話型タスク管理（ストリーミング）
+         * 
+         * Resource Serverの /api/ai/tasks/chat/stream を中継し、
+         * "token" / "advice" / "result" / "title" / "error" イベントを届いた順に返す。
+         * 
+         * @param request 会話リクエスト（conversationId + prompt + currentTasks）
+         * @param client  OAuth2認証クライアント
+         * @return イベントストリーム
+         */
+        @PostMapping(value = "/tasks/chat/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+        public SseEmitter streamChat(
+                        @RequestBody AiTaskDto.ChatAnalysisRequest request,
+                        @RegisteredOAuth2AuthorizedClient("bff-client") OAuth2AuthorizedClient client) {
+                log.info("[POST /api/ai/tasks/chat/stream] Request by user: {}", client.getPrincipalName());
+                return aiService.streamChat(request, client.getAccessToken().getTokenValue());
+        }
+
         /**
          * ツール対応の会話型タスク管理
          * 
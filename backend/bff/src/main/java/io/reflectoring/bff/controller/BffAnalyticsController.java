@@ -10,6 +10,8 @@ import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
 import org.springframework.security.oauth2.client.annotation.RegisteredOAuth2AuthorizedClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -67,6 +69,83 @@ public class BffAnalyticsController {
         }
     }
 
+    @GetMapping("/session-distribution")
+    public ResponseEntity<AnalyticsDto.SessionDistribution> getSessionDistribution(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RegisteredOAuth2AuthorizedClient("bff-client") OAuth2AuthorizedClient client) {
+        log.info("[GET /api/analytics/session-distribution] Request by user: {} from {} to {}",
+                client.getPrincipalName(), startDate, endDate);
+        try {
+            AnalyticsDto.SessionDistribution data = analyticsService.getSessionDistribution(
+                    startDate, endDate, client.getAccessToken().getTokenValue());
+            return ResponseEntity.ok(data);
+        } catch (RestClientResponseException e) {
+            log.error("[GET /api/analytics/session-distribution] Error: {}", e.getMessage());
+            return ResponseEntity.status(e.getStatusCode()).body(null);
+        } catch (Exception e) {
+            log.error("[GET /api/analytics/session-distribution] Error: {}", e.getMessage());
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    @GetMapping("/hourly-profile")
+    public ResponseEntity<AnalyticsDto.HourlyProfile> getHourlyProfile(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RegisteredOAuth2AuthorizedClient("bff-client") OAuth2AuthorizedClient client) {
+        log.info("[GET /api/analytics/hourly-profile] Request by user: {} from {} to {}",
+                client.getPrincipalName(), startDate, endDate);
+        try {
+            AnalyticsDto.HourlyProfile data = analyticsService.getHourlyProfile(
+                    startDate, endDate, client.getAccessToken().getTokenValue());
+            return ResponseEntity.ok(data);
+        } catch (RestClientResponseException e) {
+            log.error("[GET /api/analytics/hourly-profile] Error: {}", e.getMessage());
+            return ResponseEntity.status(e.getStatusCode()).body(null);
+        } catch (Exception e) {
+            log.error("[GET /api/analytics/hourly-profile] Error: {}", e.getMessage());
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    @GetMapping("/estimation-trend")
+    public ResponseEntity<AnalyticsDto.EstimationAccuracy[]> getEstimationTrend(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RegisteredOAuth2AuthorizedClient("bff-client") OAuth2AuthorizedClient client) {
+        log.info("[GET /api/analytics/estimation-trend] Request by user: {} from {} to {}",
+                client.getPrincipalName(), startDate, endDate);
+        try {
+            AnalyticsDto.EstimationAccuracy[] data = analyticsService.getEstimationTrend(
+                    startDate, endDate, client.getAccessToken().getTokenValue());
+            return ResponseEntity.ok(data);
+        } catch (RestClientResponseException e) {
+            log.error("[GET /api/analytics/estimation-trend] Error: {}", e.getMessage());
+            return ResponseEntity.status(e.getStatusCode()).body(null);
+        } catch (Exception e) {
+            log.error("[GET /api/analytics/estimation-trend] Error: {}", e.getMessage());
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    @PostMapping("/query")
+    public ResponseEntity<AnalyticsDto.QueryResult> query(
+            @RequestBody AnalyticsDto.AnalyticsQuery query,
+            @RegisteredOAuth2AuthorizedClient("bff-client") OAuth2AuthorizedClient client) {
+        log.info("[POST /api/analytics/query] Request by user: {}", client.getPrincipalName());
+        try {
+            AnalyticsDto.QueryResult data = analyticsService.query(query, client.getAccessToken().getTokenValue());
+            return ResponseEntity.ok(data);
+        } catch (RestClientResponseException e) {
+            log.error("[POST /api/analytics/query] Error: {}", e.getMessage());
+            return ResponseEntity.status(e.getStatusCode()).body(null);
+        } catch (Exception e) {
+            log.error("[POST /api/analytics/query] Error: {}", e.getMessage());
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
     @GetMapping("/focus-by-category")
     public ResponseEntity<AnalyticsDto.DailyFocusByCategory[]> getDailyFocusByCategory(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
@@ -164,6 +243,58 @@ public class BffAnalyticsController {
         }
     }
 
+    @GetMapping("/heatmap")
+    public ResponseEntity<AnalyticsDto.YearlyHeatmapDto> getYearlyHeatmap(
+            @RequestParam int year,
+            @RegisteredOAuth2AuthorizedClient("bff-client") OAuth2AuthorizedClient client) {
+        log.info("[GET /api/analytics/heatmap?year={}] Request by user: {}", year, client.getPrincipalName());
+        try {
+            AnalyticsDto.YearlyHeatmapDto data = analyticsService.getYearlyHeatmap(
+                    year, client.getAccessToken().getTokenValue());
+            return ResponseEntity.ok(data);
+        } catch (RestClientResponseException e) {
+            log.error("[GET /api/analytics/heatmap] Error: {}", e.getMessage());
+            return ResponseEntity.status(e.getStatusCode()).body(null);
+        } catch (Exception e) {
+            log.error("[GET /api/analytics/heatmap] Error: {}", e.getMessage());
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    @GetMapping("/records")
+    public ResponseEntity<AnalyticsDto.FocusRecords> getFocusRecords(
+            @RegisteredOAuth2AuthorizedClient("bff-client") OAuth2AuthorizedClient client) {
+        log.info("[GET /api/analytics/records] Request by user: {}", client.getPrincipalName());
+        try {
+            AnalyticsDto.FocusRecords data = analyticsService.getFocusRecords(
+                    client.getAccessToken().getTokenValue());
+            return ResponseEntity.ok(data);
+        } catch (RestClientResponseException e) {
+            log.error("[GET /api/analytics/records] Error: {}", e.getMessage());
+            return ResponseEntity.status(e.getStatusCode()).body(null);
+        } catch (Exception e) {
+            log.error("[GET /api/analytics/records] Error: {}", e.getMessage());
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    @GetMapping("/habits")
+    public ResponseEntity<AnalyticsDto.Habit[]> getHabits(
+            @RegisteredOAuth2AuthorizedClient("bff-client") OAuth2AuthorizedClient client) {
+        log.info("[GET /api/analytics/habits] Request by user: {}", client.getPrincipalName());
+        try {
+            AnalyticsDto.Habit[] data = analyticsService.getHabits(
+                    client.getAccessToken().getTokenValue());
+            return ResponseEntity.ok(data);
+        } catch (RestClientResponseException e) {
+            log.error("[GET /api/analytics/habits] Error: {}", e.getMessage());
+            return ResponseEntity.status(e.getStatusCode()).body(null);
+        } catch (Exception e) {
+            log.error("[GET /api/analytics/habits] Error: {}", e.getMessage());
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
     @GetMapping("/weekly")
     public ResponseEntity<AnalyticsDto.WeeklyAnalyticsDto> getWeeklyAnalytics(
             @RequestParam String startDate,
@@ -50,6 +50,42 @@ public class BffFocusSessionController {
         }
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<FocusSessionDto.BatchRecordResponse> recordSessions(
+            @RequestBody FocusSessionDto.BatchRecordRequest request,
+            @RegisteredOAuth2AuthorizedClient("bff-client") OAuth2AuthorizedClient client) {
+        log.info("[POST /api/focus-sessions/batch] Request by user: {}", client.getPrincipalName());
+        try {
+            FocusSessionDto.BatchRecordResponse response = focusSessionService.recordSessions(
+                    request, client.getAccessToken().getTokenValue());
+            return ResponseEntity.ok(response);
+        } catch (RestClientResponseException e) {
+            log.error("[POST /api/focus-sessions/batch] Error: {}", e.getMessage());
+            return ResponseEntity.status(e.getStatusCode()).body(null);
+        } catch (Exception e) {
+            log.error("[POST /api/focus-sessions/batch] Error: {}", e.getMessage());
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    @PostMapping("/{id}/progress")
+    public ResponseEntity<Void> recordProgress(
+            @PathVariable Long id,
+            @RequestBody FocusSessionDto.ProgressRequest request,
+            @RegisteredOAuth2AuthorizedClient("bff-client") OAuth2AuthorizedClient client) {
+        log.debug("[POST /api/focus-sessions/{}/progress] Request by user: {}", id, client.getPrincipalName());
+        try {
+            focusSessionService.recordProgress(id, request, client.getAccessToken().getTokenValue());
+            return ResponseEntity.accepted().build();
+        } catch (RestClientResponseException e) {
+            log.error("[POST /api/focus-sessions/{}/progress] Error: {}", id, e.getMessage());
+            return ResponseEntity.status(e.getStatusCode()).build();
+        } catch (Exception e) {
+            log.error("[POST /api/focus-sessions/{}/progress] Error: {}", id, e.getMessage());
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
     @GetMapping("/efficiency/{date}")
     public ResponseEntity<FocusSessionDto.EfficiencyStats> getEfficiencyStats(
             @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
@@ -121,4 +157,24 @@ public class BffFocusSessionController {
             return ResponseEntity.internalServerError().build();
         }
     }
+
+    @GetMapping("/comparison")
+    public ResponseEntity<FocusSessionDto.PeriodComparison> getPeriodComparison(
+            @RequestParam String unit,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(defaultValue = "2") int periods,
+            @RegisteredOAuth2AuthorizedClient("bff-client") OAuth2AuthorizedClient client) {
+        log.info("[GET /api/focus-sessions/comparison] Request by user: {}", client.getPrincipalName());
+        try {
+            FocusSessionDto.PeriodComparison comparison = focusSessionService.getPeriodComparison(
+                    unit, date, periods, client.getAccessToken().getTokenValue());
+            return ResponseEntity.ok(comparison);
+        } catch (RestClientResponseException e) {
+            log.error("[GET /api/focus-sessions/comparison] Error: {}", e.getMessage());
+            return ResponseEntity.status(e.getStatusCode()).body(null);
+        } catch (Exception e) {
+            log.error("[GET /api/focus-sessions/comparison] Error: {}", e.getMessage());
+            return ResponseEntity.internalServerError().build();
+        }
+    }
 }
@@ -209,6 +209,25 @@ public class BffTaskController {
         }
     }
 
+    @PostMapping("/tasks/stats/ranges")
+    public ResponseEntity<io.reflectoring.bff.dto.TaskDto.Stats[]> getTaskStatsForRanges(
+            @RequestBody List<TaskDto.StatsRange> ranges,
+            @RegisteredOAuth2AuthorizedClient("bff-client") OAuth2AuthorizedClient client) {
+        log.info("[POST /api/tasks/stats/ranges] Request by user: {} for {} ranges", client.getPrincipalName(),
+                ranges != null ? ranges.size() : 0);
+        try {
+            io.reflectoring.bff.dto.TaskDto.Stats[] stats = taskService.getTaskStatsForRanges(
+                    ranges, client.getAccessToken().getTokenValue());
+            return ResponseEntity.ok(stats);
+        } catch (RestClientResponseException e) {
+            log.error("[POST /api/tasks/stats/ranges] Error: {}", e.getMessage());
+            return ResponseEntity.status(e.getStatusCode()).body(null);
+        } catch (Exception e) {
+            log.error("[POST /api/tasks/stats/ranges] Error: {}", e.getMessage());
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
     @PatchMapping("/tasks/bulk")
     public ResponseEntity<TaskDto.BulkOperationResult> bulkUpdateTasks(
             @RequestBody TaskDto.BulkUpdate request,
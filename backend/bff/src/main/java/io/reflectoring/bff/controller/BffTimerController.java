@@ -0,0 +1,68 @@
+package io.reflectoring.bff.controller;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
+import org.springframework.security.oauth2.client.annotation.RegisteredOAuth2AuthorizedClient;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.client.RestClientResponseException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import io.reflectoring.bff.dto.TimerDto;
+import io.reflectoring.bff.service.BffTimerService;
+
+@RestController
+@RequestMapping("/api/timer")
+public class BffTimerController {
+
+    private static final Logger log = LoggerFactory.getLogger(BffTimerController.class);
+    private final BffTimerService timerService;
+
+    public BffTimerController(BffTimerService timerService) {
+        this.timerService = timerService;
+    }
+
+    @GetMapping("/state")
+    public ResponseEntity<TimerDto.State> getState(
+            @RegisteredOAuth2AuthorizedClient("bff-client") OAuth2AuthorizedClient client) {
+        log.info("[GET /api/timer/state] Request by user: {}", client.getPrincipalName());
+        try {
+            return ResponseEntity.ok(timerService.getState(client.getAccessToken().getTokenValue()));
+        } catch (RestClientResponseException e) {
+            log.error("[GET /api/timer/state] Error: {}", e.getMessage());
+            return ResponseEntity.status(e.getStatusCode()).build();
+        } catch (Exception e) {
+            log.error("[GET /api/timer/state] Error: {}", e.getMessage());
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    @PutMapping("/state")
+    public ResponseEntity<TimerDto.State> updateState(
+            @RequestBody TimerDto.Update update,
+            @RegisteredOAuth2AuthorizedClient("bff-client") OAuth2AuthorizedClient client) {
+        log.info("[PUT /api/timer/state] Request by user: {}", client.getPrincipalName());
+        try {
+            return ResponseEntity.ok(timerService.updateState(update, client.getAccessToken().getTokenValue()));
+        } catch (RestClientResponseException e) {
+            log.error("[PUT /api/timer/state] Error: {}", e.getMessage());
+            return ResponseEntity.status(e.getStatusCode()).build();
+        } catch (Exception e) {
+            log.error("[PUT /api/timer/state] Error: {}", e.getMessage());
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(
+            @RegisteredOAuth2AuthorizedClient("bff-client") OAuth2AuthorizedClient client) {
+        log.info("[GET /api/timer/stream] Request by user: {}", client.getPrincipalName());
+        return timerService.subscribe(client.getPrincipalName(), client.getAccessToken().getTokenValue());
+    }
+}
@@ -29,6 +29,96 @@ public class AnalyticsDto {
                 private java.util.Map<String, List<CategoryFocusTime>> categoryAggregation;
         }
 
+        public record SessionDistribution(
+                        int sessionCount,
+                        int bucketMinutes,
+                        int[] lengthBuckets,
+                        double p50Minutes,
+                        double p90Minutes,
+                        int[] interruptionBuckets,
+                        List<ScheduledDurationCompletion> completionByScheduledDuration) {
+        }
+
+        public record HourlyProfile(
+                        LocalDate startDate,
+                        LocalDate endDate,
+                        int[][] focusMinutes) {
+        }
+
+        public record EstimationAccuracy(
+                        LocalDate weekStart,
+                        Long categoryId,
+                        String categoryName,
+                        int completedTasks,
+                        Double accuracy) {
+        }
+
+        public record AnalyticsQuery(
+                        List<String> dimensions,
+                        List<String> metrics,
+                        LocalDate startDate,
+                        LocalDate endDate,
+                        QueryFilter filter) {
+        }
+
+        public record QueryFilter(
+                        List<Long> categoryIds,
+                        List<Long> taskListIds,
+                        List<Long> taskIds) {
+        }
+
+        public record QueryResult(
+                        List<String> dimensions,
+                        List<String> metrics,
+                        List<QueryRow> rows) {
+        }
+
+        public record QueryRow(
+                        List<Object> keys,
+                        List<Double> values) {
+        }
+
+        public record ScheduledDurationCompletion(
+                        int scheduledMinutes,
+                        int totalCount,
+                        int completedCount,
+                        double completionRate) {
+        }
+
+        public record Habit(
+                        Long seriesId,
+                        String title,
+                        int dueCount,
+                        int completedCount,
+                        int missedCount,
+                        double completionRate,
+                        int currentRun,
+                        LocalDate lastCompletedDate) {
+        }
+
+        public record FocusRecords(
+                        int currentStreak,
+                        int longestStreak,
+                        LocalDate lastFocusDate,
+                        LocalDate bestDayDate,
+                        long bestDayMinutes,
+                        LocalDate bestWeekStart,
+                        long bestWeekMinutes) {
+        }
+
+        /**
+         * Year-long heatmap; index i of each array is startDate + i days.
+         */
+        @lombok.Data
+        @lombok.NoArgsConstructor
+        @lombok.AllArgsConstructor
+        public static class YearlyHeatmapDto {
+                private int year;
+                private LocalDate startDate;
+                private int[] focusMinutes;
+                private int[] completedTasks;
+        }
+
         @lombok.Data
         @lombok.Builder
         @lombok.NoArgsConstructor
@@ -39,6 +129,8 @@ public class AnalyticsDto {
                 private List<DailyFocusByCategory> dailyFocusData;
                 private List<CategoryFocusTime> categoryAggregation;
                 private List<GroupedTaskSummary> taskSummaries;
+                private boolean partial;
+                private List<String> timedOutSections;
         }
 
         @lombok.Data
@@ -49,6 +141,8 @@ public class AnalyticsDto {
                 private KpiData kpi;
                 private List<TaskSummary> taskSummaries;
                 private List<FocusSessionData> focusSessions;
+                private boolean partial;
+                private List<String> timedOutSections;
 
                 @lombok.Data
                 @lombok.Builder
@@ -17,6 +17,22 @@ public class FocusSessionDto {
                 private Integer actualDuration;
                 private java.time.LocalDateTime startedAt;
                 private java.time.LocalDateTime endedAt;
+                private String clientSessionId; // Optional: UUID of sessions recorded offline
+        }
+
+        public record BatchRecordRequest(
+                        java.util.List<RecordRequest> sessions) {
+        }
+
+        public record BatchRecordResponse(
+                        Integer received,
+                        Integer recorded,
+                        Integer duplicates) {
+        }
+
+        public record ProgressRequest(
+                        Integer actualDuration,
+                        java.time.LocalDateTime endedAt) {
         }
 
         public record EfficiencyStats(
@@ -56,4 +72,16 @@ public class FocusSessionDto {
                         Integer totalSeconds,
                         Integer gapSeconds) {
         }
+
+        public record PeriodTotal(
+                        LocalDate startDate,
+                        LocalDate endDate,
+                        Integer totalSeconds,
+                        Integer deltaSeconds) {
+        }
+
+        public record PeriodComparison(
+                        String unit,
+                        java.util.List<PeriodTotal> periods) {
+        }
 }
@@ -104,6 +104,12 @@ public class TaskDto {
                         @Schema(description = "Total actual minutes") Integer totalActualMinutes) {
         }
 
+        @Schema(name = "TaskStatsRange")
+        public record StatsRange(
+                        @Schema(description = "Start date (inclusive)") LocalDate startDate,
+                        @Schema(description = "End date (inclusive)") LocalDate endDate) {
+        }
+
         @Schema(name = "TaskBulkUpdate")
         public record BulkUpdate(
                         @Schema(description = "List of task IDs to update") List<Long> taskIds,
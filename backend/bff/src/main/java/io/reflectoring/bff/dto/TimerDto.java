@@ -0,0 +1,30 @@
+package io.reflectoring.bff.dto;
+
+import java.time.Instant;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+public class TimerDto {
+
+    public record Update(
+            Long taskId,
+            String phase,
+            String status,
+            Integer durationSeconds,
+            Integer remainingSeconds,
+            Long sessionId) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record State(
+            Long taskId,
+            String phase,
+            String status,
+            Integer durationSeconds,
+            Integer remainingSeconds,
+            Instant endsAt,
+            Long sessionId,
+            long version,
+            Instant updatedAt) {
+    }
+}
@@ -1,13 +1,23 @@
 package io.reflectoring.bff.service;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClient;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import io.reflectoring.bff.config.AppProperties;
 import io.reflectoring.bff.dto.AiTaskDto;
+import jakarta.annotation.PreDestroy;
 
 /**
  * AI機能のBFFサービス
@@ -18,8 +28,15 @@ import io.reflectoring.bff.dto.AiTaskDto;
 public class BffAiService {
 
         private static final Logger log = LoggerFactory.getLogger(BffAiService.class);
+        private static final long STREAM_TIMEOUT_MILLIS = Duration.ofMinutes(3).toMillis();
         private final RestClient restClient;
         private final String resourceUrl;
+        // Readers block on the upstream chat stream, one per streamed answer
+        private final ExecutorService streamReaders = Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "ai-chat-relay");
+                thread.setDaemon(true);
+                return thread;
+        });
 
         public BffAiService(RestClient.Builder builder, AppProperties appProperties) {
                 this.restClient = builder.baseUrl(appProperties.getResourceServerUrl()).build();
@@ -53,6 +70,95 @@ public class BffAiService {
                 return response;
         }
 
+        /**
+         * 会話型タスク管理（ストリーミング）
+         * Resource Serverの /api/ai/tasks/chat/stream を中継する。
+         * イベントはバッファせず、届いたものから順にブラウザへ送る。
+         */
+        public SseEmitter streamChat(AiTaskDto.ChatAnalysisRequest request, String token) {
+                log.info("AI Chat stream - prompt: {}, currentTasksCount: {}",
+                                request.prompt(),
+                                request.currentTasks() != null ? request.currentTasks().size() : 0);
+
+                SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MILLIS);
+                AtomicReference<InputStream> upstream = new AtomicReference<>();
+                AtomicBoolean closed = new AtomicBoolean();
+                // Closing the upstream ends the reader when the browser goes away
+                Runnable closeUpstream = () -> {
+                        closed.set(true);
+                        InputStream stream = upstream.getAndSet(InputStream.nullInputStream());
+                        if (stream != null) {
+                                try {
+                                        stream.close();
+                                } catch (IOException e) {
+                                        // The reader thread ends either way
+                                }
+                        }
+                };
+                emitter.onCompletion(closeUpstream);
+                emitter.onTimeout(closeUpstream);
+                emitter.onError(e -> closeUpstream.run());
+
+                streamReaders.execute(() -> {
+                        try {
+                                restClient.post()
+                                                .uri(resourceUrl + "/tasks/chat/stream")
+                                                .header("Authorization", "Bearer " + token)
+                                                .contentType(MediaType.APPLICATION_JSON)
+                                                .accept(MediaType.TEXT_EVENT_STREAM)
+                                                .body(request)
+                                                .exchange((req, response) -> {
+                                                        if (!response.getStatusCode().is2xxSuccessful()) {
+                                                                log.error("AI Chat stream rejected: {}", response.getStatusCode());
+                                                                sendError(emitter, "タスク管理の処理に失敗しました: "
+                                                                                + response.getStatusCode());
+                                                                return null;
+                                                        }
+                                                        InputStream body = response.getBody();
+                                                        if (!upstream.compareAndSet(null, body)) {
+                                                                return null;
+                                                        }
+                                                        SseEventReader.read(body, (frame, hasData) -> {
+                                                                try {
+                                                                        emitter.send(frame);
+                                                                } catch (IOException | IllegalStateException e) {
+                                                                        // The browser went away; stop reading
+                                                                        closed.set(true);
+                                                                        throw new IOException(e);
+                                                                }
+                                                        });
+                                                        return null;
+                                                });
+                                emitter.complete();
+                        } catch (Exception e) {
+                                if (closed.get()) {
+                                        log.debug("AI Chat stream closed by client: {}", e.getMessage());
+                                } else {
+                                        log.error("AI Chat stream failed: {}", e.getMessage());
+                                        sendError(emitter, "タスク管理の処理に失敗しました: " + e.getMessage());
+                                }
+                                emitter.complete();
+                        }
+                });
+                return emitter;
+        }
+
+        @PreDestroy
+        public void shutdown() {
+                streamReaders.shutdownNow();
+        }
+
+        private static void sendError(SseEmitter emitter, String message) {
+                try {
+                        emitter.send(SseEmitter.event()
+                                        .name("error")
+                                        .data(new AiTaskDto.ChatResponse(message, null, false, null),
+                                                        MediaType.APPLICATION_JSON));
+                } catch (IOException | IllegalStateException e) {
+                        log.debug("AI Chat stream closed before error: {}", e.getMessage());
+                }
+        }
+
         public java.util.List<io.reflectoring.bff.dto.MessageDto> getMessages(String token, String conversationId) {
                 log.info("[BffAiService] getMessages - calling Resource Server");
                 java.util.List<io.reflectoring.bff.dto.MessageDto> result = restClient.get()
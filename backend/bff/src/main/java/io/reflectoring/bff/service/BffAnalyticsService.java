@@ -4,6 +4,7 @@ import java.time.LocalDate;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClient;
 
@@ -36,6 +37,58 @@ public class BffAnalyticsService {
                 return stats;
         }
 
+        public AnalyticsDto.SessionDistribution getSessionDistribution(LocalDate startDate, LocalDate endDate,
+                        String token) {
+                log.info("Fetching session distribution: {} - {}", startDate, endDate);
+                AnalyticsDto.SessionDistribution data = restClient.get()
+                                .uri(resourceUrl + "/analytics/session-distribution?startDate={startDate}&endDate={endDate}",
+                                                startDate,
+                                                endDate)
+                                .header("Authorization", "Bearer " + token)
+                                .retrieve()
+                                .body(AnalyticsDto.SessionDistribution.class);
+                log.info("Session distribution: {}", data);
+                return data;
+        }
+
+        public AnalyticsDto.HourlyProfile getHourlyProfile(LocalDate startDate, LocalDate endDate, String token) {
+                log.info("Fetching hourly profile: {} - {}", startDate, endDate);
+                AnalyticsDto.HourlyProfile data = restClient.get()
+                                .uri(resourceUrl + "/analytics/hourly-profile?startDate={startDate}&endDate={endDate}",
+                                                startDate,
+                                                endDate)
+                                .header("Authorization", "Bearer " + token)
+                                .retrieve()
+                                .body(AnalyticsDto.HourlyProfile.class);
+                log.info("Hourly profile: {}", data);
+                return data;
+        }
+
+        public AnalyticsDto.EstimationAccuracy[] getEstimationTrend(LocalDate startDate, LocalDate endDate,
+                        String token) {
+                log.info("Fetching estimation trend: {} - {}", startDate, endDate);
+                AnalyticsDto.EstimationAccuracy[] data = restClient.get()
+                                .uri(resourceUrl + "/analytics/estimation-trend?startDate={startDate}&endDate={endDate}",
+                                                startDate,
+                                                endDate)
+                                .header("Authorization", "Bearer " + token)
+                                .retrieve()
+                                .body(AnalyticsDto.EstimationAccuracy[].class);
+                log.info("Estimation trend rows: {}", data != null ? data.length : 0);
+                return data;
+        }
+
+        public AnalyticsDto.QueryResult query(AnalyticsDto.AnalyticsQuery query, String token) {
+                log.info("Running analytics query: {}", query);
+                return restClient.post()
+                                .uri(resourceUrl + "/analytics/query")
+                                .header("Authorization", "Bearer " + token)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .body(query)
+                                .retrieve()
+                                .body(AnalyticsDto.QueryResult.class);
+        }
+
         public AnalyticsDto.DailyFocusByCategory[] getDailyFocusByCategory(LocalDate startDate, LocalDate endDate,
                         String token) {
                 log.info("Fetching daily focus by category: {} - {}", startDate, endDate);
@@ -114,6 +167,39 @@ public class BffAnalyticsService {
                 return data;
         }
 
+        public AnalyticsDto.YearlyHeatmapDto getYearlyHeatmap(int year, String token) {
+                log.info("Fetching yearly heatmap for year: {}", year);
+                AnalyticsDto.YearlyHeatmapDto data = restClient.get()
+                                .uri(resourceUrl + "/analytics/heatmap?year={year}", year)
+                                .header("Authorization", "Bearer " + token)
+                                .retrieve()
+                                .body(AnalyticsDto.YearlyHeatmapDto.class);
+                log.info("Yearly heatmap for year: {}", year);
+                return data;
+        }
+
+        public AnalyticsDto.FocusRecords getFocusRecords(String token) {
+                log.info("Fetching focus records");
+                AnalyticsDto.FocusRecords data = restClient.get()
+                                .uri(resourceUrl + "/analytics/records")
+                                .header("Authorization", "Bearer " + token)
+                                .retrieve()
+                                .body(AnalyticsDto.FocusRecords.class);
+                log.info("Focus records: {}", data);
+                return data;
+        }
+
+        public AnalyticsDto.Habit[] getHabits(String token) {
+                log.info("Fetching habit analytics");
+                AnalyticsDto.Habit[] data = restClient.get()
+                                .uri(resourceUrl + "/analytics/habits")
+                                .header("Authorization", "Bearer " + token)
+                                .retrieve()
+                                .body(AnalyticsDto.Habit[].class);
+                log.info("Habit series: {}", data != null ? data.length : 0);
+                return data;
+        }
+
         public AnalyticsDto.WeeklyAnalyticsDto getWeeklyAnalytics(String startDate, String endDate,
                         String token) {
                 log.info("Fetching weekly analytics from {} to {}", startDate, endDate);
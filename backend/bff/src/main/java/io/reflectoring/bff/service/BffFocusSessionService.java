@@ -37,6 +37,31 @@ public class BffFocusSessionService {
         return response;
     }
 
+    public FocusSessionDto.BatchRecordResponse recordSessions(FocusSessionDto.BatchRecordRequest request,
+            String token) {
+        log.info("Recording batch of {} sessions", request.sessions() != null ? request.sessions().size() : 0);
+        FocusSessionDto.BatchRecordResponse response = restClient.post()
+                .uri(resourceUrl + "/focus-sessions/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("Authorization", "Bearer " + token)
+                .body(request)
+                .retrieve()
+                .body(FocusSessionDto.BatchRecordResponse.class);
+        log.info("Successfully recorded batch: {}", response);
+        return response;
+    }
+
+    public void recordProgress(Long id, FocusSessionDto.ProgressRequest request, String token) {
+        log.debug("Recording progress of session {}: duration={}", id, request.actualDuration());
+        restClient.post()
+                .uri(resourceUrl + "/focus-sessions/{id}/progress", id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("Authorization", "Bearer " + token)
+                .body(request)
+                .retrieve()
+                .toBodilessEntity();
+    }
+
     public FocusSessionDto.EfficiencyStats getEfficiencyStats(LocalDate date, String token) {
         log.info("Fetching efficiency stats for date: {}", date);
         FocusSessionDto.EfficiencyStats stats = restClient.get()
@@ -80,4 +105,15 @@ public class BffFocusSessionService {
         log.info("Weekly summary: {} seconds", summary != null ? summary.totalSeconds() : 0);
         return summary;
     }
+
+    public FocusSessionDto.PeriodComparison getPeriodComparison(String unit, LocalDate date, int periods,
+            String token) {
+        log.info("Fetching {} {} comparison for date: {}", periods, unit, date);
+        return restClient.get()
+                .uri(resourceUrl + "/focus-sessions/comparison?unit={unit}&date={date}&periods={periods}", unit,
+                        date, periods)
+                .header("Authorization", "Bearer " + token)
+                .retrieve()
+                .body(FocusSessionDto.PeriodComparison.class);
+    }
 }
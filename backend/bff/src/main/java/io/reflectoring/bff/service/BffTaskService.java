@@ -151,6 +151,18 @@ public class BffTaskService {
         return stats;
     }
 
+    public io.reflectoring.bff.dto.TaskDto.Stats[] getTaskStatsForRanges(List<TaskDto.StatsRange> ranges,
+            String token) {
+        log.info("Fetching task stats for {} ranges", ranges != null ? ranges.size() : 0);
+        return restClient.post()
+                .uri(resourceUrl + "/tasks/stats/ranges")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(ranges)
+                .retrieve()
+                .body(io.reflectoring.bff.dto.TaskDto.Stats[].class);
+    }
+
     public TaskDto.BulkOperationResult bulkUpdateTasks(TaskDto.BulkUpdate request, String token) {
         log.info("Bulk updating {} tasks", request.taskIds() != null ? request.taskIds().size() : 0);
         TaskDto.BulkOperationResult result = restClient.patch()
@@ -0,0 +1,202 @@
+package io.reflectoring.bff.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import io.reflectoring.bff.config.AppProperties;
+import io.reflectoring.bff.dto.TimerDto;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Relays the resource server's timer stream to the browser.
+ * One upstream stream is held per user and fanned out to all of the user's
+ * open browser streams; it is closed when the last of them goes away.
+ */
+@Service
+public class BffTimerService {
+
+    private static final Logger log = LoggerFactory.getLogger(BffTimerService.class);
+    private static final long EMITTER_TIMEOUT_MILLIS = Duration.ofMinutes(30).toMillis();
+
+    private final RestClient restClient;
+    private final String resourceUrl;
+    private final Map<String, Relay> relays = new ConcurrentHashMap<>();
+    // Readers block on the upstream stream, one per user with open browser streams.
+    // Bounded: a user past the limit is turned away rather than given a new thread.
+    private final ThreadPoolExecutor readers;
+
+    public BffTimerService(RestClient.Builder builder, AppProperties appProperties) {
+        this.restClient = builder.baseUrl(appProperties.getResourceServerUrl()).build();
+        this.resourceUrl = appProperties.getResourceServerUrl() + "/api";
+        int limit = appProperties.getTimerRelayLimit();
+        this.readers = new ThreadPoolExecutor(limit, limit, 60, TimeUnit.SECONDS, new SynchronousQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "timer-relay");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.readers.allowCoreThreadTimeOut(true);
+    }
+
+    public TimerDto.State getState(String token) {
+        return restClient.get()
+                .uri(resourceUrl + "/timer/state")
+                .header("Authorization", "Bearer " + token)
+                .retrieve()
+                .body(TimerDto.State.class);
+    }
+
+    public TimerDto.State updateState(TimerDto.Update update, String token) {
+        log.info("Updating timer: status={}, phase={}", update.status(), update.phase());
+        return restClient.put()
+                .uri(resourceUrl + "/timer/state")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("Authorization", "Bearer " + token)
+                .body(update)
+                .retrieve()
+                .body(TimerDto.State.class);
+    }
+
+    /**
+     * Open a browser stream for the user, joining the user's upstream stream or
+     * opening it with the given token.
+     *
+     * @throws ResponseStatusException 503 if the limit of upstream streams is reached
+     */
+    public SseEmitter subscribe(String userId, String token) {
+        SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT_MILLIS);
+        Relay relay;
+        try {
+            relay = relays.compute(userId, (key, existing) -> {
+                Relay current = existing != null ? existing : startRelay(userId, token);
+                current.clients.add(emitter);
+                return current;
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("Timer stream for user {} refused: {} upstream streams open", userId,
+                    readers.getActiveCount());
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many timer streams");
+        }
+        emitter.onCompletion(() -> unsubscribe(userId, emitter));
+        emitter.onTimeout(() -> unsubscribe(userId, emitter));
+        emitter.onError(e -> unsubscribe(userId, emitter));
+
+        // Later joiners get the last state right away; the first one gets it from upstream
+        Set<ResponseBodyEmitter.DataWithMediaType> lastState = relay.lastState;
+        if (lastState != null) {
+            send(userId, emitter, lastState);
+        }
+        return emitter;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        relays.values().forEach(Relay::close);
+        readers.shutdownNow();
+    }
+
+    private Relay startRelay(String userId, String token) {
+        Relay relay = new Relay();
+        readers.execute(() -> {
+            try {
+                restClient.get()
+                        .uri(resourceUrl + "/timer/stream")
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .header("Authorization", "Bearer " + token)
+                        .exchange((request, response) -> {
+                            if (!response.getStatusCode().is2xxSuccessful()) {
+                                log.error("Timer stream for user {} rejected: {}", userId, response.getStatusCode());
+                                return null;
+                            }
+                            relay.upstream = response.getBody();
+                            if (relay.closed) {
+                                relay.close();
+                                return null;
+                            }
+                            forward(userId, relay, relay.upstream);
+                            return null;
+                        });
+            } catch (Exception e) {
+                if (!relay.closed) {
+                    log.warn("Timer stream for user {} failed: {}", userId, e.getMessage());
+                }
+            } finally {
+                // Let the browsers reconnect, which opens a fresh upstream stream
+                relays.remove(userId, relay);
+                relay.clients.forEach(SseEmitter::complete);
+            }
+        });
+        return relay;
+    }
+
+    private void forward(String userId, Relay relay, InputStream upstream) throws IOException {
+        // Comments (heartbeats) are passed on as well
+        SseEventReader.read(upstream, (frame, hasData) -> {
+            if (hasData) {
+                relay.lastState = frame;
+            }
+            for (SseEmitter client : relay.clients) {
+                send(userId, client, frame);
+            }
+        });
+    }
+
+    private void send(String userId, SseEmitter emitter, Set<ResponseBodyEmitter.DataWithMediaType> frame) {
+        try {
+            emitter.send(frame);
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dropping timer stream of user {}: {}", userId, e.getMessage());
+            unsubscribe(userId, emitter);
+        }
+    }
+
+    private void unsubscribe(String userId, SseEmitter emitter) {
+        relays.computeIfPresent(userId, (key, relay) -> {
+            relay.clients.remove(emitter);
+            if (!relay.clients.isEmpty()) {
+                return relay;
+            }
+            relay.close();
+            return null;
+        });
+    }
+
+    private static final class Relay {
+        final Set<SseEmitter> clients = new CopyOnWriteArraySet<>();
+        volatile Set<ResponseBodyEmitter.DataWithMediaType> lastState;
+        volatile InputStream upstream;
+        volatile boolean closed;
+
+        void close() {
+            closed = true;
+            InputStream stream = upstream;
+            if (stream == null) {
+                return;
+            }
+            try {
+                stream.close();
+            } catch (IOException e) {
+                // The reader thread ends either way
+            }
+        }
+    }
+}
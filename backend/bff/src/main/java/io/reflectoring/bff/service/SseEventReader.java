@@ -0,0 +1,70 @@
+package io.reflectoring.bff.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Reads a Server-Sent Events stream from the resource server and hands each
+ * event on as a ready-to-send frame as soon as its terminating blank line
+ * arrives. Data is assumed to be JSON.
+ */
+final class SseEventReader {
+
+    @FunctionalInterface
+    interface Listener {
+        /**
+         * @param frame   the event, including comment-only events (heartbeats)
+         * @param hasData whether the event carries data
+         */
+        void onEvent(Set<ResponseBodyEmitter.DataWithMediaType> frame, boolean hasData) throws IOException;
+    }
+
+    private SseEventReader() {
+    }
+
+    static void read(InputStream upstream, Listener listener) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(upstream, StandardCharsets.UTF_8));
+        SseEmitter.SseEventBuilder event = SseEmitter.event();
+        boolean hasFields = false;
+        boolean hasData = false;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (!line.isEmpty()) {
+                String field = parseLine(event, line);
+                hasFields |= field != null;
+                hasData |= "data".equals(field);
+                continue;
+            }
+            if (hasFields) {
+                listener.onEvent(event.build(), hasData);
+            }
+            event = SseEmitter.event();
+            hasFields = false;
+            hasData = false;
+        }
+    }
+
+    private static String parseLine(SseEmitter.SseEventBuilder event, String line) {
+        int colon = line.indexOf(':');
+        String field = colon < 0 ? line : line.substring(0, colon);
+        String value = colon < 0 ? "" : line.substring(colon + 1).stripLeading();
+        switch (field) {
+            case "" -> event.comment(value);
+            case "event" -> event.name(value);
+            case "id" -> event.id(value);
+            case "data" -> event.data(value, MediaType.APPLICATION_JSON);
+            default -> {
+                return null;
+            }
+        }
+        return field;
+    }
+}
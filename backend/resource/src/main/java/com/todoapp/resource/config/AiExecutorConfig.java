@@ -0,0 +1,30 @@
+package com.todoapp.resource.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Executor used to generate conversation titles off the chat request path.
+ * Bounded in threads and queue so a burst of first messages cannot pile up
+ * model calls.
+ */
+@Configuration
+public class AiExecutorConfig {
+
+    @Bean(name = "aiTitleExecutor")
+    AsyncTaskExecutor aiTitleExecutor(AppConfigurationProperties appProperties) {
+        AppConfigurationProperties.AiConfiguration config = appProperties.getAi();
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("ai-title-");
+        executor.setCorePoolSize(config.getTitleWorkers());
+        executor.setMaxPoolSize(config.getTitleWorkers());
+        executor.setQueueCapacity(config.getTitleQueueCapacity());
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+}
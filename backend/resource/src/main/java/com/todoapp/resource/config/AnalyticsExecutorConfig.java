@@ -0,0 +1,39 @@
+package com.todoapp.resource.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Executor used to compute independent analytics sections concurrently.
+ * Uses virtual threads when {@code spring.threads.virtual.enabled} is set (Java
+ * 21+), otherwise a bounded platform-thread pool.
+ */
+@Configuration
+public class AnalyticsExecutorConfig {
+
+    @Bean(name = "analyticsExecutor")
+    AsyncTaskExecutor analyticsExecutor(AppConfigurationProperties appProperties,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        int limit = appProperties.getAnalytics().getMaxConcurrentSections();
+
+        if (virtualThreads) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("analytics-");
+            executor.setVirtualThreads(true);
+            executor.setConcurrencyLimit(limit);
+            return executor;
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("analytics-");
+        executor.setCorePoolSize(limit);
+        executor.setMaxPoolSize(limit);
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -1,5 +1,7 @@
 package com.todoapp.resource.config;
 
+import java.time.Duration;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 import lombok.Getter;
@@ -12,6 +14,11 @@ public class AppConfigurationProperties {
     private String baseUrl;
     private String bffServerUrl;
     private JwtConfiguration jwt;
+    private AnalyticsConfiguration analytics = new AnalyticsConfiguration();
+    private FocusRecordsConfiguration focusRecords = new FocusRecordsConfiguration();
+    private FocusSessionsConfiguration focusSessions = new FocusSessionsConfiguration();
+    private TimerConfiguration timer = new TimerConfiguration();
+    private AiConfiguration ai = new AiConfiguration();
 
     @Getter
     @Setter
@@ -20,4 +27,99 @@ public class AppConfigurationProperties {
         private String jwkSetUri;
         private String audiences;
     }
-}
\ No newline at end of file
+
+    @Getter
+    @Setter
+    public static class AnalyticsConfiguration {
+        /** Deadline for all sections of one composite analytics request. */
+        private Duration sectionTimeout = Duration.ofSeconds(5);
+        /** Upper bound of sections computed concurrently across all requests. */
+        private int maxConcurrentSections = 16;
+        private CacheConfiguration cache = new CacheConfiguration();
+        private ColumnStoreConfiguration columnStore = new ColumnStoreConfiguration();
+        private SnapshotConfiguration snapshot = new SnapshotConfiguration();
+    }
+
+    @Getter
+    @Setter
+    public static class CacheConfiguration {
+        private boolean enabled = true;
+        /** Maximum number of cached results across all users (LRU beyond that). */
+        private int maxEntries = 1000;
+        /** Upper bound on staleness for changes that publish no event. */
+        private Duration ttl = Duration.ofMinutes(10);
+    }
+
+    @Getter
+    @Setter
+    public static class ColumnStoreConfiguration {
+        private boolean enabled = false;
+        /** Maximum number of users whose sessions are held in memory (LRU beyond that). */
+        private int maxUsers = 200;
+    }
+
+    @Getter
+    @Setter
+    public static class SnapshotConfiguration {
+        /** Cron of the nightly last-week/last-month snapshot job ("-" disables it). */
+        private String cron = "0 0 2 * * *";
+        /** Users computed concurrently by the job. */
+        private int workers = 4;
+        /** User ids fetched per keyset page. */
+        private int batchSize = 500;
+        /** Age after which a snapshot is ignored in favour of live aggregation. */
+        private Duration ttl = Duration.ofHours(36);
+    }
+
+    @Getter
+    @Setter
+    public static class FocusRecordsConfiguration {
+        /** Cron of the nightly record verification job ("-" disables it). */
+        private String verifyCron = "0 30 3 * * *";
+    }
+
+    @Getter
+    @Setter
+    public static class FocusSessionsConfiguration {
+        /** Interval at which buffered progress updates of running sessions are written. */
+        private Duration progressFlushInterval = Duration.ofSeconds(5);
+        /** Maximum number of sessions accepted by one batch record request. */
+        private int batchMaxSize = 500;
+        private ArchiveConfiguration archive = new ArchiveConfiguration();
+    }
+
+    @Getter
+    @Setter
+    public static class ArchiveConfiguration {
+        /** Cron of the nightly archival job ("-" disables it). */
+        private String cron = "0 0 4 * * *";
+        /** Whole months of sessions kept in the hot table before the current one. */
+        private int afterMonths = 24;
+        /** Sessions moved per transaction. */
+        private int batchSize = 1000;
+    }
+
+    @Getter
+    @Setter
+    public static class TimerConfiguration {
+        /** Lifetime of one timer event stream; clients reconnect afterwards. */
+        private Duration emitterTimeout = Duration.ofMinutes(30);
+        /** Interval of keep-alive comments on idle timer streams. */
+        private Duration heartbeatInterval = Duration.ofSeconds(30);
+    }
+
+    @Getter
+    @Setter
+    public static class AiConfiguration {
+        /** Upper bound on one streamed chat answer, including the title of a first message. */
+        private Duration streamTimeout = Duration.ofMinutes(2);
+        /** Conversation titles generated concurrently across all users. */
+        private int titleWorkers = 2;
+        /** Title generations waiting for a worker; further ones are skipped. */
+        private int titleQueueCapacity = 100;
+        /** Estimated tokens of task context per prompt; less related tasks are left out beyond it. */
+        private int contextTokenBudget = 4000;
+        /** Conversations whose last sent task context is remembered (LRU beyond that). */
+        private int contextMaxConversations = 1000;
+    }
+}
@@ -0,0 +1,12 @@
+package com.todoapp.resource.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables scheduled background jobs (see the {@code job} package).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
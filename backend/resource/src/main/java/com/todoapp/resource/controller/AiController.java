@@ -2,6 +2,7 @@ package com.todoapp.resource.controller;
 
 import java.util.List;
 
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
@@ -11,6 +12,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.todoapp.resource.dto.AiTaskDto;
 import com.todoapp.resource.dto.MessageDto;
@@ -44,7 +46,8 @@ public class AiController {
          * 
          * ユーザーとの対話を通じてタスクの作成・編集・削除・サブタスク追加を行う。
          * 会話履歴がDBに保存され、文脈を考慮した応答が可能。
-         * 初回メッセージ時は自動でタイトルを生成してDBを更新。
+         * 初回メッセージ時は応答と並行してタイトルを生成してDBを更新。
+         * 応答時点で生成済みなら suggestedTitle に含め、未完了なら会話一覧の再取得で反映される。
          * 
          * @param request 会話リクエスト（conversationId + prompt + currentTasks）
          * @param jwt     認証済みJWTトークン
@@ -67,7 +70,7 @@ public class AiController {
                                 request.currentTasks() != null ? request.currentTasks().size() : 0);
 
                 try {
-                        // AiService.chat() 内で初回メッセージ判定 + タイトル自動生成を行う
+                        // AiService.chat() 内で初回メッセージ判定 + タイトル自動生成の開始を行う
                         AiService.ChatResult chatResult = aiService.chat(
                                         conversationId,
                                         userId,
@@ -86,6 +89,37 @@ public class AiController {
                 }
         }
 
+        /**
+         * 会話型タスク管理（ストリーミング）
+         * 
+         * /tasks/chat と同じ処理を行い、モデルの出力を生成され次第 Server-Sent Events で返す。
+         * イベント: "token"（テキスト片）, "advice"（生成途中のアドバイス）,
+         * "result"（/tasks/chat と同じレスポンス）, "title"（初回メッセージの生成タイトル）,
+         * "error"（失敗時のレスポンス）
+         * 
+         * @param request 会話リクエスト（conversationId + prompt + currentTasks）
+         * @param jwt     認証済みJWTトークン
+         * @return イベントストリーム
+         */
+        @PostMapping(value = "/tasks/chat/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+        public SseEmitter streamChatForTasks(
+                        @RequestBody AiTaskDto.ChatAnalysisRequest request,
+                        @AuthenticationPrincipal Jwt jwt) {
+                String userId = jwt.getSubject();
+                String conversationId = request.conversationId() != null
+                                ? request.conversationId()
+                                : userId;
+
+                log.debug("[POST /api/ai/tasks/chat/stream] Request by user: {}, conversationId: {}", userId,
+                                conversationId);
+                return aiService.streamChat(
+                                conversationId,
+                                userId,
+                                request.prompt(),
+                                request.currentTasks(),
+                                request.projectTitle());
+        }
+
         @GetMapping("/messages")
         public ResponseEntity<List<MessageDto>> getMessages(@AuthenticationPrincipal Jwt jwt,
                         @RequestParam String conversationId) {
@@ -10,6 +10,8 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -79,6 +81,72 @@ public class AnalyticsController {
         return ResponseEntity.ok(stats);
     }
 
+    /**
+     * Get the distribution of focus session lengths for a date range.
+     */
+    @GetMapping("/session-distribution")
+    public ResponseEntity<AnalyticsDto.SessionDistribution> getSessionDistribution(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @AuthenticationPrincipal Jwt jwt) {
+        String userId = jwt.getSubject();
+        log.info("Getting session distribution for user {} from {} to {}", userId, startDate, endDate);
+
+        AnalyticsDto.SessionDistribution response = analyticsService.getSessionDistribution(userId, startDate,
+                endDate);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Get focus minutes by weekday and hour of day for a date range.
+     */
+    @GetMapping("/hourly-profile")
+    public ResponseEntity<AnalyticsDto.HourlyProfile> getHourlyProfile(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @AuthenticationPrincipal Jwt jwt) {
+        String userId = jwt.getSubject();
+        log.info("Getting hourly profile for user {} from {} to {}", userId, startDate, endDate);
+
+        AnalyticsDto.HourlyProfile response = analyticsService.getHourlyProfile(userId, startDate, endDate);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Get estimate accuracy per category per week for a date range.
+     */
+    @GetMapping("/estimation-trend")
+    public ResponseEntity<List<AnalyticsDto.EstimationAccuracy>> getEstimationTrend(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @AuthenticationPrincipal Jwt jwt) {
+        String userId = jwt.getSubject();
+        log.info("Getting estimation trend for user {} from {} to {}", userId, startDate, endDate);
+        try {
+            return ResponseEntity.ok(analyticsService.getEstimationTrend(userId, startDate, endDate));
+        } catch (IllegalArgumentException e) {
+            log.warn("Rejected estimation trend request for user {}: {}", userId, e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Run a generic analytics query: metrics grouped by dimensions over a range.
+     */
+    @PostMapping("/query")
+    public ResponseEntity<AnalyticsDto.QueryResult> query(
+            @RequestBody AnalyticsDto.AnalyticsQuery query,
+            @AuthenticationPrincipal Jwt jwt) {
+        String userId = jwt.getSubject();
+        log.info("Running analytics query for user {}: {}", userId, query);
+        try {
+            return ResponseEntity.ok(analyticsService.query(userId, query));
+        } catch (IllegalArgumentException e) {
+            log.warn("Rejected analytics query for user {}: {}", userId, e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     /**
      * Get daily focus breakdown by category for a date range.
      */
@@ -161,6 +229,47 @@ public class AnalyticsController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Get a year-long focus heatmap.
+     * Returns day-indexed arrays of focus minutes and completed tasks starting at
+     * January 1st.
+     */
+    @GetMapping("/heatmap")
+    public ResponseEntity<AnalyticsDto.YearlyHeatmap> getYearlyHeatmap(
+            @RequestParam int year,
+            @AuthenticationPrincipal Jwt jwt) {
+        String userId = jwt.getSubject();
+        log.info("Getting yearly heatmap for user {} for {}", userId, year);
+
+        AnalyticsDto.YearlyHeatmap response = analyticsService.getYearlyHeatmap(userId, year);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Get focus streaks and personal records (best day and week).
+     */
+    @GetMapping("/records")
+    public ResponseEntity<AnalyticsDto.FocusRecords> getFocusRecords(@AuthenticationPrincipal Jwt jwt) {
+        String userId = jwt.getSubject();
+        log.info("Getting focus records for user {}", userId);
+
+        AnalyticsDto.FocusRecords response = analyticsService.getFocusRecords(userId);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Get completion rate, current run and missed occurrences per recurring
+     * task series.
+     */
+    @GetMapping("/habits")
+    public ResponseEntity<List<AnalyticsDto.Habit>> getHabits(@AuthenticationPrincipal Jwt jwt) {
+        String userId = jwt.getSubject();
+        log.info("Getting habit analytics for user {}", userId);
+
+        List<AnalyticsDto.Habit> response = analyticsService.getHabits(userId);
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Get consolidated weekly analytics data.
      * Returns all data needed for the Weekly view in a single response.
@@ -59,6 +59,34 @@ public class FocusSessionController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    /**
+     * Record finished sessions replayed by an offline client.
+     * Sessions already recorded under the same client session id are skipped.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<FocusSessionDto.BatchRecordResponse> recordSessions(
+            @RequestBody FocusSessionDto.BatchRecordRequest request,
+            @AuthenticationPrincipal Jwt jwt) {
+        String userId = jwt.getSubject();
+        log.info("Received batch of {} sessions for user: {}",
+                request.getSessions() != null ? request.getSessions().size() : 0, userId);
+        return ResponseEntity.ok(focusSessionService.recordSessions(request.getSessions(), userId));
+    }
+
+    /**
+     * Report the progress of a running session.
+     * Updates are buffered and written in batches; the final state is recorded
+     * through {@code /record}.
+     */
+    @PostMapping("/{id}/progress")
+    public ResponseEntity<Void> recordProgress(
+            @PathVariable Long id,
+            @RequestBody FocusSessionDto.ProgressRequest request,
+            @AuthenticationPrincipal Jwt jwt) {
+        focusSessionService.recordProgress(id, request, jwt.getSubject());
+        return ResponseEntity.accepted().build();
+    }
+
     /**
      * Get daily focus time summary.
      */
@@ -97,6 +125,21 @@ public class FocusSessionController {
         return ResponseEntity.ok(summary);
     }
 
+    /**
+     * Compare focus totals of consecutive days, weeks or months ending with the
+     * one that contains the given date.
+     */
+    @GetMapping("/comparison")
+    public ResponseEntity<FocusSessionDto.PeriodComparison> getPeriodComparison(
+            @RequestParam FocusSessionDto.PeriodUnit unit,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(defaultValue = "2") int periods,
+            @AuthenticationPrincipal Jwt jwt) {
+        String userId = jwt.getSubject();
+        log.info("Received request for {} {} comparison for user: {} on date: {}", periods, unit, userId, date);
+        return ResponseEntity.ok(focusSessionService.getPeriodComparison(userId, unit, date, periods));
+    }
+
     @GetMapping("/date/{date}")
     public ResponseEntity<java.util.List<FocusSessionDto.Response>> getSessionsByDate(
             @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
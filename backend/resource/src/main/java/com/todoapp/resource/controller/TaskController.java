@@ -281,6 +281,24 @@ public class TaskController {
         return ResponseEntity.ok(stats);
     }
 
+    /**
+     * Get task statistics for several ranges in one request.
+     * Returns one entry per requested range, in request order.
+     */
+    @PostMapping("/tasks/stats/ranges")
+    public ResponseEntity<List<TaskDto.Stats>> getTaskStatsForRanges(
+            @RequestBody List<TaskDto.StatsRange> ranges,
+            @AuthenticationPrincipal Jwt jwt) {
+        String userId = jwt.getSubject();
+        log.info("Received request for task stats for user: {} over {} ranges", userId,
+                ranges != null ? ranges.size() : 0);
+        try {
+            return ResponseEntity.ok(taskService.getTaskStatsForRanges(userId, ranges));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     /**
      * Bulk update multiple tasks at once.
      * Supports updating status, categoryId, taskListId, and startDate.
@@ -0,0 +1,60 @@
+package com.todoapp.resource.controller;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.todoapp.resource.dto.TimerDto;
+import com.todoapp.resource.service.domain.TimerStateService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Live pomodoro timer shared across a user's devices.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/timer")
+@RequiredArgsConstructor
+public class TimerController {
+
+    private final TimerStateService timerStateService;
+
+    /**
+     * Get the current timer state.
+     */
+    @GetMapping("/state")
+    public ResponseEntity<TimerDto.State> getState(@AuthenticationPrincipal Jwt jwt) {
+        return ResponseEntity.ok(timerStateService.getState(jwt.getSubject()));
+    }
+
+    /**
+     * Replace the timer state and push it to the user's other devices.
+     */
+    @PutMapping("/state")
+    public ResponseEntity<TimerDto.State> updateState(
+            @RequestBody TimerDto.Update update,
+            @AuthenticationPrincipal Jwt jwt) {
+        String userId = jwt.getSubject();
+        log.info("Timer update for user {}: {} {}", userId, update.status(), update.phase());
+        return ResponseEntity.ok(timerStateService.updateState(userId, update));
+    }
+
+    /**
+     * Stream timer states as Server-Sent Events ("timer-state"), starting with
+     * the current one.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@AuthenticationPrincipal Jwt jwt) {
+        log.info("Opening timer stream for user {}", jwt.getSubject());
+        return timerStateService.subscribe(jwt.getSubject());
+    }
+}
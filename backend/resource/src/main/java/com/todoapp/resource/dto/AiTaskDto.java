@@ -81,6 +81,14 @@ public class AiTaskDto {
         }
     }
 
+    /**
+     * ストリーミング応答のテキスト片（"token" / "advice" イベント）
+     */
+    @Schema(name = "AiStreamChunk")
+    public record StreamChunk(
+            @Schema(description = "テキスト") String text) {
+    }
+
     /**
      * 同期処理の結果
      */
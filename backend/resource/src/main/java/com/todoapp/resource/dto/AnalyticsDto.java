@@ -54,6 +54,8 @@ public class AnalyticsDto {
                 private List<DailyFocusByCategory> dailyFocusData;
                 private List<CategoryFocusTime> categoryAggregation;
                 private List<GroupedTaskSummary> taskSummaries;
+                private boolean partial; // True if any section missed the request deadline
+                private List<String> timedOutSections;
         }
 
         @lombok.Data
@@ -64,6 +66,8 @@ public class AnalyticsDto {
                 private KpiData kpi;
                 private List<TaskSummary> taskSummaries;
                 private List<FocusSessionData> focusSessions;
+                private boolean partial; // True if any section missed the request deadline
+                private List<String> timedOutSections;
 
                 @lombok.Data
                 @lombok.Builder
@@ -84,6 +88,149 @@ public class AnalyticsDto {
                 }
         }
 
+        /**
+         * Year-long focus heatmap in a compact columnar encoding.
+         * Index i of each array is the day {@code startDate + i}; arrays hold one
+         * entry per day of the year (365 or 366).
+         */
+        public record YearlyHeatmap(
+                        int year,
+                        LocalDate startDate,
+                        int[] focusMinutes,
+                        int[] completedTasks) {
+        }
+
+        /**
+         * Focus streaks and personal records.
+         * Weeks start on Monday.
+         */
+        public record FocusRecords(
+                        int currentStreak,
+                        int longestStreak,
+                        LocalDate lastFocusDate,
+                        LocalDate bestDayDate,
+                        long bestDayMinutes,
+                        LocalDate bestWeekStart,
+                        long bestWeekMinutes) {
+        }
+
+        /**
+         * Distribution of focus session lengths over a range.
+         * Bucket i of lengthBuckets covers [i * bucketMinutes, (i + 1) *
+         * bucketMinutes) minutes; the last bucket is open-ended.
+         */
+        public record SessionDistribution(
+                        int sessionCount,
+                        int bucketMinutes,
+                        int[] lengthBuckets,
+                        double p50Minutes,
+                        double p90Minutes,
+                        int[] interruptionBuckets, // Interrupted sessions by 10% steps of the scheduled duration
+                        List<ScheduledDurationCompletion> completionByScheduledDuration) {
+        }
+
+        /**
+         * Focus minutes by weekday and hour of day for a date range.
+         * Row 0 of focusMinutes is Monday; column i is the hour starting at i:00.
+         */
+        public record HourlyProfile(
+                        LocalDate startDate,
+                        LocalDate endDate,
+                        int[][] focusMinutes) {
+        }
+
+        /**
+         * Completion statistics of one recurring task series.
+         * Occurrences count once their day has passed (or today once completed);
+         * missed occurrences are due but not completed.
+         */
+        public record Habit(
+                        Long seriesId,
+                        String title,
+                        int dueCount,
+                        int completedCount,
+                        int missedCount,
+                        double completionRate,
+                        int currentRun,
+                        LocalDate lastCompletedDate) {
+        }
+
+        /**
+         * Estimate accuracy of the tasks completed in one category in one week.
+         * accuracy is actual focus time as a percentage of the estimate; null when
+         * the week's tasks carry no estimate.
+         */
+        public record EstimationAccuracy(
+                        LocalDate weekStart,
+                        Long categoryId,
+                        String categoryName,
+                        int completedTasks,
+                        Double accuracy) {
+        }
+
+        /**
+         * Dimensions an analytics query can group by.
+         * WEEK starts on Monday; HOUR applies to session metrics only.
+         */
+        public enum QueryDimension {
+                DAY, WEEK, MONTH, CATEGORY, TASK, LIST, HOUR
+        }
+
+        /**
+         * Metrics an analytics query can compute.
+         * ESTIMATE_ACCURACY is the focus time of completed, estimated tasks as a
+         * percentage of their estimate (over 100 means underestimated).
+         */
+        public enum QueryMetric {
+                FOCUS_MINUTES, SESSIONS, COMPLETED_TASKS, ESTIMATE_ACCURACY
+        }
+
+        /**
+         * Generic analytics query over a date range (both ends inclusive).
+         */
+        public record AnalyticsQuery(
+                        List<QueryDimension> dimensions,
+                        List<QueryMetric> metrics,
+                        LocalDate startDate,
+                        LocalDate endDate,
+                        QueryFilter filter) {
+        }
+
+        /**
+         * Optional restrictions of an analytics query; null or empty lists match all.
+         */
+        public record QueryFilter(
+                        List<Long> categoryIds,
+                        List<Long> taskListIds,
+                        List<Long> taskIds) {
+        }
+
+        /**
+         * Result of an analytics query.
+         * Each row holds one key per dimension and one value per metric, in request
+         * order; dates are the first day of their day, week or month.
+         */
+        public record QueryResult(
+                        List<QueryDimension> dimensions,
+                        List<QueryMetric> metrics,
+                        List<QueryRow> rows) {
+        }
+
+        public record QueryRow(
+                        List<Object> keys,
+                        List<Double> values) {
+        }
+
+        /**
+         * Completion ratio of sessions with a given scheduled duration.
+         */
+        public record ScheduledDurationCompletion(
+                        int scheduledMinutes, // Lower bound of the bucket
+                        int totalCount,
+                        int completedCount,
+                        double completionRate) {
+        }
+
         /**
          * Response DTO for daily goal with actual focus time.
          */
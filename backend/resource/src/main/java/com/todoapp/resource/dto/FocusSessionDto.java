@@ -33,6 +33,44 @@ public class FocusSessionDto {
         // So client SHOULD pass startedAt.
         private java.time.LocalDateTime startedAt;
         private java.time.LocalDateTime endedAt;
+        // Optional: UUID assigned by offline clients, makes replays idempotent
+        private String clientSessionId;
+    }
+
+    /**
+     * Finished sessions replayed by an offline client
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BatchRecordRequest {
+        private java.util.List<RecordRequest> sessions;
+    }
+
+    /**
+     * Outcome of a batch record request
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BatchRecordResponse {
+        private Integer received;
+        private Integer recorded;
+        private Integer duplicates;
+    }
+
+    /**
+     * Progress of a running session, sent repeatedly while the timer runs
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ProgressRequest {
+        private Integer actualDuration;
+        private java.time.LocalDateTime endedAt;
     }
 
     /**
@@ -91,4 +129,34 @@ public class FocusSessionDto {
         private Integer totalSeconds;
         private Integer gapSeconds;
     }
+
+    public enum PeriodUnit {
+        DAY, WEEK, MONTH
+    }
+
+    /**
+     * Focus total of one period of a comparative summary
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PeriodTotal {
+        private LocalDate startDate;
+        private LocalDate endDate; // inclusive
+        private Integer totalSeconds;
+        private Integer deltaSeconds; // vs the previous period; null for the first
+    }
+
+    /**
+     * Response DTO for a comparative summary of consecutive periods, oldest first
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PeriodComparison {
+        private PeriodUnit unit;
+        private java.util.List<PeriodTotal> periods;
+    }
 }
@@ -96,6 +96,15 @@ public class TaskDto {
                 private Integer totalActualMinutes;
         }
 
+        /**
+         * One range of a multi-range statistics request (both ends inclusive)
+         */
+        @Schema(name = "TaskStatsRange")
+        public record StatsRange(
+                        @Schema(description = "Start date (inclusive)") LocalDate startDate,
+                        @Schema(description = "End date (inclusive)") LocalDate endDate) {
+        }
+
         /**
          * Bulk update request - update multiple tasks at once
          */
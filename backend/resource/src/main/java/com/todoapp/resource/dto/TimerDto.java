@@ -0,0 +1,48 @@
+package com.todoapp.resource.dto;
+
+import java.time.Instant;
+
+/**
+ * DTOs for the live pomodoro timer shared across a user's devices.
+ */
+public class TimerDto {
+
+    public enum Status {
+        IDLE, RUNNING, PAUSED
+    }
+
+    /**
+     * Timer change reported by one device.
+     * remainingSeconds is measured when the request is sent.
+     */
+    public record Update(
+            Long taskId,
+            String phase, // FOCUS, SHORT_BREAK, LONG_BREAK
+            Status status,
+            Integer durationSeconds,
+            Integer remainingSeconds,
+            Long sessionId) {
+    }
+
+    /**
+     * Timer state as held by the server and pushed to every device.
+     * While RUNNING, endsAt is authoritative and remainingSeconds is as of
+     * updatedAt. version increases with every change, so devices can drop
+     * states that arrive out of order.
+     */
+    public record State(
+            Long taskId,
+            String phase,
+            Status status,
+            Integer durationSeconds,
+            Integer remainingSeconds,
+            Instant endsAt,
+            Long sessionId,
+            long version,
+            Instant updatedAt) {
+
+        public static State idle(long version) {
+            return new State(null, null, Status.IDLE, null, null, null, null, version, Instant.now());
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.todoapp.resource.event;
+
+import java.time.LocalDate;
+
+/**
+ * Domain event published when data that feeds analytics changes.
+ * Carries the owning user and the calendar dates the change belongs to.
+ */
+public interface AnalyticsDataChangedEvent {
+
+    String userId();
+
+    LocalDate date();
+
+    /**
+     * Last date of a change spanning several days; the same as {@link #date()}
+     * otherwise.
+     */
+    default LocalDate lastDate() {
+        return date();
+    }
+}
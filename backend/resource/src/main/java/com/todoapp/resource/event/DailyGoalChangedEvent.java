@@ -0,0 +1,12 @@
+package com.todoapp.resource.event;
+
+import java.time.LocalDate;
+
+/**
+ * Published after a daily focus goal is set.
+ *
+ * @param userId Auth0 sub claim of the goal owner
+ * @param date   Date of the goal
+ */
+public record DailyGoalChangedEvent(String userId, LocalDate date) implements AnalyticsDataChangedEvent {
+}
@@ -0,0 +1,15 @@
+package com.todoapp.resource.event;
+
+import java.time.LocalDate;
+
+/**
+ * Published after a focus session is created or updated.
+ *
+ * @param userId    Auth0 sub claim of the session owner
+ * @param date      Date the session started on
+ * @param sessionId Id of the created or updated session, or null when several
+ *                  sessions of the day were recorded at once
+ */
+public record FocusSessionRecordedEvent(String userId, LocalDate date, Long sessionId)
+        implements AnalyticsDataChangedEvent {
+}
@@ -0,0 +1,16 @@
+package com.todoapp.resource.event;
+
+import java.time.LocalDate;
+
+/**
+ * Published after tasks are created, edited, rescheduled or deleted.
+ * One event covers all tasks touched by an operation, e.g. every occurrence
+ * of a recurring task.
+ *
+ * @param userId   Auth0 sub claim of the task owner
+ * @param date     First scheduled date of the affected tasks
+ * @param lastDate Last scheduled date of the affected tasks
+ */
+public record TaskChangedEvent(String userId, LocalDate date, LocalDate lastDate)
+        implements AnalyticsDataChangedEvent {
+}
@@ -0,0 +1,86 @@
+package com.todoapp.resource.job;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import com.todoapp.resource.config.AppConfigurationProperties;
+import com.todoapp.resource.repository.FocusSessionRepository;
+import com.todoapp.resource.service.usecase.AnalyticsService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Nightly job precomputing last-week and last-month analytics snapshots for
+ * users active since the start of last month.
+ * Users are read in keyset pages ordered by id and each page is spread over a
+ * bounded worker pool; the next page is read once the current one finished.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AnalyticsSnapshotJob {
+
+    private final FocusSessionRepository focusSessionRepository;
+    private final AnalyticsService analyticsService;
+    private final AppConfigurationProperties appProperties;
+
+    @Scheduled(cron = "${app.analytics.snapshot.cron:0 0 2 * * *}")
+    public void precomputeAll() {
+        precomputeAll(LocalDate.now());
+    }
+
+    /**
+     * Precompute the snapshots of the week and month before the given day.
+     */
+    public void precomputeAll(LocalDate today) {
+        AppConfigurationProperties.SnapshotConfiguration config = appProperties.getAnalytics().getSnapshot();
+        LocalDate since = today.withDayOfMonth(1).minusMonths(1);
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("analytics-snapshot-");
+        executor.setCorePoolSize(config.getWorkers());
+        executor.setMaxPoolSize(config.getWorkers());
+        executor.initialize();
+
+        AtomicInteger failed = new AtomicInteger();
+        int total = 0;
+        try {
+            String after = "";
+            List<String> page;
+            do {
+                page = focusSessionRepository.findActiveFocusUserIdsAfter(since, after,
+                        PageRequest.of(0, config.getBatchSize()));
+                List<CompletableFuture<Void>> futures = new ArrayList<>(page.size());
+                for (String userId : page) {
+                    futures.add(CompletableFuture.runAsync(() -> {
+                        try {
+                            analyticsService.precomputeSnapshots(userId, today);
+                        } catch (RuntimeException e) {
+                            failed.incrementAndGet();
+                            log.error("Failed to precompute analytics snapshots for user {}: {}", userId,
+                                    e.getMessage());
+                        }
+                    }, executor));
+                }
+                CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+                total += page.size();
+                if (!page.isEmpty()) {
+                    after = page.get(page.size() - 1);
+                }
+            } while (page.size() == config.getBatchSize());
+        } finally {
+            executor.shutdown();
+        }
+        log.info("Analytics snapshots precomputed for {} users ({} failed)", total - failed.get(), failed.get());
+    }
+}
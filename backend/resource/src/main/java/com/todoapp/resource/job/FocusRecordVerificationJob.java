@@ -0,0 +1,49 @@
+package com.todoapp.resource.job;
+
+import java.util.List;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.todoapp.resource.repository.FocusSessionRepository;
+import com.todoapp.resource.service.domain.FocusHistogramService;
+import com.todoapp.resource.service.domain.FocusRecordService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Nightly job verifying the incrementally maintained focus records against
+ * session history.
+ * Records that drifted (or were never created, e.g. for history older than the
+ * records table) are rebuilt, and missing session histograms are backfilled.
+ * Each user is handled in its own transactions.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FocusRecordVerificationJob {
+
+    private final FocusSessionRepository focusSessionRepository;
+    private final FocusRecordService focusRecordService;
+    private final FocusHistogramService focusHistogramService;
+
+    @Scheduled(cron = "${app.focus-records.verify-cron:0 30 3 * * *}")
+    public void verifyAll() {
+        List<String> userIds = focusSessionRepository.findDistinctFocusUserIds();
+        log.info("Verifying focus records for {} users", userIds.size());
+
+        int rebuilt = 0;
+        for (String userId : userIds) {
+            try {
+                if (focusRecordService.rebuild(userId)) {
+                    rebuilt++;
+                }
+                focusHistogramService.backfillIfMissing(userId);
+            } catch (RuntimeException e) {
+                log.error("Failed to verify focus record for user {}: {}", userId, e.getMessage());
+            }
+        }
+        log.info("Focus record verification finished: {} of {} rebuilt", rebuilt, userIds.size());
+    }
+}
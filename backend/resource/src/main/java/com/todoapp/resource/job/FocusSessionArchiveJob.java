@@ -0,0 +1,93 @@
+package com.todoapp.resource.job;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.todoapp.resource.config.AppConfigurationProperties;
+import com.todoapp.resource.service.domain.FocusSessionArchiveRouter;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Nightly job moving focus sessions older than the configured number of months
+ * from focus_sessions into focus_sessions_archive.
+ * Sessions move in id order, one batch per transaction, so an interrupted run
+ * leaves every session in exactly one of the tables. Archived sessions stay
+ * counted in records and histograms, and analytics read them through
+ * {@link FocusSessionArchiveRouter}.
+ */
+@Slf4j
+@Component
+public class FocusSessionArchiveJob {
+
+    private static final String SELECT_BATCH_SQL = "SELECT id FROM focus_sessions "
+            + "WHERE started_at < ? ORDER BY id LIMIT ?";
+    private static final String COPY_SQL = "INSERT INTO focus_sessions_archive (id, user_id, task_id, "
+            + "session_type, status, scheduled_duration, actual_duration, started_at, ended_at, local_date, "
+            + "client_session_id, created_at, archived_at) "
+            + "SELECT id, user_id, task_id, session_type, status, scheduled_duration, actual_duration, "
+            + "started_at, ended_at, local_date, client_session_id, created_at, ? "
+            + "FROM focus_sessions WHERE started_at < ? AND id <= ?";
+    private static final String DELETE_SQL = "DELETE FROM focus_sessions WHERE started_at < ? AND id <= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final FocusSessionArchiveRouter archiveRouter;
+    private final int batchSize;
+
+    public FocusSessionArchiveJob(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            FocusSessionArchiveRouter archiveRouter, AppConfigurationProperties appProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.archiveRouter = archiveRouter;
+        this.batchSize = appProperties.getFocusSessions().getArchive().getBatchSize();
+    }
+
+    @Scheduled(cron = "${app.focus-sessions.archive.cron:0 0 4 * * *}")
+    public void archiveAll() {
+        archive(LocalDate.now());
+    }
+
+    /**
+     * Move every session that started before the archive boundary of the given
+     * day.
+     *
+     * @return number of sessions moved
+     */
+    public int archive(LocalDate today) {
+        LocalDate boundary = archiveRouter.archiveBoundary(today);
+        Timestamp before = Timestamp.valueOf(boundary.atStartOfDay());
+        Timestamp archivedAt = Timestamp.valueOf(LocalDateTime.now());
+        log.info("Archiving focus sessions started before {}", boundary);
+
+        // Readers may look for archived rows as soon as the first batch commits
+        archiveRouter.markArchivedBefore(boundary);
+
+        int moved = 0;
+        while (true) {
+            Integer count = transactionTemplate.execute(status -> {
+                List<Long> ids = jdbcTemplate.queryForList(SELECT_BATCH_SQL, Long.class, before, batchSize);
+                if (ids.isEmpty()) {
+                    return 0;
+                }
+                Long lastId = ids.get(ids.size() - 1);
+                jdbcTemplate.update(COPY_SQL, archivedAt, before, lastId);
+                return jdbcTemplate.update(DELETE_SQL, before, lastId);
+            });
+            if (count == null || count == 0) {
+                break;
+            }
+            moved += count;
+        }
+        log.info("Archived {} focus sessions started before {}", moved, boundary);
+        return moved;
+    }
+}
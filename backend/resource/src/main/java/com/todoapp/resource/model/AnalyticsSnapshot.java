@@ -0,0 +1,74 @@
+package com.todoapp.resource.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.UpdateTimestamp;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * AnalyticsSnapshot entity holding a precomputed analytics view of one
+ * completed week or month.
+ * Written by the nightly snapshot job and deleted when data inside its period,
+ * or the period it is compared with, changes.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "analytics_snapshots", uniqueConstraints = {
+        @UniqueConstraint(columnNames = { "user_id", "period", "period_start" })
+})
+public class AnalyticsSnapshot {
+
+    /**
+     * Length of a snapshot period.
+     */
+    public enum Period {
+        WEEK, MONTH
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * User identifier from Auth0 sub claim
+     */
+    @Column(name = "user_id", nullable = false, length = 255)
+    private String userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Period period;
+
+    /**
+     * Monday of the week or first day of the month
+     */
+    @Column(name = "period_start", nullable = false)
+    private LocalDate periodStart;
+
+    /**
+     * The view serialized as JSON
+     */
+    @Column(nullable = false, length = 16777215)
+    private String payload;
+
+    @UpdateTimestamp
+    @Column(name = "computed_at")
+    private LocalDateTime computedAt;
+}
@@ -0,0 +1,75 @@
+package com.todoapp.resource.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * FocusSession moved out of the hot focus_sessions table by the archival job.
+ * Keeps the original id and columns; the task is referenced by id only, since
+ * archived rows outlive the tasks they were recorded for.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Immutable
+@Entity
+@Table(name = "focus_sessions_archive", indexes = {
+        @Index(columnList = "user_id, local_date")
+})
+public class ArchivedFocusSession {
+
+    @Id
+    private Long id;
+
+    @Column(name = "user_id", nullable = false, length = 255)
+    private String userId;
+
+    @Column(name = "task_id")
+    private Long taskId;
+
+    @Column(name = "session_type", nullable = false)
+    @Enumerated(jakarta.persistence.EnumType.STRING)
+    private FocusSession.SessionType sessionType;
+
+    @Column(name = "status", nullable = false)
+    @Enumerated(jakarta.persistence.EnumType.STRING)
+    private FocusSession.SessionStatus status;
+
+    @Column(name = "scheduled_duration", nullable = false)
+    private Integer scheduledDuration;
+
+    @Column(name = "actual_duration", nullable = false)
+    private Integer actualDuration;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "ended_at")
+    private LocalDateTime endedAt;
+
+    @Column(name = "local_date", nullable = false)
+    private LocalDate localDate;
+
+    @Column(name = "client_session_id", length = 36)
+    private String clientSessionId;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
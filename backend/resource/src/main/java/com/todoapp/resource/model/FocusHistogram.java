@@ -0,0 +1,101 @@
+package com.todoapp.resource.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.UpdateTimestamp;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * FocusHistogram entity holding fixed-bucket histograms of one user's focus
+ * sessions on one day.
+ * Days are merged by adding the arrays element-wise.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "focus_histograms", uniqueConstraints = {
+        @UniqueConstraint(columnNames = { "user_id", "date" })
+})
+public class FocusHistogram {
+
+    /** Width of a duration bucket in minutes. */
+    public static final int BUCKET_MINUTES = 5;
+    /** Duration buckets; the last one collects everything from 120 minutes up. */
+    public static final int DURATION_BUCKETS = 25;
+    /** Interruption buckets in 10% steps of the scheduled duration. */
+    public static final int INTERRUPTION_BUCKETS = 10;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * User identifier from Auth0 sub claim
+     */
+    @Column(name = "user_id", nullable = false, length = 255)
+    private String userId;
+
+    @Column(nullable = false)
+    private LocalDate date;
+
+    /**
+     * Session counts by actual duration
+     */
+    @Convert(converter = IntArrayConverter.class)
+    @Column(name = "length_buckets", nullable = false)
+    private int[] lengthBuckets;
+
+    /**
+     * Interrupted session counts by share of the scheduled duration reached
+     */
+    @Convert(converter = IntArrayConverter.class)
+    @Column(name = "interruption_buckets", nullable = false)
+    private int[] interruptionBuckets;
+
+    /**
+     * Session counts by scheduled duration
+     */
+    @Convert(converter = IntArrayConverter.class)
+    @Column(name = "scheduled_totals", nullable = false)
+    private int[] scheduledTotals;
+
+    /**
+     * Completed session counts by scheduled duration
+     */
+    @Convert(converter = IntArrayConverter.class)
+    @Column(name = "scheduled_completed", nullable = false)
+    private int[] scheduledCompleted;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    /**
+     * Creates an empty histogram for the user and day.
+     */
+    public static FocusHistogram empty(String userId, LocalDate date) {
+        return FocusHistogram.builder()
+                .userId(userId)
+                .date(date)
+                .lengthBuckets(new int[DURATION_BUCKETS])
+                .interruptionBuckets(new int[INTERRUPTION_BUCKETS])
+                .scheduledTotals(new int[DURATION_BUCKETS])
+                .scheduledCompleted(new int[DURATION_BUCKETS])
+                .build();
+    }
+}
@@ -0,0 +1,101 @@
+package com.todoapp.resource.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * FocusRecord entity holding a user's focus streaks and personal records.
+ * Maintained incrementally as focus sessions are recorded; the running day and
+ * week totals let new sessions update the records without reading history.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@DynamicUpdate
+@Entity
+@Table(name = "focus_records")
+public class FocusRecord {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * User identifier from Auth0 sub claim
+     */
+    @Column(name = "user_id", nullable = false, unique = true, length = 255)
+    private String userId;
+
+    /**
+     * Consecutive focus days ending at lastFocusDate
+     */
+    @Column(name = "current_streak", nullable = false)
+    @Builder.Default
+    private int currentStreak = 0;
+
+    @Column(name = "longest_streak", nullable = false)
+    @Builder.Default
+    private int longestStreak = 0;
+
+    /**
+     * Most recent day with a focus session
+     */
+    @Column(name = "last_focus_date")
+    private LocalDate lastFocusDate;
+
+    /**
+     * Running focus total of lastFocusDate
+     */
+    @Column(name = "last_day_seconds", nullable = false)
+    @Builder.Default
+    private long lastDaySeconds = 0;
+
+    /**
+     * Monday of the week containing lastFocusDate
+     */
+    @Column(name = "current_week_start")
+    private LocalDate currentWeekStart;
+
+    /**
+     * Running focus total of currentWeekStart's week
+     */
+    @Column(name = "current_week_seconds", nullable = false)
+    @Builder.Default
+    private long currentWeekSeconds = 0;
+
+    @Column(name = "best_day_date")
+    private LocalDate bestDayDate;
+
+    @Column(name = "best_day_seconds", nullable = false)
+    @Builder.Default
+    private long bestDaySeconds = 0;
+
+    @Column(name = "best_week_start")
+    private LocalDate bestWeekStart;
+
+    @Column(name = "best_week_seconds", nullable = false)
+    @Builder.Default
+    private long bestWeekSeconds = 0;
+
+    /**
+     * Timestamp when the record was last updated
+     */
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
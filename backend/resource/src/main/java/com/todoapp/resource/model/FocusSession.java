@@ -1,5 +1,6 @@
 package com.todoapp.resource.model;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 import org.hibernate.annotations.CreationTimestamp;
@@ -14,7 +15,10 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -31,7 +35,9 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @DynamicUpdate
 @Entity
-@Table(name = "focus_sessions")
+@Table(name = "focus_sessions", uniqueConstraints = {
+        @UniqueConstraint(columnNames = { "user_id", "client_session_id" })
+})
 public class FocusSession {
 
     @Id
@@ -67,10 +73,31 @@ public class FocusSession {
     @Column(name = "ended_at")
     private LocalDateTime endedAt;
 
+    /**
+     * Day the session started on the user's clock.
+     * startedAt is recorded in the client's local time, so this is its date,
+     * fixed at write time rather than derived in the database time zone.
+     */
+    @Column(name = "local_date")
+    private LocalDate localDate;
+
+    /**
+     * UUID assigned by the client when the session was recorded offline.
+     * Replays of the same session are ignored.
+     */
+    @Column(name = "client_session_id", length = 36, updatable = false)
+    private String clientSessionId;
+
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
 
+    @PrePersist
+    @PreUpdate
+    void assignLocalDate() {
+        localDate = startedAt != null ? startedAt.toLocalDate() : null;
+    }
+
     public enum SessionType {
         FOCUS, SHORT_BREAK, LONG_BREAK
     }
@@ -0,0 +1,30 @@
+package com.todoapp.resource.model;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores an int array as a comma-separated string column.
+ */
+@Converter
+public class IntArrayConverter implements AttributeConverter<int[], String> {
+
+    @Override
+    public String convertToDatabaseColumn(int[] attribute) {
+        if (attribute == null) {
+            return null;
+        }
+        return Arrays.stream(attribute).mapToObj(Integer::toString).collect(Collectors.joining(","));
+    }
+
+    @Override
+    public int[] convertToEntityAttribute(String dbData) {
+        if (dbData == null || dbData.isEmpty()) {
+            return new int[0];
+        }
+        return Arrays.stream(dbData.split(",")).mapToInt(Integer::parseInt).toArray();
+    }
+}
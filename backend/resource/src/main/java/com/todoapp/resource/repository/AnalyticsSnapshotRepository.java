@@ -0,0 +1,43 @@
+package com.todoapp.resource.repository;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.todoapp.resource.model.AnalyticsSnapshot;
+
+/**
+ * Repository for AnalyticsSnapshot entity.
+ */
+@Repository
+public interface AnalyticsSnapshotRepository extends JpaRepository<AnalyticsSnapshot, Long> {
+
+    /**
+     * Find the snapshot of one period.
+     */
+    Optional<AnalyticsSnapshot> findByUserIdAndPeriodAndPeriodStart(String userId,
+            AnalyticsSnapshot.Period period, LocalDate periodStart);
+
+    /**
+     * Delete the snapshot of one period.
+     */
+    long deleteByUserIdAndPeriodAndPeriodStart(String userId, AnalyticsSnapshot.Period period,
+            LocalDate periodStart);
+
+    /**
+     * Delete the user's week and month snapshots starting in the given ranges
+     * (inclusive).
+     */
+    @Modifying
+    @Query("DELETE FROM AnalyticsSnapshot s WHERE s.userId = :userId AND (" +
+            "(s.period = 'WEEK' AND s.periodStart BETWEEN :firstWeek AND :lastWeek) OR " +
+            "(s.period = 'MONTH' AND s.periodStart BETWEEN :firstMonth AND :lastMonth))")
+    int deleteByUserIdAndPeriodStartBetween(@Param("userId") String userId,
+            @Param("firstWeek") LocalDate firstWeek, @Param("lastWeek") LocalDate lastWeek,
+            @Param("firstMonth") LocalDate firstMonth, @Param("lastMonth") LocalDate lastMonth);
+}
@@ -0,0 +1,53 @@
+package com.todoapp.resource.repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.todoapp.resource.model.ArchivedFocusSession;
+
+@Repository
+public interface ArchivedFocusSessionRepository extends JpaRepository<ArchivedFocusSession, Long> {
+
+    /**
+     * Latest local date among archived sessions, empty while nothing is archived.
+     */
+    @Query("SELECT MAX(a.localDate) FROM ArchivedFocusSession a")
+    Optional<LocalDate> findLatestLocalDate();
+
+    /**
+     * Archived FOCUS sessions of a user in a range (inclusive), each with its
+     * task and category if the task still exists.
+     *
+     * @return rows of [ArchivedFocusSession, Task or null, Category or null]
+     */
+    @Query("SELECT a, t, c FROM ArchivedFocusSession a LEFT JOIN Task t ON t.id = a.taskId " +
+            "LEFT JOIN t.category c " +
+            "WHERE a.userId = :userId AND a.startedAt BETWEEN :start AND :end AND a.sessionType = 'FOCUS'")
+    List<Object[]> findWithTaskByUserIdAndStartedAtBetween(
+            @Param("userId") String userId,
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end);
+
+    /**
+     * Client session ids of a user's archived sessions among the given ones,
+     * limited to days in a range (inclusive) so that only those partitions are
+     * read.
+     */
+    @Query("SELECT a.clientSessionId FROM ArchivedFocusSession a WHERE a.userId = :userId " +
+            "AND a.localDate BETWEEN :firstDate AND :lastDate AND a.clientSessionId IN :clientSessionIds")
+    List<String> findClientSessionIds(
+            @Param("userId") String userId,
+            @Param("firstDate") LocalDate firstDate,
+            @Param("lastDate") LocalDate lastDate,
+            @Param("clientSessionIds") List<String> clientSessionIds);
+
+    Optional<ArchivedFocusSession> findByUserIdAndLocalDateAndClientSessionId(String userId, LocalDate localDate,
+            String clientSessionId);
+}
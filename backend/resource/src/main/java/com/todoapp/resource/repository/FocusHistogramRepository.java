@@ -0,0 +1,45 @@
+package com.todoapp.resource.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.todoapp.resource.model.FocusHistogram;
+
+import jakarta.persistence.LockModeType;
+
+/**
+ * Repository for FocusHistogram entity.
+ */
+@Repository
+public interface FocusHistogramRepository extends JpaRepository<FocusHistogram, Long> {
+
+    /**
+     * Find all daily histograms for a user within a date range (inclusive).
+     */
+    List<FocusHistogram> findByUserIdAndDateBetween(String userId, LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Find the histogram of a user's day and lock it until the transaction ends.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT h FROM FocusHistogram h WHERE h.userId = :userId AND h.date = :date")
+    Optional<FocusHistogram> findByUserIdAndDateForUpdate(@Param("userId") String userId,
+            @Param("date") LocalDate date);
+
+    /**
+     * Check if the histogram of a user's day exists, without locking.
+     */
+    boolean existsByUserIdAndDate(String userId, LocalDate date);
+
+    /**
+     * Check if any histogram exists for a user.
+     */
+    boolean existsByUserId(String userId);
+}
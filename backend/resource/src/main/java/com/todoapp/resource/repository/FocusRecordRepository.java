@@ -0,0 +1,33 @@
+package com.todoapp.resource.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.todoapp.resource.model.FocusRecord;
+
+import jakarta.persistence.LockModeType;
+
+/**
+ * Repository for FocusRecord entity.
+ */
+@Repository
+public interface FocusRecordRepository extends JpaRepository<FocusRecord, Long> {
+
+    /**
+     * Find the record for a user.
+     */
+    Optional<FocusRecord> findByUserId(String userId);
+
+    /**
+     * Find the record for a user and lock it until the transaction ends, so that
+     * concurrent sessions of the same user are applied one after another.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM FocusRecord r WHERE r.userId = :userId")
+    Optional<FocusRecord> findByUserIdForUpdate(@Param("userId") String userId);
+}
@@ -3,15 +3,21 @@ package com.todoapp.resource.repository;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.todoapp.resource.model.FocusSession;
 
+import jakarta.persistence.LockModeType;
+
 @Repository
 public interface FocusSessionRepository extends JpaRepository<FocusSession, Long> {
 
@@ -30,6 +36,22 @@ public interface FocusSessionRepository extends JpaRepository<FocusSession, Long
         @Query("SELECT COALESCE(SUM(fs.actualDuration), 0) FROM FocusSession fs WHERE fs.userId = :userId AND fs.sessionType = 'FOCUS'")
         Integer getTotalFocusDurationByUserId(@Param("userId") String userId);
 
+        /**
+         * {@link #getTotalFocusMinutesByUserIdAndDateRange} over hot and archived
+         * sessions.
+         */
+        @Query("SELECT COALESCE(SUM(fs.actualDuration), 0) / 60 FROM (" + HOT_AND_ARCHIVED_FOCUS + ") fs " +
+                        "WHERE fs.startedAt BETWEEN :startOfDay AND :endOfDay")
+        Integer getTotalFocusMinutesByUserIdAndDateRangeIncludingArchive(@Param("userId") String userId,
+                        @Param("startOfDay") LocalDateTime startOfDay,
+                        @Param("endOfDay") LocalDateTime endOfDay);
+
+        /**
+         * {@link #getTotalFocusDurationByUserId} over hot and archived sessions.
+         */
+        @Query("SELECT COALESCE(SUM(fs.actualDuration), 0) FROM (" + HOT_AND_ARCHIVED_FOCUS + ") fs")
+        Integer getTotalFocusDurationByUserIdIncludingArchive(@Param("userId") String userId);
+
         /**
          * Get total actual duration for a user between two dates (inclusive, filtered
          * by FOCUS type)
@@ -57,12 +79,6 @@ public interface FocusSessionRepository extends JpaRepository<FocusSession, Long
         Long countTotalSessions(@Param("userId") String userId, @Param("start") LocalDateTime start,
                         @Param("end") LocalDateTime end);
 
-        /**
-         * Sum actual duration for a list of task IDs.
-         */
-        @Query("SELECT COALESCE(SUM(fs.actualDuration), 0) FROM FocusSession fs WHERE fs.task.id IN :taskIds AND fs.sessionType = 'FOCUS'")
-        Integer sumActualDurationByTaskIds(@Param("taskIds") List<Long> taskIds);
-
         /**
          * Sum actual duration for a single task ID (all time).
          */
@@ -94,6 +110,103 @@ public interface FocusSessionRepository extends JpaRepository<FocusSession, Long
                         @Param("start") OffsetDateTime start,
                         @Param("end") OffsetDateTime end);
 
+        /**
+         * Projection for the focus-session side of the KPI calculation.
+         * All figures are returned together by {@link #aggregateKpiFocusStats}.
+         */
+        public interface KpiFocusProjection {
+                Long getCurrentSeconds();
+
+                Long getPreviousSeconds();
+
+                Long getCompletedSessions();
+
+                Long getTotalSessions();
+
+                Long getEstimatedTaskSeconds();
+        }
+
+        /**
+         * Aggregate every focus-session KPI figure for the current and previous
+         * period in one trip using conditional aggregation.
+         * Session figures use [start, end) / [prevStart, prevEnd) on startedAt, the
+         * estimation figure uses [taskStart, taskEnd) on the task's scheduledStartAt.
+         */
+        @Query("SELECT " +
+                        "COALESCE(SUM(CASE WHEN fs.startedAt >= :start AND fs.startedAt < :end THEN fs.actualDuration ELSE 0 END), 0) as currentSeconds, "
+                        +
+                        "COALESCE(SUM(CASE WHEN fs.startedAt >= :prevStart AND fs.startedAt < :prevEnd THEN fs.actualDuration ELSE 0 END), 0) as previousSeconds, "
+                        +
+                        "COALESCE(SUM(CASE WHEN fs.startedAt >= :start AND fs.startedAt < :end AND fs.status = 'COMPLETED' THEN 1 ELSE 0 END), 0) as completedSessions, "
+                        +
+                        "COALESCE(SUM(CASE WHEN fs.startedAt >= :start AND fs.startedAt < :end THEN 1 ELSE 0 END), 0) as totalSessions, "
+                        +
+                        "COALESCE(SUM(CASE WHEN t.status = TaskStatus.COMPLETED AND t.estimatedPomodoros IS NOT NULL "
+                        +
+                        "AND t.scheduledStartAt >= :taskStart AND t.scheduledStartAt < :taskEnd THEN fs.actualDuration ELSE 0 END), 0) as estimatedTaskSeconds "
+                        +
+                        "FROM FocusSession fs " +
+                        "LEFT JOIN fs.task t " +
+                        "WHERE fs.userId = :userId " +
+                        "AND fs.sessionType = 'FOCUS' " +
+                        "AND ((fs.startedAt >= :start AND fs.startedAt < :end) " +
+                        "OR (fs.startedAt >= :prevStart AND fs.startedAt < :prevEnd) " +
+                        "OR (t.status = TaskStatus.COMPLETED AND t.estimatedPomodoros IS NOT NULL " +
+                        "AND t.scheduledStartAt >= :taskStart AND t.scheduledStartAt < :taskEnd))")
+        KpiFocusProjection aggregateKpiFocusStats(
+                        @Param("userId") String userId,
+                        @Param("start") LocalDateTime start,
+                        @Param("end") LocalDateTime end,
+                        @Param("prevStart") LocalDateTime prevStart,
+                        @Param("prevEnd") LocalDateTime prevEnd,
+                        @Param("taskStart") OffsetDateTime taskStart,
+                        @Param("taskEnd") OffsetDateTime taskEnd);
+
+        /**
+         * Same as {@link #aggregateKpiFocusStats}, over hot and archived sessions.
+         * Only needed for ranges reaching back before the archive boundary.
+         */
+        @Query("SELECT " +
+                        "COALESCE(SUM(CASE WHEN fs.startedAt >= :start AND fs.startedAt < :end THEN fs.actualDuration ELSE 0 END), 0) as currentSeconds, "
+                        +
+                        "COALESCE(SUM(CASE WHEN fs.startedAt >= :prevStart AND fs.startedAt < :prevEnd THEN fs.actualDuration ELSE 0 END), 0) as previousSeconds, "
+                        +
+                        "COALESCE(SUM(CASE WHEN fs.startedAt >= :start AND fs.startedAt < :end AND fs.status = 'COMPLETED' THEN 1 ELSE 0 END), 0) as completedSessions, "
+                        +
+                        "COALESCE(SUM(CASE WHEN fs.startedAt >= :start AND fs.startedAt < :end THEN 1 ELSE 0 END), 0) as totalSessions, "
+                        +
+                        "COALESCE(SUM(CASE WHEN t.status = TaskStatus.COMPLETED AND t.estimatedPomodoros IS NOT NULL "
+                        +
+                        "AND t.scheduledStartAt >= :taskStart AND t.scheduledStartAt < :taskEnd THEN fs.actualDuration ELSE 0 END), 0) as estimatedTaskSeconds "
+                        +
+                        "FROM (" + HOT_AND_ARCHIVED_FOCUS + ") fs " +
+                        "LEFT JOIN Task t ON t.id = fs.taskId " +
+                        "WHERE (fs.startedAt >= :start AND fs.startedAt < :end) " +
+                        "OR (fs.startedAt >= :prevStart AND fs.startedAt < :prevEnd) " +
+                        "OR (t.status = TaskStatus.COMPLETED AND t.estimatedPomodoros IS NOT NULL " +
+                        "AND t.scheduledStartAt >= :taskStart AND t.scheduledStartAt < :taskEnd)")
+        KpiFocusProjection aggregateKpiFocusStatsIncludingArchive(
+                        @Param("userId") String userId,
+                        @Param("start") LocalDateTime start,
+                        @Param("end") LocalDateTime end,
+                        @Param("prevStart") LocalDateTime prevStart,
+                        @Param("prevEnd") LocalDateTime prevEnd,
+                        @Param("taskStart") OffsetDateTime taskStart,
+                        @Param("taskEnd") OffsetDateTime taskEnd);
+
+        /**
+         * A user's FOCUS sessions from both the hot table and the archive, as a
+         * derived table (taskId, startedAt, localDate, status, scheduledDuration,
+         * actualDuration). Binds :userId.
+         */
+        String HOT_AND_ARCHIVED_FOCUS = "SELECT f.taskId AS taskId, f.startedAt AS startedAt, "
+                        + "f.localDate AS localDate, f.status AS status, "
+                        + "f.scheduledDuration AS scheduledDuration, f.actualDuration AS actualDuration "
+                        + "FROM FocusSession f WHERE f.userId = :userId AND f.sessionType = 'FOCUS' "
+                        + "UNION ALL "
+                        + "SELECT a.taskId, a.startedAt, a.localDate, a.status, a.scheduledDuration, a.actualDuration "
+                        + "FROM ArchivedFocusSession a WHERE a.userId = :userId AND a.sessionType = 'FOCUS'";
+
         /**
          * Projection for category focus time.
          */
@@ -116,6 +229,185 @@ public interface FocusSessionRepository extends JpaRepository<FocusSession, Long
                 Long getMinutes();
         }
 
+        /**
+         * Projection for daily focus time in seconds.
+         */
+        public interface DailyFocusSecondsProjection {
+                LocalDate getDate();
+
+                Long getSeconds();
+        }
+
+        /**
+         * Get focus seconds per day over the user's whole history, oldest first,
+         * including archived sessions.
+         * Used only to rebuild incrementally maintained records.
+         */
+        @Query("SELECT fs.localDate as date, " +
+                        "COALESCE(SUM(fs.actualDuration), 0) as seconds " +
+                        "FROM (" + HOT_AND_ARCHIVED_FOCUS + ") fs " +
+                        "WHERE fs.localDate IS NOT NULL " +
+                        "GROUP BY fs.localDate " +
+                        "ORDER BY fs.localDate")
+        List<DailyFocusSecondsProjection> aggregateDailyFocusSecondsByUserId(@Param("userId") String userId);
+
+        /**
+         * Projection of the fields bucketed by session histograms.
+         */
+        public interface SessionSampleProjection {
+                LocalDate getDate();
+
+                FocusSession.SessionStatus getStatus();
+
+                Integer getScheduledDuration();
+
+                Integer getActualDuration();
+        }
+
+        /**
+         * Get the bucketed fields of all of a user's focus sessions, including
+         * archived ones.
+         * Used only to rebuild histograms.
+         */
+        @Query("SELECT fs.localDate as date, fs.status as status, " +
+                        "fs.scheduledDuration as scheduledDuration, fs.actualDuration as actualDuration " +
+                        "FROM (" + HOT_AND_ARCHIVED_FOCUS + ") fs " +
+                        "WHERE fs.localDate IS NOT NULL")
+        List<SessionSampleProjection> findSessionSamplesByUserId(@Param("userId") String userId);
+
+        /**
+         * Projection of one session as held by the columnar session store.
+         */
+        public interface SessionColumnProjection {
+                Long getId();
+
+                LocalDateTime getStartedAt();
+
+                Integer getActualDuration();
+
+                Long getTaskId();
+
+                Long getCategoryId();
+
+                FocusSession.SessionType getSessionType();
+        }
+
+        /**
+         * Get all of a user's sessions in start order, for loading the columnar store.
+         */
+        @Query("SELECT fs.id as id, fs.startedAt as startedAt, fs.actualDuration as actualDuration, " +
+                        "t.id as taskId, c.id as categoryId, fs.sessionType as sessionType " +
+                        "FROM FocusSession fs LEFT JOIN fs.task t LEFT JOIN t.category c " +
+                        "WHERE fs.userId = :userId AND fs.startedAt IS NOT NULL " +
+                        "ORDER BY fs.startedAt, fs.id")
+        List<SessionColumnProjection> findSessionColumnsByUserId(@Param("userId") String userId);
+
+        /**
+         * Get one session in the columnar store's shape.
+         */
+        @Query("SELECT fs.id as id, fs.startedAt as startedAt, fs.actualDuration as actualDuration, " +
+                        "t.id as taskId, c.id as categoryId, fs.sessionType as sessionType " +
+                        "FROM FocusSession fs LEFT JOIN fs.task t LEFT JOIN t.category c " +
+                        "WHERE fs.id = :id")
+        Optional<SessionColumnProjection> findSessionColumnsById(@Param("id") Long id);
+
+        /**
+         * Find a session and lock it until the transaction ends, so that recorded
+         * updates and buffered progress of the session are applied one after
+         * another.
+         */
+        @Lock(LockModeType.PESSIMISTIC_WRITE)
+        @Query("SELECT fs FROM FocusSession fs WHERE fs.id = :id")
+        Optional<FocusSession> findByIdForUpdate(@Param("id") Long id);
+
+        /**
+         * Find sessions and lock them until the transaction ends, in id order to
+         * avoid deadlocks between concurrent writers.
+         */
+        @Lock(LockModeType.PESSIMISTIC_WRITE)
+        @Query("SELECT fs FROM FocusSession fs WHERE fs.id IN :ids ORDER BY fs.id")
+        List<FocusSession> findAllByIdInForUpdate(@Param("ids") Collection<Long> ids);
+
+        /**
+         * Projection of the stored state a progress update is applied to.
+         */
+        public interface SessionProgressProjection {
+                FocusSession.SessionType getSessionType();
+
+                FocusSession.SessionStatus getStatus();
+
+                Integer getScheduledDuration();
+
+                Integer getActualDuration();
+
+                LocalDateTime getStartedAt();
+        }
+
+        /**
+         * Get the stored progress state of a user's session without loading the
+         * entity or its task.
+         */
+        @Query("SELECT fs.sessionType as sessionType, fs.status as status, " +
+                        "fs.scheduledDuration as scheduledDuration, fs.actualDuration as actualDuration, " +
+                        "fs.startedAt as startedAt " +
+                        "FROM FocusSession fs WHERE fs.id = :id AND fs.userId = :userId")
+        Optional<SessionProgressProjection> findSessionProgressByIdAndUserId(
+                        @Param("id") Long id,
+                        @Param("userId") String userId);
+
+        /**
+         * Projection of a focus session's start and length.
+         */
+        public interface FocusSpanProjection {
+                LocalDateTime getStartedAt();
+
+                Integer getActualDuration();
+        }
+
+        /**
+         * Get start and length of focus sessions starting in a range, in start order.
+         */
+        @Query("SELECT fs.startedAt as startedAt, fs.actualDuration as actualDuration " +
+                        "FROM FocusSession fs " +
+                        "WHERE fs.userId = :userId " +
+                        "AND fs.sessionType = 'FOCUS' " +
+                        "AND fs.startedAt >= :start AND fs.startedAt < :end " +
+                        "ORDER BY fs.startedAt")
+        List<FocusSpanProjection> findFocusSpansByUserIdAndDateRange(
+                        @Param("userId") String userId,
+                        @Param("start") LocalDateTime start,
+                        @Param("end") LocalDateTime end);
+
+        /**
+         * Same as {@link #findFocusSpansByUserIdAndDateRange}, over hot and archived
+         * sessions.
+         */
+        @Query("SELECT fs.startedAt as startedAt, fs.actualDuration as actualDuration " +
+                        "FROM (" + HOT_AND_ARCHIVED_FOCUS + ") fs " +
+                        "WHERE fs.startedAt >= :start AND fs.startedAt < :end " +
+                        "ORDER BY fs.startedAt")
+        List<FocusSpanProjection> findFocusSpansByUserIdAndDateRangeIncludingArchive(
+                        @Param("userId") String userId,
+                        @Param("start") LocalDateTime start,
+                        @Param("end") LocalDateTime end);
+
+        /**
+         * Find the next page of users with a focus session since the given day,
+         * ordered by user id after the last id of the previous page.
+         */
+        @Query("SELECT DISTINCT fs.userId FROM FocusSession fs WHERE fs.sessionType = 'FOCUS' " +
+                        "AND fs.localDate >= :since AND fs.userId > :afterUserId ORDER BY fs.userId")
+        List<String> findActiveFocusUserIdsAfter(
+                        @Param("since") LocalDate since,
+                        @Param("afterUserId") String afterUserId,
+                        Pageable pageable);
+
+        /**
+         * Find every user with at least one focus session.
+         */
+        @Query("SELECT DISTINCT fs.userId FROM FocusSession fs WHERE fs.sessionType = 'FOCUS'")
+        List<String> findDistinctFocusUserIds();
+
         /**
          * Projection for daily category focus time.
          */
@@ -151,36 +443,98 @@ public interface FocusSessionRepository extends JpaRepository<FocusSession, Long
                         @Param("end") LocalDateTime end);
 
         /**
-         * Count unique days with focus sessions in range.
+         * Same as {@link #aggregateCategoryFocusTime}, over hot and archived sessions.
          */
-        @Query("SELECT COUNT(DISTINCT CAST(fs.startedAt AS date)) FROM FocusSession fs " +
+        @Query("SELECT t.category.id as categoryId, " +
+                        "COALESCE(cat.name, 'Uncategorized') as categoryName, " +
+                        "COALESCE(cat.color, '#94a3b8') as categoryColor, " +
+                        "CAST(SUM(fs.actualDuration) / 60 AS int) as minutes " +
+                        "FROM (" + HOT_AND_ARCHIVED_FOCUS + ") fs " +
+                        "LEFT JOIN Task t ON t.id = fs.taskId " +
+                        "LEFT JOIN t.category cat " +
+                        "WHERE fs.startedAt >= :start AND fs.startedAt < :end " +
+                        "GROUP BY t.category.id, cat.name, cat.color")
+        List<CategoryFocusTimeProjection> aggregateCategoryFocusTimeIncludingArchive(
+                        @Param("userId") String userId,
+                        @Param("start") LocalDateTime start,
+                        @Param("end") LocalDateTime end);
+
+        /**
+         * Count unique days with focus sessions in a range of local dates
+         * (end exclusive).
+         */
+        @Query("SELECT COUNT(DISTINCT fs.localDate) FROM FocusSession fs " +
                         "WHERE fs.userId = :userId " +
                         "AND fs.sessionType = 'FOCUS' " +
-                        "AND fs.startedAt >= :start AND fs.startedAt < :end")
+                        "AND fs.localDate >= :startDate AND fs.localDate < :endDate")
         int countFocusDaysByUserIdAndDateRange(
                         @Param("userId") String userId,
-                        @Param("start") LocalDateTime start,
-                        @Param("end") LocalDateTime end);
+                        @Param("startDate") LocalDate startDate,
+                        @Param("endDate") LocalDate endDate);
 
         /**
-         * Get daily focus minutes for a date range in one trip.
+         * Get daily focus minutes for a range of local dates (end exclusive) in one
+         * trip.
          */
-        @Query("SELECT CAST(fs.startedAt AS date) as date, " +
+        @Query("SELECT fs.localDate as date, " +
                         "CAST(SUM(fs.actualDuration) / 60 AS long) as minutes " +
                         "FROM FocusSession fs " +
                         "WHERE fs.userId = :userId " +
                         "AND fs.sessionType = 'FOCUS' " +
-                        "AND fs.startedAt >= :start AND fs.startedAt < :end " +
-                        "GROUP BY CAST(fs.startedAt AS date)")
+                        "AND fs.localDate >= :startDate AND fs.localDate < :endDate " +
+                        "GROUP BY fs.localDate")
         List<DailyFocusProjection> aggregateDailyFocusMinutes(
                         @Param("userId") String userId,
-                        @Param("start") LocalDateTime start,
-                        @Param("end") LocalDateTime end);
+                        @Param("startDate") LocalDate startDate,
+                        @Param("endDate") LocalDate endDate);
 
         /**
-         * Get daily focus time by category for a range in one trip.
+         * Get focus seconds per day for a range of local dates (end exclusive) in one
+         * trip. Callers fold the days into longer periods.
          */
-        @Query("SELECT CAST(fs.startedAt AS date) as date, " +
+        @Query("SELECT fs.localDate as date, " +
+                        "COALESCE(SUM(fs.actualDuration), 0) as seconds " +
+                        "FROM FocusSession fs " +
+                        "WHERE fs.userId = :userId " +
+                        "AND fs.sessionType = 'FOCUS' " +
+                        "AND fs.localDate >= :startDate AND fs.localDate < :endDate " +
+                        "GROUP BY fs.localDate")
+        List<DailyFocusSecondsProjection> aggregateDailyFocusSeconds(
+                        @Param("userId") String userId,
+                        @Param("startDate") LocalDate startDate,
+                        @Param("endDate") LocalDate endDate);
+
+        /**
+         * Same as {@link #aggregateDailyFocusSeconds}, over hot and archived sessions.
+         */
+        @Query("SELECT fs.localDate as date, " +
+                        "COALESCE(SUM(fs.actualDuration), 0) as seconds " +
+                        "FROM (" + HOT_AND_ARCHIVED_FOCUS + ") fs " +
+                        "WHERE fs.localDate >= :startDate AND fs.localDate < :endDate " +
+                        "GROUP BY fs.localDate")
+        List<DailyFocusSecondsProjection> aggregateDailyFocusSecondsIncludingArchive(
+                        @Param("userId") String userId,
+                        @Param("startDate") LocalDate startDate,
+                        @Param("endDate") LocalDate endDate);
+
+        /**
+         * Same as {@link #aggregateDailyFocusMinutes}, over hot and archived sessions.
+         */
+        @Query("SELECT fs.localDate as date, " +
+                        "CAST(SUM(fs.actualDuration) / 60 AS long) as minutes " +
+                        "FROM (" + HOT_AND_ARCHIVED_FOCUS + ") fs " +
+                        "WHERE fs.localDate >= :startDate AND fs.localDate < :endDate " +
+                        "GROUP BY fs.localDate")
+        List<DailyFocusProjection> aggregateDailyFocusMinutesIncludingArchive(
+                        @Param("userId") String userId,
+                        @Param("startDate") LocalDate startDate,
+                        @Param("endDate") LocalDate endDate);
+
+        /**
+         * Get daily focus time by category for a range of local dates (end
+         * exclusive) in one trip.
+         */
+        @Query("SELECT fs.localDate as date, " +
                         "t.category.id as categoryId, " +
                         "COALESCE(cat.name, 'Uncategorized') as categoryName, " +
                         "COALESCE(cat.color, '#94a3b8') as categoryColor, " +
@@ -190,10 +544,39 @@ public interface FocusSessionRepository extends JpaRepository<FocusSession, Long
                         "LEFT JOIN t.category cat " +
                         "WHERE fs.userId = :userId " +
                         "AND fs.sessionType = 'FOCUS' " +
-                        "AND fs.startedAt >= :start AND fs.startedAt < :end " +
-                        "GROUP BY CAST(fs.startedAt AS date), t.category.id, cat.name, cat.color")
+                        "AND fs.localDate >= :startDate AND fs.localDate < :endDate " +
+                        "GROUP BY fs.localDate, t.category.id, cat.name, cat.color")
         List<DailyCategoryFocusProjection> aggregateDailyCategoryFocusTime(
                         @Param("userId") String userId,
-                        @Param("start") LocalDateTime start,
-                        @Param("end") LocalDateTime end);
-}
\ No newline at end of file
+                        @Param("startDate") LocalDate startDate,
+                        @Param("endDate") LocalDate endDate);
+
+        /**
+         * Same as {@link #aggregateDailyCategoryFocusTime}, over hot and archived
+         * sessions.
+         */
+        @Query("SELECT fs.localDate as date, " +
+                        "t.category.id as categoryId, " +
+                        "COALESCE(cat.name, 'Uncategorized') as categoryName, " +
+                        "COALESCE(cat.color, '#94a3b8') as categoryColor, " +
+                        "CAST(SUM(fs.actualDuration) / 60 AS int) as minutes " +
+                        "FROM (" + HOT_AND_ARCHIVED_FOCUS + ") fs " +
+                        "LEFT JOIN Task t ON t.id = fs.taskId " +
+                        "LEFT JOIN t.category cat " +
+                        "WHERE fs.localDate >= :startDate AND fs.localDate < :endDate " +
+                        "GROUP BY fs.localDate, t.category.id, cat.name, cat.color")
+        List<DailyCategoryFocusProjection> aggregateDailyCategoryFocusTimeIncludingArchive(
+                        @Param("userId") String userId,
+                        @Param("startDate") LocalDate startDate,
+                        @Param("endDate") LocalDate endDate);
+
+        /**
+         * Client session ids of a user that are already stored, among the given ones.
+         */
+        @Query("SELECT fs.clientSessionId FROM FocusSession fs WHERE fs.userId = :userId " +
+                        "AND fs.clientSessionId IN :clientSessionIds")
+        List<String> findClientSessionIdsByUserIdAndClientSessionIdIn(@Param("userId") String userId,
+                        @Param("clientSessionIds") List<String> clientSessionIds);
+
+        Optional<FocusSession> findByUserIdAndClientSessionId(String userId, String clientSessionId);
+}
@@ -2,6 +2,7 @@ package com.todoapp.resource.repository;
 
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -101,6 +102,19 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
          */
         boolean existsByIdAndUserId(Long id, String userId);
 
+        /**
+         * Ids among the given ones of tasks owned by the user.
+         */
+        @Query("SELECT t.id FROM Task t WHERE t.userId = :userId AND t.id IN :ids")
+        List<Long> findIdsByUserIdAndIdIn(@Param("userId") String userId, @Param("ids") Collection<Long> ids);
+
+        /**
+         * Get the user's tasks with the given ids, with their categories.
+         */
+        @Query("SELECT t FROM Task t LEFT JOIN FETCH t.category WHERE t.userId = :userId AND t.id IN :ids")
+        List<Task> findWithCategoryByUserIdAndIdIn(@Param("userId") String userId,
+                        @Param("ids") Collection<Long> ids);
+
         /**
          * Count completed tasks for a user within a date range.
          */
@@ -133,36 +147,129 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
                         @Param("endDate") LocalDate endDate);
 
         /**
-         * Count completed tasks for a user within a LocalDate range.
+         * Projection for task statistics over a LocalDate range.
          */
-        @Query("SELECT COUNT(t) FROM Task t WHERE t.userId = :userId " +
-                        "AND t.status = com.todoapp.resource.model.TaskStatus.COMPLETED " +
-                        "AND DATE(t.scheduledStartAt) BETWEEN :start AND :end")
-        Long countCompletedByUserIdAndScheduledStartAtDateBetween(
+        public interface TaskRangeStatsProjection {
+                Long getCompletedCount();
+
+                Long getTotalCount();
+
+                Long getEstimatedPomodoros();
+
+                Long getActualSeconds();
+        }
+
+        /**
+         * Aggregate completed/total counts, the estimated pomodoros of completed
+         * tasks and the focus seconds recorded against them in one trip.
+         */
+        @Query("SELECT " +
+                        "COALESCE(SUM(CASE WHEN t.status = TaskStatus.COMPLETED THEN 1 ELSE 0 END), 0) " +
+                        "as completedCount, " +
+                        "COUNT(t) as totalCount, " +
+                        "COALESCE(SUM(CASE WHEN t.status = TaskStatus.COMPLETED AND t.estimatedPomodoros IS NOT NULL " +
+                        "THEN t.estimatedPomodoros ELSE 0 END), 0) as estimatedPomodoros, " +
+                        "(SELECT COALESCE(SUM(fs.actualDuration), 0) FROM FocusSession fs JOIN fs.task ft " +
+                        "WHERE ft.userId = :userId AND ft.status = TaskStatus.COMPLETED " +
+                        "AND CAST(ft.scheduledStartAt AS date) BETWEEN :start AND :end " +
+                        "AND fs.sessionType = 'FOCUS') as actualSeconds " +
+                        "FROM Task t WHERE t.userId = :userId " +
+                        "AND CAST(t.scheduledStartAt AS date) BETWEEN :start AND :end")
+        TaskRangeStatsProjection aggregateTaskStatsByUserIdAndScheduledStartAtDateBetween(
                         @Param("userId") String userId,
                         @Param("start") LocalDate start,
                         @Param("end") LocalDate end);
 
         /**
-         * Count total tasks for a user within a LocalDate range.
+         * Projection for task statistics of one scheduled day.
          */
-        @Query("SELECT COUNT(t) FROM Task t WHERE t.userId = :userId " +
-                        "AND DATE(t.scheduledStartAt) BETWEEN :start AND :end")
-        Long countByUserIdAndScheduledStartAtDateBetween(
+        public interface DailyTaskStatsProjection extends TaskRangeStatsProjection {
+                LocalDate getDate();
+        }
+
+        /**
+         * Aggregate the task statistics of each scheduled day in a LocalDate range in
+         * one trip, so that any number of ranges inside it can be summed from the
+         * days.
+         */
+        @Query("SELECT CAST(t.scheduledStartAt AS date) as date, " +
+                        "COALESCE(SUM(CASE WHEN t.status = TaskStatus.COMPLETED THEN 1 ELSE 0 END), 0) " +
+                        "as completedCount, " +
+                        "COUNT(t) as totalCount, " +
+                        "COALESCE(SUM(CASE WHEN t.status = TaskStatus.COMPLETED AND t.estimatedPomodoros IS NOT NULL " +
+                        "THEN t.estimatedPomodoros ELSE 0 END), 0) as estimatedPomodoros, " +
+                        "COALESCE(SUM(CASE WHEN t.status = TaskStatus.COMPLETED THEN " +
+                        "(SELECT COALESCE(SUM(fs.actualDuration), 0) FROM FocusSession fs " +
+                        "WHERE fs.task = t AND fs.sessionType = 'FOCUS') ELSE 0 END), 0) as actualSeconds " +
+                        "FROM Task t WHERE t.userId = :userId " +
+                        "AND CAST(t.scheduledStartAt AS date) BETWEEN :start AND :end " +
+                        "GROUP BY CAST(t.scheduledStartAt AS date)")
+        List<DailyTaskStatsProjection> aggregateDailyTaskStatsByUserIdAndScheduledStartAtDateBetween(
                         @Param("userId") String userId,
                         @Param("start") LocalDate start,
                         @Param("end") LocalDate end);
 
         /**
-         * Find completed tasks for a user within a LocalDate range.
+         * Projection for the occurrences of one recurring series that are due.
          */
-        @Query("SELECT t FROM Task t WHERE t.userId = :userId " +
-                        "AND t.status = TaskStatus.COMPLETED " +
-                        "AND DATE(t.scheduledStartAt) BETWEEN :start AND :end")
-        List<Task> findCompletedByUserIdAndScheduledStartAtDateBetween(
+        public interface HabitSeriesProjection {
+                Long getSeriesId();
+
+                String getTitle();
+
+                Long getDueCount();
+
+                Long getCompletedCount();
+
+                Long getCurrentRun();
+
+                OffsetDateTime getLastCompletedAt();
+        }
+
+        /**
+         * Aggregate every recurring series of a user in one grouped trip.
+         * A series is the recurring parent plus its generated children; an
+         * occurrence is due once its day has passed, or today if already
+         * completed. The current run counts completed occurrences with no missed
+         * occurrence after them.
+         * Parents and children are read by separate branches, and days are
+         * compared as timestamp ranges, so that each branch can use the
+         * (user_id, recurrence_parent_id, status, scheduled_start_at) index.
+         */
+        @Query("SELECT p.id as seriesId, p.title as title, " +
+                        "COUNT(o.id) as dueCount, " +
+                        "SUM(CASE WHEN o.status = TaskStatus.COMPLETED THEN 1 ELSE 0 END) as completedCount, " +
+                        "SUM(CASE WHEN o.status = TaskStatus.COMPLETED AND NOT EXISTS (" +
+                        "SELECT 1 FROM Task m WHERE m.userId = :userId AND m.recurrenceParentId = o.seriesId " +
+                        "AND m.isDeleted = false AND m.status <> TaskStatus.COMPLETED " +
+                        "AND m.scheduledStartAt > o.scheduledStartAt AND m.scheduledStartAt < :todayStart" +
+                        ") AND NOT EXISTS (" +
+                        "SELECT 1 FROM Task m WHERE m.id = o.seriesId " +
+                        "AND m.isDeleted = false AND m.status <> TaskStatus.COMPLETED " +
+                        "AND m.scheduledStartAt > o.scheduledStartAt AND m.scheduledStartAt < :todayStart" +
+                        ") THEN 1 ELSE 0 END) as currentRun, " +
+                        "MAX(CASE WHEN o.status = TaskStatus.COMPLETED THEN o.scheduledStartAt END) " +
+                        "as lastCompletedAt " +
+                        "FROM (" +
+                        "SELECT t.id AS id, t.id AS seriesId, t.status AS status, " +
+                        "t.scheduledStartAt AS scheduledStartAt " +
+                        "FROM Task t WHERE t.userId = :userId AND t.recurrenceParentId IS NULL " +
+                        "AND t.isRecurring = true AND t.isDeleted = false " +
+                        "AND (t.scheduledStartAt < :todayStart OR (t.scheduledStartAt >= :todayStart " +
+                        "AND t.scheduledStartAt < :tomorrowStart AND t.status = TaskStatus.COMPLETED)) " +
+                        "UNION ALL " +
+                        "SELECT t.id, t.recurrenceParentId, t.status, t.scheduledStartAt " +
+                        "FROM Task t WHERE t.userId = :userId AND t.recurrenceParentId IS NOT NULL " +
+                        "AND t.isDeleted = false " +
+                        "AND (t.scheduledStartAt < :todayStart OR (t.scheduledStartAt >= :todayStart " +
+                        "AND t.scheduledStartAt < :tomorrowStart AND t.status = TaskStatus.COMPLETED))" +
+                        ") o JOIN Task p ON p.id = o.seriesId " +
+                        "WHERE p.isDeleted = false " +
+                        "GROUP BY p.id, p.title")
+        List<HabitSeriesProjection> aggregateHabitSeriesByUserId(
                         @Param("userId") String userId,
-                        @Param("start") LocalDate start,
-                        @Param("end") LocalDate end);
+                        @Param("todayStart") OffsetDateTime todayStart,
+                        @Param("tomorrowStart") OffsetDateTime tomorrowStart);
 
         /**
          * Find completed tasks for a user within a date range.
@@ -187,6 +294,71 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
                         @Param("start") OffsetDateTime start,
                         @Param("end") OffsetDateTime end);
 
+        /**
+         * Projection for the task side of the KPI calculation.
+         */
+        public interface KpiTaskProjection {
+                Long getCompletedCount();
+
+                Long getTotalCount();
+
+                Long getPrevCompletedCount();
+
+                Long getPrevTotalCount();
+
+                Long getEstimatedPomodoros();
+        }
+
+        /**
+         * Aggregate completed/total counts for the current and previous period and
+         * the estimated pomodoros of completed tasks in the current period in one
+         * trip.
+         */
+        @Query("SELECT " +
+                        "COALESCE(SUM(CASE WHEN t.scheduledStartAt >= :start AND t.scheduledStartAt < :end " +
+                        "AND t.status = TaskStatus.COMPLETED THEN 1 ELSE 0 END), 0) as completedCount, " +
+                        "COALESCE(SUM(CASE WHEN t.scheduledStartAt >= :start AND t.scheduledStartAt < :end " +
+                        "THEN 1 ELSE 0 END), 0) as totalCount, " +
+                        "COALESCE(SUM(CASE WHEN t.scheduledStartAt >= :prevStart AND t.scheduledStartAt < :prevEnd " +
+                        "AND t.status = TaskStatus.COMPLETED THEN 1 ELSE 0 END), 0) as prevCompletedCount, " +
+                        "COALESCE(SUM(CASE WHEN t.scheduledStartAt >= :prevStart AND t.scheduledStartAt < :prevEnd " +
+                        "THEN 1 ELSE 0 END), 0) as prevTotalCount, " +
+                        "COALESCE(SUM(CASE WHEN t.scheduledStartAt >= :start AND t.scheduledStartAt < :end " +
+                        "AND t.status = TaskStatus.COMPLETED AND t.estimatedPomodoros IS NOT NULL " +
+                        "THEN t.estimatedPomodoros ELSE 0 END), 0) as estimatedPomodoros " +
+                        "FROM Task t WHERE t.userId = :userId " +
+                        "AND ((t.scheduledStartAt >= :start AND t.scheduledStartAt < :end) " +
+                        "OR (t.scheduledStartAt >= :prevStart AND t.scheduledStartAt < :prevEnd))")
+        KpiTaskProjection aggregateKpiTaskStats(
+                        @Param("userId") String userId,
+                        @Param("start") OffsetDateTime start,
+                        @Param("end") OffsetDateTime end,
+                        @Param("prevStart") OffsetDateTime prevStart,
+                        @Param("prevEnd") OffsetDateTime prevEnd);
+
+        /**
+         * Projection for a per-day count.
+         */
+        public interface DailyCountProjection {
+                LocalDate getDate();
+
+                Long getCount();
+        }
+
+        /**
+         * Count completed tasks per scheduled day in a range in one trip.
+         * Uses the scheduled day, as the KPI completion counts do.
+         */
+        @Query("SELECT CAST(t.scheduledStartAt AS date) as date, COUNT(t) as count " +
+                        "FROM Task t WHERE t.userId = :userId " +
+                        "AND t.status = TaskStatus.COMPLETED AND t.isDeleted = false " +
+                        "AND t.scheduledStartAt >= :start AND t.scheduledStartAt < :end " +
+                        "GROUP BY CAST(t.scheduledStartAt AS date)")
+        List<DailyCountProjection> aggregateDailyCompletedCounts(
+                        @Param("userId") String userId,
+                        @Param("start") OffsetDateTime start,
+                        @Param("end") OffsetDateTime end);
+
         /**
          * Find all tasks for a user within a timestamp range (inclusive start,
          * exclusive end).
@@ -1,20 +1,32 @@
 package com.todoapp.resource.service;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.ai.chat.client.advisor.MessageChatMemoryAdvisor;
 import org.springframework.ai.chat.memory.ChatMemory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todoapp.resource.config.AppConfigurationProperties;
+import com.todoapp.resource.dto.AiTaskDto;
 import com.todoapp.resource.dto.TaskDto;
 import com.todoapp.resource.repository.CategoryRepository;
 import com.todoapp.resource.repository.ChatMemoryEntityRepository;
 import com.todoapp.resource.repository.ConversationRepository;
 
 import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.scheduler.Schedulers;
 
 /**
  * AI機能を提供するサービス
@@ -32,6 +44,19 @@ public class AiService {
 
     private final ChatMemoryEntityRepository chatMemoryRepository;
     private final CategoryRepository categoryRepository;
+    private final AiTaskContextBuilder contextBuilder;
+
+    private final AsyncTaskExecutor titleExecutor;
+    private final long streamTimeoutMillis;
+
+    private static final ObjectMapper RESPONSE_MAPPER = new ObjectMapper()
+            .registerModule(new com.fasterxml.jackson.datatype.jsr310.JavaTimeModule());
+
+    private static final String TOKEN_EVENT = "token";
+    private static final String ADVICE_EVENT = "advice";
+    private static final String RESULT_EVENT = "result";
+    private static final String TITLE_EVENT = "title";
+    private static final String ERROR_EVENT = "error";
 
     // ==============================================================================================
     // System Prompts
@@ -163,7 +188,8 @@ public class AiService {
             %s
 
             ## CurrentContextTask
-            ここにあるタスクのみを操作対象としてください:
+            ここにあるタスクのみを操作対象としてください。
+            トークン節約のため短縮キーで記載しています（応答は上記の通常のプロパティ名で返してください）:
             %s
 
             ユーザーの発言を解釈し、差分更新データを生成してください。
@@ -175,7 +201,10 @@ public class AiService {
             AiConversationService conversationService,
             ConversationRepository conversationRepository,
             ChatMemoryEntityRepository chatMemoryRepository,
-            CategoryRepository categoryRepository) {
+            CategoryRepository categoryRepository,
+            AiTaskContextBuilder contextBuilder,
+            AppConfigurationProperties appProperties,
+            @Qualifier("aiTitleExecutor") AsyncTaskExecutor titleExecutor) {
         // Build the basic chatClient first
         this.chatClient = chatClientBuilder.build();
 
@@ -191,6 +220,9 @@ public class AiService {
         this.conversationRepository = conversationRepository;
         this.chatMemoryRepository = chatMemoryRepository;
         this.categoryRepository = categoryRepository;
+        this.contextBuilder = contextBuilder;
+        this.titleExecutor = titleExecutor;
+        this.streamTimeoutMillis = appProperties.getAi().getStreamTimeout().toMillis();
     }
 
     /**
@@ -202,11 +234,101 @@ public class AiService {
      * @param currentTasks   現在のタスクリスト (DTO, with String/Long IDs)
      * @param projectTitle   プロジェクト名（あれば）
      * @return チャット結果（プレビュー用のタスクリスト + 生成タイトル）
+     *         タイトルは応答と並行して生成・保存し、応答時点で未完了なら null
+     *         （会話一覧の再取得で反映される）
      */
     public ChatResult chat(String conversationId, String userId, String userInput,
             List<TaskDto.SyncTaskDto> currentTasks,
             String projectTitle) {
-            
+        ChatTurn turn = prepareTurn(conversationId, userId, userInput, currentTasks, projectTitle);
+        // 初回メッセージの場合、タイトルを応答と並行して自動生成
+        CompletableFuture<String> title = startTitle(turn, userInput);
+
+        try {
+            String responseContent = prompt(turn, userInput).call().content();
+            TaskDto.SyncTaskList result = parseTaskList(responseContent);
+
+            log.debug("AI Chat result - advice: {}", result.advice());
+            log.debug("AI Chat result - tasks: {}", result.tasks());
+            contextBuilder.remember(turn.context());
+            return new ChatResult(result, title.getNow(null));
+        } catch (Exception e) {
+            log.error("AI Chat failed: {}", e.getMessage(), e);
+            throw new RuntimeException("タスク管理の処理に失敗しました: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 会話型タスク管理のストリーミング版
+     * モデルの出力を生成され次第 Server-Sent Events として送信する。
+     * <ul>
+     * <li>"token": 生成されたテキスト片</li>
+     * <li>"advice": 生成途中のアドバイス（それまでの全文）</li>
+     * <li>"result": 完了時のレスポンス（chat と同じ形式）</li>
+     * <li>"title": 初回メッセージで生成された会話タイトル（応答の前後どちらにも届きうる）</li>
+     * <li>"error": 失敗時のレスポンス</li>
+     * </ul>
+     * 会話の所有者チェックはストリーム開始前に行う。
+     * ストリームは応答とタイトル生成の両方が終わった時点で閉じる。
+     */
+    public SseEmitter streamChat(String conversationId, String userId, String userInput,
+            List<TaskDto.SyncTaskDto> currentTasks,
+            String projectTitle) {
+        ChatTurn turn = prepareTurn(conversationId, userId, userInput, currentTasks, projectTitle);
+        SseEmitter emitter = new SseEmitter(streamTimeoutMillis);
+        StreamingAdviceExtractor extractor = new StreamingAdviceExtractor();
+        CompletableFuture<String> title = startTitle(turn, userInput);
+        CompletableFuture<Void> answered = new CompletableFuture<>();
+        CompletableFuture<Void> titled = title.thenAccept(generated -> {
+            if (generated != null) {
+                sendQuietly(emitter, TITLE_EVENT, new AiTaskDto.StreamChunk(generated));
+            }
+        });
+        CompletableFuture.allOf(answered, titled).thenRun(emitter::complete);
+
+        // The model client may block while reading its response, so keep it off the request thread
+        Disposable subscription = prompt(turn, userInput).stream().content()
+                .subscribeOn(Schedulers.boundedElastic())
+                .subscribe(chunk -> {
+                    send(emitter, TOKEN_EVENT, new AiTaskDto.StreamChunk(chunk));
+                    if (extractor.append(chunk)) {
+                        send(emitter, ADVICE_EVENT, new AiTaskDto.StreamChunk(extractor.advice()));
+                    }
+                }, error -> {
+                    if (error instanceof UncheckedIOException) {
+                        log.debug("AI Chat stream closed by client: {}", conversationId);
+                    } else {
+                        log.error("AI Chat stream failed: {}", error.getMessage(), error);
+                        sendQuietly(emitter, ERROR_EVENT,
+                                AiTaskDto.ChatResponse.error("タスク管理の処理に失敗しました: " + error.getMessage()));
+                    }
+                    answered.complete(null);
+                }, () -> {
+                    try {
+                        TaskDto.SyncTaskList result = parseTaskList(extractor.content());
+                        contextBuilder.remember(turn.context());
+                        sendQuietly(emitter, RESULT_EVENT, AiTaskDto.ChatResponse.success(result, title.getNow(null)));
+                    } catch (Exception e) {
+                        log.error("AI Chat stream result invalid: {}", e.getMessage(), e);
+                        sendQuietly(emitter, ERROR_EVENT,
+                                AiTaskDto.ChatResponse.error("タスク管理の処理に失敗しました: " + e.getMessage()));
+                    }
+                    answered.complete(null);
+                });
+        emitter.onTimeout(subscription::dispose);
+        emitter.onError(e -> subscription.dispose());
+        return emitter;
+    }
+
+    /**
+     * 1回の会話ターンに必要なプロンプト情報
+     */
+    private record ChatTurn(String conversationId, String userId, String systemPrompt, boolean firstMessage,
+            AiTaskContextBuilder.TaskContext context) {
+    }
+
+    private ChatTurn prepareTurn(String conversationId, String userId, String userInput,
+            List<TaskDto.SyncTaskDto> currentTasks, String projectTitle) {
         // 操作対象の会話が存在する場合、自身の所有物かチェック
         java.util.Optional<com.todoapp.resource.model.Conversation> convOpt = conversationRepository.findById(conversationId);
         if (convOpt.isPresent() && !convOpt.get().getUserId().equals(userId)) {
@@ -220,39 +342,65 @@ public class AiService {
         log.debug("AI Chat - messageCount: {}, isFirstMessage: {}", messageCount, isFirstMessage);
 
         String todayDate = LocalDate.now().toString();
-        String tasksContext = formatTasksContextAsJson(currentTasks, projectTitle);
+        AiTaskContextBuilder.TaskContext tasksContext = contextBuilder.build(conversationId, isFirstMessage, userInput,
+                currentTasks, projectTitle);
         String categoriesContext = formatCategoriesContext(userId);
-        
-        String systemPrompt = String.format(SYSTEM_PROMPT, categoriesContext, todayDate, tasksContext);
 
-        String generatedTitle = null;
+        String systemPrompt = String.format(SYSTEM_PROMPT, categoriesContext, todayDate, tasksContext.text());
+        return new ChatTurn(conversationId, userId, systemPrompt, isFirstMessage, tasksContext);
+    }
 
-        try {
-            String responseContent = conversationalChatClient.prompt()
-                    .system(systemPrompt)
-                    .user(userInput)
-                    .advisors(a -> a.param(ChatMemory.CONVERSATION_ID, conversationId))
-                    .call()
-                    .content();
+    private ChatClient.ChatClientRequestSpec prompt(ChatTurn turn, String userInput) {
+        return conversationalChatClient.prompt()
+                .system(turn.systemPrompt())
+                .user(userInput)
+                .advisors(a -> a.param(ChatMemory.CONVERSATION_ID, turn.conversationId()));
+    }
 
-            String cleanedResponse = cleanJsonResponse(responseContent);
-            ObjectMapper mapper = new ObjectMapper();
-            mapper.registerModule(new com.fasterxml.jackson.datatype.jsr310.JavaTimeModule());
-            TaskDto.SyncTaskList result = mapper.readValue(cleanedResponse, TaskDto.SyncTaskList.class);
+    private TaskDto.SyncTaskList parseTaskList(String responseContent) throws IOException {
+        String cleanedResponse = cleanJsonResponse(responseContent);
+        return RESPONSE_MAPPER.readValue(cleanedResponse, TaskDto.SyncTaskList.class);
+    }
 
-            log.debug("AI Chat result - advice: {}", result.advice());
-            log.debug("AI Chat result - tasks: {}", result.tasks());
-            // 初回メッセージの場合、タイトルを自動生成
-            if (isFirstMessage) {
-                log.debug("First message detected, generating title...");
-                generatedTitle = generateConversationTitle(userInput);
-                conversationService.updateTitle(conversationId, generatedTitle, userId);
+    /**
+     * 初回メッセージならタイトル生成・保存を非同期で開始する
+     * 実行待ちが上限を超えた場合や失敗した場合は null で完了し、タイトルは "New Chat" のまま
+     */
+    private CompletableFuture<String> startTitle(ChatTurn turn, String userInput) {
+        if (!turn.firstMessage()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        log.debug("First message detected, generating title...");
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                String generatedTitle = generateConversationTitle(userInput);
+                conversationService.updateTitle(turn.conversationId(), generatedTitle, turn.userId());
                 log.debug("Generated and saved title: {}", generatedTitle);
-            }
-            return new ChatResult(result, generatedTitle);
-        } catch (Exception e) {
-            log.error("AI Chat failed: {}", e.getMessage(), e);
-            throw new RuntimeException("タスク管理の処理に失敗しました: " + e.getMessage(), e);
+                return generatedTitle;
+            }, titleExecutor).exceptionally(e -> {
+                log.error("Failed to save title for conversation {}: {}", turn.conversationId(), e.getMessage());
+                return null;
+            });
+        } catch (TaskRejectedException e) {
+            log.warn("Title generation skipped for conversation {}: executor is saturated", turn.conversationId());
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    private static void send(SseEmitter emitter, String name, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON));
+        } catch (IOException e) {
+            // Cancels the model stream
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void sendQuietly(SseEmitter emitter, String name, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON));
+        } catch (IOException | IllegalStateException e) {
+            log.debug("AI Chat stream closed before {}: {}", name, e.getMessage());
         }
     }
 
@@ -315,34 +463,6 @@ public class AiService {
         }
     }
 
-    /**
-     * 現在のタスクリストをコンテキスト用のJSON文字列に変換
-     */
-    /**
-     * 現在のタスクリストをコンテキスト用のJSON文字列に変換
-     */
-    private String formatTasksContextAsJson(List<TaskDto.SyncTaskDto> tasks,
-            String projectTitle) {
-        if (tasks == null || tasks.isEmpty()) {
-            return "[]";
-        }
-
-        try {
-            com.fasterxml.jackson.databind.ObjectMapper mapper = new com.fasterxml.jackson.databind.ObjectMapper();
-            mapper.registerModule(new com.fasterxml.jackson.datatype.jsr310.JavaTimeModule());
-
-            StringBuilder sb = new StringBuilder();
-            if (projectTitle != null) {
-                sb.append("プロジェクト: ").append(projectTitle).append("\n");
-            }
-            sb.append(mapper.writerWithDefaultPrettyPrinter().writeValueAsString(tasks));
-            return sb.toString();
-        } catch (Exception e) {
-            log.error("Failed to format tasks context as JSON", e);
-            return "[]";
-        }
-    }
-
     /**
      * ユーザーの登録済みカテゴリをプロンプト用の文字列に変換
      */
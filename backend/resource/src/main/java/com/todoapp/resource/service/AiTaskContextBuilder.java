@@ -0,0 +1,316 @@
+package com.todoapp.resource.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.todoapp.resource.config.AppConfigurationProperties;
+import com.todoapp.resource.dto.RecurrenceRuleDto;
+import com.todoapp.resource.dto.SubtaskDto;
+import com.todoapp.resource.dto.TaskDto;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Builds the task context of the AI system prompt within a token budget.
+ * Tasks are encoded as compact JSON with the short keys of {@link #KEY_LEGEND}
+ * and empty values left out. When they do not all fit, the tasks least related
+ * to the user's message are left out. On follow-up turns of a conversation,
+ * tasks sent on the last answered turn but left out now are listed by id.
+ */
+@Slf4j
+@Component
+public class AiTaskContextBuilder {
+
+    static final String KEY_LEGEND = "キー: i=id, t=title, d=description, s=scheduledStartAt, e=scheduledEndAt, "
+            + "a=isAllDay（省略時 false）, p=estimatedPomodoros, c=categoryName, l=taskListTitle, "
+            + "r=recurrenceRule（f=frequency, iv=interval（省略時 1）, bd=byDay, u=until, n=count）, "
+            + "st=status（省略時 PENDING）, sub=subtasks（t=title, x=isCompleted）";
+
+    private static final ObjectWriter WRITER = JsonMapper.builder()
+            .serializationInclusion(JsonInclude.Include.NON_EMPTY)
+            .build()
+            .writer();
+
+    // Rough token estimate: ASCII text packs about four characters per token,
+    // other scripts about one
+    private static final int ASCII_CHARS_PER_TOKEN = 4;
+
+    private final int tokenBudget;
+    private final int maxConversations;
+
+    // Ids of the tasks last sent per conversation; access-ordered for LRU
+    // eviction, guarded by "this"
+    private final LinkedHashMap<String, Set<Long>> sentTasks;
+
+    public AiTaskContextBuilder(AppConfigurationProperties appProperties) {
+        AppConfigurationProperties.AiConfiguration config = appProperties.getAi();
+        this.tokenBudget = config.getContextTokenBudget();
+        this.maxConversations = config.getContextMaxConversations();
+        this.sentTasks = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Set<Long>> eldest) {
+                return size() > maxConversations;
+            }
+        };
+    }
+
+    /**
+     * Task context of one turn. {@link #remember} it once the turn is answered
+     * so the next turn can list the tasks that left the context.
+     */
+    public record TaskContext(String conversationId, String text, Set<Long> taskIds) {
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    record ContextTask(
+            @JsonProperty("i") Long id,
+            @JsonProperty("t") String title,
+            @JsonProperty("d") String description,
+            @JsonProperty("s") String scheduledStartAt,
+            @JsonProperty("e") String scheduledEndAt,
+            @JsonProperty("a") Boolean isAllDay,
+            @JsonProperty("p") Integer estimatedPomodoros,
+            @JsonProperty("c") String categoryName,
+            @JsonProperty("l") String taskListTitle,
+            @JsonProperty("r") ContextRecurrence recurrenceRule,
+            @JsonProperty("st") String status,
+            @JsonProperty("sub") List<ContextSubtask> subtasks) {
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    record ContextRecurrence(
+            @JsonProperty("f") RecurrenceRuleDto.Frequency frequency,
+            @JsonProperty("iv") Integer interval,
+            @JsonProperty("bd") List<DayOfWeek> byDay,
+            @JsonProperty("u") String until,
+            @JsonProperty("n") Integer count) {
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    record ContextSubtask(
+            @JsonProperty("t") String title,
+            @JsonProperty("x") Boolean isCompleted) {
+    }
+
+    private record Entry(int index, Long id, String json, int tokens, double relevance) {
+    }
+
+    /**
+     * Build the context for a turn.
+     *
+     * @param firstMessage whether the conversation has no history yet; the
+     *                     whole context is sent then
+     */
+    public TaskContext build(String conversationId, boolean firstMessage, String userInput,
+            List<TaskDto.SyncTaskDto> tasks, String projectTitle) {
+        Set<Long> previous = firstMessage ? Set.of() : previousTaskIds(conversationId);
+        List<TaskDto.SyncTaskDto> current = tasks != null ? tasks : List.of();
+        Set<String> inputBigrams = bigrams(userInput);
+        String normalizedInput = normalize(userInput);
+        LocalDate today = LocalDate.now();
+
+        List<Entry> entries = new ArrayList<>(current.size());
+        for (int i = 0; i < current.size(); i++) {
+            TaskDto.SyncTaskDto task = current.get(i);
+            String json = encode(toContextTask(task));
+            double relevance = relevance(task, inputBigrams, normalizedInput, today);
+            entries.add(new Entry(i, task.id(), json, estimateTokens(json), relevance));
+        }
+
+        // Keep the most related tasks that fit the budget, in their original order
+        List<Entry> byRelevance = new ArrayList<>(entries);
+        byRelevance.sort(Comparator.comparingDouble(Entry::relevance).reversed());
+        Set<Integer> kept = new HashSet<>();
+        int used = 0;
+        for (Entry entry : byRelevance) {
+            if (used + entry.tokens() <= tokenBudget) {
+                kept.add(entry.index());
+                used += entry.tokens();
+            }
+        }
+
+        StringBuilder sb = new StringBuilder();
+        if (projectTitle != null) {
+            sb.append("プロジェクト: ").append(projectTitle).append("\n");
+        }
+        if (!entries.isEmpty()) {
+            sb.append(KEY_LEGEND).append("\n");
+        }
+        sb.append('[');
+        Set<Long> sentIds = new HashSet<>();
+        int omitted = 0;
+        for (Entry entry : entries) {
+            if (!kept.contains(entry.index())) {
+                omitted++;
+                continue;
+            }
+            if (entry.id() != null) {
+                sentIds.add(entry.id());
+            }
+            if (sb.charAt(sb.length() - 1) != '[') {
+                sb.append(',');
+            }
+            sb.append(entry.json());
+        }
+        sb.append(']');
+
+        if (omitted > 0) {
+            sb.append("\n関連度の低いタスク ").append(omitted).append(" 件は省略しました（操作対象外）。");
+        }
+        List<Long> dropped = previous.stream()
+                .filter(id -> !sentIds.contains(id))
+                .sorted()
+                .toList();
+        if (!dropped.isEmpty()) {
+            sb.append("\n前回のコンテキストから外れたタスク（操作対象外）: i=").append(dropped);
+        }
+
+        log.debug("AI context - conversation: {}, tasks: {}, omitted: {}, ~{} tokens",
+                conversationId, entries.size(), omitted, used);
+        return new TaskContext(conversationId, sb.toString(), sentIds);
+    }
+
+    /**
+     * Record the context as seen by the model.
+     */
+    public synchronized void remember(TaskContext context) {
+        sentTasks.put(context.conversationId(), Set.copyOf(context.taskIds()));
+    }
+
+    private synchronized Set<Long> previousTaskIds(String conversationId) {
+        Set<Long> previous = sentTasks.get(conversationId);
+        return previous != null ? previous : Set.of();
+    }
+
+    static int estimateTokens(String text) {
+        int ascii = 0;
+        int other = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) < 0x80) {
+                ascii++;
+            } else {
+                other++;
+            }
+        }
+        return (ascii + ASCII_CHARS_PER_TOKEN - 1) / ASCII_CHARS_PER_TOKEN + other;
+    }
+
+    private static ContextTask toContextTask(TaskDto.SyncTaskDto task) {
+        List<ContextSubtask> subtasks = task.subtasks() == null ? null
+                : task.subtasks().stream()
+                        .map(AiTaskContextBuilder::toContextSubtask)
+                        .toList();
+        return new ContextTask(
+                task.id(),
+                task.title(),
+                task.description(),
+                task.scheduledStartAt(),
+                task.scheduledEndAt(),
+                Boolean.TRUE.equals(task.isAllDay()) ? Boolean.TRUE : null,
+                task.estimatedPomodoros(),
+                task.categoryName(),
+                task.taskListTitle(),
+                toContextRecurrence(task.recurrenceRule()),
+                task.status() == null || "PENDING".equalsIgnoreCase(task.status()) ? null : task.status(),
+                subtasks);
+    }
+
+    private static ContextSubtask toContextSubtask(SubtaskDto.Summary subtask) {
+        return new ContextSubtask(subtask.title(), Boolean.TRUE.equals(subtask.isCompleted()) ? Boolean.TRUE : null);
+    }
+
+    private static ContextRecurrence toContextRecurrence(RecurrenceRuleDto rule) {
+        if (rule == null || rule.frequency() == null) {
+            return null;
+        }
+        return new ContextRecurrence(
+                rule.frequency(),
+                rule.interval() != null && rule.interval() > 1 ? rule.interval() : null,
+                rule.byDay(),
+                rule.until() != null ? rule.until().toString() : null,
+                rule.count());
+    }
+
+    private static String encode(ContextTask task) {
+        try {
+            return WRITER.writeValueAsString(task);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot encode task context", e);
+        }
+    }
+
+    /**
+     * Higher for tasks sharing words with the message, in a category or list
+     * it names, scheduled close to today, and still open.
+     */
+    private static double relevance(TaskDto.SyncTaskDto task, Set<String> inputBigrams, String input,
+            LocalDate today) {
+        double score = 0;
+        Set<String> titleBigrams = bigrams(task.title());
+        if (!titleBigrams.isEmpty()) {
+            long shared = titleBigrams.stream().filter(inputBigrams::contains).count();
+            score += 3.0 * shared / titleBigrams.size();
+        }
+        if (task.categoryName() != null && !task.categoryName().isBlank()
+                && input.contains(normalize(task.categoryName()))) {
+            score += 1;
+        }
+        if (task.taskListTitle() != null && !task.taskListTitle().isBlank()
+                && input.contains(normalize(task.taskListTitle()))) {
+            score += 1;
+        }
+        LocalDate start = startDate(task.scheduledStartAt());
+        if (start != null) {
+            score += 1.0 / (1 + Math.abs(ChronoUnit.DAYS.between(today, start)));
+        }
+        if ("COMPLETED".equalsIgnoreCase(task.status())) {
+            score -= 0.5;
+        }
+        return score;
+    }
+
+    private static LocalDate startDate(String scheduledStartAt) {
+        if (scheduledStartAt == null || scheduledStartAt.length() < 10) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(scheduledStartAt.substring(0, 10));
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT).replaceAll("\\s+", "");
+    }
+
+    // Character bigrams match Japanese text, which has no word separators
+    private static Set<String> bigrams(String text) {
+        String normalized = normalize(text);
+        Set<String> result = new HashSet<>();
+        if (normalized.length() == 1) {
+            result.add(normalized);
+        }
+        for (int i = 0; i + 1 < normalized.length(); i++) {
+            result.add(normalized.substring(i, i + 2));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,87 @@
+package com.todoapp.resource.service;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Accumulates a streamed JSON answer of the chat model and decodes the
+ * "advice" string while it is still being generated, so the client can show it
+ * before the task list is complete.
+ */
+final class StreamingAdviceExtractor {
+
+    private static final Pattern ADVICE_START = Pattern.compile("\"advice\"\\s*:\\s*\"");
+    // Longest text a chunk boundary can split the key prefix into
+    private static final int MAX_KEY_LENGTH = 32;
+
+    private final StringBuilder content = new StringBuilder();
+    private final StringBuilder advice = new StringBuilder();
+    // Index in content of the next undecoded character of the advice, -1 until the key is seen
+    private int position = -1;
+    private boolean complete;
+
+    /**
+     * Append a chunk of the answer.
+     *
+     * @return whether the decoded advice grew
+     */
+    boolean append(String chunk) {
+        int searchFrom = Math.max(0, content.length() - MAX_KEY_LENGTH);
+        content.append(chunk);
+        if (complete) {
+            return false;
+        }
+        if (position < 0) {
+            Matcher matcher = ADVICE_START.matcher(content);
+            if (!matcher.find(searchFrom)) {
+                return false;
+            }
+            position = matcher.end();
+        }
+
+        int before = advice.length();
+        while (position < content.length()) {
+            char c = content.charAt(position);
+            if (c == '"') {
+                complete = true;
+                break;
+            }
+            if (c != '\\') {
+                advice.append(c);
+                position++;
+                continue;
+            }
+            // Leave escapes split across chunks for the next one
+            if (position + 1 >= content.length()) {
+                break;
+            }
+            char escaped = content.charAt(position + 1);
+            if (escaped == 'u') {
+                if (position + 6 > content.length()) {
+                    break;
+                }
+                advice.append((char) Integer.parseInt(content.substring(position + 2, position + 6), 16));
+                position += 6;
+                continue;
+            }
+            advice.append(switch (escaped) {
+                case 'n' -> '\n';
+                case 'r' -> '\r';
+                case 't' -> '\t';
+                case 'b' -> '\b';
+                case 'f' -> '\f';
+                default -> escaped;
+            });
+            position += 2;
+        }
+        return advice.length() > before;
+    }
+
+    String advice() {
+        return advice.toString();
+    }
+
+    String content() {
+        return content.toString();
+    }
+}
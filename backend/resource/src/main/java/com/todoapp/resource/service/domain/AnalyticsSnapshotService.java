@@ -0,0 +1,157 @@
+package com.todoapp.resource.service.domain;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todoapp.resource.config.AppConfigurationProperties;
+import com.todoapp.resource.event.AnalyticsDataChangedEvent;
+import com.todoapp.resource.model.AnalyticsSnapshot;
+import com.todoapp.resource.repository.AnalyticsSnapshotRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service storing precomputed analytics views of completed weeks and months.
+ * Snapshots are written by the nightly job and deleted when data inside their
+ * period, or inside the previous period their growth figures compare with,
+ * changes. Snapshots older than the configured TTL are ignored, which bounds
+ * the staleness left by changes that publish no event.
+ */
+@Slf4j
+@Service
+public class AnalyticsSnapshotService {
+
+    private final AnalyticsSnapshotRepository analyticsSnapshotRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration ttl;
+
+    // Bumped on every change so that snapshots computed from older data are not
+    // stored
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    public AnalyticsSnapshotService(AnalyticsSnapshotRepository analyticsSnapshotRepository,
+            ObjectMapper objectMapper, PlatformTransactionManager transactionManager,
+            AppConfigurationProperties appProperties) {
+        this.analyticsSnapshotRepository = analyticsSnapshotRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ttl = appProperties.getAnalytics().getSnapshot().getTtl();
+    }
+
+    /**
+     * Read the snapshot of a period, if one was precomputed within the TTL.
+     * Snapshots that no longer deserialize are treated as missing.
+     */
+    @Transactional(readOnly = true)
+    public <T> Optional<T> find(String userId, AnalyticsSnapshot.Period period, LocalDate periodStart,
+            Class<T> type) {
+        LocalDateTime oldest = LocalDateTime.now().minus(ttl);
+        return analyticsSnapshotRepository.findByUserIdAndPeriodAndPeriodStart(userId, period, periodStart)
+                .filter(snapshot -> snapshot.getComputedAt() != null && snapshot.getComputedAt().isAfter(oldest))
+                .flatMap(snapshot -> {
+                    try {
+                        return Optional.of(objectMapper.readValue(snapshot.getPayload(), type));
+                    } catch (JsonProcessingException e) {
+                        log.warn("Ignoring unreadable {} snapshot of {} for user {}: {}", period, periodStart,
+                                userId, e.getMessage());
+                        return Optional.empty();
+                    }
+                });
+    }
+
+    /**
+     * Current change generation of the user. Read it before computing a view
+     * and pass it to {@link #save}.
+     */
+    public long generation(String userId) {
+        return counter(userId).get();
+    }
+
+    /**
+     * Store the snapshot of a period, replacing an existing one, unless the
+     * user's data changed since {@code generation} was read.
+     * A change committed while the snapshot is written is caught by checking
+     * the generation again afterwards.
+     *
+     * @return whether the snapshot was kept
+     */
+    public boolean save(String userId, AnalyticsSnapshot.Period period, LocalDate periodStart, Object view,
+            long generation) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(view);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize analytics snapshot", e);
+        }
+
+        if (generation(userId) != generation) {
+            log.debug("Skipping stale {} snapshot of {} for user {}", period, periodStart, userId);
+            return false;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            AnalyticsSnapshot snapshot = analyticsSnapshotRepository
+                    .findByUserIdAndPeriodAndPeriodStart(userId, period, periodStart)
+                    .orElseGet(() -> AnalyticsSnapshot.builder()
+                            .userId(userId)
+                            .period(period)
+                            .periodStart(periodStart)
+                            .build());
+            snapshot.setPayload(payload);
+            analyticsSnapshotRepository.save(snapshot);
+        });
+
+        if (generation(userId) != generation) {
+            transactionTemplate.executeWithoutResult(status -> analyticsSnapshotRepository
+                    .deleteByUserIdAndPeriodAndPeriodStart(userId, period, periodStart));
+            log.debug("Discarded {} snapshot of {} for user {} changed while saving", period, periodStart, userId);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Deletes the user's snapshots whose period, or the period before it,
+     * contains a changed date.
+     * Runs after the publishing transaction commits; the dates are padded by a
+     * day on each side like the analytics cache.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onAnalyticsDataChanged(AnalyticsDataChangedEvent event) {
+        counter(event.userId()).incrementAndGet();
+        LocalDate from = event.date().minusDays(1);
+        LocalDate to = event.lastDate().plusDays(1);
+        int deleted = analyticsSnapshotRepository.deleteByUserIdAndPeriodStartBetween(event.userId(),
+                weekStart(from), weekStart(to).plusWeeks(1),
+                from.withDayOfMonth(1), to.withDayOfMonth(1).plusMonths(1));
+        if (deleted > 0) {
+            log.debug("Deleted {} analytics snapshots for user {} from {} to {}", deleted, event.userId(),
+                    event.date(), event.lastDate());
+        }
+    }
+
+    private AtomicLong counter(String userId) {
+        return generations.computeIfAbsent(userId, id -> new AtomicLong());
+    }
+
+    private static LocalDate weekStart(LocalDate date) {
+        return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+}
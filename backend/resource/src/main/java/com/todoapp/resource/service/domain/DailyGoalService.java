@@ -4,10 +4,12 @@ import java.time.LocalDate;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.todoapp.resource.dto.DailyGoalDto;
+import com.todoapp.resource.event.DailyGoalChangedEvent;
 import com.todoapp.resource.model.DailyGoal;
 import com.todoapp.resource.repository.DailyGoalRepository;
 
@@ -24,6 +26,7 @@ public class DailyGoalService {
 
     private final DailyGoalRepository dailyGoalRepository;
     private final PomodoroSettingService pomodoroSettingService;
+    private final ApplicationEventPublisher eventPublisher;
 
     // Default goal in minutes if none is set
     private static final int DEFAULT_GOAL_MINUTES = 360; // 6 hours
@@ -86,6 +89,7 @@ public class DailyGoalService {
 
         goal.setGoalMinutes(request.goalMinutes());
         DailyGoal saved = dailyGoalRepository.save(goal);
+        eventPublisher.publishEvent(new DailyGoalChangedEvent(userId, date));
 
         log.info("Saved goal {} for user {} on date {}", saved);
 
@@ -94,7 +98,8 @@ public class DailyGoalService {
 
     /**
      * Get goals for a date range.
-     * Optimized to use batch fetch.
+     * Uses one batch fetch; days without a stored goal are filled with the user's
+     * default virtually (id = null), so the read has no side effects.
      */
     public List<DailyGoalDto.Response> getGoalsInRange(String userId, LocalDate startDate, LocalDate endDate) {
         log.info("Getting goals for user {} from {} to {}", userId, startDate, endDate);
@@ -107,42 +112,14 @@ public class DailyGoalService {
         var goalMap = existingGoals.stream()
                 .collect(Collectors.toMap(DailyGoal::getDate, goal -> goal));
 
-        // Fetch user default settings once
-        Integer userDefaultGoal = pomodoroSettingService.getSettings(userId).getDailyGoal();
+        // Fetch user default settings once, without creating them
+        Integer userDefaultGoal = pomodoroSettingService.getSettingsOrDefault(userId).getDailyGoal();
         int defaultGoal = (userDefaultGoal != null) ? userDefaultGoal : DEFAULT_GOAL_MINUTES;
 
         return startDate.datesUntil(endDate.plusDays(1))
-                .map(date -> {
-                    if (goalMap.containsKey(date)) {
-                        return mapToResponse(goalMap.get(date));
-                    }
-
-                    // If no goal exists for the date, use the default
-                    int targetGoal = defaultGoal;
-
-                    // If requesting for today and no goal exists, create and save snapshot
-                    if (date.equals(LocalDate.now())) {
-                        DailyGoal newGoal = DailyGoal.builder()
-                                .userId(userId)
-                                .date(date)
-                                .goalMinutes(targetGoal)
-                                .build();
-                        DailyGoal savedGoal = dailyGoalRepository.save(newGoal);
-                        log.info("Created new daily goal snapshot for user {} on date {}: {} mins", userId, date,
-                                targetGoal);
-                        // Return response without timestamps
-                        return new DailyGoalDto.Response(
-                                savedGoal.getId(),
-                                savedGoal.getDate(),
-                                savedGoal.getGoalMinutes());
-                    }
-
-                    // For other dates (future/past), return transient default response
-                    return new DailyGoalDto.Response(
-                            null,
-                            date,
-                            targetGoal);
-                })
+                .map(date -> goalMap.containsKey(date)
+                        ? mapToResponse(goalMap.get(date))
+                        : new DailyGoalDto.Response(null, date, defaultGoal))
                 .toList();
     }
 }
@@ -0,0 +1,206 @@
+package com.todoapp.resource.service.domain;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.todoapp.resource.model.FocusHistogram;
+import com.todoapp.resource.model.FocusSession;
+import com.todoapp.resource.repository.FocusHistogramRepository;
+import com.todoapp.resource.repository.FocusSessionRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service maintaining per-day focus session histograms.
+ * Each recorded session updates its day's buckets; ranges are read by merging
+ * the daily arrays.
+ */
+@Slf4j
+@Service
+public class FocusHistogramService {
+
+    private final FocusHistogramRepository focusHistogramRepository;
+    private final FocusSessionRepository focusSessionRepository;
+    // Creates missing days in their own transaction so that a duplicate from a
+    // concurrent first session of the day does not roll back the caller's
+    private final TransactionTemplate newTransaction;
+
+    public FocusHistogramService(FocusHistogramRepository focusHistogramRepository,
+            FocusSessionRepository focusSessionRepository, PlatformTransactionManager transactionManager) {
+        this.focusHistogramRepository = focusHistogramRepository;
+        this.focusSessionRepository = focusSessionRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * The fields of a focus session that are bucketed.
+     */
+    public record Sample(FocusSession.SessionStatus status, int scheduledSeconds, int actualSeconds) {
+
+        public static Sample of(FocusSession session) {
+            return new Sample(session.getStatus(),
+                    session.getScheduledDuration() != null ? session.getScheduledDuration() : 0,
+                    session.getActualDuration() != null ? session.getActualDuration() : 0);
+        }
+    }
+
+    /**
+     * Apply a recorded focus session to its day's histogram.
+     * Must run in the transaction that saved the session.
+     *
+     * @param previous the session before the update, or null for new sessions
+     * @param current  the session as saved
+     */
+    @Transactional
+    public void applySession(String userId, LocalDate date, Sample previous, Sample current) {
+        if (!focusHistogramRepository.existsByUserIdAndDate(userId, date)) {
+            if (backfillIfMissing(userId)) {
+                // The backfill already includes this session
+                return;
+            }
+            createHistogram(userId, date);
+        }
+        FocusHistogram histogram = lockHistogram(userId, date);
+
+        if (previous != null) {
+            add(histogram, previous, -1);
+        }
+        add(histogram, current, 1);
+        focusHistogramRepository.save(histogram);
+    }
+
+    /**
+     * Apply a batch of new focus sessions, one histogram update per day.
+     * Must run in the transaction that saved the sessions.
+     */
+    @Transactional
+    public void applySessions(String userId, Map<LocalDate, List<Sample>> samplesByDay) {
+        if (samplesByDay.isEmpty() || backfillIfMissing(userId)) {
+            // The backfill already includes the whole batch
+            return;
+        }
+
+        samplesByDay.forEach((date, samples) -> {
+            if (!focusHistogramRepository.existsByUserIdAndDate(userId, date)) {
+                createHistogram(userId, date);
+            }
+            FocusHistogram histogram = lockHistogram(userId, date);
+            for (Sample sample : samples) {
+                add(histogram, sample, 1);
+            }
+            focusHistogramRepository.save(histogram);
+        });
+    }
+
+    /**
+     * Merge the daily histograms of a date range (inclusive).
+     * Returns an unsaved histogram holding the element-wise sums.
+     */
+    @Transactional(readOnly = true)
+    public FocusHistogram getMergedHistogram(String userId, LocalDate startDate, LocalDate endDate) {
+        FocusHistogram merged = FocusHistogram.empty(userId, startDate);
+        int[] length = merged.getLengthBuckets();
+        int[] interruption = merged.getInterruptionBuckets();
+        int[] totals = merged.getScheduledTotals();
+        int[] completed = merged.getScheduledCompleted();
+
+        for (FocusHistogram day : focusHistogramRepository.findByUserIdAndDateBetween(userId, startDate, endDate)) {
+            addInto(length, day.getLengthBuckets());
+            addInto(interruption, day.getInterruptionBuckets());
+            addInto(totals, day.getScheduledTotals());
+            addInto(completed, day.getScheduledCompleted());
+        }
+        return merged;
+    }
+
+    /**
+     * Build the user's histograms from session history if none exist yet.
+     * Covers history recorded before histograms were maintained.
+     *
+     * @return true if histograms were built
+     */
+    @Transactional
+    public boolean backfillIfMissing(String userId) {
+        if (focusHistogramRepository.existsByUserId(userId)) {
+            return false;
+        }
+
+        Map<LocalDate, FocusHistogram> days = new HashMap<>();
+        List<FocusSessionRepository.SessionSampleProjection> samples = focusSessionRepository
+                .findSessionSamplesByUserId(userId);
+        for (FocusSessionRepository.SessionSampleProjection sample : samples) {
+            FocusHistogram histogram = days.computeIfAbsent(sample.getDate(),
+                    date -> FocusHistogram.empty(userId, date));
+            add(histogram, new Sample(sample.getStatus(),
+                    sample.getScheduledDuration() != null ? sample.getScheduledDuration() : 0,
+                    sample.getActualDuration() != null ? sample.getActualDuration() : 0), 1);
+        }
+
+        focusHistogramRepository.saveAll(days.values());
+        log.info("Backfilled {} daily focus histograms for user {}", days.size(), userId);
+        return !days.isEmpty();
+    }
+
+    /**
+     * Index of the duration bucket for a number of seconds.
+     */
+    public static int durationBucket(int seconds) {
+        int bucket = Math.max(0, seconds) / 60 / FocusHistogram.BUCKET_MINUTES;
+        return Math.min(bucket, FocusHistogram.DURATION_BUCKETS - 1);
+    }
+
+    // Callers check with a plain read first: on MySQL a locking read of a
+    // missing row takes a gap lock that would block this insert
+    private void createHistogram(String userId, LocalDate date) {
+        try {
+            newTransaction.executeWithoutResult(status -> focusHistogramRepository
+                    .saveAndFlush(FocusHistogram.empty(userId, date)));
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Focus histogram of user {} on {} was created concurrently", userId, date);
+        }
+    }
+
+    private FocusHistogram lockHistogram(String userId, LocalDate date) {
+        return focusHistogramRepository.findByUserIdAndDateForUpdate(userId, date).orElseThrow();
+    }
+
+    // Counts are replaced by modified copies so that dirty checking sees the change
+    private static void add(FocusHistogram histogram, Sample sample, int count) {
+        int scheduledBucket = durationBucket(sample.scheduledSeconds());
+
+        histogram.setLengthBuckets(increment(histogram.getLengthBuckets(),
+                durationBucket(sample.actualSeconds()), count));
+        histogram.setScheduledTotals(increment(histogram.getScheduledTotals(), scheduledBucket, count));
+
+        if (sample.status() == FocusSession.SessionStatus.COMPLETED) {
+            histogram.setScheduledCompleted(increment(histogram.getScheduledCompleted(), scheduledBucket, count));
+        } else if (sample.status() == FocusSession.SessionStatus.INTERRUPTED && sample.scheduledSeconds() > 0) {
+            int bucket = (int) ((long) sample.actualSeconds() * FocusHistogram.INTERRUPTION_BUCKETS
+                    / sample.scheduledSeconds());
+            bucket = Math.max(0, Math.min(bucket, FocusHistogram.INTERRUPTION_BUCKETS - 1));
+            histogram.setInterruptionBuckets(increment(histogram.getInterruptionBuckets(), bucket, count));
+        }
+    }
+
+    private static int[] increment(int[] buckets, int index, int count) {
+        int[] copy = buckets.clone();
+        copy[index] = Math.max(0, copy[index] + count);
+        return copy;
+    }
+
+    private static void addInto(int[] target, int[] source) {
+        for (int i = 0; i < Math.min(target.length, source.length); i++) {
+            target[i] += source[i];
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.todoapp.resource.service.domain;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import com.todoapp.resource.dto.FocusSessionDto;
+import com.todoapp.resource.repository.FocusSessionRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Compares focus totals over N consecutive days, weeks or months.
+ * One query groups the whole span by local date; the days are then folded
+ * into their periods, so the cost does not grow with the number of periods.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FocusPeriodComparator {
+
+    static final int MAX_PERIODS = 60;
+
+    private final FocusSessionArchiveRouter archiveRouter;
+
+    /**
+     * Totals of the period containing the given date and the periods before it.
+     *
+     * @param periods number of periods, the last one containing date
+     * @throws IllegalArgumentException if periods is out of range
+     */
+    public FocusSessionDto.PeriodComparison compare(String userId, FocusSessionDto.PeriodUnit unit, LocalDate date,
+            int periods) {
+        if (unit == null || periods < 1 || periods > MAX_PERIODS) {
+            throw new IllegalArgumentException("unit and 1 to " + MAX_PERIODS + " periods are required");
+        }
+
+        LocalDate first = plus(unit, startOf(unit, date), -(periods - 1));
+        LocalDate end = plus(unit, startOf(unit, date), 1);
+        long[] seconds = new long[periods];
+        for (FocusSessionRepository.DailyFocusSecondsProjection day : archiveRouter
+                .aggregateDailyFocusSeconds(userId, first, end)) {
+            long index = indexOf(unit, first, day.getDate());
+            if (index >= 0 && index < periods && day.getSeconds() != null) {
+                seconds[(int) index] += day.getSeconds();
+            }
+        }
+
+        List<FocusSessionDto.PeriodTotal> totals = new ArrayList<>(periods);
+        for (int i = 0; i < periods; i++) {
+            LocalDate start = plus(unit, first, i);
+            totals.add(FocusSessionDto.PeriodTotal.builder()
+                    .startDate(start)
+                    .endDate(plus(unit, start, 1).minusDays(1))
+                    .totalSeconds((int) seconds[i])
+                    .deltaSeconds(i > 0 ? (int) (seconds[i] - seconds[i - 1]) : null)
+                    .build());
+        }
+        log.debug("Compared {} {} periods for user {} from {}", periods, unit, userId, first);
+        return FocusSessionDto.PeriodComparison.builder()
+                .unit(unit)
+                .periods(totals)
+                .build();
+    }
+
+    private static LocalDate startOf(FocusSessionDto.PeriodUnit unit, LocalDate date) {
+        return switch (unit) {
+            case DAY -> date;
+            case WEEK -> date.with(DayOfWeek.MONDAY);
+            case MONTH -> date.withDayOfMonth(1);
+        };
+    }
+
+    private static LocalDate plus(FocusSessionDto.PeriodUnit unit, LocalDate start, long amount) {
+        return switch (unit) {
+            case DAY -> start.plusDays(amount);
+            case WEEK -> start.plusWeeks(amount);
+            case MONTH -> start.plusMonths(amount);
+        };
+    }
+
+    private static long indexOf(FocusSessionDto.PeriodUnit unit, LocalDate first, LocalDate date) {
+        return switch (unit) {
+            case DAY -> ChronoUnit.DAYS.between(first, date);
+            case WEEK -> Math.floorDiv(ChronoUnit.DAYS.between(first, date), 7);
+            case MONTH -> ChronoUnit.MONTHS.between(first, date.withDayOfMonth(1));
+        };
+    }
+}
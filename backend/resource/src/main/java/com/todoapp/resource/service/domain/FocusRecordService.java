@@ -0,0 +1,234 @@
+package com.todoapp.resource.service.domain;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Objects;
+import java.util.SortedMap;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.todoapp.resource.model.FocusRecord;
+import com.todoapp.resource.repository.FocusRecordRepository;
+import com.todoapp.resource.repository.FocusSessionRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service maintaining per-user focus streaks and personal records.
+ * Sessions recorded in order are applied in constant time using the running
+ * day and week totals; anything else (backfilled days, shortened sessions, a
+ * missing record) falls back to a rebuild from per-day totals. Only days with
+ * focus time count towards streaks.
+ */
+@Slf4j
+@Service
+public class FocusRecordService {
+
+    private final FocusRecordRepository focusRecordRepository;
+    private final FocusSessionRepository focusSessionRepository;
+    // Creates missing records in their own transaction so that a duplicate
+    // from a concurrent first session does not roll back the caller's
+    private final TransactionTemplate newTransaction;
+
+    public FocusRecordService(FocusRecordRepository focusRecordRepository,
+            FocusSessionRepository focusSessionRepository, PlatformTransactionManager transactionManager) {
+        this.focusRecordRepository = focusRecordRepository;
+        this.focusSessionRepository = focusSessionRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Get the user's record without creating one.
+     * Returns an empty record for users who have not focused yet.
+     */
+    @Transactional(readOnly = true)
+    public FocusRecord getRecord(String userId) {
+        return focusRecordRepository.findByUserId(userId)
+                .orElseGet(() -> FocusRecord.builder().userId(userId).build());
+    }
+
+    /**
+     * Apply a recorded focus session to the user's record.
+     * Must run in the transaction that saved the session.
+     *
+     * @param date         day the session started
+     * @param deltaSeconds change in the session's actual duration (the full
+     *                     duration for new sessions)
+     */
+    @Transactional
+    public void applySession(String userId, LocalDate date, long deltaSeconds) {
+        if (deltaSeconds == 0) {
+            return;
+        }
+        FocusRecord record = lockRecord(userId);
+        LocalDate lastFocusDate = record.getLastFocusDate();
+
+        if (lastFocusDate == null || deltaSeconds < 0 || date.isBefore(lastFocusDate)) {
+            // First session, backfill or correction: recompute from history
+            copyStats(computeFromHistory(userId), record);
+            return;
+        }
+
+        if (date.equals(lastFocusDate)) {
+            record.setLastDaySeconds(record.getLastDaySeconds() + deltaSeconds);
+        } else {
+            boolean consecutive = lastFocusDate != null && ChronoUnit.DAYS.between(lastFocusDate, date) == 1;
+            record.setCurrentStreak(consecutive ? record.getCurrentStreak() + 1 : 1);
+            record.setLastFocusDate(date);
+            record.setLastDaySeconds(deltaSeconds);
+        }
+
+        LocalDate weekStart = date.with(DayOfWeek.MONDAY);
+        if (weekStart.equals(record.getCurrentWeekStart())) {
+            record.setCurrentWeekSeconds(record.getCurrentWeekSeconds() + deltaSeconds);
+        } else {
+            record.setCurrentWeekStart(weekStart);
+            record.setCurrentWeekSeconds(deltaSeconds);
+        }
+
+        updateBests(record);
+    }
+
+    /**
+     * Apply a batch of recorded focus sessions, summed per day.
+     * Must run in the transaction that saved the sessions. If any day precedes
+     * the stored record, the record is rebuilt once, which already includes the
+     * whole batch.
+     *
+     * @param secondsByDay focus seconds added per day
+     */
+    @Transactional
+    public void applySessions(String userId, SortedMap<LocalDate, Long> secondsByDay) {
+        if (secondsByDay.values().stream().allMatch(seconds -> seconds == 0)) {
+            return;
+        }
+        FocusRecord record = lockRecord(userId);
+        LocalDate lastFocusDate = record.getLastFocusDate();
+        if (lastFocusDate == null || secondsByDay.firstKey().isBefore(lastFocusDate)) {
+            copyStats(computeFromHistory(userId), record);
+            return;
+        }
+        secondsByDay.forEach((date, seconds) -> applySession(userId, date, seconds));
+    }
+
+    /**
+     * Recompute the user's record from per-day focus totals and store it.
+     *
+     * @return true if the stored record was missing or differed from history
+     */
+    @Transactional
+    public boolean rebuild(String userId) {
+        FocusRecord computed = computeFromHistory(userId);
+        FocusRecord existing = focusRecordRepository.findByUserIdForUpdate(userId).orElse(null);
+
+        if (existing == null) {
+            if (computed.getLastFocusDate() == null) {
+                return false;
+            }
+            copyStats(computed, lockRecord(userId));
+            log.info("Created focus record for user {}", userId);
+            return true;
+        }
+
+        if (sameStats(existing, computed)) {
+            return false;
+        }
+        log.warn("Focus record for user {} was out of date, rebuilding", userId);
+        copyStats(computed, existing);
+        return true;
+    }
+
+    /**
+     * Lock the user's record, creating an empty one first if there is none.
+     * Concurrent first sessions then queue on the same row: the first one
+     * fills it from history, the others apply their sessions on top.
+     */
+    private FocusRecord lockRecord(String userId) {
+        return focusRecordRepository.findByUserIdForUpdate(userId).orElseGet(() -> {
+            try {
+                newTransaction.executeWithoutResult(status -> focusRecordRepository
+                        .saveAndFlush(FocusRecord.builder().userId(userId).build()));
+            } catch (DataIntegrityViolationException e) {
+                log.debug("Focus record for user {} was created concurrently", userId);
+            }
+            return focusRecordRepository.findByUserIdForUpdate(userId).orElseThrow();
+        });
+    }
+
+    private FocusRecord computeFromHistory(String userId) {
+        List<FocusSessionRepository.DailyFocusSecondsProjection> days = focusSessionRepository
+                .aggregateDailyFocusSecondsByUserId(userId);
+
+        FocusRecord record = FocusRecord.builder().userId(userId).build();
+        for (FocusSessionRepository.DailyFocusSecondsProjection day : days) {
+            long seconds = (day.getSeconds() != null) ? day.getSeconds() : 0;
+            if (seconds <= 0) {
+                continue;
+            }
+            LocalDate date = day.getDate();
+            LocalDate lastFocusDate = record.getLastFocusDate();
+
+            boolean consecutive = lastFocusDate != null && ChronoUnit.DAYS.between(lastFocusDate, date) == 1;
+            record.setCurrentStreak(consecutive ? record.getCurrentStreak() + 1 : 1);
+            record.setLastFocusDate(date);
+            record.setLastDaySeconds(seconds);
+
+            LocalDate weekStart = date.with(DayOfWeek.MONDAY);
+            if (weekStart.equals(record.getCurrentWeekStart())) {
+                record.setCurrentWeekSeconds(record.getCurrentWeekSeconds() + seconds);
+            } else {
+                record.setCurrentWeekStart(weekStart);
+                record.setCurrentWeekSeconds(seconds);
+            }
+
+            updateBests(record);
+        }
+        return record;
+    }
+
+    private static void updateBests(FocusRecord record) {
+        record.setLongestStreak(Math.max(record.getLongestStreak(), record.getCurrentStreak()));
+        if (record.getBestDayDate() == null || record.getLastDaySeconds() > record.getBestDaySeconds()) {
+            record.setBestDayDate(record.getLastFocusDate());
+            record.setBestDaySeconds(record.getLastDaySeconds());
+        }
+        if (record.getBestWeekStart() == null || record.getCurrentWeekSeconds() > record.getBestWeekSeconds()) {
+            record.setBestWeekStart(record.getCurrentWeekStart());
+            record.setBestWeekSeconds(record.getCurrentWeekSeconds());
+        }
+    }
+
+    private static boolean sameStats(FocusRecord a, FocusRecord b) {
+        return a.getCurrentStreak() == b.getCurrentStreak()
+                && a.getLongestStreak() == b.getLongestStreak()
+                && Objects.equals(a.getLastFocusDate(), b.getLastFocusDate())
+                && a.getLastDaySeconds() == b.getLastDaySeconds()
+                && Objects.equals(a.getCurrentWeekStart(), b.getCurrentWeekStart())
+                && a.getCurrentWeekSeconds() == b.getCurrentWeekSeconds()
+                && Objects.equals(a.getBestDayDate(), b.getBestDayDate())
+                && a.getBestDaySeconds() == b.getBestDaySeconds()
+                && Objects.equals(a.getBestWeekStart(), b.getBestWeekStart())
+                && a.getBestWeekSeconds() == b.getBestWeekSeconds();
+    }
+
+    private static void copyStats(FocusRecord from, FocusRecord to) {
+        to.setCurrentStreak(from.getCurrentStreak());
+        to.setLongestStreak(from.getLongestStreak());
+        to.setLastFocusDate(from.getLastFocusDate());
+        to.setLastDaySeconds(from.getLastDaySeconds());
+        to.setCurrentWeekStart(from.getCurrentWeekStart());
+        to.setCurrentWeekSeconds(from.getCurrentWeekSeconds());
+        to.setBestDayDate(from.getBestDayDate());
+        to.setBestDaySeconds(from.getBestDaySeconds());
+        to.setBestWeekStart(from.getBestWeekStart());
+        to.setBestWeekSeconds(from.getBestWeekSeconds());
+    }
+}
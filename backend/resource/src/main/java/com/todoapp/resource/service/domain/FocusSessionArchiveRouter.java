@@ -0,0 +1,276 @@
+package com.todoapp.resource.service.domain;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.todoapp.resource.config.AppConfigurationProperties;
+import com.todoapp.resource.model.ArchivedFocusSession;
+import com.todoapp.resource.model.FocusSession;
+import com.todoapp.resource.model.Task;
+import com.todoapp.resource.repository.ArchivedFocusSessionRepository;
+import com.todoapp.resource.repository.FocusSessionRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Routes range queries on focus sessions to the hot table alone, or to the hot
+ * table and the archive when the range reaches back before the archive
+ * boundary. Recent-range analytics therefore never read archived rows.
+ */
+@Slf4j
+@Component
+public class FocusSessionArchiveRouter {
+
+    private final FocusSessionRepository focusSessionRepository;
+    private final ArchivedFocusSessionRepository archivedFocusSessionRepository;
+    private final boolean archivalEnabled;
+    private final int afterMonths;
+
+    // Day before which the archive may hold sessions, as last seen in the
+    // database or moved by this instance
+    private volatile LocalDate storedBoundary = LocalDate.MIN;
+
+    public FocusSessionArchiveRouter(FocusSessionRepository focusSessionRepository,
+            ArchivedFocusSessionRepository archivedFocusSessionRepository,
+            AppConfigurationProperties appProperties) {
+        AppConfigurationProperties.ArchiveConfiguration config = appProperties.getFocusSessions().getArchive();
+        this.focusSessionRepository = focusSessionRepository;
+        this.archivedFocusSessionRepository = archivedFocusSessionRepository;
+        this.archivalEnabled = !"-".equals(config.getCron());
+        this.afterMonths = config.getAfterMonths();
+    }
+
+    /**
+     * First day kept in the hot table when archiving on the given day.
+     */
+    public LocalDate archiveBoundary(LocalDate today) {
+        return today.minusMonths(afterMonths).withDayOfMonth(1);
+    }
+
+    /**
+     * Record that sessions before the given day have been archived.
+     */
+    public synchronized void markArchivedBefore(LocalDate boundary) {
+        if (boundary.isAfter(storedBoundary)) {
+            storedBoundary = boundary;
+        }
+    }
+
+    /**
+     * Whether sessions starting at or after the given time may be archived.
+     * Other instances may run the job, so the configured boundary is trusted
+     * as well as the stored one.
+     */
+    public boolean reachesArchive(LocalDateTime from) {
+        LocalDate boundary = storedBoundary;
+        if (archivalEnabled) {
+            LocalDate configured = archiveBoundary(LocalDate.now());
+            if (configured.isAfter(boundary)) {
+                boundary = configured;
+            }
+        }
+        return from.isBefore(boundary.atStartOfDay());
+    }
+
+    /**
+     * {@link FocusSessionRepository#aggregateKpiFocusStats}, including archived
+     * sessions when any of the ranges needs them.
+     */
+    public FocusSessionRepository.KpiFocusProjection aggregateKpiFocusStats(String userId, LocalDateTime start,
+            LocalDateTime end, LocalDateTime prevStart, LocalDateTime prevEnd, OffsetDateTime taskStart,
+            OffsetDateTime taskEnd) {
+        LocalDateTime from = start;
+        if (prevStart.isBefore(prevEnd) && prevStart.isBefore(from)) {
+            from = prevStart;
+        }
+        if (taskStart.isBefore(taskEnd) && taskStart.toLocalDateTime().isBefore(from)) {
+            from = taskStart.toLocalDateTime();
+        }
+        if (reachesArchive(from)) {
+            return focusSessionRepository.aggregateKpiFocusStatsIncludingArchive(userId, start, end, prevStart,
+                    prevEnd, taskStart, taskEnd);
+        }
+        return focusSessionRepository.aggregateKpiFocusStats(userId, start, end, prevStart, prevEnd, taskStart,
+                taskEnd);
+    }
+
+    /**
+     * {@link FocusSessionRepository#aggregateCategoryFocusTime}, including
+     * archived sessions when the range needs them.
+     */
+    public List<FocusSessionRepository.CategoryFocusTimeProjection> aggregateCategoryFocusTime(String userId,
+            LocalDateTime start, LocalDateTime end) {
+        if (reachesArchive(start)) {
+            return focusSessionRepository.aggregateCategoryFocusTimeIncludingArchive(userId, start, end);
+        }
+        return focusSessionRepository.aggregateCategoryFocusTime(userId, start, end);
+    }
+
+    /**
+     * {@link FocusSessionRepository#findFocusSpansByUserIdAndDateRange}, including
+     * archived sessions when the range needs them.
+     */
+    public List<FocusSessionRepository.FocusSpanProjection> findFocusSpans(String userId, LocalDateTime start,
+            LocalDateTime end) {
+        if (reachesArchive(start)) {
+            return focusSessionRepository.findFocusSpansByUserIdAndDateRangeIncludingArchive(userId, start, end);
+        }
+        return focusSessionRepository.findFocusSpansByUserIdAndDateRange(userId, start, end);
+    }
+
+    /**
+     * {@link FocusSessionRepository#aggregateDailyFocusMinutes}, including archived
+     * sessions when the range needs them.
+     */
+    public List<FocusSessionRepository.DailyFocusProjection> aggregateDailyFocusMinutes(String userId,
+            LocalDate startDate, LocalDate endDate) {
+        if (reachesArchive(startDate.atStartOfDay())) {
+            return focusSessionRepository.aggregateDailyFocusMinutesIncludingArchive(userId, startDate, endDate);
+        }
+        return focusSessionRepository.aggregateDailyFocusMinutes(userId, startDate, endDate);
+    }
+
+    /**
+     * {@link FocusSessionRepository#aggregateDailyFocusSeconds}, including archived
+     * sessions when the range needs them.
+     */
+    public List<FocusSessionRepository.DailyFocusSecondsProjection> aggregateDailyFocusSeconds(String userId,
+            LocalDate startDate, LocalDate endDate) {
+        if (reachesArchive(startDate.atStartOfDay())) {
+            return focusSessionRepository.aggregateDailyFocusSecondsIncludingArchive(userId, startDate, endDate);
+        }
+        return focusSessionRepository.aggregateDailyFocusSeconds(userId, startDate, endDate);
+    }
+
+    /**
+     * {@link FocusSessionRepository#aggregateDailyCategoryFocusTime}, including
+     * archived sessions when the range needs them.
+     */
+    public List<FocusSessionRepository.DailyCategoryFocusProjection> aggregateDailyCategoryFocusTime(String userId,
+            LocalDate startDate, LocalDate endDate) {
+        if (reachesArchive(startDate.atStartOfDay())) {
+            return focusSessionRepository.aggregateDailyCategoryFocusTimeIncludingArchive(userId, startDate,
+                    endDate);
+        }
+        return focusSessionRepository.aggregateDailyCategoryFocusTime(userId, startDate, endDate);
+    }
+
+    /**
+     * {@link FocusSessionRepository#findByUserIdAndStartedAtBetweenWithTask},
+     * followed by matching archived sessions when the range needs them.
+     * Archived sessions are returned as unmanaged FocusSession instances.
+     */
+    public List<FocusSession> findSessionsWithTask(String userId, LocalDateTime start, LocalDateTime end) {
+        List<FocusSession> sessions = focusSessionRepository.findByUserIdAndStartedAtBetweenWithTask(userId, start,
+                end);
+        if (!reachesArchive(start)) {
+            return sessions;
+        }
+
+        List<FocusSession> all = new ArrayList<>(sessions);
+        for (Object[] row : archivedFocusSessionRepository.findWithTaskByUserIdAndStartedAtBetween(userId, start,
+                end)) {
+            all.add(toFocusSession((ArchivedFocusSession) row[0], (Task) row[1]));
+        }
+        return all;
+    }
+
+    /**
+     * {@link FocusSessionRepository#getTotalFocusMinutesByUserIdAndDateRange},
+     * including archived sessions when the range needs them.
+     */
+    public Integer getTotalFocusMinutes(String userId, LocalDateTime start, LocalDateTime end) {
+        if (reachesArchive(start)) {
+            return focusSessionRepository.getTotalFocusMinutesByUserIdAndDateRangeIncludingArchive(userId, start,
+                    end);
+        }
+        return focusSessionRepository.getTotalFocusMinutesByUserIdAndDateRange(userId, start, end);
+    }
+
+    /**
+     * {@link FocusSessionRepository#getTotalFocusDurationByUserId}, including
+     * archived sessions once anything may have been archived.
+     */
+    public Integer getTotalFocusDuration(String userId) {
+        if (reachesArchive(LocalDateTime.MIN)) {
+            return focusSessionRepository.getTotalFocusDurationByUserIdIncludingArchive(userId);
+        }
+        return focusSessionRepository.getTotalFocusDurationByUserId(userId);
+    }
+
+    /**
+     * Client session ids already stored for a user among the given ones.
+     * The archive is checked too when the earliest of the sessions starts
+     * before the archive boundary.
+     *
+     * @param firstDate day of the earliest session
+     * @param lastDate  day of the latest session
+     */
+    public List<String> findClientSessionIds(String userId, List<String> clientSessionIds, LocalDate firstDate,
+            LocalDate lastDate) {
+        List<String> stored = focusSessionRepository.findClientSessionIdsByUserIdAndClientSessionIdIn(userId,
+                clientSessionIds);
+        if (!reachesArchive(firstDate.atStartOfDay())) {
+            return stored;
+        }
+        List<String> all = new ArrayList<>(stored);
+        all.addAll(archivedFocusSessionRepository.findClientSessionIds(userId, firstDate, lastDate,
+                clientSessionIds));
+        return all;
+    }
+
+    /**
+     * {@link FocusSessionRepository#findByUserIdAndClientSessionId}, followed by
+     * the archive when the session starts before the archive boundary.
+     * An archived session is returned as an unmanaged FocusSession instance.
+     *
+     * @param startedAt start of the session, or null for a session starting now
+     */
+    public Optional<FocusSession> findByClientSessionId(String userId, String clientSessionId,
+            LocalDateTime startedAt) {
+        Optional<FocusSession> stored = focusSessionRepository.findByUserIdAndClientSessionId(userId,
+                clientSessionId);
+        if (stored.isPresent() || startedAt == null || !reachesArchive(startedAt)) {
+            return stored;
+        }
+        return archivedFocusSessionRepository
+                .findByUserIdAndLocalDateAndClientSessionId(userId, startedAt.toLocalDate(), clientSessionId)
+                .map(archived -> toFocusSession(archived, null));
+    }
+
+    private static FocusSession toFocusSession(ArchivedFocusSession archived, Task task) {
+        return FocusSession.builder()
+                .id(archived.getId())
+                .userId(archived.getUserId())
+                .task(task)
+                .taskId(archived.getTaskId())
+                .sessionType(archived.getSessionType())
+                .status(archived.getStatus())
+                .scheduledDuration(archived.getScheduledDuration())
+                .actualDuration(archived.getActualDuration())
+                .startedAt(archived.getStartedAt())
+                .endedAt(archived.getEndedAt())
+                .localDate(archived.getLocalDate())
+                .clientSessionId(archived.getClientSessionId())
+                .createdAt(archived.getCreatedAt())
+                .build();
+    }
+
+    /**
+     * Load the boundary of sessions archived before this instance started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadStoredBoundary() {
+        archivedFocusSessionRepository.findLatestLocalDate()
+                .ifPresent(latest -> markArchivedBefore(latest.plusDays(1)));
+        log.info("Focus session archive holds sessions before {}", storedBoundary);
+    }
+}
@@ -0,0 +1,244 @@
+package com.todoapp.resource.service.domain;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.todoapp.resource.event.FocusSessionRecordedEvent;
+import com.todoapp.resource.exception.ResourceNotFoundException;
+import com.todoapp.resource.model.FocusSession;
+import com.todoapp.resource.repository.FocusSessionRepository;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Write-behind buffer for progress updates of running focus sessions.
+ * Only the latest duration per session is kept; buffered sessions are written
+ * in one JDBC batch on a short interval, together with the focus record and
+ * histogram deltas, so stored sessions and derived data never diverge.
+ * <p>
+ * Progress only grows while a session runs, so an update shorter than the
+ * stored duration is stale, e.g. one arriving after the session was recorded
+ * as finished, and is dropped. The stored state the deltas start from is read
+ * with a row lock inside the writing transaction, which orders writes of the
+ * same session without blocking other sessions.
+ */
+@Slf4j
+@Component
+public class FocusSessionProgressBuffer {
+
+    private static final String UPDATE_SQL = "UPDATE focus_sessions "
+            + "SET actual_duration = ?, ended_at = COALESCE(?, ended_at) "
+            + "WHERE id = ? AND user_id = ? AND actual_duration <= ?";
+
+    /**
+     * The latest buffered progress of a session.
+     */
+    private record Progress(Long sessionId, String userId, int actualDuration, LocalDateTime endedAt) {
+    }
+
+    /**
+     * The histogram change of one flushed session.
+     */
+    private record HistogramUpdate(String userId, LocalDate date, FocusHistogramService.Sample previous,
+            FocusHistogramService.Sample current) {
+
+        static final Comparator<HistogramUpdate> ORDER = Comparator.comparing(HistogramUpdate::userId)
+                .thenComparing(HistogramUpdate::date);
+    }
+
+    private final FocusSessionRepository focusSessionRepository;
+    private final FocusRecordService focusRecordService;
+    private final FocusHistogramService focusHistogramService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
+    // Writes commit on their own, so row locks are never held for a caller's
+    // transaction
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<Long, Progress> pending = new ConcurrentHashMap<>();
+
+    private volatile boolean closed;
+
+    public FocusSessionProgressBuffer(FocusSessionRepository focusSessionRepository,
+            FocusRecordService focusRecordService, FocusHistogramService focusHistogramService,
+            ApplicationEventPublisher eventPublisher, JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager) {
+        this.focusSessionRepository = focusSessionRepository;
+        this.focusRecordService = focusRecordService;
+        this.focusHistogramService = focusHistogramService;
+        this.eventPublisher = eventPublisher;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Buffer the latest progress of a user's session.
+     * Ownership is checked when a session enters the buffer. After shutdown has
+     * begun the update is written immediately.
+     *
+     * @throws ResourceNotFoundException if the session does not exist or belongs
+     *                                   to another user
+     */
+    public void offer(Long sessionId, String userId, int actualDuration, LocalDateTime endedAt) {
+        Progress progress = new Progress(sessionId, userId, actualDuration, endedAt);
+        Progress current = pending.get(sessionId);
+        if (current == null) {
+            FocusSessionRepository.SessionProgressProjection stored = focusSessionRepository
+                    .findSessionProgressByIdAndUserId(sessionId, userId)
+                    .orElseThrow(() -> new ResourceNotFoundException("FocusSession", "id", sessionId));
+            if (stored.getActualDuration() != null && actualDuration < stored.getActualDuration()) {
+                log.debug("Dropping stale progress of session {}: {} < {}", sessionId, actualDuration,
+                        stored.getActualDuration());
+                return;
+            }
+        } else if (!current.userId().equals(userId)) {
+            throw new ResourceNotFoundException("FocusSession", "id", sessionId);
+        }
+        // Keep the longest progress when updates arrive out of order
+        pending.merge(sessionId, progress,
+                (previous, next) -> next.actualDuration() >= previous.actualDuration() ? next : previous);
+
+        if (closed) {
+            flush(sessionId);
+        }
+    }
+
+    /**
+     * Drop the buffered progress of a session whose final state is being
+     * recorded; the recorded state supersedes it.
+     */
+    public void discard(Long sessionId) {
+        pending.remove(sessionId);
+    }
+
+    /**
+     * Write the buffered progress of one session, if any, in its own
+     * transaction.
+     */
+    public void flush(Long sessionId) {
+        Progress entry = pending.remove(sessionId);
+        if (entry != null) {
+            write(List.of(entry));
+        }
+    }
+
+    /**
+     * Write every buffered session in one batch.
+     * Entries are taken out of the buffer one by one, so offers continue while
+     * the batch is written.
+     */
+    @Scheduled(fixedDelayString = "${app.focus-sessions.progress-flush-interval:5s}")
+    public void flushAll() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<Progress> entries = new ArrayList<>(pending.size());
+        for (Long sessionId : new ArrayList<>(pending.keySet())) {
+            Progress entry = pending.remove(sessionId);
+            if (entry != null) {
+                entries.add(entry);
+            }
+        }
+        if (!entries.isEmpty()) {
+            write(entries);
+        }
+    }
+
+    /**
+     * Drains the buffer before the data source goes away.
+     */
+    @PreDestroy
+    public void drain() {
+        closed = true;
+        flushAll();
+        log.info("Focus session progress buffer drained");
+    }
+
+    private static LocalDate dateOf(FocusSession session) {
+        return session.getStartedAt() != null ? session.getStartedAt().toLocalDate() : LocalDate.now();
+    }
+
+    // Entries are put back if the write fails, unless newer progress arrived
+    private void write(List<Progress> entries) {
+        try {
+            int written = transactionTemplate.execute(status -> {
+                Map<Long, Progress> bySession = new HashMap<>();
+                entries.forEach(entry -> bySession.put(entry.sessionId(), entry));
+
+                // The baseline of the deltas, locked until the writes commit
+                List<Object[]> args = new ArrayList<>(entries.size());
+                List<FocusSession> updated = new ArrayList<>(entries.size());
+                List<Progress> applied = new ArrayList<>(entries.size());
+                for (FocusSession stored : focusSessionRepository.findAllByIdInForUpdate(bySession.keySet())) {
+                    Progress entry = bySession.get(stored.getId());
+                    int storedDuration = stored.getActualDuration() != null ? stored.getActualDuration() : 0;
+                    if (!stored.getUserId().equals(entry.userId()) || entry.actualDuration() < storedDuration) {
+                        continue;
+                    }
+                    args.add(new Object[] { entry.actualDuration(), entry.endedAt(), entry.sessionId(),
+                            entry.userId(), entry.actualDuration() });
+                    updated.add(stored);
+                    applied.add(entry);
+                }
+                if (args.isEmpty()) {
+                    return 0;
+                }
+                jdbcTemplate.batchUpdate(UPDATE_SQL, args);
+
+                // One record update per user and day, one histogram update per session.
+                // Records are locked before histograms, users and days in order, as
+                // recording a session does, so concurrent writers cannot deadlock.
+                Map<String, Map<LocalDate, Long>> recordDeltas = new TreeMap<>();
+                List<HistogramUpdate> histogramUpdates = new ArrayList<>(updated.size());
+                for (int i = 0; i < updated.size(); i++) {
+                    FocusSession stored = updated.get(i);
+                    Progress entry = applied.get(i);
+                    if (stored.getSessionType() != FocusSession.SessionType.FOCUS) {
+                        continue;
+                    }
+                    LocalDate date = dateOf(stored);
+                    FocusHistogramService.Sample previous = FocusHistogramService.Sample.of(stored);
+                    recordDeltas.computeIfAbsent(entry.userId(), key -> new TreeMap<>())
+                            .merge(date, (long) entry.actualDuration() - previous.actualSeconds(), Long::sum);
+                    histogramUpdates.add(new HistogramUpdate(entry.userId(), date, previous,
+                            new FocusHistogramService.Sample(previous.status(), previous.scheduledSeconds(),
+                                    entry.actualDuration())));
+                }
+                recordDeltas.forEach((userId, days) -> days.forEach(
+                        (date, delta) -> focusRecordService.applySession(userId, date, delta)));
+                histogramUpdates.sort(HistogramUpdate.ORDER);
+                histogramUpdates.forEach(update -> focusHistogramService.applySession(update.userId(),
+                        update.date(), update.previous(), update.current()));
+                for (int i = 0; i < updated.size(); i++) {
+                    eventPublisher.publishEvent(new FocusSessionRecordedEvent(applied.get(i).userId(),
+                            dateOf(updated.get(i)), applied.get(i).sessionId()));
+                }
+                return updated.size();
+            });
+            log.debug("Flushed progress of {} focus sessions ({} stale)", written, entries.size() - written);
+        } catch (RuntimeException e) {
+            log.error("Failed to flush progress of {} focus sessions: {}", entries.size(), e.getMessage());
+            for (Progress entry : entries) {
+                pending.putIfAbsent(entry.sessionId(), entry);
+            }
+            throw e;
+        }
+    }
+}
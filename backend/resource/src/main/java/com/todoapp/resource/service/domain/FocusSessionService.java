@@ -1,45 +1,115 @@
 package com.todoapp.resource.service.domain;
 
-import java.time.DayOfWeek;
+import java.sql.Date;
+import java.sql.Timestamp;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.todoapp.resource.config.AppConfigurationProperties;
 import com.todoapp.resource.dto.FocusSessionDto;
+import com.todoapp.resource.event.FocusSessionRecordedEvent;
+import com.todoapp.resource.exception.ResourceNotFoundException;
 import com.todoapp.resource.model.FocusSession;
 import com.todoapp.resource.model.Task;
 import com.todoapp.resource.repository.FocusSessionRepository;
 import com.todoapp.resource.repository.TaskRepository;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class FocusSessionService {
 
         private final FocusSessionRepository focusSessionRepository;
         private final TaskRepository taskRepository;
+        private final FocusRecordService focusRecordService;
+        private final FocusHistogramService focusHistogramService;
+        private final ApplicationEventPublisher eventPublisher;
+        private final FocusSessionProgressBuffer progressBuffer;
+        private final JdbcTemplate jdbcTemplate;
+        private final AppConfigurationProperties appProperties;
+        private final FocusPeriodComparator periodComparator;
+        private final FocusSessionArchiveRouter archiveRouter;
+        // Recording runs in a template so that a duplicate client session id,
+        // stored by a concurrent replay, is handled after the rollback
+        private final TransactionTemplate transactionTemplate;
+
+        private static final String INSERT_SQL = "INSERT INTO focus_sessions (user_id, task_id, session_type, "
+                        + "status, scheduled_duration, actual_duration, started_at, ended_at, local_date, "
+                        + "client_session_id, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+        public FocusSessionService(FocusSessionRepository focusSessionRepository, TaskRepository taskRepository,
+                        FocusRecordService focusRecordService, FocusHistogramService focusHistogramService,
+                        ApplicationEventPublisher eventPublisher, FocusSessionProgressBuffer progressBuffer,
+                        JdbcTemplate jdbcTemplate, AppConfigurationProperties appProperties,
+                        FocusPeriodComparator periodComparator, FocusSessionArchiveRouter archiveRouter,
+                        PlatformTransactionManager transactionManager) {
+                this.focusSessionRepository = focusSessionRepository;
+                this.taskRepository = taskRepository;
+                this.focusRecordService = focusRecordService;
+                this.focusHistogramService = focusHistogramService;
+                this.eventPublisher = eventPublisher;
+                this.progressBuffer = progressBuffer;
+                this.jdbcTemplate = jdbcTemplate;
+                this.appProperties = appProperties;
+                this.periodComparator = periodComparator;
+                this.archiveRouter = archiveRouter;
+                this.transactionTemplate = new TransactionTemplate(transactionManager);
+        }
 
         /**
          * Record a new focus session (completed or interrupted).
+         * A replay of a session recorded before, matched by its client session id,
+         * returns the stored session.
          */
-        @Transactional
         public FocusSession recordSession(FocusSessionDto.RecordRequest request, String userId) {
+                try {
+                        return transactionTemplate.execute(status -> doRecordSession(request, userId));
+                } catch (DataIntegrityViolationException e) {
+                        if (request.getId() != null || request.getClientSessionId() == null) {
+                                throw e;
+                        }
+                        // A concurrent replay stored the session first
+                        log.info("Session {} of user {} was recorded concurrently", request.getClientSessionId(),
+                                        userId);
+                        return focusSessionRepository.findByUserIdAndClientSessionId(userId,
+                                        normalizeClientSessionId(request.getClientSessionId()))
+                                        .orElseThrow(() -> e);
+                }
+        }
+
+        private FocusSession doRecordSession(FocusSessionDto.RecordRequest request, String userId) {
                 log.info("Recording session for user {}: type={}, status={}, duration={}",
                                 userId, request.getSessionType(), request.getStatus(), request.getActualDuration());
 
-                Task task = null;
-                if (request.getTaskId() != null) {
-                        task = taskRepository.findById(request.getTaskId()).orElse(null);
-                }
-
                 FocusSession session;
+                int previousDuration = 0;
+                FocusHistogramService.Sample previousSample = null;
                 if (request.getId() != null) {
+                        // The final state supersedes buffered progress. The row lock orders
+                        // this update after a progress flush in flight, so the deltas below
+                        // start from what it wrote.
+                        progressBuffer.discard(request.getId());
+
                         // Update existing session
-                        session = focusSessionRepository.findById(request.getId())
+                        session = focusSessionRepository.findByIdForUpdate(request.getId())
                                         .orElseThrow(() -> new RuntimeException(
                                                         "Session not found: " + request.getId()));
 
@@ -48,6 +118,9 @@ public class FocusSessionService {
                                 throw new RuntimeException("Unauthorized update");
                         }
 
+                        previousDuration = session.getActualDuration() != null ? session.getActualDuration() : 0;
+                        previousSample = FocusHistogramService.Sample.of(session);
+
                         // Update fields
                         session.setStatus(FocusSession.SessionStatus.valueOf(request.getStatus()));
                         session.setActualDuration(request.getActualDuration());
@@ -55,6 +128,22 @@ public class FocusSessionService {
                         // Should we update taskId or sessionType? Usually fixed, but can allow if
                         // needed.
                 } else {
+                        if (request.getClientSessionId() != null) {
+                                // Replay of a session recorded before, possibly archived since
+                                FocusSession existing = archiveRouter.findByClientSessionId(userId,
+                                                normalizeClientSessionId(request.getClientSessionId()),
+                                                request.getStartedAt())
+                                                .orElse(null);
+                                if (existing != null) {
+                                        return existing;
+                                }
+                        }
+
+                        Task task = null;
+                        if (request.getTaskId() != null) {
+                                task = taskRepository.findById(request.getTaskId()).orElse(null);
+                        }
+
                         // Create new session
                         session = FocusSession.builder()
                                         .userId(userId)
@@ -65,18 +154,117 @@ public class FocusSessionService {
                                         .actualDuration(request.getActualDuration())
                                         .startedAt(request.getStartedAt())
                                         .endedAt(request.getEndedAt())
+                                        .clientSessionId(request.getClientSessionId() != null
+                                                        ? normalizeClientSessionId(request.getClientSessionId())
+                                                        : null)
                                         .build();
                 }
 
-                return focusSessionRepository.save(session);
+                FocusSession saved = focusSessionRepository.save(session);
+                LocalDate sessionDate = saved.getStartedAt() != null ? saved.getStartedAt().toLocalDate()
+                                : LocalDate.now();
+                if (saved.getSessionType() == FocusSession.SessionType.FOCUS) {
+                        int duration = saved.getActualDuration() != null ? saved.getActualDuration() : 0;
+                        focusRecordService.applySession(userId, sessionDate, duration - previousDuration);
+                        focusHistogramService.applySession(userId, sessionDate, previousSample,
+                                        FocusHistogramService.Sample.of(saved));
+                }
+                eventPublisher.publishEvent(new FocusSessionRecordedEvent(userId, sessionDate, saved.getId()));
+                return saved;
+        }
+
+        /**
+         * Record finished sessions replayed by an offline client.
+         * Task ownership is checked in one query and new sessions are inserted in
+         * one JDBC batch; records, histograms and analytics are then updated once
+         * per affected day. Sessions whose client session id is already stored,
+         * in the hot table or the archive, are skipped, so a batch can be replayed
+         * safely.
+         *
+         * @throws IllegalArgumentException  if a session is incomplete or the batch
+         *                                   is too large
+         * @throws ResourceNotFoundException if a referenced task is not the user's
+         */
+        public FocusSessionDto.BatchRecordResponse recordSessions(List<FocusSessionDto.RecordRequest> requests,
+                        String userId) {
+                try {
+                        return transactionTemplate.execute(status -> doRecordSessions(requests, userId));
+                } catch (DataIntegrityViolationException e) {
+                        // A concurrent replay stored some of the sessions first; once it has
+                        // committed they are found and counted as duplicates
+                        log.info("Replayed sessions of user {} were recorded concurrently, retrying", userId);
+                        return transactionTemplate.execute(status -> doRecordSessions(requests, userId));
+                }
+        }
+
+        private FocusSessionDto.BatchRecordResponse doRecordSessions(List<FocusSessionDto.RecordRequest> requests,
+                        String userId) {
+                int maxSize = appProperties.getFocusSessions().getBatchMaxSize();
+                if (requests == null || requests.isEmpty() || requests.size() > maxSize) {
+                        throw new IllegalArgumentException("sessions must hold 1 to " + maxSize + " entries");
+                }
+
+                // Last one wins for ids repeated within the batch
+                Map<String, FocusSession> byClientId = new LinkedHashMap<>();
+                Set<Long> taskIds = new HashSet<>();
+                for (FocusSessionDto.RecordRequest request : requests) {
+                        FocusSession session = toBatchSession(request, userId);
+                        byClientId.put(session.getClientSessionId(), session);
+                        if (session.getTaskId() != null) {
+                                taskIds.add(session.getTaskId());
+                        }
+                }
+
+                if (!taskIds.isEmpty()) {
+                        Set<Long> owned = new HashSet<>(taskRepository.findIdsByUserIdAndIdIn(userId, taskIds));
+                        for (Long taskId : taskIds) {
+                                if (!owned.contains(taskId)) {
+                                        throw new ResourceNotFoundException("Task", "id", taskId);
+                                }
+                        }
+                }
+
+                LocalDate firstDate = byClientId.values().stream().map(FocusSession::getLocalDate)
+                                .min(LocalDate::compareTo).orElseThrow();
+                LocalDate lastDate = byClientId.values().stream().map(FocusSession::getLocalDate)
+                                .max(LocalDate::compareTo).orElseThrow();
+                archiveRouter.findClientSessionIds(userId, new ArrayList<>(byClientId.keySet()), firstDate, lastDate)
+                                .forEach(byClientId::remove);
+                List<FocusSession> sessions = new ArrayList<>(byClientId.values());
+
+                if (!sessions.isEmpty()) {
+                        insertBatch(sessions);
+                        applyBatch(userId, sessions);
+                }
+                log.info("Recorded {} of {} replayed sessions for user {}", sessions.size(), requests.size(), userId);
+
+                return FocusSessionDto.BatchRecordResponse.builder()
+                                .received(requests.size())
+                                .recorded(sessions.size())
+                                .duplicates(requests.size() - sessions.size())
+                                .build();
+        }
+
+        /**
+         * Buffer a progress update of a running session.
+         * The latest update per session is written on the next flush, unless the
+         * session is recorded as completed or interrupted first.
+         */
+        public void recordProgress(Long sessionId, FocusSessionDto.ProgressRequest request, String userId) {
+                if (request.getActualDuration() == null || request.getActualDuration() < 0) {
+                        throw new IllegalArgumentException("actualDuration must be zero or positive");
+                }
+                log.debug("Buffering progress of session {} for user {}: duration={}", sessionId, userId,
+                                request.getActualDuration());
+                progressBuffer.offer(sessionId, userId, request.getActualDuration(), request.getEndedAt());
         }
 
         /**
          * Get total focus time for a user on a specific date
          */
         public FocusSessionDto.DailySummary getDailySummary(String userId, LocalDate date) {
-                Integer totalMinutes = focusSessionRepository.getTotalFocusMinutesByUserIdAndDateRange(
-                                userId, date.atStartOfDay(), date.atTime(23, 59, 59));
+                Integer totalMinutes = archiveRouter.getTotalFocusMinutes(userId, date.atStartOfDay(),
+                                date.atTime(23, 59, 59));
                 Integer totalSeconds = totalMinutes != null ? totalMinutes * 60 : 0;
                 log.info("Daily summary for user {} on {}: {} seconds", userId, date, totalSeconds);
 
@@ -90,7 +278,7 @@ public class FocusSessionService {
          * Get total focus time for a user (all time)
          */
         public FocusSessionDto.TotalSummary getTotalSummary(String userId) {
-                Integer totalSeconds = focusSessionRepository.getTotalFocusDurationByUserId(userId);
+                Integer totalSeconds = archiveRouter.getTotalFocusDuration(userId);
                 log.info("Total summary for user {}: {} seconds", userId, totalSeconds);
 
                 return FocusSessionDto.TotalSummary.builder()
@@ -98,38 +286,32 @@ public class FocusSessionService {
                                 .build();
         }
 
+        /**
+         * Get this week's focus total and its difference to last week.
+         */
         public FocusSessionDto.WeeklySummary getWeeklySummary(String userId, LocalDate date) {
-                // This week's range
-                LocalDate startOfWeek = date.with(DayOfWeek.MONDAY);
-                LocalDate endOfWeek = date.with(DayOfWeek.SUNDAY);
-
-                Integer thisWeekTotal = focusSessionRepository.getTotalFocusDurationByUserIdAndDateRangeBetween(
-                                userId, startOfWeek.atStartOfDay(), endOfWeek.atTime(23, 59, 59));
+                List<FocusSessionDto.PeriodTotal> weeks = periodComparator
+                                .compare(userId, FocusSessionDto.PeriodUnit.WEEK, date, 2).getPeriods();
+                FocusSessionDto.PeriodTotal thisWeek = weeks.get(1);
 
-                log.info("Weekly summary for user {} between {} and {}: {} seconds", userId, startOfWeek, endOfWeek,
-                                thisWeekTotal);
-
-                // Last week's range
-                LocalDate startOfLastWeek = startOfWeek.minusWeeks(1);
-                LocalDate endOfLastWeek = endOfWeek.minusWeeks(1);
-
-                // Get both weeks' totals
-                Integer lastWeekTotal = focusSessionRepository.getTotalFocusDurationByUserIdAndDateRangeBetween(
-                                userId, startOfLastWeek.atStartOfDay(), endOfLastWeek.atTime(23, 59, 59));
-
-                log.info("Weekly summary for user {} between {} and {}: {} seconds", userId, startOfLastWeek,
-                                endOfLastWeek, lastWeekTotal);
-                int gapSeconds = (thisWeekTotal != null ? thisWeekTotal : 0)
-                                - (lastWeekTotal != null ? lastWeekTotal : 0);
-
-                log.info("gapSeconds: {}", gapSeconds);
+                log.info("Weekly summary for user {} from {}: {} seconds, gap {}", userId, thisWeek.getStartDate(),
+                                thisWeek.getTotalSeconds(), thisWeek.getDeltaSeconds());
                 return FocusSessionDto.WeeklySummary.builder()
                                 .date(date)
-                                .totalSeconds(thisWeekTotal != null ? thisWeekTotal : 0)
-                                .gapSeconds(gapSeconds)
+                                .totalSeconds(thisWeek.getTotalSeconds())
+                                .gapSeconds(thisWeek.getDeltaSeconds())
                                 .build();
         }
 
+        /**
+         * Compare focus totals of consecutive periods ending with the one that
+         * contains the given date.
+         */
+        public FocusSessionDto.PeriodComparison getPeriodComparison(String userId, FocusSessionDto.PeriodUnit unit,
+                        LocalDate date, int periods) {
+                return periodComparator.compare(userId, unit, date, periods);
+        }
+
         /**
          * Get all focus sessions for a user on a specific date.
          */
@@ -140,4 +322,68 @@ public class FocusSessionService {
                 log.info("Fetching sessions for user {} on date {}", userId, date);
                 return focusSessionRepository.findByUserIdAndStartedAtBetweenWithTask(userId, startOfDay, endOfDay);
         }
+
+        private static FocusSession toBatchSession(FocusSessionDto.RecordRequest request, String userId) {
+                if (request.getId() != null) {
+                        throw new IllegalArgumentException("Replayed sessions must not have an id");
+                }
+                if (request.getClientSessionId() == null || request.getStartedAt() == null
+                                || request.getScheduledDuration() == null || request.getActualDuration() == null
+                                || request.getSessionType() == null || request.getStatus() == null) {
+                        throw new IllegalArgumentException("Replayed sessions need clientSessionId, sessionType, "
+                                        + "status, durations and startedAt");
+                }
+                return FocusSession.builder()
+                                .userId(userId)
+                                .taskId(request.getTaskId())
+                                .sessionType(FocusSession.SessionType.valueOf(request.getSessionType()))
+                                .status(FocusSession.SessionStatus.valueOf(request.getStatus()))
+                                .scheduledDuration(request.getScheduledDuration())
+                                .actualDuration(request.getActualDuration())
+                                .startedAt(request.getStartedAt())
+                                .endedAt(request.getEndedAt())
+                                .localDate(request.getStartedAt().toLocalDate())
+                                .clientSessionId(normalizeClientSessionId(request.getClientSessionId()))
+                                .build();
+        }
+
+        private static String normalizeClientSessionId(String clientSessionId) {
+                return UUID.fromString(clientSessionId).toString();
+        }
+
+        private void insertBatch(List<FocusSession> sessions) {
+                Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+                List<Object[]> args = new ArrayList<>(sessions.size());
+                for (FocusSession session : sessions) {
+                        args.add(new Object[] { session.getUserId(), session.getTaskId(),
+                                        session.getSessionType().name(), session.getStatus().name(),
+                                        session.getScheduledDuration(), session.getActualDuration(),
+                                        Timestamp.valueOf(session.getStartedAt()),
+                                        session.getEndedAt() != null ? Timestamp.valueOf(session.getEndedAt()) : null,
+                                        Date.valueOf(session.getLocalDate()), session.getClientSessionId(), now });
+                }
+                jdbcTemplate.batchUpdate(INSERT_SQL, args);
+        }
+
+        // One record, histogram and analytics update per affected day
+        private void applyBatch(String userId, List<FocusSession> sessions) {
+                SortedMap<LocalDate, Long> focusSeconds = new TreeMap<>();
+                Map<LocalDate, List<FocusHistogramService.Sample>> samples = new TreeMap<>();
+                Set<LocalDate> days = new TreeSet<>();
+                for (FocusSession session : sessions) {
+                        days.add(session.getLocalDate());
+                        if (session.getSessionType() == FocusSession.SessionType.FOCUS) {
+                                focusSeconds.merge(session.getLocalDate(), (long) session.getActualDuration(),
+                                                Long::sum);
+                                samples.computeIfAbsent(session.getLocalDate(), date -> new ArrayList<>())
+                                                .add(FocusHistogramService.Sample.of(session));
+                        }
+                }
+
+                focusRecordService.applySessions(userId, focusSeconds);
+                focusHistogramService.applySessions(userId, samples);
+                for (LocalDate day : days) {
+                        eventPublisher.publishEvent(new FocusSessionRecordedEvent(userId, day, null));
+                }
+        }
 }
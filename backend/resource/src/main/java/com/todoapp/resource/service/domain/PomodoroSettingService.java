@@ -21,6 +21,15 @@ public class PomodoroSettingService {
                 .orElseGet(() -> createDefaultSettings(userId));
     }
 
+    /**
+     * Get the user's settings, or unsaved defaults if none exist.
+     * Unlike {@link #getSettings(String)} this never writes.
+     */
+    public PomodoroSetting getSettingsOrDefault(String userId) {
+        return repository.findByUserId(userId)
+                .orElseGet(() -> buildDefaultSettings(userId));
+    }
+
     @Transactional
     public PomodoroSetting updateSettings(String userId, PomodoroSetting newSettings) {
         PomodoroSetting existing = repository.findByUserId(userId)
@@ -57,6 +66,10 @@ public class PomodoroSettingService {
 
     private PomodoroSetting createDefaultSettings(String userId) {
         log.info("Creating default pomodoro settings for user: {}", userId);
+        return repository.save(buildDefaultSettings(userId));
+    }
+
+    private PomodoroSetting buildDefaultSettings(String userId) {
         PomodoroSetting settings = new PomodoroSetting();
         settings.setUserId(userId);
         settings.setFocusDuration(25);
@@ -68,6 +81,6 @@ public class PomodoroSettingService {
         settings.setAutoAdvance(false);
         settings.setWhiteNoise("none");
         settings.setVolume(0.5);
-        return repository.save(settings);
+        return settings;
     }
 }
@@ -4,9 +4,13 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,12 +19,12 @@ import com.todoapp.resource.dto.SubtaskDto;
 import com.todoapp.resource.dto.TaskDto;
 import com.todoapp.resource.dto.TaskDto.SyncResult;
 import com.todoapp.resource.dto.TaskDto.SyncTaskDto;
+import com.todoapp.resource.event.TaskChangedEvent;
 import com.todoapp.resource.model.Subtask;
 import com.todoapp.resource.model.Task;
 import com.todoapp.resource.model.TaskList;
 import com.todoapp.resource.model.TaskStatus;
 import com.todoapp.resource.repository.CategoryRepository;
-import com.todoapp.resource.repository.FocusSessionRepository;
 import com.todoapp.resource.repository.PomodoroSettingRepository;
 import com.todoapp.resource.repository.TaskListRepository;
 import com.todoapp.resource.repository.TaskRepository;
@@ -38,13 +42,16 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class TaskService {
 
+    // Upper bound of ranges in one multi-range statistics request
+    private static final int MAX_STATS_RANGES = 60;
+
     private final TaskRepository taskRepository;
     private final TaskListRepository taskListRepository;
     private final CategoryRepository categoryRepository;
     private final CategoryService categoryService; // Injected
     private final PomodoroSettingRepository pomodoroSettingRepository;
-    private final FocusSessionRepository focusSessionRepository;
     private final TaskListService taskListService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Get all tasks for a specific task list.
@@ -147,14 +154,17 @@ public class TaskService {
                     taskCreateRequest.customDates().size(), userId);
 
             Task firstTask = null;
+            ChangedDates changed = new ChangedDates();
             for (LocalDate date : taskCreateRequest.customDates()) {
                 OffsetDateTime scheduledStartAt = date.atStartOfDay().atOffset(ZoneOffset.UTC);
                 Task task = createSimpleTask(taskCreateRequest, userId, scheduledStartAt,
                         taskCreateRequest.scheduledEndAt(), finalTaskListId);
+                changed.add(task);
                 if (firstTask == null) {
                     firstTask = task;
                 }
             }
+            changed.publish(userId);
             return firstTask;
         }
 
@@ -176,7 +186,11 @@ public class TaskService {
                 ? taskCreateRequest.scheduledEndAt()
                 : LocalDate.now().atStartOfDay().atOffset(ZoneOffset.UTC);
 
-        return createSimpleTask(taskCreateRequest, userId, startAt, endAt, finalTaskListId);
+        Task task = createSimpleTask(taskCreateRequest, userId, startAt, endAt, finalTaskListId);
+        ChangedDates changed = new ChangedDates();
+        changed.add(task);
+        changed.publish(userId);
+        return task;
     }
 
     /**
@@ -234,6 +248,10 @@ public class TaskService {
                     taskCreateRequest.scheduledEndAt(), parentTask.getId(), resolvedTaskListId);
         }
 
+        ChangedDates changed = new ChangedDates();
+        changed.add(dates.get(0));
+        changed.add(dates.get(dates.size() - 1));
+        changed.publish(userId);
         return parentTask;
     }
 
@@ -365,6 +383,7 @@ public class TaskService {
         Task task = taskRepository.findByIdAndUserId(id, userId)
                 .orElseThrow(() -> new IllegalArgumentException("Task not found or access denied"));
 
+        ChangedDates changed = new ChangedDates();
         // If this is a recurring parent task, also delete pending children
         if (Boolean.TRUE.equals(task.getIsRecurring())) {
             List<Task> pendingChildren = taskRepository.findByRecurrenceParentIdAndStatusNot(id, TaskStatus.COMPLETED);
@@ -373,6 +392,7 @@ public class TaskService {
                 for (Task child : pendingChildren) {
                     child.setIsDeleted(true);
                     taskRepository.save(child);
+                    changed.add(child);
                 }
             }
         }
@@ -380,6 +400,8 @@ public class TaskService {
         log.info("[TaskService] deleteTask before save: isDeleted={}", task.getIsDeleted());
         task.setIsDeleted(true);
         Task savedTask = taskRepository.save(task);
+        changed.add(savedTask);
+        changed.publish(userId);
         log.info("[TaskService] Soft deleted task {} for user: {} (savedTask.isDeleted={})", id, userId,
                 savedTask.getIsDeleted());
     }
@@ -406,6 +428,9 @@ public class TaskService {
 
         task.setIsDeleted(false);
         taskRepository.save(task);
+        ChangedDates changed = new ChangedDates();
+        changed.add(task);
+        changed.publish(userId);
         log.info("Restored task {} for user: {}", id, userId);
     }
 
@@ -434,15 +459,19 @@ public class TaskService {
         // active, we try both.
         // Or simpler: find children by recurrenceParentId first.
 
+        ChangedDates changed = new ChangedDates();
+        taskRepository.findByIdAndUserId(id, userId).ifPresent(changed::add);
         List<Task> children = taskRepository.findByRecurrenceParentId(id);
         if (!children.isEmpty()) {
             log.info("Cascading permanent delete to {} child tasks of parent {}", children.size(), id);
             for (Task child : children) {
+                changed.add(child);
                 taskRepository.deleteByIdAndUserId(child.getId(), userId);
             }
         }
 
         taskRepository.deleteByIdAndUserId(id, userId);
+        changed.publish(userId);
         log.info("Permanently deleted task {} for user: {}", id, userId);
     }
 
@@ -483,6 +512,9 @@ public class TaskService {
         }
         Task existing = taskRepository.findByIdAndUserId(id, userId)
                 .orElseThrow(() -> new IllegalArgumentException("Task not found"));
+        // Analytics of both the old and the new scheduled date change
+        ChangedDates changed = new ChangedDates();
+        changed.add(existing);
 
         if (request.title() != null) {
             existing.setTitle(request.title());
@@ -576,7 +608,7 @@ public class TaskService {
             // Just delete pending children
             log.info("Turning off recurrence for task {} (requested isRecurring=false)", id);
             existing.setIsRecurring(false);
-            deletePendingChildren(id);
+            deletePendingChildren(id, changed);
 
         } else if (turnedOn || ruleChanged) {
             // Case 2: OFF -> ON or ON -> ON (Rule Changed)
@@ -591,11 +623,13 @@ public class TaskService {
             Task parentTask = taskRepository.save(existing);
 
             // Cleanup old instances before generating new ones
-            deletePendingChildren(id);
+            deletePendingChildren(id, changed);
 
             // Generate recurring instances
-            generateRecurringInstances(parentTask, effectiveRule, userId);
+            generateRecurringInstances(parentTask, effectiveRule, userId, changed);
 
+            changed.add(parentTask);
+            changed.publish(userId);
             log.info("Regenerated recurring instances for task {}", id);
             return parentTask;
         } else {
@@ -614,9 +648,11 @@ public class TaskService {
         // If this is a parent recurring task, propagate certain changes to pending
         // children
         if (Boolean.TRUE.equals(saved.getIsRecurring())) {
-            propagateChangesToChildren(saved, request);
+            propagateChangesToChildren(saved, request, changed);
         }
 
+        changed.add(saved);
+        changed.publish(userId);
         return saved;
     }
 
@@ -627,7 +663,7 @@ public class TaskService {
      * Propagated fields: title, category, estimatedPomodoros
      * Not propagated: startDate, status, subtasks
      */
-    private void propagateChangesToChildren(Task parentTask, TaskDto.Update request) {
+    private void propagateChangesToChildren(Task parentTask, TaskDto.Update request, ChangedDates changed) {
         List<Task> pendingChildren = taskRepository.findByRecurrenceParentIdAndStatusNot(parentTask.getId(),
                 TaskStatus.COMPLETED);
 
@@ -684,6 +720,7 @@ public class TaskService {
 
             if (updated) {
                 taskRepository.save(child);
+                changed.add(child);
             }
         }
 
@@ -694,7 +731,8 @@ public class TaskService {
      * Generate recurring task instances from an existing parent task.
      * This is called when an existing task is converted to recurring.
      */
-    private void generateRecurringInstances(Task parentTask, String recurrenceRule, String userId) {
+    private void generateRecurringInstances(Task parentTask, String recurrenceRule, String userId,
+            ChangedDates changed) {
         // Generate dates using ical4j
         // Start from the parent task's execution date, or today if not set
         LocalDate startDate = parentTask.getScheduledStartAt() != null
@@ -725,6 +763,7 @@ public class TaskService {
                     .build();
 
             taskRepository.save(childTask);
+            changed.add(date);
         }
     }
 
@@ -738,35 +777,19 @@ public class TaskService {
     @Transactional(readOnly = true)
     public TaskDto.Stats getTaskStatsInRange(String userId, LocalDate startDate,
             LocalDate endDate) {
-        Long completedCount = taskRepository.countCompletedByUserIdAndScheduledStartAtDateBetween(
-                userId, startDate, endDate);
-        Long totalCount = taskRepository.countByUserIdAndScheduledStartAtDateBetween(
-                userId, startDate, endDate);
-
-        // Logic for Estimation Accuracy
-        List<Task> completedTasks = taskRepository.findCompletedByUserIdAndScheduledStartAtDateBetween(userId,
-                startDate,
-                endDate);
-        log.info("Completed tasks: {}", completedTasks);
+        TaskRepository.TaskRangeStatsProjection stats = taskRepository
+                .aggregateTaskStatsByUserIdAndScheduledStartAtDateBetween(userId, startDate, endDate);
+        long completedCount = stats.getCompletedCount() != null ? stats.getCompletedCount() : 0L;
+        long totalCount = stats.getTotalCount() != null ? stats.getTotalCount() : 0L;
 
         // Calculate total estimated minutes based on pomodoros
         Integer focusDuration = pomodoroSettingRepository.findByUserId(userId)
                 .map(setting -> setting.getFocusDuration())
                 .orElse(25); // Default to 25 minutes if no settings found
 
-        int totalEstimatedMinutes = completedTasks.stream()
-                .filter(t -> t.getEstimatedPomodoros() != null)
-                .mapToInt(t -> t.getEstimatedPomodoros() * focusDuration)
-                .sum();
-        log.info("Total estimated minutes: {}", totalEstimatedMinutes);
-        List<Long> completedTaskIds = completedTasks.stream().map(Task::getId).toList();
-
-        int totalActualMinutes = 0;
-        if (!completedTaskIds.isEmpty()) {
-            Integer totalSeconds = focusSessionRepository.sumActualDurationByTaskIds(completedTaskIds);
-            if (totalSeconds != null)
-                totalActualMinutes = totalSeconds / 60;
-        }
+        long estimatedPomodoros = stats.getEstimatedPomodoros() != null ? stats.getEstimatedPomodoros() : 0L;
+        int totalEstimatedMinutes = (int) (estimatedPomodoros * focusDuration);
+        int totalActualMinutes = stats.getActualSeconds() != null ? (int) (stats.getActualSeconds() / 60) : 0;
 
         log.info("Task stats for user {} from {} to {}: {} / {} completed. Est: {}m, Act: {}m",
                 userId, startDate, endDate, completedCount, totalCount, totalEstimatedMinutes, totalActualMinutes);
@@ -774,13 +797,72 @@ public class TaskService {
         return TaskDto.Stats.builder()
                 .startDate(startDate)
                 .endDate(endDate)
-                .completedCount(completedCount != null ? completedCount : 0L)
-                .totalCount(totalCount != null ? totalCount : 0L)
+                .completedCount(completedCount)
+                .totalCount(totalCount)
                 .totalEstimatedMinutes(totalEstimatedMinutes)
                 .totalActualMinutes(totalActualMinutes)
                 .build();
     }
 
+    /**
+     * Get task statistics for several ranges at once.
+     * Days spanning all ranges are aggregated in one query and each range sums
+     * its days, so ranges may overlap. Results follow the request order.
+     */
+    @Transactional(readOnly = true)
+    public List<TaskDto.Stats> getTaskStatsForRanges(String userId, List<TaskDto.StatsRange> ranges) {
+        if (ranges == null || ranges.isEmpty() || ranges.size() > MAX_STATS_RANGES) {
+            throw new IllegalArgumentException("Between 1 and " + MAX_STATS_RANGES + " ranges are required");
+        }
+        LocalDate first = null;
+        LocalDate last = null;
+        for (TaskDto.StatsRange range : ranges) {
+            if (range.startDate() == null || range.endDate() == null
+                    || range.endDate().isBefore(range.startDate())) {
+                throw new IllegalArgumentException("Invalid range: " + range);
+            }
+            first = (first == null || range.startDate().isBefore(first)) ? range.startDate() : first;
+            last = (last == null || range.endDate().isAfter(last)) ? range.endDate() : last;
+        }
+
+        Map<LocalDate, TaskRepository.DailyTaskStatsProjection> days = new HashMap<>();
+        for (TaskRepository.DailyTaskStatsProjection day : taskRepository
+                .aggregateDailyTaskStatsByUserIdAndScheduledStartAtDateBetween(userId, first, last)) {
+            days.put(day.getDate(), day);
+        }
+
+        int focusDuration = pomodoroSettingRepository.findByUserId(userId)
+                .map(setting -> setting.getFocusDuration())
+                .orElse(25);
+
+        List<TaskDto.Stats> result = new ArrayList<>(ranges.size());
+        for (TaskDto.StatsRange range : ranges) {
+            long completed = 0;
+            long total = 0;
+            long estimatedPomodoros = 0;
+            long actualSeconds = 0;
+            for (LocalDate date = range.startDate(); !date.isAfter(range.endDate()); date = date.plusDays(1)) {
+                TaskRepository.DailyTaskStatsProjection day = days.get(date);
+                if (day != null) {
+                    completed += day.getCompletedCount();
+                    total += day.getTotalCount();
+                    estimatedPomodoros += day.getEstimatedPomodoros();
+                    actualSeconds += day.getActualSeconds();
+                }
+            }
+            result.add(TaskDto.Stats.builder()
+                    .startDate(range.startDate())
+                    .endDate(range.endDate())
+                    .completedCount(completed)
+                    .totalCount(total)
+                    .totalEstimatedMinutes((int) (estimatedPomodoros * focusDuration))
+                    .totalActualMinutes((int) (actualSeconds / 60))
+                    .build());
+        }
+        log.info("Task stats for user {} over {} ranges from {} to {}", userId, ranges.size(), first, last);
+        return result;
+    }
+
     /**
      * Generate recurring dates based on an RRULE string using pure Java.
      * Supports FREQ (DAILY, WEEKLY, MONTHLY, YEARLY), INTERVAL, BYDAY, UNTIL, and
@@ -930,7 +1012,7 @@ public class TaskService {
     /**
      * Helper to soft-delete pending child tasks for a recurring parent.
      */
-    private void deletePendingChildren(Long parentId) {
+    private void deletePendingChildren(Long parentId, ChangedDates changed) {
         // Debug logging removed for cleaner implementation
 
         List<Task> pendingChildren = taskRepository.findByRecurrenceParentIdAndStatusNot(parentId,
@@ -938,6 +1020,7 @@ public class TaskService {
 
         if (!pendingChildren.isEmpty()) {
             log.info("Permanently deleting {} pending child tasks of parent {}", pendingChildren.size(), parentId);
+            pendingChildren.forEach(changed::add);
             // Use deleteAll for batch deletion if possible, or loop
             taskRepository.deleteAll(pendingChildren);
             taskRepository.flush();
@@ -946,6 +1029,35 @@ public class TaskService {
         }
     }
 
+    /**
+     * Scheduled dates of the tasks touched by one operation, published as a
+     * single {@link TaskChangedEvent} spanning all of them so that listeners
+     * (e.g. the analytics cache and snapshots) handle a recurring series at
+     * once.
+     */
+    private final class ChangedDates {
+
+        private LocalDate first;
+        private LocalDate last;
+
+        void add(Task task) {
+            if (task.getScheduledStartAt() != null) {
+                add(task.getScheduledStartAt().toLocalDate());
+            }
+        }
+
+        void add(LocalDate date) {
+            first = first == null || date.isBefore(first) ? date : first;
+            last = last == null || date.isAfter(last) ? date : last;
+        }
+
+        void publish(String userId) {
+            if (first != null) {
+                eventPublisher.publishEvent(new TaskChangedEvent(userId, first, last));
+            }
+        }
+    }
+
     /**
      * Helper: Create a FailedTask with displayMessage
      */
@@ -1049,7 +1161,9 @@ public class TaskService {
 
             // Apply updates to valid tasks
             LocalDateTime now = LocalDateTime.now();
+            ChangedDates changed = new ChangedDates();
             for (Task task : tasksToUpdate) {
+                changed.add(task);
                 if (request.status() != null) {
                     task.setStatus(request.status());
                     if (request.status() == TaskStatus.COMPLETED) {
@@ -1088,11 +1202,13 @@ public class TaskService {
                 if (request.recurrenceRule() != null) {
                     task.setRecurrenceRule(request.recurrenceRule().toRRuleString());
                 }
+                changed.add(task);
             }
 
             if (!tasksToUpdate.isEmpty()) {
                 taskRepository.saveAll(tasksToUpdate);
             }
+            changed.publish(userId);
 
             int successCount = tasksToUpdate.size();
             log.info("Bulk updated {} tasks for user: {} ({} failed)", successCount, userId, failedTasks.size());
@@ -1146,13 +1262,16 @@ public class TaskService {
                 }
             }
 
+            ChangedDates changed = new ChangedDates();
             for (Task task : tasksToDelete) {
                 task.setIsDeleted(true);
+                changed.add(task);
             }
 
             if (!tasksToDelete.isEmpty()) {
                 taskRepository.saveAll(tasksToDelete);
             }
+            changed.publish(userId);
 
             int successCount = tasksToDelete.size();
             log.info("Bulk soft-deleted {} tasks for user: {} ({} failed)", successCount, userId, failedTasks.size());
@@ -0,0 +1,96 @@
+package com.todoapp.resource.service.domain;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.todoapp.resource.dto.TimerDto;
+import com.todoapp.resource.model.FocusSession;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service holding the running pomodoro timer of each user in memory and
+ * pushing every change to the user's open timer streams.
+ * Only running and paused timers are kept; state is per instance.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TimerStateService {
+
+    private final TimerStreamRegistry streamRegistry;
+
+    private final Map<String, TimerDto.State> states = new ConcurrentHashMap<>();
+
+    // Shared across users so that versions keep increasing when an idle timer is
+    // dropped and started again
+    private final AtomicLong versions = new AtomicLong();
+
+    /**
+     * Get the user's timer, IDLE if none is running or paused.
+     */
+    public TimerDto.State getState(String userId) {
+        TimerDto.State state = states.get(userId);
+        return state != null ? state : TimerDto.State.idle(0);
+    }
+
+    /**
+     * Replace the user's timer and push it to all of the user's devices.
+     * Versions are drawn and stored under the user's map entry; the broadcast
+     * runs after it, and devices skip states older than the last one they got.
+     *
+     * @throws IllegalArgumentException if the update is incomplete
+     */
+    public TimerDto.State updateState(String userId, TimerDto.Update update) {
+        validate(update);
+        TimerDto.State[] updated = new TimerDto.State[1];
+        states.compute(userId, (key, current) -> {
+            TimerDto.State state = toState(update, versions.incrementAndGet());
+            updated[0] = state;
+            return state.status() == TimerDto.Status.IDLE ? null : state;
+        });
+        TimerDto.State state = updated[0];
+        log.debug("Timer of user {} is {} (version {})", userId, state.status(), state.version());
+        streamRegistry.broadcast(userId, state);
+        return state;
+    }
+
+    /**
+     * Open a timer stream for one of the user's devices, starting from the
+     * latest state.
+     */
+    public SseEmitter subscribe(String userId) {
+        return streamRegistry.register(userId, () -> getState(userId));
+    }
+
+    private static void validate(TimerDto.Update update) {
+        if (update.status() == null) {
+            throw new IllegalArgumentException("status is required");
+        }
+        if (update.status() == TimerDto.Status.IDLE) {
+            return;
+        }
+        if (update.phase() == null || update.remainingSeconds() == null || update.remainingSeconds() < 0) {
+            throw new IllegalArgumentException("phase and a non-negative remainingSeconds are required");
+        }
+        FocusSession.SessionType.valueOf(update.phase());
+    }
+
+    private static TimerDto.State toState(TimerDto.Update update, long version) {
+        if (update.status() == TimerDto.Status.IDLE) {
+            return TimerDto.State.idle(version);
+        }
+        Instant now = Instant.now();
+        Instant endsAt = update.status() == TimerDto.Status.RUNNING
+                ? now.plusSeconds(update.remainingSeconds())
+                : null;
+        return new TimerDto.State(update.taskId(), update.phase(), update.status(), update.durationSeconds(),
+                update.remainingSeconds(), endsAt, update.sessionId(), version, now);
+    }
+}
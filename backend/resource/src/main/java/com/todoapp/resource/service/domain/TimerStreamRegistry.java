@@ -0,0 +1,156 @@
+package com.todoapp.resource.service.domain;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.function.Supplier;
+
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todoapp.resource.config.AppConfigurationProperties;
+import com.todoapp.resource.dto.TimerDto;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Registry of open timer event streams per user.
+ * Broadcasts read the registry without locking; each event is serialized once
+ * and the same frame is written to every device of the user. Each device
+ * skips states older than the last one it was sent, so racing broadcasts
+ * never move a device back to an earlier version. A periodic heartbeat keeps
+ * idle connections open through proxies and prunes dead ones.
+ */
+@Slf4j
+@Component
+public class TimerStreamRegistry {
+
+    static final String STATE_EVENT = "timer-state";
+
+    private final ObjectMapper objectMapper;
+    private final long emitterTimeoutMillis;
+
+    // Per-user sets are copy-on-write: devices connect rarely, broadcasts often
+    private final Map<String, Set<Device>> devices = new ConcurrentHashMap<>();
+
+    public TimerStreamRegistry(ObjectMapper objectMapper, AppConfigurationProperties appProperties) {
+        this.objectMapper = objectMapper;
+        this.emitterTimeoutMillis = appProperties.getTimer().getEmitterTimeout().toMillis();
+    }
+
+    /**
+     * Open a stream for one of the user's devices, starting with the current
+     * state. The state is read after the device is registered, so the stream
+     * misses no later update. The stream completes after the configured
+     * timeout; clients reconnect.
+     */
+    public SseEmitter register(String userId, Supplier<TimerDto.State> current) {
+        Device device = new Device(new SseEmitter(emitterTimeoutMillis));
+        devices.compute(userId, (key, set) -> {
+            Set<Device> userDevices = set != null ? set : new CopyOnWriteArraySet<>();
+            userDevices.add(device);
+            return userDevices;
+        });
+        device.emitter.onCompletion(() -> remove(userId, device));
+        device.emitter.onTimeout(() -> remove(userId, device));
+        device.emitter.onError(e -> remove(userId, device));
+
+        TimerDto.State state = current.get();
+        send(userId, device, state.version(), stateFrame(state));
+        return device.emitter;
+    }
+
+    /**
+     * Push a state to every open stream of the user.
+     */
+    public void broadcast(String userId, TimerDto.State state) {
+        Set<Device> userDevices = devices.get(userId);
+        if (userDevices == null) {
+            return;
+        }
+        Set<ResponseBodyEmitter.DataWithMediaType> frame = stateFrame(state);
+        for (Device device : userDevices) {
+            send(userId, device, state.version(), frame);
+        }
+    }
+
+    /**
+     * Send a comment line to every open stream.
+     */
+    @Scheduled(fixedDelayString = "${app.timer.heartbeat-interval:30s}")
+    public void heartbeat() {
+        Set<ResponseBodyEmitter.DataWithMediaType> frame = SseEmitter.event().comment("ping").build();
+        devices.forEach((userId, userDevices) -> {
+            for (Device device : userDevices) {
+                send(userId, device, Device.ANY_VERSION, frame);
+            }
+        });
+    }
+
+    int connectionCount() {
+        return devices.values().stream().mapToInt(Set::size).sum();
+    }
+
+    private Set<ResponseBodyEmitter.DataWithMediaType> stateFrame(TimerDto.State state) {
+        try {
+            return SseEmitter.event()
+                    .name(STATE_EVENT)
+                    .id(Long.toString(state.version()))
+                    .data(objectMapper.writeValueAsString(state), MediaType.APPLICATION_JSON)
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize timer state", e);
+        }
+    }
+
+    private void send(String userId, Device device, long version,
+            Set<ResponseBodyEmitter.DataWithMediaType> frame) {
+        try {
+            device.send(version, frame);
+        } catch (IOException | IllegalStateException e) {
+            // The device went away; the container completes the emitter
+            log.debug("Dropping timer stream of user {}: {}", userId, e.getMessage());
+            remove(userId, device);
+        }
+    }
+
+    private void remove(String userId, Device device) {
+        devices.computeIfPresent(userId, (key, userDevices) -> {
+            userDevices.remove(device);
+            return userDevices.isEmpty() ? null : userDevices;
+        });
+    }
+
+    /**
+     * One open stream and the version of the last state written to it.
+     * Writes to a stream are serialized by the device, never by the registry.
+     */
+    private static final class Device {
+        // Comments carry no state and are always written
+        static final long ANY_VERSION = Long.MAX_VALUE;
+
+        final SseEmitter emitter;
+        private long sentVersion = -1;
+
+        Device(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        synchronized void send(long version, Set<ResponseBodyEmitter.DataWithMediaType> frame) throws IOException {
+            if (version != ANY_VERSION) {
+                if (version <= sentVersion) {
+                    return;
+                }
+                sentVersion = version;
+            }
+            emitter.send(frame);
+        }
+    }
+}
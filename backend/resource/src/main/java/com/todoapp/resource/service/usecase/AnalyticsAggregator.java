@@ -1,10 +1,11 @@
 package com.todoapp.resource.service.usecase;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Component;
 
@@ -30,46 +31,81 @@ public class AnalyticsAggregator {
     private static final String DEFAULT_TASK_TITLE = "Unknown Task";
     private static final String OTHERS_CATEGORY_NAME = "Others";
 
+    // Sort by scheduled date descending (newest first), then ID
+    private static final Comparator<AnalyticsDto.TaskSummary> NEWEST_FIRST = (a, b) -> {
+        if (a.startDate() == null && b.startDate() == null)
+            return 0;
+        if (a.startDate() == null)
+            return 1;
+        if (b.startDate() == null)
+            return -1;
+        int dateCmp = b.startDate().compareTo(a.startDate());
+        return (dateCmp != 0) ? dateCmp : b.taskId().compareTo(a.taskId());
+    };
+
     /**
      * Aggregates focus time by category from a list of sessions.
      * Use default values for sessions with missing category information.
+     * Makes a single pass; category ids map to accumulator slots through a
+     * primitive map so nothing is boxed per session.
      *
      * @param sessions List of FocusSession entities
-     * @return List of CategoryFocusTime DTOs with aggregated duration
+     * @return List of CategoryFocusTime DTOs with aggregated duration, in order of
+     *         first appearance
      */
     public List<AnalyticsDto.CategoryFocusTime> aggregateCategories(List<FocusSession> sessions) {
-        Map<Long, Integer> categoryMinutes = new HashMap<>();
-        Map<Long, Category> categoryMap = new HashMap<>();
+        LongIntHashMap slotByCategoryId = new LongIntHashMap(16);
+        List<Category> categories = new ArrayList<>();
+        int[] minutesBySlot = new int[16];
+
+        // Uncategorized sessions are accumulated separately (null id)
+        boolean hasUncategorized = false;
+        Category uncategorized = null;
+        int uncategorizedMinutes = 0;
 
         for (FocusSession session : sessions) {
             Task task = session.getTask();
             Category category = (task != null) ? task.getCategory() : null;
-            Long catId = (category != null) ? category.getId() : null;
-
             int minutes = (session.getActualDuration() != null) ? session.getActualDuration() / 60 : 0;
-            categoryMinutes.merge(catId, minutes, Integer::sum);
 
-            if (category != null) {
-                categoryMap.putIfAbsent(catId, category);
+            if (category == null || category.getId() == null) {
+                if (!hasUncategorized) {
+                    hasUncategorized = true;
+                    uncategorized = category;
+                }
+                uncategorizedMinutes += minutes;
+                continue;
             }
-        }
 
-        return categoryMinutes.entrySet().stream()
-                .map(entry -> {
-                    Long catId = entry.getKey();
-                    Category cat = categoryMap.get(catId);
-                    String name = (cat != null) ? cat.getName() : DEFAULT_CATEGORY_NAME;
-                    String color = (cat != null) ? cat.getColor() : DEFAULT_CATEGORY_COLOR;
+            int slot = slotByCategoryId.putIfAbsent(category.getId(), categories.size());
+            if (slot == categories.size()) {
+                categories.add(category);
+                if (slot == minutesBySlot.length) {
+                    minutesBySlot = Arrays.copyOf(minutesBySlot, slot * 2);
+                }
+            }
+            minutesBySlot[slot] += minutes;
+        }
 
-                    return new AnalyticsDto.CategoryFocusTime(catId, name, color, entry.getValue());
-                })
-                .collect(Collectors.toList());
+        List<AnalyticsDto.CategoryFocusTime> result = new ArrayList<>(categories.size() + 1);
+        for (int slot = 0; slot < categories.size(); slot++) {
+            Category cat = categories.get(slot);
+            result.add(new AnalyticsDto.CategoryFocusTime(cat.getId(), cat.getName(), cat.getColor(),
+                    minutesBySlot[slot]));
+        }
+        if (hasUncategorized) {
+            String name = (uncategorized != null) ? uncategorized.getName() : DEFAULT_CATEGORY_NAME;
+            String color = (uncategorized != null) ? uncategorized.getColor() : DEFAULT_CATEGORY_COLOR;
+            result.add(new AnalyticsDto.CategoryFocusTime(null, name, color, uncategorizedMinutes));
+        }
+        return result;
     }
 
     /**
      * Builds a list of TaskSummary objects from sessions and tasks within a
      * specific range.
      * Merges tasks found in session history with actively scheduled tasks.
+     * Sessions are visited once, collecting both the task and its focus minutes.
      *
      * @param sessions      List of focus sessions in the range
      * @param tasks         List of scheduled tasks in the range
@@ -79,42 +115,72 @@ public class AnalyticsAggregator {
     public List<AnalyticsDto.TaskSummary> buildTaskSummaryList(List<FocusSession> sessions, List<Task> tasks,
             int focusDuration) {
 
-        Map<Long, Task> uniqueTasks = new HashMap<>();
+        int expected = (tasks != null ? tasks.size() : 0) + 16;
+        LongIntHashMap slotByTaskId = new LongIntHashMap(expected);
+        List<Task> uniqueTasks = new ArrayList<>(expected);
+        int[] minutesBySlot = new int[expected];
 
         if (tasks != null) {
-            tasks.forEach(t -> uniqueTasks.put(t.getId(), t));
+            for (Task task : tasks) {
+                int slot = slotByTaskId.putIfAbsent(task.getId(), uniqueTasks.size());
+                if (slot == uniqueTasks.size()) {
+                    uniqueTasks.add(task);
+                } else {
+                    // Later duplicates win, as with a plain map put
+                    uniqueTasks.set(slot, task);
+                }
+            }
         }
 
         if (sessions != null) {
-            sessions.stream()
-                    .map(FocusSession::getTask)
-                    .filter(t -> t != null)
-                    .forEach(t -> uniqueTasks.putIfAbsent(t.getId(), t));
+            for (FocusSession session : sessions) {
+                Task task = session.getTask();
+                if (task == null) {
+                    continue;
+                }
+                int slot = slotByTaskId.putIfAbsent(task.getId(), uniqueTasks.size());
+                if (slot == uniqueTasks.size()) {
+                    uniqueTasks.add(task);
+                    if (slot == minutesBySlot.length) {
+                        minutesBySlot = Arrays.copyOf(minutesBySlot, slot * 2);
+                    }
+                }
+                minutesBySlot[slot] += (session.getActualDuration() != null ? session.getActualDuration() : 0) / 60;
+            }
         }
 
-        Map<Long, Integer> sessionsByTask = (sessions != null) ? sessions.stream()
-                .filter(s -> s.getTask() != null)
-                .collect(Collectors.groupingBy(
-                        s -> s.getTask().getId(),
-                        Collectors.summingInt(s -> (s.getActualDuration() != null ? s.getActualDuration() : 0) / 60)))
-                : new HashMap<>();
-
-        List<AnalyticsDto.TaskSummary> summaryList = uniqueTasks.values().stream()
-                .map(task -> buildTaskSummary(task, sessionsByTask.getOrDefault(task.getId(), 0), focusDuration))
-                .collect(Collectors.toList());
-
-        // Sort by scheduled date descending (newest first), then ID
-        summaryList.sort((a, b) -> {
-            if (a.startDate() == null && b.startDate() == null)
-                return 0;
-            if (a.startDate() == null)
-                return 1;
-            if (b.startDate() == null)
-                return -1;
-            int dateCmp = b.startDate().compareTo(a.startDate());
-            return (dateCmp != 0) ? dateCmp : b.taskId().compareTo(a.taskId());
-        });
+        List<AnalyticsDto.TaskSummary> summaryList = new ArrayList<>(uniqueTasks.size());
+        for (int slot = 0; slot < uniqueTasks.size(); slot++) {
+            summaryList.add(buildTaskSummary(uniqueTasks.get(slot), minutesBySlot[slot], focusDuration));
+        }
+
+        summaryList.sort(NEWEST_FIRST);
+        return summaryList;
+    }
+
+    /**
+     * Builds a list of TaskSummary objects from tasks and focus minutes already
+     * summed per task id.
+     *
+     * @param tasks              Scheduled tasks in the range and tasks focused on in it
+     * @param focusMinutesByTask Whole focus minutes per task id
+     * @param focusDuration      User's configured focus duration in minutes
+     * @return List of TaskSummary DTOs sorted by date (newest first)
+     */
+    public List<AnalyticsDto.TaskSummary> buildTaskSummaryList(List<Task> tasks,
+            Map<Long, Integer> focusMinutesByTask, int focusDuration) {
+        // Later duplicates win, as with sessions
+        Map<Long, Task> uniqueTasks = new LinkedHashMap<>();
+        for (Task task : tasks) {
+            uniqueTasks.put(task.getId(), task);
+        }
 
+        List<AnalyticsDto.TaskSummary> summaryList = new ArrayList<>(uniqueTasks.size());
+        for (Task task : uniqueTasks.values()) {
+            summaryList.add(buildTaskSummary(task, focusMinutesByTask.getOrDefault(task.getId(), 0),
+                    focusDuration));
+        }
+        summaryList.sort(NEWEST_FIRST);
         return summaryList;
     }
 
@@ -162,7 +228,7 @@ public class AnalyticsAggregator {
         }
         return sessions.stream()
                 .map(this::mapSessionToDto)
-                .collect(Collectors.toList());
+                .toList();
     }
 
     private AnalyticsDto.DailyAnalyticsDto.FocusSessionData mapSessionToDto(FocusSession session) {
@@ -187,49 +253,45 @@ public class AnalyticsAggregator {
     /**
      * Groups task summaries by parent task ID (for recurring tasks).
      * Standalone tasks are treated as single-item groups.
+     * Totals are accumulated while grouping, so each summary is visited once.
      *
      * @param allTaskSummaries List of TaskSummary DTOs
      * @return List of GroupedTaskSummary DTOs sorted by total focus time
      *         (descending)
      */
     public List<AnalyticsDto.GroupedTaskSummary> groupTaskSummaries(List<AnalyticsDto.TaskSummary> allTaskSummaries) {
-        Map<Long, List<AnalyticsDto.TaskSummary>> grouped = new HashMap<>();
+        LongIntHashMap slotByParentId = new LongIntHashMap(16);
+        List<RecurringGroup> groups = new ArrayList<>();
         List<AnalyticsDto.TaskSummary> standalone = new ArrayList<>();
 
         for (AnalyticsDto.TaskSummary summary : allTaskSummaries) {
-            if (summary.parentTaskId() != null) {
-                grouped.computeIfAbsent(summary.parentTaskId(), k -> new ArrayList<>()).add(summary);
-            } else {
+            if (summary.parentTaskId() == null) {
                 standalone.add(summary);
+                continue;
             }
+            int slot = slotByParentId.putIfAbsent(summary.parentTaskId(), groups.size());
+            if (slot == groups.size()) {
+                groups.add(new RecurringGroup(summary.parentTaskId()));
+            }
+            groups.get(slot).add(summary);
         }
 
-        List<AnalyticsDto.GroupedTaskSummary> result = new ArrayList<>();
+        List<AnalyticsDto.GroupedTaskSummary> result = new ArrayList<>(groups.size() + standalone.size());
 
         // Process groups
-        for (Map.Entry<Long, List<AnalyticsDto.TaskSummary>> entry : grouped.entrySet()) {
-            Long parentId = entry.getKey();
-            List<AnalyticsDto.TaskSummary> children = entry.getValue();
-
-            if (children.isEmpty())
-                continue;
-
+        for (RecurringGroup group : groups) {
             // Use the first child to derive common info (title, category)
-            AnalyticsDto.TaskSummary first = children.get(0);
-
-            int totalFocus = children.stream().mapToInt(AnalyticsDto.TaskSummary::focusMinutes).sum();
-            int completedCount = (int) children.stream().filter(AnalyticsDto.TaskSummary::completed).count();
-
+            AnalyticsDto.TaskSummary first = group.children.get(0);
             result.add(new AnalyticsDto.GroupedTaskSummary(
-                    parentId,
+                    group.parentId,
                     first.taskTitle(),
                     first.categoryName(),
                     first.categoryColor(),
-                    totalFocus,
-                    completedCount,
-                    children.size(),
+                    group.totalFocus,
+                    group.completedCount,
+                    group.children.size(),
                     true,
-                    children));
+                    group.children));
         }
 
         // Process standalone
@@ -251,4 +313,26 @@ public class AnalyticsAggregator {
 
         return result;
     }
+
+    /**
+     * Running totals for one recurring task group.
+     */
+    private static final class RecurringGroup {
+        private final Long parentId;
+        private final List<AnalyticsDto.TaskSummary> children = new ArrayList<>();
+        private int totalFocus;
+        private int completedCount;
+
+        private RecurringGroup(Long parentId) {
+            this.parentId = parentId;
+        }
+
+        private void add(AnalyticsDto.TaskSummary summary) {
+            children.add(summary);
+            totalFocus += summary.focusMinutes();
+            if (summary.completed()) {
+                completedCount++;
+            }
+        }
+    }
 }
@@ -0,0 +1,283 @@
+package com.todoapp.resource.service.usecase;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.todoapp.resource.config.AppConfigurationProperties;
+import com.todoapp.resource.event.AnalyticsDataChangedEvent;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory cache for composite analytics results keyed by user, view and
+ * range.
+ * Entries are invalidated by {@link AnalyticsDataChangedEvent}s, but only for
+ * ranges containing the affected date. Capacity is bounded by an LRU policy
+ * and every entry expires after a TTL as a safety net for changes that do not
+ * publish events.
+ */
+@Slf4j
+@Component
+public class AnalyticsCache {
+
+    /**
+     * Analytics views that can be cached.
+     */
+    public enum View {
+        DAILY, WEEKLY, MONTHLY, YEARLY, HOURLY_PROFILE
+    }
+
+    /**
+     * Time range of a cached value.
+     */
+    public record Range(OffsetDateTime start, OffsetDateTime end) {
+    }
+
+    private record Key(String userId, View view, OffsetDateTime start, OffsetDateTime end) {
+    }
+
+    private record Entry(Object value, long expiresAtNanos) {
+    }
+
+    /**
+     * Snapshot of cache counters.
+     */
+    public record Stats(long hits, long misses, long evictions, long invalidations, int size) {
+    }
+
+    private final boolean enabled;
+    private final int maxEntries;
+    private final long ttlNanos;
+
+    // Access-ordered map gives LRU eviction; guarded by "this"
+    private final LinkedHashMap<Key, Entry> entries;
+
+    // Bumped on every invalidation so that computations racing with a write are
+    // not stored
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public AnalyticsCache(AppConfigurationProperties appProperties, ObjectProvider<MeterRegistry> meterRegistry) {
+        AppConfigurationProperties.CacheConfiguration config = appProperties.getAnalytics().getCache();
+        this.enabled = config.isEnabled();
+        this.maxEntries = config.getMaxEntries();
+        this.ttlNanos = config.getTtl().toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                if (size() > maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+        meterRegistry.ifAvailable(this::bindMetrics);
+    }
+
+    /**
+     * Returns the cached value for the key or computes and stores it.
+     * Values rejected by {@code cacheable} are returned but not stored.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String userId, View view, OffsetDateTime start, OffsetDateTime end, Supplier<T> loader,
+            Predicate<T> cacheable) {
+        if (!enabled) {
+            return loader.get();
+        }
+
+        Key key = new Key(userId, view, start, end);
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                if (entry.expiresAtNanos() - System.nanoTime() > 0) {
+                    hits.increment();
+                    return (T) entry.value();
+                }
+                entries.remove(key);
+                evictions.increment();
+            }
+        }
+
+        misses.increment();
+        long generation = generation(userId).get();
+        T value = loader.get();
+
+        if (value != null && cacheable.test(value)) {
+            synchronized (this) {
+                if (generation(userId).get() == generation) {
+                    entries.put(key, new Entry(value, System.nanoTime() + ttlNanos));
+                }
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Returns the cached values for several ranges of one view, in range order.
+     * Missing ranges are passed to the loader in one call, which must return
+     * their values in the same order; all loaded values are stored.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> List<T> getAll(String userId, View view, List<Range> ranges,
+            Function<List<Range>, List<T>> loader) {
+        if (!enabled) {
+            return loader.apply(ranges);
+        }
+
+        List<T> values = new ArrayList<>(Collections.nCopies(ranges.size(), null));
+        List<Range> missing = new ArrayList<>();
+        List<Integer> missingIndexes = new ArrayList<>();
+        synchronized (this) {
+            for (int i = 0; i < ranges.size(); i++) {
+                Range range = ranges.get(i);
+                Key key = new Key(userId, view, range.start(), range.end());
+                Entry entry = entries.get(key);
+                if (entry != null && entry.expiresAtNanos() - System.nanoTime() > 0) {
+                    values.set(i, (T) entry.value());
+                    continue;
+                }
+                if (entry != null) {
+                    entries.remove(key);
+                    evictions.increment();
+                }
+                missing.add(range);
+                missingIndexes.add(i);
+            }
+        }
+        hits.add(ranges.size() - missing.size());
+        if (missing.isEmpty()) {
+            return values;
+        }
+
+        misses.add(missing.size());
+        long generation = generation(userId).get();
+        List<T> loaded = loader.apply(missing);
+
+        synchronized (this) {
+            boolean current = generation(userId).get() == generation;
+            for (int i = 0; i < missing.size(); i++) {
+                T value = loaded.get(i);
+                values.set(missingIndexes.get(i), value);
+                if (current && value != null) {
+                    Range range = missing.get(i);
+                    entries.put(new Key(userId, view, range.start(), range.end()),
+                            new Entry(value, System.nanoTime() + ttlNanos));
+                }
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Evicts the user's entries whose range contains the changed date.
+     * Runs after the publishing transaction commits.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAnalyticsDataChanged(AnalyticsDataChangedEvent event) {
+        invalidate(event.userId(), event.date(), event.lastDate());
+    }
+
+    /**
+     * Evicts the user's entries whose range, or the previous period it is
+     * compared with, overlaps the given date.
+     */
+    public void invalidate(String userId, LocalDate date) {
+        invalidate(userId, date, date);
+    }
+
+    /**
+     * Evicts the user's entries whose range, or the previous period it is
+     * compared with, overlaps the given dates (inclusive).
+     * The dates are padded by a day on each side to absorb offsets between
+     * client time zones and stored timestamps.
+     */
+    public void invalidate(String userId, LocalDate firstDate, LocalDate lastDate) {
+        generation(userId).incrementAndGet();
+        LocalDateTime from = firstDate.minusDays(1).atStartOfDay();
+        LocalDateTime to = lastDate.plusDays(2).atStartOfDay();
+
+        int removed = 0;
+        synchronized (this) {
+            Iterator<Key> it = entries.keySet().iterator();
+            while (it.hasNext()) {
+                Key key = it.next();
+                if (key.userId().equals(userId) && comparedFrom(key).isBefore(to)
+                        && from.isBefore(key.end().toLocalDateTime())) {
+                    it.remove();
+                    removed++;
+                }
+            }
+        }
+        invalidations.add(removed);
+        log.debug("Invalidated {} analytics cache entries for user {} from {} to {}", removed, userId, firstDate,
+                lastDate);
+    }
+
+    /**
+     * Evicts every entry of the user regardless of range.
+     */
+    public void invalidateUser(String userId) {
+        generation(userId).incrementAndGet();
+        synchronized (this) {
+            entries.keySet().removeIf(key -> key.userId().equals(userId));
+        }
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(hits.sum(), misses.sum(), evictions.sum(), invalidations.sum(), entries.size());
+    }
+
+    /**
+     * Start of the previous period that results of the key embed (growth and
+     * difference figures), which a change there makes stale as well.
+     */
+    private static LocalDateTime comparedFrom(Key key) {
+        LocalDateTime start = key.start().toLocalDateTime();
+        return switch (key.view()) {
+            case MONTHLY -> start.minusMonths(1);
+            case YEARLY -> start.minusYears(1);
+            case HOURLY_PROFILE -> start;
+            default -> start.minus(Duration.between(key.start(), key.end()));
+        };
+    }
+
+    private AtomicLong generation(String userId) {
+        return generations.computeIfAbsent(userId, id -> new AtomicLong());
+    }
+
+    private void bindMetrics(MeterRegistry registry) {
+        FunctionCounter.builder("analytics.cache.requests", hits, LongAdder::sum).tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("analytics.cache.requests", misses, LongAdder::sum).tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("analytics.cache.evictions", evictions, LongAdder::sum).register(registry);
+        FunctionCounter.builder("analytics.cache.invalidations", invalidations, LongAdder::sum).register(registry);
+        Gauge.builder("analytics.cache.size", this, cache -> cache.stats().size()).register(registry);
+    }
+}
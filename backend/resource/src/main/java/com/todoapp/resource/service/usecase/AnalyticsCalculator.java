@@ -1,5 +1,8 @@
 package com.todoapp.resource.service.usecase;
 
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
 import org.springframework.stereotype.Component;
 
 import lombok.RequiredArgsConstructor;
@@ -13,6 +16,7 @@ import lombok.RequiredArgsConstructor;
 public class AnalyticsCalculator {
 
     private static final double MAX_VOLUME_BALANCE_SCORE = 200.0;
+    private static final long SECONDS_PER_HOUR = 3600;
 
     /**
      * Calculate Rhythm Quality based on completed vs total sessions.
@@ -66,4 +70,50 @@ public class AnalyticsCalculator {
         return total > 0 ? (double) completed / total * 100 : 0;
     }
 
+    /**
+     * Estimate a percentile from a fixed-width histogram.
+     * Interpolates linearly inside the bucket; the last bucket is open-ended and
+     * reports its lower bound.
+     */
+    public double calculateHistogramPercentile(int[] buckets, int bucketWidth, double percentile) {
+        long total = 0;
+        for (int count : buckets) {
+            total += count;
+        }
+        if (total == 0) {
+            return 0.0;
+        }
+
+        double rank = percentile / 100.0 * total;
+        long cumulative = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            if (buckets[i] > 0 && cumulative + buckets[i] >= rank) {
+                if (i == buckets.length - 1) {
+                    return (double) i * bucketWidth;
+                }
+                return (i + (rank - cumulative) / buckets[i]) * bucketWidth;
+            }
+            cumulative += buckets[i];
+        }
+        return (double) (buckets.length - 1) * bucketWidth;
+    }
+
+    /**
+     * Add a session's seconds to a weekday-by-hour matrix.
+     * Cell {@code weekday * 24 + hour} holds seconds started in that hour, with
+     * Monday as weekday 0; sessions crossing hour boundaries are split.
+     */
+    public void addToHourlyProfile(long[] secondsByHour, LocalDateTime start, int durationSeconds) {
+        long second = start.toEpochSecond(ZoneOffset.UTC);
+        long remaining = durationSeconds;
+        while (remaining > 0) {
+            long hour = Math.floorDiv(second, SECONDS_PER_HOUR);
+            long inHour = Math.min(remaining, (hour + 1) * SECONDS_PER_HOUR - second);
+            // Epoch day 0 was a Thursday
+            int weekday = (int) Math.floorMod(Math.floorDiv(hour, 24) + 3, 7);
+            secondsByHour[weekday * 24 + (int) Math.floorMod(hour, 24)] += inHour;
+            second += inHour;
+            remaining -= inHour;
+        }
+    }
 }
@@ -0,0 +1,106 @@
+package com.todoapp.resource.service.usecase;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.todoapp.resource.config.AppConfigurationProperties;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs independent read-only analytics sections concurrently.
+ * Each section gets its own read-only transaction; all sections of a request
+ * share one deadline, after which missing sections fall back to a default and
+ * are reported as timed out.
+ */
+@Slf4j
+@Component
+public class AnalyticsFanOut {
+
+    private final AsyncTaskExecutor executor;
+    private final TransactionTemplate readOnlyTransaction;
+    private final AppConfigurationProperties appProperties;
+
+    public AnalyticsFanOut(@Qualifier("analyticsExecutor") AsyncTaskExecutor executor,
+            PlatformTransactionManager transactionManager,
+            AppConfigurationProperties appProperties) {
+        this.executor = executor;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.appProperties = appProperties;
+    }
+
+    /**
+     * Starts a new composite request whose deadline begins now.
+     */
+    public Request begin() {
+        long timeoutNanos = appProperties.getAnalytics().getSectionTimeout().toNanos();
+        return new Request(System.nanoTime() + timeoutNanos);
+    }
+
+    /**
+     * One composite request: submit sections, then await each with a fallback.
+     */
+    public class Request {
+
+        private final long deadlineNanos;
+        private final List<String> timedOutSections = new ArrayList<>();
+
+        private Request(long deadlineNanos) {
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        /**
+         * Starts a section in its own read-only transaction.
+         */
+        public <T> CompletableFuture<T> submit(Supplier<T> section) {
+            return CompletableFuture.supplyAsync(() -> readOnlyTransaction.execute(status -> section.get()),
+                    executor);
+        }
+
+        /**
+         * Waits for a section until the request deadline.
+         * Returns {@code fallback} and records the section name if it does not finish
+         * in time. Failures of the section are rethrown unchanged.
+         */
+        public <T> T await(String name, CompletableFuture<T> future, T fallback) {
+            long remaining = deadlineNanos - System.nanoTime();
+            try {
+                return future.get(Math.max(0, remaining), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                log.warn("Analytics section '{}' exceeded its deadline, returning partial result", name);
+                future.cancel(true);
+                timedOutSections.add(name);
+                return fallback;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                timedOutSections.add(name);
+                return fallback;
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                throw new IllegalStateException("Analytics section '" + name + "' failed", e.getCause());
+            }
+        }
+
+        public boolean isPartial() {
+            return !timedOutSections.isEmpty();
+        }
+
+        public List<String> getTimedOutSections() {
+            return List.copyOf(timedOutSections);
+        }
+    }
+}
@@ -0,0 +1,309 @@
+package com.todoapp.resource.service.usecase;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.todoapp.resource.dto.AnalyticsDto;
+import com.todoapp.resource.dto.AnalyticsDto.QueryDimension;
+import com.todoapp.resource.dto.AnalyticsDto.QueryMetric;
+import com.todoapp.resource.model.FocusSession;
+import com.todoapp.resource.model.TaskStatus;
+import com.todoapp.resource.repository.FocusSessionRepository;
+import com.todoapp.resource.repository.PomodoroSettingRepository;
+import com.todoapp.resource.service.domain.FocusSessionArchiveRouter;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Compiles generic analytics queries into at most two grouped reads: one over
+ * focus sessions and one over completed tasks.
+ * Only fragments defined here are put into the JPQL; all values are bound as
+ * parameters. Week and month keys are rolled up in memory from day groups, so
+ * every time dimension uses the same query shape.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AnalyticsQueryEngine {
+
+    // Upper bound of the queried range, about three years
+    private static final long MAX_RANGE_DAYS = 1100;
+
+    private static final Set<QueryDimension> TIME_DIMENSIONS = EnumSet.of(QueryDimension.DAY,
+            QueryDimension.WEEK, QueryDimension.MONTH);
+
+    // Accumulator slots per group
+    private static final int FOCUS_SECONDS = 0;
+    private static final int SESSIONS = 1;
+    private static final int COMPLETED_TASKS = 2;
+    private static final int ESTIMATED_POMODOROS = 3;
+    private static final int ESTIMATED_TASK_SECONDS = 4;
+    private static final int SLOTS = 5;
+
+    // Orders rows by their keys, nulls (uncategorized, no task) first
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static final Comparator<List<Object>> KEY_ORDER = (a, b) -> {
+        for (int i = 0; i < a.size(); i++) {
+            Object x = a.get(i);
+            Object y = b.get(i);
+            if (x == y) {
+                continue;
+            }
+            if (x == null || y == null) {
+                return x == null ? -1 : 1;
+            }
+            int compared = ((Comparable) x).compareTo(y);
+            if (compared != 0) {
+                return compared;
+            }
+        }
+        return 0;
+    };
+
+    private final EntityManager entityManager;
+    private final PomodoroSettingRepository pomodoroSettingRepository;
+    private final FocusSessionArchiveRouter archiveRouter;
+
+    /**
+     * Run a query for the user.
+     *
+     * @throws IllegalArgumentException if the query is malformed
+     */
+    @Transactional(readOnly = true)
+    public AnalyticsDto.QueryResult execute(String userId, AnalyticsDto.AnalyticsQuery query) {
+        List<QueryDimension> dimensions = query.dimensions() != null ? query.dimensions() : List.of();
+        List<QueryMetric> metrics = query.metrics() != null ? query.metrics() : List.of();
+        validate(query, dimensions, metrics);
+        log.info("Analytics query for user {}: {} by {} from {} to {}", userId, metrics, dimensions,
+                query.startDate(), query.endDate());
+
+        Map<List<Object>, long[]> groups = new HashMap<>();
+        if (metrics.contains(QueryMetric.FOCUS_MINUTES) || metrics.contains(QueryMetric.SESSIONS)) {
+            collectSessions(userId, query, dimensions, groups);
+        }
+        if (metrics.contains(QueryMetric.COMPLETED_TASKS) || metrics.contains(QueryMetric.ESTIMATE_ACCURACY)) {
+            collectTasks(userId, query, dimensions, groups);
+        }
+
+        int focusDuration = metrics.contains(QueryMetric.ESTIMATE_ACCURACY)
+                ? pomodoroSettingRepository.findByUserId(userId).map(s -> s.getFocusDuration()).orElse(25)
+                : 0;
+
+        List<List<Object>> keys = new ArrayList<>(groups.keySet());
+        keys.sort(KEY_ORDER);
+        List<AnalyticsDto.QueryRow> rows = new ArrayList<>(keys.size());
+        for (List<Object> key : keys) {
+            long[] sums = groups.get(key);
+            List<Double> values = new ArrayList<>(metrics.size());
+            for (QueryMetric metric : metrics) {
+                values.add(value(metric, sums, focusDuration));
+            }
+            rows.add(new AnalyticsDto.QueryRow(key, values));
+        }
+        return new AnalyticsDto.QueryResult(dimensions, metrics, rows);
+    }
+
+    private static void validate(AnalyticsDto.AnalyticsQuery query, List<QueryDimension> dimensions,
+            List<QueryMetric> metrics) {
+        if (metrics.isEmpty()) {
+            throw new IllegalArgumentException("At least one metric is required");
+        }
+        if (query.startDate() == null || query.endDate() == null || query.endDate().isBefore(query.startDate())) {
+            throw new IllegalArgumentException("A valid date range is required");
+        }
+        if (ChronoUnit.DAYS.between(query.startDate(), query.endDate()) >= MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("Range exceeds " + MAX_RANGE_DAYS + " days");
+        }
+        if (dimensions.stream().anyMatch(Objects::isNull) || metrics.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("Unknown dimension or metric");
+        }
+        if (new HashSet<>(dimensions).size() != dimensions.size()) {
+            throw new IllegalArgumentException("Dimensions must be distinct");
+        }
+        if (dimensions.stream().filter(TIME_DIMENSIONS::contains).count() > 1) {
+            throw new IllegalArgumentException("At most one of DAY, WEEK and MONTH can be used");
+        }
+        if (dimensions.contains(QueryDimension.HOUR)
+                && (metrics.contains(QueryMetric.COMPLETED_TASKS) || metrics.contains(QueryMetric.ESTIMATE_ACCURACY))) {
+            throw new IllegalArgumentException("HOUR applies to session metrics only");
+        }
+    }
+
+    private void collectSessions(String userId, AnalyticsDto.AnalyticsQuery query, List<QueryDimension> dimensions,
+            Map<List<Object>, long[]> groups) {
+        List<String> expressions = dimensions.stream().map(AnalyticsQueryEngine::sessionExpression).toList();
+        StringBuilder jpql = new StringBuilder("SELECT ");
+        appendSelect(jpql, expressions, "COALESCE(SUM(fs.actualDuration), 0), COUNT(fs)");
+        boolean archived = archiveRouter.reachesArchive(query.startDate().atStartOfDay());
+        if (archived) {
+            // The derived table is already restricted to the user's FOCUS sessions
+            jpql.append(" FROM (").append(FocusSessionRepository.HOT_AND_ARCHIVED_FOCUS).append(") fs")
+                    .append(" LEFT JOIN Task t ON t.id = fs.taskId LEFT JOIN t.category c LEFT JOIN t.taskList l")
+                    .append(" WHERE fs.localDate >= :startDate AND fs.localDate <= :endDate");
+        } else {
+            jpql.append(" FROM FocusSession fs LEFT JOIN fs.task t LEFT JOIN t.category c LEFT JOIN t.taskList l")
+                    .append(" WHERE fs.userId = :userId AND fs.sessionType = :focus")
+                    .append(" AND fs.localDate >= :startDate AND fs.localDate <= :endDate");
+        }
+
+        TypedQuery<Object[]> typed = prepare(jpql, expressions, query.filter(), userId, query);
+        if (!archived) {
+            typed.setParameter("focus", FocusSession.SessionType.FOCUS);
+        }
+
+        int n = dimensions.size();
+        for (Object[] row : typed.getResultList()) {
+            long[] sums = groups.computeIfAbsent(key(row, dimensions), k -> new long[SLOTS]);
+            sums[FOCUS_SECONDS] += toLong(row[n]);
+            sums[SESSIONS] += toLong(row[n + 1]);
+        }
+    }
+
+    private void collectTasks(String userId, AnalyticsDto.AnalyticsQuery query, List<QueryDimension> dimensions,
+            Map<List<Object>, long[]> groups) {
+        List<String> expressions = dimensions.stream().map(AnalyticsQueryEngine::taskExpression).toList();
+        String archivedSeconds = archiveRouter.reachesArchive(query.startDate().atStartOfDay())
+                ? " + (SELECT COALESCE(SUM(a.actualDuration), 0) FROM ArchivedFocusSession a "
+                        + "WHERE a.taskId = t.id AND a.sessionType = :focus)"
+                : "";
+        StringBuilder jpql = new StringBuilder("SELECT ");
+        appendSelect(jpql, expressions, "COUNT(t), "
+                + "COALESCE(SUM(CASE WHEN t.estimatedPomodoros IS NOT NULL THEN t.estimatedPomodoros ELSE 0 END), 0), "
+                + "COALESCE(SUM(CASE WHEN t.estimatedPomodoros IS NOT NULL THEN "
+                + "(SELECT COALESCE(SUM(fs.actualDuration), 0) FROM FocusSession fs "
+                + "WHERE fs.task = t AND fs.sessionType = :focus)" + archivedSeconds + " ELSE 0 END), 0)");
+        jpql.append(" FROM Task t LEFT JOIN t.category c LEFT JOIN t.taskList l")
+                .append(" WHERE t.userId = :userId AND t.status = :completed AND t.isDeleted = false")
+                .append(" AND CAST(t.scheduledStartAt AS date) BETWEEN :startDate AND :endDate");
+
+        TypedQuery<Object[]> typed = prepare(jpql, expressions, query.filter(), userId, query);
+        typed.setParameter("focus", FocusSession.SessionType.FOCUS);
+        typed.setParameter("completed", TaskStatus.COMPLETED);
+
+        int n = dimensions.size();
+        for (Object[] row : typed.getResultList()) {
+            long[] sums = groups.computeIfAbsent(key(row, dimensions), k -> new long[SLOTS]);
+            sums[COMPLETED_TASKS] += toLong(row[n]);
+            sums[ESTIMATED_POMODOROS] += toLong(row[n + 1]);
+            sums[ESTIMATED_TASK_SECONDS] += toLong(row[n + 2]);
+        }
+    }
+
+    private static void appendSelect(StringBuilder jpql, List<String> expressions, String aggregates) {
+        for (String expression : expressions) {
+            jpql.append(expression).append(", ");
+        }
+        jpql.append(aggregates);
+    }
+
+    private TypedQuery<Object[]> prepare(StringBuilder jpql, List<String> expressions,
+            AnalyticsDto.QueryFilter filter, String userId, AnalyticsDto.AnalyticsQuery query) {
+        boolean byCategory = filter != null && filter.categoryIds() != null && !filter.categoryIds().isEmpty();
+        boolean byList = filter != null && filter.taskListIds() != null && !filter.taskListIds().isEmpty();
+        boolean byTask = filter != null && filter.taskIds() != null && !filter.taskIds().isEmpty();
+        if (byCategory) {
+            jpql.append(" AND c.id IN :categoryIds");
+        }
+        if (byList) {
+            jpql.append(" AND l.id IN :taskListIds");
+        }
+        if (byTask) {
+            jpql.append(" AND t.id IN :taskIds");
+        }
+        if (!expressions.isEmpty()) {
+            jpql.append(" GROUP BY ").append(String.join(", ", expressions));
+        }
+
+        TypedQuery<Object[]> typed = entityManager.createQuery(jpql.toString(), Object[].class);
+        typed.setParameter("userId", userId);
+        typed.setParameter("startDate", query.startDate());
+        typed.setParameter("endDate", query.endDate());
+        if (byCategory) {
+            typed.setParameter("categoryIds", filter.categoryIds());
+        }
+        if (byList) {
+            typed.setParameter("taskListIds", filter.taskListIds());
+        }
+        if (byTask) {
+            typed.setParameter("taskIds", filter.taskIds());
+        }
+        return typed;
+    }
+
+    private static String sessionExpression(QueryDimension dimension) {
+        return switch (dimension) {
+            case DAY, WEEK, MONTH -> "fs.localDate";
+            case CATEGORY -> "c.id";
+            case TASK -> "t.id";
+            case LIST -> "l.id";
+            case HOUR -> "EXTRACT(HOUR FROM fs.startedAt)";
+        };
+    }
+
+    private static String taskExpression(QueryDimension dimension) {
+        return switch (dimension) {
+            case DAY, WEEK, MONTH -> "CAST(t.scheduledStartAt AS date)";
+            case CATEGORY -> "c.id";
+            case TASK -> "t.id";
+            case LIST -> "l.id";
+            case HOUR -> throw new IllegalArgumentException("HOUR applies to session metrics only");
+        };
+    }
+
+    // Builds the group key, rolling days up to their week or month
+    private static List<Object> key(Object[] row, List<QueryDimension> dimensions) {
+        List<Object> key = new ArrayList<>(dimensions.size());
+        for (int i = 0; i < dimensions.size(); i++) {
+            Object value = row[i];
+            if (value instanceof java.sql.Date date) {
+                value = date.toLocalDate();
+            }
+            if (value instanceof LocalDate date) {
+                if (dimensions.get(i) == QueryDimension.WEEK) {
+                    value = date.with(DayOfWeek.MONDAY);
+                } else if (dimensions.get(i) == QueryDimension.MONTH) {
+                    value = date.withDayOfMonth(1);
+                }
+            } else if (value instanceof Number number) {
+                value = dimensions.get(i) == QueryDimension.HOUR ? (Object) number.intValue()
+                        : (Object) number.longValue();
+            }
+            key.add(value);
+        }
+        return key;
+    }
+
+    private static Double value(QueryMetric metric, long[] sums, int focusDuration) {
+        return switch (metric) {
+            case FOCUS_MINUTES -> (double) (sums[FOCUS_SECONDS] / 60);
+            case SESSIONS -> (double) sums[SESSIONS];
+            case COMPLETED_TASKS -> (double) sums[COMPLETED_TASKS];
+            case ESTIMATE_ACCURACY -> {
+                long estimatedMinutes = sums[ESTIMATED_POMODOROS] * focusDuration;
+                yield estimatedMinutes > 0
+                        ? Math.round(sums[ESTIMATED_TASK_SECONDS] / 60.0 / estimatedMinutes * 1000) / 10.0
+                        : null;
+            }
+        };
+    }
+
+    private static long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : 0L;
+    }
+}
@@ -1,15 +1,20 @@
 package com.todoapp.resource.service.usecase;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.OffsetDateTime;
 import java.time.ZoneId;
 import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
@@ -17,11 +22,20 @@ import org.springframework.stereotype.Service;
 import com.todoapp.resource.dto.AnalyticsDto;
 import com.todoapp.resource.dto.AnalyticsDto.EfficiencyStats;
 import com.todoapp.resource.dto.DailyGoalDto;
+import com.todoapp.resource.model.AnalyticsSnapshot;
+import com.todoapp.resource.model.Category;
+import com.todoapp.resource.model.FocusHistogram;
+import com.todoapp.resource.model.FocusRecord;
 import com.todoapp.resource.model.FocusSession;
 import com.todoapp.resource.model.Task;
+import com.todoapp.resource.repository.CategoryRepository;
 import com.todoapp.resource.repository.FocusSessionRepository;
 import com.todoapp.resource.repository.TaskRepository;
+import com.todoapp.resource.service.domain.AnalyticsSnapshotService;
 import com.todoapp.resource.service.domain.DailyGoalService;
+import com.todoapp.resource.service.domain.FocusHistogramService;
+import com.todoapp.resource.service.domain.FocusRecordService;
+import com.todoapp.resource.service.domain.FocusSessionArchiveRouter;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -36,11 +50,24 @@ import lombok.extern.slf4j.Slf4j;
 public class AnalyticsService {
 
         private final DailyGoalService dailyGoalService;
+        private final FocusRecordService focusRecordService;
+        private final FocusHistogramService focusHistogramService;
         private final FocusSessionRepository focusSessionRepository;
         private final TaskRepository taskRepository;
         private final com.todoapp.resource.repository.PomodoroSettingRepository pomodoroSettingRepository;
         private final AnalyticsCalculator calculator;
         private final AnalyticsAggregator aggregator;
+        private final AnalyticsFanOut fanOut;
+        private final AnalyticsCache analyticsCache;
+        private final FocusSessionColumnStore columnStore;
+        private final AnalyticsQueryEngine queryEngine;
+        private final CategoryRepository categoryRepository;
+        private final AnalyticsSnapshotService snapshotService;
+        private final FocusSessionArchiveRouter archiveRouter;
+
+        // Returned in place of the KPI section when it misses the request deadline
+        private static final AnalyticsDto.KpiData EMPTY_KPI = new AnalyticsDto.KpiData(0, 0, 0, 0, 0, 0, 0, 0, 0,
+                        0);
 
         // --- Public API Methods ---
 
@@ -48,25 +75,19 @@ public class AnalyticsService {
          * Get goal with actual focus time for a specific date.
          */
         public AnalyticsDto.DailyGoalWithActual getDailyGoalWithActual(String userId, LocalDate date) {
-                DailyGoalDto.Response goal = dailyGoalService.getGoal(userId, date);
-                return createDailyGoalWithActual(userId, goal);
+                return getDailyGoalsWithActualInRange(userId, date, date).get(0);
         }
 
         /**
-         * Get weekly goals with actuals in range.
+         * Get daily goals with actuals in range.
+         * Uses one goals query and one grouped focus query regardless of range length.
          */
         public List<AnalyticsDto.DailyGoalWithActual> getDailyGoalsWithActualInRange(String userId, LocalDate startDate,
                         LocalDate endDate) {
                 List<DailyGoalDto.Response> goals = dailyGoalService.getGoalsInRange(userId, startDate, endDate);
 
                 // Batch fetch focus minutes
-                List<FocusSessionRepository.DailyFocusProjection> dailyTotals = focusSessionRepository
-                                .aggregateDailyFocusMinutes(userId, startDate.atStartOfDay(),
-                                                endDate.plusDays(1).atStartOfDay());
-                Map<LocalDate, Long> dailyTotalMap = dailyTotals.stream()
-                                .collect(Collectors.toMap(
-                                                FocusSessionRepository.DailyFocusProjection::getDate,
-                                                FocusSessionRepository.DailyFocusProjection::getMinutes));
+                Map<LocalDate, Long> dailyTotalMap = dailyFocusMinutes(userId, startDate, endDate.plusDays(1));
 
                 return goals.stream()
                                 .map(goal -> {
@@ -82,21 +103,24 @@ public class AnalyticsService {
         /**
          * Get monthly analytics data including KPIs, heatmap data, and resource
          * allocation.
-         */
-        /**
-         * Get monthly analytics data including KPIs, heatmap data, and resource
-         * allocation.
+         * Results are cached per user and month; completed months are read from
+         * their nightly snapshot when one exists.
          */
         public AnalyticsDto.MonthlyAnalyticsDto getMonthlyAnalytics(String userId, int year, int month) {
+                LocalDate monthStart = LocalDate.of(year, month, 1);
+                OffsetDateTime start = monthStart.atStartOfDay(ZoneId.systemDefault()).toOffsetDateTime();
+                return analyticsCache.get(userId, AnalyticsCache.View.MONTHLY, start, start.plusMonths(1),
+                                () -> findSnapshot(userId, AnalyticsSnapshot.Period.MONTH, monthStart,
+                                                monthStart.plusMonths(1), AnalyticsDto.MonthlyAnalyticsDto.class)
+                                                .orElseGet(() -> computeMonthlyAnalytics(userId, year, month)),
+                                result -> true);
+        }
+
+        private AnalyticsDto.MonthlyAnalyticsDto computeMonthlyAnalytics(String userId, int year, int month) {
                 log.info("Getting monthly analytics for user {} for {}-{}", userId, year, month);
 
                 LocalDate startOfMonth = LocalDate.of(year, month, 1);
                 LocalDate endOfMonth = startOfMonth.withDayOfMonth(startOfMonth.lengthOfMonth());
-                LocalDateTime start = startOfMonth.atStartOfDay();
-                LocalDateTime end = endOfMonth.atTime(LocalTime.MAX);
-
-                // Optimized focus days count using SQL
-                int focusDays = focusSessionRepository.countFocusDaysByUserIdAndDateRange(userId, start, end);
 
                 OffsetDateTime startOffset = startOfMonth.atStartOfDay(ZoneId.systemDefault()).toOffsetDateTime();
                 OffsetDateTime endOffset = startOffset.plusMonths(1);
@@ -104,14 +128,10 @@ public class AnalyticsService {
                 OffsetDateTime prevEndOffset = prevStartOffset.plusMonths(1);
 
                 AnalyticsDto.KpiData kpi = calculateKpiData(userId, startOffset, endOffset, prevStartOffset,
-                                prevEndOffset);
+                                prevEndOffset, resolveFocusDuration(userId));
 
-                List<FocusSessionRepository.DailyFocusProjection> dailyTotals = focusSessionRepository
-                                .aggregateDailyFocusMinutes(userId, start, end);
-                Map<LocalDate, Long> dailyTotalMap = dailyTotals.stream()
-                                .collect(Collectors.toMap(
-                                                FocusSessionRepository.DailyFocusProjection::getDate,
-                                                FocusSessionRepository.DailyFocusProjection::getMinutes));
+                Map<LocalDate, Long> dailyTotalMap = dailyFocusMinutes(userId, startOfMonth, endOfMonth.plusDays(1));
+                int focusDays = dailyTotalMap.size();
 
                 List<AnalyticsDto.MonthlyAnalyticsDto.DayActivity> dailyActivity = startOfMonth
                                 .datesUntil(endOfMonth.plusDays(1))
@@ -130,65 +150,399 @@ public class AnalyticsService {
                                 .build();
         }
 
+        /**
+         * Get a year-long heatmap of daily focus minutes and completed tasks.
+         * Each metric comes from one grouped query and is returned as a day-indexed
+         * array. Results are cached per user and year.
+         */
+        public AnalyticsDto.YearlyHeatmap getYearlyHeatmap(String userId, int year) {
+                OffsetDateTime start = LocalDate.of(year, 1, 1).atStartOfDay(ZoneId.systemDefault())
+                                .toOffsetDateTime();
+                return analyticsCache.get(userId, AnalyticsCache.View.YEARLY, start, start.plusYears(1),
+                                () -> computeYearlyHeatmap(userId, year, start), result -> true);
+        }
+
+        private AnalyticsDto.YearlyHeatmap computeYearlyHeatmap(String userId, int year, OffsetDateTime start) {
+                log.info("Getting yearly heatmap for user {} for {}", userId, year);
+
+                LocalDate startDate = start.toLocalDate();
+                int days = startDate.lengthOfYear();
+                int[] focusMinutes = new int[days];
+                int[] completedTasks = new int[days];
+
+                for (Map.Entry<LocalDate, Long> day : dailyFocusMinutes(userId, startDate, startDate.plusYears(1))
+                                .entrySet()) {
+                        addToDay(focusMinutes, startDate, day.getKey(), toInt(day.getValue()));
+                }
+                for (TaskRepository.DailyCountProjection day : taskRepository
+                                .aggregateDailyCompletedCounts(userId, start, start.plusYears(1))) {
+                        addToDay(completedTasks, startDate, day.getDate(), toInt(day.getCount()));
+                }
+
+                return new AnalyticsDto.YearlyHeatmap(year, startDate, focusMinutes, completedTasks);
+        }
+
+        /**
+         * Whole focus minutes per local date in [startDate, endDate).
+         * Served from the column store when enabled, otherwise by one grouped query.
+         * The column store holds hot sessions only, so ranges reaching into the
+         * archive always use the query.
+         */
+        private Map<LocalDate, Long> dailyFocusMinutes(String userId, LocalDate startDate, LocalDate endDate) {
+                Optional<FocusSessionColumns> columnStoreColumns = archiveRouter
+                                .reachesArchive(startDate.atStartOfDay()) ? Optional.empty() : columnStore.get(userId);
+                return columnStoreColumns
+                                .map(columns -> columns.dailyFocusMinutes(startDate.atStartOfDay(),
+                                                endDate.atStartOfDay()))
+                                .orElseGet(() -> archiveRouter
+                                                .aggregateDailyFocusMinutes(userId, startDate, endDate)
+                                                .stream()
+                                                .collect(Collectors.toMap(
+                                                                FocusSessionRepository.DailyFocusProjection::getDate,
+                                                                FocusSessionRepository.DailyFocusProjection::getMinutes)));
+        }
+
+        // Days grouped in the database time zone may fall just outside the year
+        private static void addToDay(int[] values, LocalDate startDate, LocalDate date, int value) {
+                long index = ChronoUnit.DAYS.between(startDate, date);
+                if (index >= 0 && index < values.length) {
+                        values[(int) index] += value;
+                }
+        }
+
+        /**
+         * Get focus streaks and personal records.
+         * Reads the incrementally maintained record; the current streak counts as
+         * broken once a full day has passed without focus.
+         */
+        public AnalyticsDto.FocusRecords getFocusRecords(String userId) {
+                FocusRecord record = focusRecordService.getRecord(userId);
+                LocalDate lastFocusDate = record.getLastFocusDate();
+                boolean streakAlive = lastFocusDate != null
+                                && !lastFocusDate.isBefore(LocalDate.now().minusDays(1));
+
+                return new AnalyticsDto.FocusRecords(
+                                streakAlive ? record.getCurrentStreak() : 0,
+                                record.getLongestStreak(),
+                                lastFocusDate,
+                                record.getBestDayDate(),
+                                record.getBestDaySeconds() / 60,
+                                record.getBestWeekStart(),
+                                record.getBestWeekSeconds() / 60);
+        }
+
+        /**
+         * Get completion statistics for each of the user's recurring task series.
+         * All series are aggregated in one grouped query; occurrences are not
+         * loaded.
+         */
+        public List<AnalyticsDto.Habit> getHabits(String userId) {
+                List<AnalyticsDto.Habit> habits = new ArrayList<>();
+                ZoneId zone = ZoneId.systemDefault();
+                LocalDate today = LocalDate.now(zone);
+                OffsetDateTime todayStart = today.atStartOfDay(zone).toOffsetDateTime();
+                OffsetDateTime tomorrowStart = today.plusDays(1).atStartOfDay(zone).toOffsetDateTime();
+                for (TaskRepository.HabitSeriesProjection series : taskRepository
+                                .aggregateHabitSeriesByUserId(userId, todayStart, tomorrowStart)) {
+                        int due = series.getDueCount().intValue();
+                        int completed = series.getCompletedCount().intValue();
+                        habits.add(new AnalyticsDto.Habit(
+                                        series.getSeriesId(),
+                                        series.getTitle(),
+                                        due,
+                                        completed,
+                                        due - completed,
+                                        calculator.calculateCompletionRate(completed, due),
+                                        series.getCurrentRun().intValue(),
+                                        series.getLastCompletedAt() != null
+                                                        ? series.getLastCompletedAt().atZoneSameInstant(zone)
+                                                                        .toLocalDate()
+                                                        : null));
+                }
+                return habits;
+        }
+
+        /**
+         * Get the distribution of focus session lengths for a date range.
+         * Merges the per-day histograms instead of scanning sessions.
+         */
+        public AnalyticsDto.SessionDistribution getSessionDistribution(String userId, LocalDate startDate,
+                        LocalDate endDate) {
+                FocusHistogram histogram = focusHistogramService.getMergedHistogram(userId, startDate, endDate);
+                int[] lengthBuckets = histogram.getLengthBuckets();
+                int bucketMinutes = FocusHistogram.BUCKET_MINUTES;
+
+                List<AnalyticsDto.ScheduledDurationCompletion> completion = new ArrayList<>();
+                int[] totals = histogram.getScheduledTotals();
+                int[] completed = histogram.getScheduledCompleted();
+                for (int i = 0; i < totals.length; i++) {
+                        if (totals[i] > 0) {
+                                completion.add(new AnalyticsDto.ScheduledDurationCompletion(i * bucketMinutes,
+                                                totals[i], completed[i],
+                                                calculator.calculateCompletionRate(completed[i], totals[i])));
+                        }
+                }
+
+                int sessionCount = 0;
+                for (int count : lengthBuckets) {
+                        sessionCount += count;
+                }
+
+                return new AnalyticsDto.SessionDistribution(
+                                sessionCount,
+                                bucketMinutes,
+                                lengthBuckets,
+                                calculator.calculateHistogramPercentile(lengthBuckets, bucketMinutes, 50),
+                                calculator.calculateHistogramPercentile(lengthBuckets, bucketMinutes, 90),
+                                histogram.getInterruptionBuckets(),
+                                completion);
+        }
+
+        /**
+         * Get focus minutes by weekday and hour of day for a date range
+         * (inclusive).
+         * The range is split at week boundaries; each week's matrix is cached and
+         * uncached weeks are loaded together in one query.
+         */
+        public AnalyticsDto.HourlyProfile getHourlyProfile(String userId, LocalDate startDate, LocalDate endDate) {
+                List<AnalyticsCache.Range> weeks = new ArrayList<>();
+                for (LocalDate from = startDate; !from.isAfter(endDate);) {
+                        LocalDate to = from.with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+                        if (to.isAfter(endDate)) {
+                                to = endDate.plusDays(1);
+                        }
+                        weeks.add(new AnalyticsCache.Range(toOffset(from), toOffset(to)));
+                        from = to;
+                }
+
+                long[] seconds = new long[7 * 24];
+                for (long[] week : analyticsCache.getAll(userId, AnalyticsCache.View.HOURLY_PROFILE, weeks,
+                                missing -> computeHourlyProfiles(userId, missing))) {
+                        for (int i = 0; i < seconds.length; i++) {
+                                seconds[i] += week[i];
+                        }
+                }
+
+                int[][] minutes = new int[7][24];
+                for (int i = 0; i < seconds.length; i++) {
+                        minutes[i / 24][i % 24] = (int) (seconds[i] / 60);
+                }
+                return new AnalyticsDto.HourlyProfile(startDate, endDate, minutes);
+        }
+
+        // Scans the sessions of all given ranges once, filling one matrix per range
+        private List<long[]> computeHourlyProfiles(String userId, List<AnalyticsCache.Range> ranges) {
+                log.info("Computing hourly profile of {} weeks for user {}", ranges.size(), userId);
+                List<long[]> profiles = new ArrayList<>(ranges.size());
+                for (int i = 0; i < ranges.size(); i++) {
+                        profiles.add(new long[7 * 24]);
+                }
+                if (ranges.isEmpty()) {
+                        return profiles;
+                }
+
+                int current = 0;
+                for (FocusSessionRepository.FocusSpanProjection span : archiveRouter
+                                .findFocusSpans(userId,
+                                                ranges.get(0).start().toLocalDateTime(),
+                                                ranges.get(ranges.size() - 1).end().toLocalDateTime())) {
+                        LocalDateTime startedAt = span.getStartedAt();
+                        while (current < ranges.size()
+                                        && !startedAt.isBefore(ranges.get(current).end().toLocalDateTime())) {
+                                current++;
+                        }
+                        if (current == ranges.size()) {
+                                break;
+                        }
+                        if (startedAt.isBefore(ranges.get(current).start().toLocalDateTime())
+                                        || span.getActualDuration() == null) {
+                                // Falls in a cached week between the missing ones
+                                continue;
+                        }
+                        calculator.addToHourlyProfile(profiles.get(current), startedAt, span.getActualDuration());
+                }
+                return profiles;
+        }
+
+        private static OffsetDateTime toOffset(LocalDate date) {
+                return date.atStartOfDay(ZoneId.systemDefault()).toOffsetDateTime();
+        }
+
+        /**
+         * Run a generic dimension/metric analytics query.
+         *
+         * @throws IllegalArgumentException if the query is malformed
+         */
+        public AnalyticsDto.QueryResult query(String userId, AnalyticsDto.AnalyticsQuery query) {
+                return queryEngine.execute(userId, query);
+        }
+
+        /**
+         * Get the estimate accuracy of completed tasks per category per week for a
+         * date range (inclusive).
+         * Runs as one grouped read through the query engine; weeks start on Monday.
+         */
+        public List<AnalyticsDto.EstimationAccuracy> getEstimationTrend(String userId, LocalDate startDate,
+                        LocalDate endDate) {
+                AnalyticsDto.QueryResult result = queryEngine.execute(userId, new AnalyticsDto.AnalyticsQuery(
+                                List.of(AnalyticsDto.QueryDimension.WEEK, AnalyticsDto.QueryDimension.CATEGORY),
+                                List.of(AnalyticsDto.QueryMetric.COMPLETED_TASKS,
+                                                AnalyticsDto.QueryMetric.ESTIMATE_ACCURACY),
+                                startDate, endDate, null));
+
+                Map<Long, String> categoryNames = categoryRepository.findAllByUserId(userId).stream()
+                                .collect(Collectors.toMap(Category::getId, Category::getName));
+                List<AnalyticsDto.EstimationAccuracy> trend = new ArrayList<>(result.rows().size());
+                for (AnalyticsDto.QueryRow row : result.rows()) {
+                        Long categoryId = (Long) row.keys().get(1);
+                        trend.add(new AnalyticsDto.EstimationAccuracy(
+                                        (LocalDate) row.keys().get(0),
+                                        categoryId,
+                                        categoryId != null ? categoryNames.get(categoryId) : null,
+                                        row.values().get(0).intValue(),
+                                        row.values().get(1)));
+                }
+                return trend;
+        }
+
         /**
          * Get consolidated weekly analytics data for the Weekly view.
+         * Independent sections are computed concurrently; sections missing the
+         * request deadline are left empty and listed in timedOutSections.
+         * Complete results are cached per user and range.
          */
         public AnalyticsDto.WeeklyAnalyticsDto getWeeklyAnalytics(String userId, OffsetDateTime startDate,
                         OffsetDateTime endDate) {
-                log.info("Getting weekly analytics for user {} from {} to {}", userId, startDate, endDate);
+                return analyticsCache.get(userId, AnalyticsCache.View.WEEKLY, startDate, endDate,
+                                () -> findWeeklySnapshot(userId, startDate, endDate)
+                                                .orElseGet(() -> computeWeeklyAnalytics(userId, startDate, endDate)),
+                                result -> !result.isPartial());
+        }
 
-                AnalyticsDto.KpiData kpi = calculateKpiData(userId, startDate, endDate, startDate.minusWeeks(1),
-                                startDate);
+        // Only whole Monday-to-Monday weeks are snapshotted, in the system time zone:
+        // the same local week at another offset covers other tasks
+        private Optional<AnalyticsDto.WeeklyAnalyticsDto> findWeeklySnapshot(String userId,
+                        OffsetDateTime startDate, OffsetDateTime endDate) {
+                LocalDateTime start = startDate.toLocalDateTime();
+                if (!start.toLocalTime().equals(LocalTime.MIDNIGHT) || start.getDayOfWeek() != DayOfWeek.MONDAY
+                                || !endDate.toLocalDateTime().equals(start.plusWeeks(1))
+                                || !isSystemOffset(startDate) || !isSystemOffset(endDate)) {
+                        return Optional.empty();
+                }
+                return findSnapshot(userId, AnalyticsSnapshot.Period.WEEK, start.toLocalDate(),
+                                start.toLocalDate().plusWeeks(1), AnalyticsDto.WeeklyAnalyticsDto.class);
+        }
+
+        private static boolean isSystemOffset(OffsetDateTime dateTime) {
+                return dateTime.getOffset()
+                                .equals(ZoneId.systemDefault().getRules().getOffset(dateTime.toInstant()));
+        }
+
+        private <T> Optional<T> findSnapshot(String userId, AnalyticsSnapshot.Period period, LocalDate periodStart,
+                        LocalDate periodEnd, Class<T> type) {
+                if (periodEnd.isAfter(LocalDate.now())) {
+                        // The period is still running
+                        return Optional.empty();
+                }
+                return snapshotService.find(userId, period, periodStart, type);
+        }
+
+        /**
+         * Precompute and store the snapshots of the week and month before the
+         * given day.
+         * Views are computed directly, bypassing the cache; a week with timed-out
+         * sections is not stored, nor is a view whose data changed while it was
+         * computed.
+         */
+        public void precomputeSnapshots(String userId, LocalDate today) {
+                LocalDate weekStart = today.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).minusWeeks(1);
+                long generation = snapshotService.generation(userId);
+                AnalyticsDto.WeeklyAnalyticsDto weekly = computeWeeklyAnalytics(userId, toOffset(weekStart),
+                                toOffset(weekStart.plusWeeks(1)));
+                if (!weekly.isPartial()) {
+                        snapshotService.save(userId, AnalyticsSnapshot.Period.WEEK, weekStart, weekly, generation);
+                }
+
+                LocalDate monthStart = today.withDayOfMonth(1).minusMonths(1);
+                generation = snapshotService.generation(userId);
+                snapshotService.save(userId, AnalyticsSnapshot.Period.MONTH, monthStart,
+                                computeMonthlyAnalytics(userId, monthStart.getYear(), monthStart.getMonthValue()),
+                                generation);
+        }
+
+        private AnalyticsDto.WeeklyAnalyticsDto computeWeeklyAnalytics(String userId, OffsetDateTime startDate,
+                        OffsetDateTime endDate) {
+                log.info("Getting weekly analytics for user {} from {} to {}", userId, startDate, endDate);
 
+                int focusDuration = resolveFocusDuration(userId);
+                AnalyticsFanOut.Request request = fanOut.begin();
+
+                CompletableFuture<AnalyticsDto.KpiData> kpiFuture = request.submit(() -> calculateKpiData(userId,
+                                startDate, endDate, startDate.minusWeeks(1), startDate, focusDuration));
+                CompletableFuture<List<AnalyticsDto.DailyFocusByCategory>> dailyFocusFuture = request
+                                .submit(() -> getDailyFocusByCategory(userId, startDate, endDate));
+                CompletableFuture<List<AnalyticsDto.CategoryFocusTime>> categoryFuture = request
+                                .submit(() -> fetchCategoryAggregation(userId, startDate.toLocalDateTime(),
+                                                endDate.toLocalDateTime()));
+                CompletableFuture<List<AnalyticsDto.GroupedTaskSummary>> taskSummaryFuture = request
+                                .submit(() -> aggregator.groupTaskSummaries(
+                                                fetchAndBuildTaskSummaries(userId, startDate, endDate, focusDuration)));
+
+                AnalyticsDto.KpiData kpi = request.await("kpi", kpiFuture, EMPTY_KPI);
                 long daysInRange = ChronoUnit.DAYS.between(startDate, endDate);
-                double dailyAverage = daysInRange > 0 ? (double) kpi.totalFocusMinutes() / daysInRange : 0;
+                double dailyAverage = daysInRange > 0
+                                ? (double) kpi.totalFocusMinutes() / daysInRange
+                                : 0;
 
                 return AnalyticsDto.WeeklyAnalyticsDto.builder()
                                 .kpi(kpi)
                                 .dailyAverageFocusMinutes(dailyAverage)
-                                .dailyFocusData(getDailyFocusByCategory(userId, startDate, endDate))
-                                .categoryAggregation(fetchCategoryAggregation(userId, startDate.toLocalDateTime(),
-                                                endDate.toLocalDateTime()))
-                                .taskSummaries(getTaskSummary(userId, startDate, endDate))
+                                .dailyFocusData(request.await("dailyFocusData", dailyFocusFuture, List.of()))
+                                .categoryAggregation(request.await("categoryAggregation", categoryFuture, List.of()))
+                                .taskSummaries(request.await("taskSummaries", taskSummaryFuture, List.of()))
+                                .partial(request.isPartial())
+                                .timedOutSections(request.getTimedOutSections())
                                 .build();
         }
 
         /**
          * Get consolidated daily analytics data for the Daily view.
+         * Independent sections are computed concurrently; sections missing the
+         * request deadline are left empty and listed in timedOutSections.
+         * Complete results are cached per user and range.
          */
         public AnalyticsDto.DailyAnalyticsDto getDailyAnalytics(String userId, OffsetDateTime date) {
+                return analyticsCache.get(userId, AnalyticsCache.View.DAILY, date, date.plusDays(1),
+                                () -> computeDailyAnalytics(userId, date), result -> !result.isPartial());
+        }
+
+        private AnalyticsDto.DailyAnalyticsDto computeDailyAnalytics(String userId, OffsetDateTime date) {
                 log.info("Getting daily analytics for user {} on {}", userId, date);
 
                 OffsetDateTime endOffset = date.plusDays(1);
-                AnalyticsDto.KpiData kpi = calculateKpiData(userId, date, endOffset, date.minusDays(1), date);
-
-                List<FocusSession> sessions = focusSessionRepository.findByUserIdAndStartedAtBetweenWithTask(
-                                userId, date.toLocalDateTime(), endOffset.toLocalDateTime());
+                int focusDuration = resolveFocusDuration(userId);
+                AnalyticsFanOut.Request request = fanOut.begin();
+
+                CompletableFuture<AnalyticsDto.KpiData> kpiFuture = request.submit(() -> calculateKpiData(userId,
+                                date, endOffset, date.minusDays(1), date, focusDuration));
+                CompletableFuture<List<AnalyticsDto.TaskSummary>> taskSummaryFuture = request
+                                .submit(() -> fetchAndBuildTaskSummaries(userId, date, endOffset, focusDuration));
+                CompletableFuture<List<AnalyticsDto.DailyAnalyticsDto.FocusSessionData>> sessionsFuture = request
+                                .submit(() -> aggregator.mapToFocusSessionData(archiveRouter
+                                                .findSessionsWithTask(userId,
+                                                                date.toLocalDateTime(), endOffset.toLocalDateTime())));
 
                 return AnalyticsDto.DailyAnalyticsDto.builder()
-                                .kpi(kpi)
-                                .taskSummaries(fetchAndBuildTaskSummaries(userId, date, endOffset))
-                                .focusSessions(aggregator.mapToFocusSessionData(sessions))
+                                .kpi(request.await("kpi", kpiFuture, EMPTY_KPI))
+                                .taskSummaries(request.await("taskSummaries", taskSummaryFuture, List.of()))
+                                .focusSessions(request.await("focusSessions", sessionsFuture, List.of()))
+                                .partial(request.isPartial())
+                                .timedOutSections(request.getTimedOutSections())
                                 .build();
         }
 
         // --- Helper Logic for Internal Use ---
 
-        /**
-         * Creates a DailyGoalWithActual DTO by combining goal data with actual focus
-         * minutes.
-         * Calculates the achievement percentage based on goal and actual values.
-         */
-        private AnalyticsDto.DailyGoalWithActual createDailyGoalWithActual(String userId, DailyGoalDto.Response goal) {
-                Integer totalMinutes = focusSessionRepository.getTotalFocusMinutesByUserIdAndDateRange(userId,
-                                goal.date().atStartOfDay(), goal.date().plusDays(1).atStartOfDay());
-                int actualMinutes = totalMinutes != null ? totalMinutes : 0;
-                Integer goalMinutes = goal.goalMinutes();
-                double percentage = goalMinutes > 0 ? (actualMinutes * 100.0 / goalMinutes) : 0;
-
-                return new AnalyticsDto.DailyGoalWithActual(goal.date(), goalMinutes, actualMinutes, percentage);
-        }
-
         /**
          * Partition focus sessions into weekly chunks for monthly category aggregation
          * using SQL.
@@ -217,11 +571,17 @@ public class AnalyticsService {
 
         /**
          * Fetches and aggregates focus time by category for a given date range.
-         * Maps database projections to DTOs.
+         * Served from the column store for ranges of hot sessions when enabled;
+         * otherwise maps database projections to DTOs.
          */
         private List<AnalyticsDto.CategoryFocusTime> fetchCategoryAggregation(String userId, LocalDateTime start,
                         LocalDateTime end) {
-                return focusSessionRepository.aggregateCategoryFocusTime(userId, start, end).stream()
+                Optional<FocusSessionColumns> columns = archiveRouter.reachesArchive(start) ? Optional.empty()
+                                : columnStore.get(userId);
+                if (columns.isPresent()) {
+                        return toCategoryFocusTimes(userId, columns.get().categoryFocusMinutes(start, end));
+                }
+                return archiveRouter.aggregateCategoryFocusTime(userId, start, end).stream()
                                 .map(p -> new AnalyticsDto.CategoryFocusTime(
                                                 "Uncategorized".equals(p.getCategoryName()) ? null : p.getCategoryId(),
                                                 p.getCategoryName(),
@@ -230,6 +590,28 @@ public class AnalyticsService {
                                 .toList();
         }
 
+        // Names and colors are read now, so renamed categories show their current
+        // name and deleted ones count as uncategorized, as in the query
+        private List<AnalyticsDto.CategoryFocusTime> toCategoryFocusTimes(String userId,
+                        Map<Long, Integer> minutesByCategoryId) {
+                Map<Long, Category> categories = categoryRepository.findAllByUserId(userId).stream()
+                                .collect(Collectors.toMap(Category::getId, category -> category));
+                Map<Long, Integer> minutes = new LinkedHashMap<>();
+                minutesByCategoryId.forEach((categoryId, categoryMinutes) -> minutes.merge(
+                                categories.containsKey(categoryId) ? categoryId : FocusSessionColumns.NONE,
+                                categoryMinutes, Integer::sum));
+
+                List<AnalyticsDto.CategoryFocusTime> result = new ArrayList<>(minutes.size());
+                minutes.forEach((categoryId, categoryMinutes) -> {
+                        Category category = categories.get(categoryId);
+                        String name = category != null ? category.getName() : "Uncategorized";
+                        String color = category != null ? category.getColor() : "#94a3b8";
+                        result.add(new AnalyticsDto.CategoryFocusTime("Uncategorized".equals(name) ? null : categoryId,
+                                        name, color, categoryMinutes));
+                });
+                return result;
+        }
+
         /**
          * Get category aggregation for a date range.
          */
@@ -250,28 +632,31 @@ public class AnalyticsService {
         /**
          * Helper to calculate unified KPI Data (Efficiency, Growth, Estimation) for a
          * range.
+         * Uses one conditional-aggregation query per table for both periods.
          */
         private AnalyticsDto.KpiData calculateKpiData(String userId, OffsetDateTime start, OffsetDateTime end,
-                        OffsetDateTime prevStart, OffsetDateTime prevEnd) {
+                        OffsetDateTime prevStart, OffsetDateTime prevEnd, int focusDuration) {
 
-                int totalMins = fetchTotalFocusMinutes(userId, start.toLocalDateTime(), end.toLocalDateTime());
-                int prevMins = fetchTotalFocusMinutes(userId, prevStart.toLocalDateTime(), prevEnd.toLocalDateTime());
+                FocusSessionRepository.KpiFocusProjection focus = archiveRouter.aggregateKpiFocusStats(
+                                userId, start.toLocalDateTime(), end.toLocalDateTime(),
+                                prevStart.toLocalDateTime(), prevEnd.toLocalDateTime(), start, end);
+                TaskRepository.KpiTaskProjection tasks = taskRepository.aggregateKpiTaskStats(userId, start, end,
+                                prevStart, prevEnd);
 
-                EfficiencyStats efficiency = getEfficiencyStats(userId, start, end);
-                int tasksCompleted = taskRepository.countCompletedByUserIdAndScheduledStartAtBetween(userId, start,
-                                end);
-                int tasksTotal = taskRepository.countByUserIdAndScheduledStartAtBetween(userId, start, end);
+                int totalMins = toMinutes(focus.getCurrentSeconds());
+                int prevMins = toMinutes(focus.getPreviousSeconds());
 
-                int prevTasksCompleted = taskRepository.countCompletedByUserIdAndScheduledStartAtBetween(userId,
-                                prevStart,
-                                prevEnd);
-                int prevTasksTotal = taskRepository.countByUserIdAndScheduledStartAtBetween(userId, prevStart, prevEnd);
+                EfficiencyStats efficiency = buildEfficiencyStats(userId, start, end, focus, totalMins);
+                int tasksCompleted = toInt(tasks.getCompletedCount());
+                int tasksTotal = toInt(tasks.getTotalCount());
 
                 double currentRate = calculator.calculateCompletionRate(tasksCompleted, tasksTotal);
-                double prevRate = calculator.calculateCompletionRate(prevTasksCompleted, prevTasksTotal);
+                double prevRate = calculator.calculateCompletionRate(toInt(tasks.getPrevCompletedCount()),
+                                toInt(tasks.getPrevTotalCount()));
                 double rateGrowth = prevRate > 0 ? ((currentRate - prevRate) / prevRate) * 100 : 0;
 
-                EstimationStats est = calculateEstimationStats(userId, start, end);
+                int estimatedMinutes = toInt(tasks.getEstimatedPomodoros()) * focusDuration;
+                int actualMinutes = toMinutes(focus.getEstimatedTaskSeconds());
 
                 return new AnalyticsDto.KpiData(
                                 totalMins,
@@ -282,33 +667,25 @@ public class AnalyticsService {
                                 efficiency.volumeBalance(),
                                 totalMins - prevMins,
                                 rateGrowth,
-                                est.estimatedMinutes,
-                                est.actualMinutes);
-        }
-
-        private int fetchTotalFocusMinutes(String userId, LocalDateTime start, LocalDateTime end) {
-                Integer minutes = focusSessionRepository.getTotalFocusMinutesByUserIdAndDateRange(userId, start, end);
-                return minutes != null ? minutes : 0;
-        }
-
-        private record EstimationStats(int estimatedMinutes, int actualMinutes) {
+                                estimatedMinutes,
+                                actualMinutes);
         }
 
         /**
-         * Calculates estimation statistics (Estimated vs Actual) for a given range.
-         * Uses the user's Pomodoro setting for duration calculation.
+         * Resolves the user's configured focus duration in minutes (defaults to 25).
          */
-        private EstimationStats calculateEstimationStats(String userId, OffsetDateTime start, OffsetDateTime end) {
-                int focusDuration = pomodoroSettingRepository.findByUserId(userId)
+        private int resolveFocusDuration(String userId) {
+                return pomodoroSettingRepository.findByUserId(userId)
                                 .map(s -> s.getFocusDuration())
                                 .orElse(25);
+        }
 
-                int estimated = taskRepository.sumEstimatedPomodorosByUserIdAndScheduledStartAtBetween(userId, start,
-                                end) * focusDuration;
-                int actual = focusSessionRepository.sumActualDurationForCompletedTasksWithEstimation(userId, start, end)
-                                / 60;
+        private static int toMinutes(Long seconds) {
+                return seconds != null ? (int) (seconds / 60) : 0;
+        }
 
-                return new EstimationStats(estimated, actual);
+        private static int toInt(Long value) {
+                return value != null ? value.intValue() : 0;
         }
 
         // --- Delegated Methods ---
@@ -322,19 +699,23 @@ public class AnalyticsService {
                 LocalDateTime start = startDate.toLocalDateTime();
                 LocalDateTime end = endDate.toLocalDateTime();
 
-                Long completedSessions = focusSessionRepository.countCompletedSessions(userId, start, end);
-                Long totalSessions = focusSessionRepository.countTotalSessions(userId, start, end);
+                // Only the current-period figures are needed, so the previous and task
+                // ranges are left empty.
+                FocusSessionRepository.KpiFocusProjection focus = archiveRouter.aggregateKpiFocusStats(
+                                userId, start, end, start, start, startDate, startDate);
+                return buildEfficiencyStats(userId, startDate, endDate, focus, toMinutes(focus.getCurrentSeconds()));
+        }
+
+        private AnalyticsDto.EfficiencyStats buildEfficiencyStats(String userId, OffsetDateTime startDate,
+                        OffsetDateTime endDate, FocusSessionRepository.KpiFocusProjection focus, int focusMinutes) {
                 double rhythmQuality = calculator.calculateRhythmQuality(
-                                completedSessions != null ? completedSessions : 0,
-                                totalSessions != null ? totalSessions : 0);
+                                focus.getCompletedSessions() != null ? focus.getCompletedSessions() : 0,
+                                focus.getTotalSessions() != null ? focus.getTotalSessions() : 0);
 
-                Integer focusMinutes = focusSessionRepository.getTotalFocusMinutesByUserIdAndDateRange(userId, start,
-                                end);
                 List<DailyGoalDto.Response> goals = dailyGoalService.getGoalsInRange(userId, startDate.toLocalDate(),
                                 endDate.minusNanos(1).toLocalDate());
                 int goalMinutes = goals.stream().mapToInt(DailyGoalDto.Response::goalMinutes).sum();
-                double volumeBalance = calculator.calculateVolumeBalance(focusMinutes != null ? focusMinutes : 0,
-                                goalMinutes);
+                double volumeBalance = calculator.calculateVolumeBalance(focusMinutes, goalMinutes);
 
                 return EfficiencyStats.builder()
                                 .efficiencyScore(calculator.calculateEfficiencyScore(rhythmQuality, volumeBalance))
@@ -357,9 +738,8 @@ public class AnalyticsService {
                                 .collect(Collectors.toMap(DailyGoalDto.Response::date,
                                                 DailyGoalDto.Response::goalMinutes));
 
-                List<FocusSessionRepository.DailyCategoryFocusProjection> aggregations = focusSessionRepository
-                                .aggregateDailyCategoryFocusTime(userId, start.atStartOfDay(),
-                                                end.plusDays(1).atStartOfDay());
+                List<FocusSessionRepository.DailyCategoryFocusProjection> aggregations = archiveRouter
+                                .aggregateDailyCategoryFocusTime(userId, start, end.plusDays(1));
 
                 Map<LocalDate, List<AnalyticsDto.CategoryFocusTime>> dailyCatMap = aggregations.stream()
                                 .collect(Collectors.groupingBy(
@@ -392,17 +772,41 @@ public class AnalyticsService {
          */
         public List<AnalyticsDto.GroupedTaskSummary> getTaskSummary(String userId, OffsetDateTime startDate,
                         OffsetDateTime endDate) {
-                List<AnalyticsDto.TaskSummary> summaries = fetchAndBuildTaskSummaries(userId, startDate, endDate);
+                List<AnalyticsDto.TaskSummary> summaries = fetchAndBuildTaskSummaries(userId, startDate, endDate,
+                                resolveFocusDuration(userId));
                 return aggregator.groupTaskSummaries(summaries);
         }
 
+        /**
+         * Summaries of the tasks scheduled or focused on in the range.
+         * Focus minutes per task come from the column store for ranges of hot
+         * sessions when enabled; otherwise the sessions are loaded with their
+         * tasks.
+         */
         private List<AnalyticsDto.TaskSummary> fetchAndBuildTaskSummaries(String userId, OffsetDateTime start,
-                        OffsetDateTime end) {
-                List<FocusSession> sessions = focusSessionRepository.findByUserIdAndStartedAtBetweenWithTask(userId,
-                                start.toLocalDateTime(), end.toLocalDateTime());
+                        OffsetDateTime end, int focusDuration) {
+                Optional<FocusSessionColumns> columns = archiveRouter.reachesArchive(start.toLocalDateTime())
+                                ? Optional.empty()
+                                : columnStore.get(userId);
+                if (columns.isPresent()) {
+                        Map<Long, Integer> focusMinutes = columns.get().taskFocusMinutes(start.toLocalDateTime(),
+                                        end.toLocalDateTime());
+                        List<Task> tasks = new ArrayList<>(
+                                        taskRepository.findByUserIdAndScheduledStartAtBetween(userId, start, end));
+                        Set<Long> scheduled = tasks.stream().map(Task::getId).collect(Collectors.toSet());
+                        List<Long> scheduledElsewhere = focusMinutes.keySet().stream()
+                                        .filter(taskId -> !scheduled.contains(taskId))
+                                        .toList();
+                        if (!scheduledElsewhere.isEmpty()) {
+                                tasks.addAll(taskRepository.findWithCategoryByUserIdAndIdIn(userId,
+                                                scheduledElsewhere));
+                        }
+                        return aggregator.buildTaskSummaryList(tasks, focusMinutes, focusDuration);
+                }
+
+                List<FocusSession> sessions = archiveRouter.findSessionsWithTask(userId, start.toLocalDateTime(),
+                                end.toLocalDateTime());
                 List<Task> tasks = taskRepository.findByUserIdAndScheduledStartAtBetween(userId, start, end);
-                int focusDuration = pomodoroSettingRepository.findByUserId(userId).map(s -> s.getFocusDuration())
-                                .orElse(25);
 
                 return aggregator.buildTaskSummaryList(sessions, tasks, focusDuration);
         }
@@ -0,0 +1,139 @@
+package com.todoapp.resource.service.usecase;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.todoapp.resource.config.AppConfigurationProperties;
+import com.todoapp.resource.event.FocusSessionRecordedEvent;
+import com.todoapp.resource.event.TaskChangedEvent;
+import com.todoapp.resource.repository.FocusSessionRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Optional in-memory store of {@link FocusSessionColumns} for recently active
+ * users.
+ * A user's sessions are loaded on first access and kept current from
+ * {@link FocusSessionRecordedEvent}s; a {@link TaskChangedEvent} drops them, as
+ * a task may have moved to another category. Capacity is bounded by an LRU
+ * policy over users. When disabled, callers fall back to the database.
+ */
+@Slf4j
+@Component
+public class FocusSessionColumnStore {
+
+    private final FocusSessionRepository focusSessionRepository;
+    private final boolean enabled;
+    private final int maxUsers;
+
+    // Access-ordered map gives LRU eviction; guarded by "this"
+    private final LinkedHashMap<String, FocusSessionColumns> users;
+
+    // Bumped on every recorded session so that loads racing with a write are
+    // not stored
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    public FocusSessionColumnStore(FocusSessionRepository focusSessionRepository,
+            AppConfigurationProperties appProperties) {
+        AppConfigurationProperties.ColumnStoreConfiguration config = appProperties.getAnalytics().getColumnStore();
+        this.focusSessionRepository = focusSessionRepository;
+        this.enabled = config.isEnabled();
+        this.maxUsers = config.getMaxUsers();
+        this.users = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, FocusSessionColumns> eldest) {
+                return size() > maxUsers;
+            }
+        };
+    }
+
+    /**
+     * Returns the user's sessions, loading them on first access.
+     * Empty when the store is disabled.
+     */
+    Optional<FocusSessionColumns> get(String userId) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+
+        synchronized (this) {
+            FocusSessionColumns columns = users.get(userId);
+            if (columns != null) {
+                return Optional.of(columns);
+            }
+        }
+
+        long generation = generation(userId).get();
+        FocusSessionColumns loaded = FocusSessionColumns
+                .of(focusSessionRepository.findSessionColumnsByUserId(userId));
+        log.debug("Loaded {} focus sessions into column store for user {}", loaded.size(), userId);
+
+        synchronized (this) {
+            if (generation(userId).get() == generation) {
+                users.put(userId, loaded);
+            }
+        }
+        return Optional.of(loaded);
+    }
+
+    /**
+     * Applies a recorded session to the user's loaded columns.
+     * Runs after the publishing transaction commits; users not loaded are left
+     * to load lazily.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSessionRecorded(FocusSessionRecordedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        long generation = generation(event.userId()).incrementAndGet();
+
+        synchronized (this) {
+            if (!users.containsKey(event.userId())) {
+                return;
+            }
+        }
+
+        Optional<FocusSessionRepository.SessionColumnProjection> row = event.sessionId() != null
+                ? focusSessionRepository.findSessionColumnsById(event.sessionId())
+                : Optional.empty();
+        synchronized (this) {
+            FocusSessionColumns columns = users.get(event.userId());
+            if (columns == null) {
+                return;
+            }
+            if (generation(event.userId()).get() == generation && row.isPresent()
+                    && row.get().getStartedAt() != null) {
+                columns.upsert(row.get());
+            } else {
+                // Another update overtook this one, or a batch was recorded: reload on
+                // next access
+                users.remove(event.userId());
+            }
+        }
+    }
+
+    /**
+     * Drops the user's columns after tasks change; they reload on next access.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        generation(event.userId()).incrementAndGet();
+        synchronized (this) {
+            users.remove(event.userId());
+        }
+    }
+
+    private AtomicLong generation(String userId) {
+        return generations.computeIfAbsent(userId, key -> new AtomicLong());
+    }
+}
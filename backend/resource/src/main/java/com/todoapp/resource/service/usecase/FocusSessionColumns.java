@@ -0,0 +1,263 @@
+package com.todoapp.resource.service.usecase;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.todoapp.resource.model.FocusSession;
+import com.todoapp.resource.repository.FocusSessionRepository;
+
+/**
+ * Columnar copy of one user's focus sessions, sorted by start.
+ * Parallel primitive arrays keep range scans cache-friendly; range bounds are
+ * found by binary search. Sessions are mostly recorded in start order, so an
+ * upsert usually appends or overwrites a row near the end in place; arrays
+ * grow by half their capacity when full. Scans share a read lock, upserts take
+ * the write lock.
+ * <p>
+ * Start times are stored as epoch seconds of the local date-time (read as UTC),
+ * matching how {@code startedAt} is compared in queries. Task and category ids
+ * use {@link #NONE} when absent; category ids are those of the task when the
+ * row was loaded.
+ */
+final class FocusSessionColumns {
+
+    static final long NONE = -1L;
+    private static final byte FOCUS = 0;
+    private static final long SECONDS_PER_DAY = 86_400L;
+    private static final int MIN_CAPACITY = 16;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private long[] ids;
+    private long[] starts;
+    private int[] durations;
+    private long[] taskIds;
+    private long[] categoryIds;
+    private byte[] types;
+    private int size;
+
+    private FocusSessionColumns(int capacity) {
+        this.ids = new long[capacity];
+        this.starts = new long[capacity];
+        this.durations = new int[capacity];
+        this.taskIds = new long[capacity];
+        this.categoryIds = new long[capacity];
+        this.types = new byte[capacity];
+    }
+
+    /**
+     * Builds the columns from rows already sorted by start time.
+     */
+    static FocusSessionColumns of(List<FocusSessionRepository.SessionColumnProjection> rows) {
+        FocusSessionColumns columns = new FocusSessionColumns(Math.max(MIN_CAPACITY, rows.size()));
+        for (FocusSessionRepository.SessionColumnProjection row : rows) {
+            columns.set(columns.size++, row);
+        }
+        return columns;
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Inserts the row at its start position, replacing an existing row with the
+     * same id.
+     */
+    void upsert(FocusSessionRepository.SessionColumnProjection row) {
+        long start = epochSecond(row.getStartedAt());
+        lock.writeLock().lock();
+        try {
+            int existing = lastIndexOf(row.getId());
+            if (existing >= 0 && starts[existing] == start) {
+                set(existing, row);
+                return;
+            }
+            if (existing >= 0) {
+                shift(existing + 1, existing);
+                size--;
+            }
+            int at = upperBound(start);
+            if (size == ids.length) {
+                grow();
+            }
+            shift(at, at + 1);
+            size++;
+            set(at, row);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Whole FOCUS minutes per day for sessions starting in [start, end), rounded
+     * down per day like the SQL aggregate.
+     */
+    Map<LocalDate, Long> dailyFocusMinutes(LocalDateTime start, LocalDateTime end) {
+        Map<LocalDate, Long> result = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            int to = lowerBound(epochSecond(end));
+            long currentDay = Long.MIN_VALUE;
+            long daySeconds = 0;
+
+            for (int i = lowerBound(epochSecond(start)); i < to; i++) {
+                if (types[i] != FOCUS) {
+                    continue;
+                }
+                long day = Math.floorDiv(starts[i], SECONDS_PER_DAY);
+                if (day != currentDay) {
+                    if (currentDay != Long.MIN_VALUE) {
+                        result.put(LocalDate.ofEpochDay(currentDay), daySeconds / 60);
+                    }
+                    currentDay = day;
+                    daySeconds = 0;
+                }
+                daySeconds += durations[i];
+            }
+            if (currentDay != Long.MIN_VALUE) {
+                result.put(LocalDate.ofEpochDay(currentDay), daySeconds / 60);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    /**
+     * Whole FOCUS minutes per category id ({@link #NONE} when uncategorized) for
+     * sessions starting in [start, end), rounded down per category like the SQL
+     * aggregate. Categories are in order of first appearance.
+     */
+    Map<Long, Integer> categoryFocusMinutes(LocalDateTime start, LocalDateTime end) {
+        Map<Long, Long> seconds = new LinkedHashMap<>();
+        lock.readLock().lock();
+        try {
+            int to = search(epochSecond(end));
+            for (int i = search(epochSecond(start)); i < to; i++) {
+                if (types[i] == FOCUS) {
+                    seconds.merge(categoryIds[i], (long) durations[i], Long::sum);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        Map<Long, Integer> result = new LinkedHashMap<>();
+        seconds.forEach((categoryId, total) -> result.put(categoryId, (int) (total / 60)));
+        return result;
+    }
+
+    /**
+     * Whole FOCUS minutes per task id for sessions starting in [start, end]
+     * (inclusive, like the session query it replaces), rounded down per session.
+     * Sessions without a task are left out; tasks are in order of first
+     * appearance.
+     */
+    Map<Long, Integer> taskFocusMinutes(LocalDateTime start, LocalDateTime end) {
+        Map<Long, Integer> result = new LinkedHashMap<>();
+        lock.readLock().lock();
+        try {
+            int to = search(epochSecond(end) + 1);
+            for (int i = search(epochSecond(start)); i < to; i++) {
+                if (types[i] == FOCUS && taskIds[i] != NONE) {
+                    result.merge(taskIds[i], durations[i] / 60, Integer::sum);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    /**
+     * Index of the first session starting at or after the given epoch second.
+     */
+    int lowerBound(long epochSecond) {
+        lock.readLock().lock();
+        try {
+            return search(epochSecond);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static long epochSecond(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private int search(long epochSecond) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (starts[mid] < epochSecond) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int upperBound(long epochSecond) {
+        if (size == 0 || starts[size - 1] <= epochSecond) {
+            return size;
+        }
+        return search(epochSecond + 1);
+    }
+
+    // Recently recorded sessions sit at the end
+    private int lastIndexOf(Long id) {
+        for (int i = size - 1; i >= 0; i--) {
+            if (ids[i] == id) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // Moves rows [from, size) to start at index to
+    private void shift(int from, int to) {
+        int length = size - from;
+        if (length > 0 && from != to) {
+            System.arraycopy(ids, from, ids, to, length);
+            System.arraycopy(starts, from, starts, to, length);
+            System.arraycopy(durations, from, durations, to, length);
+            System.arraycopy(taskIds, from, taskIds, to, length);
+            System.arraycopy(categoryIds, from, categoryIds, to, length);
+            System.arraycopy(types, from, types, to, length);
+        }
+    }
+
+    private void grow() {
+        int capacity = ids.length + Math.max(MIN_CAPACITY, ids.length >> 1);
+        ids = Arrays.copyOf(ids, capacity);
+        starts = Arrays.copyOf(starts, capacity);
+        durations = Arrays.copyOf(durations, capacity);
+        taskIds = Arrays.copyOf(taskIds, capacity);
+        categoryIds = Arrays.copyOf(categoryIds, capacity);
+        types = Arrays.copyOf(types, capacity);
+    }
+
+    private void set(int i, FocusSessionRepository.SessionColumnProjection row) {
+        ids[i] = row.getId();
+        starts[i] = epochSecond(row.getStartedAt());
+        durations[i] = row.getActualDuration() != null ? row.getActualDuration() : 0;
+        taskIds[i] = row.getTaskId() != null ? row.getTaskId() : NONE;
+        categoryIds[i] = row.getCategoryId() != null ? row.getCategoryId() : NONE;
+        types[i] = (byte) (row.getSessionType() == FocusSession.SessionType.FOCUS ? FOCUS
+                : 1 + row.getSessionType().ordinal());
+    }
+}
@@ -0,0 +1,18 @@
+-- V35: Per-user focus streaks and personal records, maintained incrementally
+-- as focus sessions are recorded (see FocusRecordService)
+CREATE TABLE focus_records (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id VARCHAR(255) NOT NULL,
+    current_streak INT NOT NULL DEFAULT 0,
+    longest_streak INT NOT NULL DEFAULT 0,
+    last_focus_date DATE,
+    last_day_seconds BIGINT NOT NULL DEFAULT 0,
+    current_week_start DATE,
+    current_week_seconds BIGINT NOT NULL DEFAULT 0,
+    best_day_date DATE,
+    best_day_seconds BIGINT NOT NULL DEFAULT 0,
+    best_week_start DATE,
+    best_week_seconds BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    UNIQUE KEY uk_focus_records_user (user_id)
+);
@@ -0,0 +1,14 @@
+-- V36: Per-user, per-day fixed-bucket histograms of focus sessions.
+-- Bucket counts are stored as comma-separated integers (see FocusHistogram)
+-- so that a range query merges a few small arrays instead of scanning sessions.
+CREATE TABLE focus_histograms (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id VARCHAR(255) NOT NULL,
+    date DATE NOT NULL,
+    length_buckets VARCHAR(255) NOT NULL,
+    interruption_buckets VARCHAR(255) NOT NULL,
+    scheduled_totals VARCHAR(255) NOT NULL,
+    scheduled_completed VARCHAR(255) NOT NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    UNIQUE KEY uk_focus_histograms_user_date (user_id, date)
+);
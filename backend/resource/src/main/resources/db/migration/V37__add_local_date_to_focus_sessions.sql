@@ -0,0 +1,9 @@
+-- V37: Persist the local start date of focus sessions.
+-- started_at holds the client's local time; grouping on CAST(started_at AS date)
+-- is evaluated per row in the connection time zone and cannot use an index.
+-- New rows get local_date from the application when written.
+ALTER TABLE focus_sessions ADD COLUMN local_date DATE NULL AFTER ended_at;
+
+UPDATE focus_sessions SET local_date = DATE(started_at) WHERE started_at IS NOT NULL;
+
+CREATE INDEX idx_focus_sessions_user_type_local_date ON focus_sessions (user_id, session_type, local_date);
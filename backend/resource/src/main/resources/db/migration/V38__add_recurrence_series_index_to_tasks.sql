@@ -0,0 +1,5 @@
+-- V38: Index recurring task series for habit analytics.
+-- Occurrences of a series are grouped by recurrence_parent_id and probed by
+-- status and scheduled time for the current run; the foreign key index on
+-- recurrence_parent_id alone cannot serve the per-user scan or the run probe.
+CREATE INDEX idx_tasks_user_recurrence_parent_status_start ON tasks (user_id, recurrence_parent_id, status, scheduled_start_at);
@@ -0,0 +1,12 @@
+-- V39: Precomputed analytics of completed periods (last week, last month),
+-- written by the nightly snapshot job and served instead of live aggregation.
+-- payload holds the serialized view; rows are deleted when their period changes.
+CREATE TABLE analytics_snapshots (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id VARCHAR(255) NOT NULL,
+    period VARCHAR(16) NOT NULL,
+    period_start DATE NOT NULL,
+    payload MEDIUMTEXT NOT NULL,
+    computed_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    UNIQUE KEY uk_analytics_snapshots_user_period (user_id, period, period_start)
+);
@@ -0,0 +1,6 @@
+-- V40: Client-assigned UUID of focus sessions recorded offline.
+-- Batch replays skip sessions whose id is already stored for the user;
+-- online sessions leave it NULL, which the unique key allows repeatedly.
+ALTER TABLE focus_sessions ADD COLUMN client_session_id VARCHAR(36) NULL AFTER local_date;
+
+CREATE UNIQUE INDEX uk_focus_sessions_user_client_session ON focus_sessions (user_id, client_session_id);
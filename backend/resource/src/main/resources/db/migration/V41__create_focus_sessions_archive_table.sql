@@ -0,0 +1,32 @@
+-- V41: Archive of focus sessions older than the configured retention.
+-- focus_sessions itself cannot be range partitioned: MySQL does not allow
+-- foreign keys on partitioned tables, and every unique key would have to
+-- include the partitioning column. The archive has neither, so it is
+-- partitioned by year of local_date; the archival job moves whole months of
+-- sessions into it, and analytics only read it for ranges that reach back
+-- that far.
+CREATE TABLE focus_sessions_archive (
+    id BIGINT NOT NULL,
+    user_id VARCHAR(255) NOT NULL,
+    task_id BIGINT NULL,
+    session_type VARCHAR(50) NOT NULL,
+    status VARCHAR(50) NOT NULL,
+    scheduled_duration INT NOT NULL,
+    actual_duration INT NOT NULL,
+    started_at TIMESTAMP NULL,
+    ended_at TIMESTAMP NULL,
+    local_date DATE NOT NULL,
+    client_session_id VARCHAR(36) NULL,
+    created_at TIMESTAMP NULL,
+    archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id, local_date),
+    INDEX idx_focus_sessions_archive_user_local_date (user_id, local_date)
+)
+PARTITION BY RANGE (YEAR(local_date)) (
+    PARTITION p_before_2024 VALUES LESS THAN (2024),
+    PARTITION p2024 VALUES LESS THAN (2025),
+    PARTITION p2025 VALUES LESS THAN (2026),
+    PARTITION p2026 VALUES LESS THAN (2027),
+    PARTITION p2027 VALUES LESS THAN (2028),
+    PARTITION p_future VALUES LESS THAN MAXVALUE
+);
@@ -0,0 +1,83 @@
+package com.todoapp.resource.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.todoapp.resource.config.AppConfigurationProperties;
+import com.todoapp.resource.dto.RecurrenceRuleDto;
+import com.todoapp.resource.dto.SubtaskDto;
+import com.todoapp.resource.dto.TaskDto;
+
+class AiTaskContextBuilderTest {
+
+    private static TaskDto.SyncTaskDto task(Long id, String title, String description, String startAt) {
+        return task(id, title, description, startAt, null);
+    }
+
+    private static TaskDto.SyncTaskDto task(Long id, String title, String description, String startAt,
+            RecurrenceRuleDto recurrenceRule) {
+        return new TaskDto.SyncTaskDto(id, title, description, startAt, null, true, null, null, null,
+                recurrenceRule != null ? Boolean.TRUE : null, recurrenceRule, null,
+                List.of(new SubtaskDto.Summary(1L, id, "準備", null, false, 0)), "PENDING", null);
+    }
+
+    @Test
+    void context_IsCompactAndSendsEveryKeptTaskInFull() {
+        AiTaskContextBuilder builder = new AiTaskContextBuilder(new AppConfigurationProperties());
+        String today = LocalDate.now() + "T09:00:00";
+        RecurrenceRuleDto everyOtherWeek = new RecurrenceRuleDto(RecurrenceRuleDto.Frequency.WEEKLY, 2,
+                List.of(DayOfWeek.WEDNESDAY, DayOfWeek.FRIDAY), LocalDate.of(2030, 12, 31), null);
+        List<TaskDto.SyncTaskDto> tasks = List.of(
+                task(1L, "買い物", "牛乳", today),
+                task(2L, "会議資料", null, today, everyOtherWeek));
+
+        AiTaskContextBuilder.TaskContext first = builder.build("c1", true, "牛乳を追加", tasks, null);
+        String buying = "{\"i\":1,\"t\":\"買い物\",\"d\":\"牛乳\",\"s\":\"" + today
+                + "\",\"a\":true,\"sub\":[{\"t\":\"準備\"}]}";
+        assertEquals(AiTaskContextBuilder.KEY_LEGEND + "\n"
+                + "[" + buying + ","
+                + "{\"i\":2,\"t\":\"会議資料\",\"s\":\"" + today + "\",\"a\":true,"
+                + "\"r\":{\"f\":\"WEEKLY\",\"iv\":2,\"bd\":[\"WEDNESDAY\",\"FRIDAY\"],\"u\":\"2030-12-31\"},"
+                + "\"sub\":[{\"t\":\"準備\"}]}]",
+                first.text());
+        builder.remember(first);
+
+        // Unchanged tasks are still sent in full on follow-up turns
+        List<TaskDto.SyncTaskDto> next = List.of(
+                task(1L, "買い物", "牛乳", today),
+                task(null, "電話", null, null));
+        String followUp = builder.build("c1", false, "電話を追加", next, "仕事").text();
+        assertTrue(followUp.startsWith("プロジェクト: 仕事\n"));
+        assertTrue(followUp.contains(buying));
+        assertTrue(followUp.contains("{\"t\":\"電話\",\"a\":true,\"sub\":[{\"t\":\"準備\"}]}"));
+        assertTrue(followUp.endsWith("前回のコンテキストから外れたタスク（操作対象外）: i=[2]"));
+
+        // Another conversation, or a conversation without history, has nothing dropped
+        assertFalse(builder.build("c2", false, "", next, null).text().contains("前回"));
+        assertFalse(builder.build("c1", true, "", next, null).text().contains("前回"));
+    }
+
+    @Test
+    void context_KeepsTheMostRelatedTasksWithinTheBudget() {
+        AppConfigurationProperties properties = new AppConfigurationProperties();
+        properties.getAi().setContextTokenBudget(40);
+        AiTaskContextBuilder builder = new AiTaskContextBuilder(properties);
+        List<TaskDto.SyncTaskDto> tasks = List.of(
+                task(1L, "部屋の掃除", null, "2020-01-01T09:00:00"),
+                task(2L, "歯医者の予約", null, "2020-01-01T09:00:00"),
+                task(3L, "洗濯", null, "2020-01-01T09:00:00"));
+
+        String text = builder.build("c1", true, "歯医者の予約を明日に", tasks, null).text();
+
+        assertTrue(text.contains("\"i\":2"));
+        assertFalse(text.contains("\"i\":1"));
+        assertTrue(text.endsWith("関連度の低いタスク 2 件は省略しました（操作対象外）。"));
+    }
+}
@@ -0,0 +1,31 @@
+package com.todoapp.resource.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class StreamingAdviceExtractorTest {
+
+    @Test
+    void advice_IsDecodedAcrossChunkBoundaries() {
+        StreamingAdviceExtractor extractor = new StreamingAdviceExtractor();
+
+        assertFalse(extractor.append("```json\n{\"tasks\": [{\"title\": \"advice\"}], \"adv"));
+        assertFalse(extractor.append("ice\": \""));
+        assertTrue(extractor.append("タスクを"));
+        assertEquals("タスクを", extractor.advice());
+
+        // Escapes split between chunks wait for the rest
+        assertFalse(extractor.append("\\"));
+        assertTrue(extractor.append("\"追加\\\" しました\\u"));
+        assertEquals("タスクを\"追加\" しました", extractor.advice());
+        assertTrue(extractor.append("3002\", \"projectTitle\": null}\n```"));
+        assertEquals("タスクを\"追加\" しました。", extractor.advice());
+
+        assertFalse(extractor.append(" "));
+        assertEquals("```json\n{\"tasks\": [{\"title\": \"advice\"}], \"advice\": \"タスクを\\\"追加\\\" しました\\u3002\", "
+                + "\"projectTitle\": null}\n``` ", extractor.content());
+    }
+}
@@ -0,0 +1,94 @@
+package com.todoapp.resource.service.domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.todoapp.resource.config.AppConfigurationProperties;
+import com.todoapp.resource.event.TaskChangedEvent;
+import com.todoapp.resource.model.AnalyticsSnapshot;
+import com.todoapp.resource.repository.AnalyticsSnapshotRepository;
+
+@ExtendWith(MockitoExtension.class)
+class AnalyticsSnapshotServiceTest {
+
+    private static final String USER_ID = "auth0|snapshot";
+    private static final LocalDate MONDAY = LocalDate.of(2025, 3, 3);
+
+    @Mock
+    private AnalyticsSnapshotRepository analyticsSnapshotRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private AnalyticsSnapshotService snapshotService;
+
+    @BeforeEach
+    void setUp() {
+        snapshotService = new AnalyticsSnapshotService(analyticsSnapshotRepository,
+                new ObjectMapper().registerModule(new JavaTimeModule()), transactionManager,
+                new AppConfigurationProperties());
+    }
+
+    @Test
+    void save_IsSkippedWhenDataChangedSinceComputing() {
+        long generation = snapshotService.generation(USER_ID);
+        snapshotService.onAnalyticsDataChanged(new TaskChangedEvent(USER_ID, MONDAY, MONDAY));
+
+        assertFalse(snapshotService.save(USER_ID, AnalyticsSnapshot.Period.WEEK, MONDAY, Map.of("total", 1),
+                generation));
+        verify(analyticsSnapshotRepository, never()).save(any());
+
+        assertTrue(snapshotService.save(USER_ID, AnalyticsSnapshot.Period.WEEK, MONDAY, Map.of("total", 1),
+                snapshotService.generation(USER_ID)));
+        verify(analyticsSnapshotRepository).save(any());
+    }
+
+    @Test
+    void change_DeletesItsPeriodsAndThePeriodsComparedWithThem() {
+        // A series from Friday 28 Feb to Wednesday 5 Mar
+        snapshotService.onAnalyticsDataChanged(new TaskChangedEvent(USER_ID, LocalDate.of(2025, 2, 28),
+                MONDAY.plusDays(2)));
+
+        verify(analyticsSnapshotRepository).deleteByUserIdAndPeriodStartBetween(USER_ID,
+                LocalDate.of(2025, 2, 24), MONDAY.plusWeeks(1),
+                LocalDate.of(2025, 2, 1), LocalDate.of(2025, 4, 1));
+    }
+
+    @Test
+    void find_IgnoresSnapshotsOlderThanTtl() {
+        AnalyticsSnapshot snapshot = AnalyticsSnapshot.builder()
+                .userId(USER_ID)
+                .period(AnalyticsSnapshot.Period.WEEK)
+                .periodStart(MONDAY)
+                .payload("{\"total\":1}")
+                .computedAt(LocalDateTime.now().minusHours(1))
+                .build();
+        when(analyticsSnapshotRepository.findByUserIdAndPeriodAndPeriodStart(USER_ID,
+                AnalyticsSnapshot.Period.WEEK, MONDAY)).thenReturn(Optional.of(snapshot));
+
+        assertEquals(Optional.of(Map.of("total", 1)),
+                snapshotService.find(USER_ID, AnalyticsSnapshot.Period.WEEK, MONDAY, Map.class));
+
+        snapshot.setComputedAt(LocalDateTime.now().minusDays(2));
+        assertEquals(Optional.empty(),
+                snapshotService.find(USER_ID, AnalyticsSnapshot.Period.WEEK, MONDAY, Map.class));
+    }
+}
@@ -0,0 +1,84 @@
+package com.todoapp.resource.service.domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.todoapp.resource.model.FocusHistogram;
+import com.todoapp.resource.model.FocusSession;
+import com.todoapp.resource.repository.FocusHistogramRepository;
+import com.todoapp.resource.repository.FocusSessionRepository;
+
+@ExtendWith(MockitoExtension.class)
+class FocusHistogramServiceTest {
+
+    private static final String USER_ID = "auth0|histogram";
+    private static final LocalDate DATE = LocalDate.of(2025, 3, 5);
+    private static final FocusHistogramService.Sample TEN_MINUTES = new FocusHistogramService.Sample(
+            FocusSession.SessionStatus.COMPLETED, 600, 600);
+
+    @Mock
+    private FocusHistogramRepository focusHistogramRepository;
+    @Mock
+    private FocusSessionRepository focusSessionRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private FocusHistogramService focusHistogramService;
+
+    @BeforeEach
+    void setUp() {
+        focusHistogramService = new FocusHistogramService(focusHistogramRepository, focusSessionRepository,
+                transactionManager);
+    }
+
+    @Test
+    void applySession_UsesTheDayCreatedByAConcurrentFirstSession() {
+        // Arrange: the day is missing when checked, but inserted concurrently
+        FocusHistogram created = FocusHistogram.empty(USER_ID, DATE);
+        when(focusHistogramRepository.existsByUserIdAndDate(USER_ID, DATE)).thenReturn(false);
+        when(focusHistogramRepository.existsByUserId(USER_ID)).thenReturn(true);
+        when(focusHistogramRepository.saveAndFlush(any()))
+                .thenThrow(new DataIntegrityViolationException("uk_focus_histograms_user_date"));
+        when(focusHistogramRepository.findByUserIdAndDateForUpdate(USER_ID, DATE)).thenReturn(Optional.of(created));
+
+        // Act
+        focusHistogramService.applySession(USER_ID, DATE, null, TEN_MINUTES);
+
+        // Assert: the session is added to the locked row
+        assertEquals(1, created.getLengthBuckets()[FocusHistogramService.durationBucket(600)]);
+        verify(focusHistogramRepository).save(created);
+    }
+
+    @Test
+    void applySessions_LocksExistingDaysWithoutCreatingThem() {
+        // Arrange
+        FocusHistogram stored = FocusHistogram.empty(USER_ID, DATE);
+        when(focusHistogramRepository.existsByUserId(USER_ID)).thenReturn(true);
+        when(focusHistogramRepository.existsByUserIdAndDate(USER_ID, DATE)).thenReturn(true);
+        when(focusHistogramRepository.findByUserIdAndDateForUpdate(USER_ID, DATE)).thenReturn(Optional.of(stored));
+
+        // Act
+        focusHistogramService.applySessions(USER_ID, Map.of(DATE, List.of(TEN_MINUTES, TEN_MINUTES)));
+
+        // Assert
+        assertEquals(2, stored.getScheduledCompleted()[FocusHistogramService.durationBucket(600)]);
+        verify(focusHistogramRepository, never()).saveAndFlush(any());
+        verify(focusHistogramRepository).save(stored);
+    }
+}
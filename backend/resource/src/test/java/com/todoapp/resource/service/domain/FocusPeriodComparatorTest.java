@@ -0,0 +1,104 @@
+package com.todoapp.resource.service.domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.todoapp.resource.dto.FocusSessionDto;
+import com.todoapp.resource.repository.FocusSessionRepository;
+
+@ExtendWith(MockitoExtension.class)
+class FocusPeriodComparatorTest {
+
+    private static final String USER_ID = "auth0|periods";
+    private static final LocalDate MONDAY = LocalDate.of(2025, 3, 3);
+
+    @Mock
+    private FocusSessionArchiveRouter archiveRouter;
+
+    @InjectMocks
+    private FocusPeriodComparator periodComparator;
+
+    private record DaySeconds(LocalDate date, Long seconds)
+            implements FocusSessionRepository.DailyFocusSecondsProjection {
+
+        @Override
+        public LocalDate getDate() {
+            return date;
+        }
+
+        @Override
+        public Long getSeconds() {
+            return seconds;
+        }
+    }
+
+    private static List<Integer> totals(FocusSessionDto.PeriodComparison comparison) {
+        return comparison.getPeriods().stream().map(FocusSessionDto.PeriodTotal::getTotalSeconds).toList();
+    }
+
+    @Test
+    void compare_FoldsOneDailyAggregateIntoWeeks() {
+        // Arrange: Saturday of the previous week, Tuesday and Wednesday of this week
+        LocalDate wednesday = MONDAY.plusDays(2);
+        when(archiveRouter.aggregateDailyFocusSeconds(USER_ID, MONDAY.minusWeeks(2), MONDAY.plusWeeks(1)))
+                .thenReturn(List.of(
+                        new DaySeconds(MONDAY.minusDays(2), 1200L),
+                        new DaySeconds(MONDAY.plusDays(1), 2100L),
+                        new DaySeconds(wednesday, 600L)));
+
+        // Act
+        FocusSessionDto.PeriodComparison weeks = periodComparator.compare(USER_ID, FocusSessionDto.PeriodUnit.WEEK,
+                wednesday, 3);
+
+        // Assert
+        assertEquals(List.of(0, 1200, 2700), totals(weeks));
+        assertEquals(Arrays.asList(null, 1200, 1500), weeks.getPeriods().stream()
+                .map(FocusSessionDto.PeriodTotal::getDeltaSeconds).toList());
+        assertEquals(MONDAY, weeks.getPeriods().get(2).getStartDate());
+        assertEquals(MONDAY.plusDays(6), weeks.getPeriods().get(2).getEndDate());
+    }
+
+    @Test
+    void compare_FoldsOneDailyAggregateIntoMonths() {
+        // Arrange
+        when(archiveRouter.aggregateDailyFocusSeconds(USER_ID, LocalDate.of(2025, 2, 1), LocalDate.of(2025, 4, 1)))
+                .thenReturn(List.of(
+                        new DaySeconds(LocalDate.of(2025, 2, 28), 600L),
+                        new DaySeconds(MONDAY, 1800L),
+                        new DaySeconds(LocalDate.of(2025, 3, 31), null)));
+
+        // Act
+        FocusSessionDto.PeriodComparison months = periodComparator.compare(USER_ID,
+                FocusSessionDto.PeriodUnit.MONTH, MONDAY, 2);
+
+        // Assert
+        assertEquals(List.of(600, 1800), totals(months));
+        assertEquals(LocalDate.of(2025, 2, 28), months.getPeriods().get(0).getEndDate());
+        verify(archiveRouter).aggregateDailyFocusSeconds(USER_ID, LocalDate.of(2025, 2, 1),
+                LocalDate.of(2025, 4, 1));
+    }
+
+    @Test
+    void compare_RejectsInvalidPeriods() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> periodComparator.compare(USER_ID, FocusSessionDto.PeriodUnit.DAY, MONDAY, 0));
+        assertThrows(IllegalArgumentException.class, () -> periodComparator.compare(USER_ID,
+                FocusSessionDto.PeriodUnit.DAY, MONDAY, FocusPeriodComparator.MAX_PERIODS + 1));
+        assertThrows(IllegalArgumentException.class, () -> periodComparator.compare(USER_ID, null, MONDAY, 1));
+        verifyNoInteractions(archiveRouter);
+    }
+}
@@ -0,0 +1,234 @@
+package com.todoapp.resource.service.domain;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.todoapp.resource.event.FocusSessionRecordedEvent;
+import com.todoapp.resource.exception.ResourceNotFoundException;
+import com.todoapp.resource.model.FocusSession;
+import com.todoapp.resource.repository.FocusSessionRepository;
+
+@ExtendWith(MockitoExtension.class)
+class FocusSessionProgressBufferTest {
+
+    private static final String USER_ID = "auth0|progress";
+    private static final Long SESSION_ID = 1L;
+    private static final LocalDateTime STARTED_AT = LocalDateTime.of(2025, 3, 5, 9, 0);
+
+    @Mock
+    private FocusSessionRepository focusSessionRepository;
+    @Mock
+    private FocusRecordService focusRecordService;
+    @Mock
+    private FocusHistogramService focusHistogramService;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private FocusSessionProgressBuffer progressBuffer;
+
+    @BeforeEach
+    void setUp() {
+        progressBuffer = new FocusSessionProgressBuffer(focusSessionRepository, focusRecordService,
+                focusHistogramService, eventPublisher, jdbcTemplate, transactionManager);
+    }
+
+    private void givenStoredProgress(int actualDuration) {
+        FocusSessionRepository.SessionProgressProjection stored = mock(
+                FocusSessionRepository.SessionProgressProjection.class);
+        when(stored.getActualDuration()).thenReturn(actualDuration);
+        when(focusSessionRepository.findSessionProgressByIdAndUserId(SESSION_ID, USER_ID))
+                .thenReturn(Optional.of(stored));
+    }
+
+    private void givenLockedSession(int actualDuration) {
+        FocusSession session = FocusSession.builder()
+                .id(SESSION_ID)
+                .userId(USER_ID)
+                .sessionType(FocusSession.SessionType.FOCUS)
+                .status(FocusSession.SessionStatus.COMPLETED)
+                .scheduledDuration(1500)
+                .actualDuration(actualDuration)
+                .startedAt(STARTED_AT)
+                .build();
+        when(focusSessionRepository.findAllByIdInForUpdate(Set.of(SESSION_ID))).thenReturn(List.of(session));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flushAll_WritesLatestProgressWithDeltasFromLockedState() {
+        // Arrange
+        givenStoredProgress(600);
+        givenLockedSession(600);
+        LocalDate date = STARTED_AT.toLocalDate();
+
+        // Act
+        for (int seconds : new int[] { 700, 900, 800 }) {
+            progressBuffer.offer(SESSION_ID, USER_ID, seconds, null);
+        }
+        progressBuffer.flushAll();
+
+        // Assert: the stored state is read once, the longest progress is written once
+        verify(focusSessionRepository, times(1)).findSessionProgressByIdAndUserId(SESSION_ID, USER_ID);
+        ArgumentCaptor<List<Object[]>> args = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), args.capture());
+        assertEquals(1, args.getValue().size());
+        assertArrayEquals(new Object[] { 900, null, SESSION_ID, USER_ID, 900 }, args.getValue().get(0));
+        verify(focusRecordService).applySession(USER_ID, date, 300L);
+        verify(focusHistogramService).applySession(USER_ID, date,
+                new FocusHistogramService.Sample(FocusSession.SessionStatus.COMPLETED, 1500, 600),
+                new FocusHistogramService.Sample(FocusSession.SessionStatus.COMPLETED, 1500, 900));
+        verify(eventPublisher).publishEvent(new FocusSessionRecordedEvent(USER_ID, date, SESSION_ID));
+
+        // Nothing is left to write
+        progressBuffer.flushAll();
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), anyList());
+    }
+
+    // Takes a row lock the way the database does, failing instead of waiting
+    // forever on a deadlock. Both writers meet before each lock so that each
+    // holds its first lock before either takes its second.
+    private static Object lockRow(ReentrantLock row, CyclicBarrier writers) throws InterruptedException {
+        try {
+            writers.await(200, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | BrokenBarrierException e) {
+            // The other writer is waiting for a lock of this one
+        }
+        if (!row.tryLock(2, TimeUnit.SECONDS)) {
+            throw new CannotAcquireLockException("Deadlock on " + row);
+        }
+        return null;
+    }
+
+    private static Object unlockRows(ReentrantLock... rows) {
+        for (ReentrantLock row : rows) {
+            while (row.isHeldByCurrentThread()) {
+                row.unlock();
+            }
+        }
+        return null;
+    }
+
+    @Test
+    void flushAll_LocksRowsInTheOrderOfRecordingASession() throws Exception {
+        // Arrange: record and histogram rows stay locked until the flush commits
+        givenStoredProgress(600);
+        givenLockedSession(600);
+        ReentrantLock recordRow = new ReentrantLock();
+        ReentrantLock histogramRow = new ReentrantLock();
+        CyclicBarrier writers = new CyclicBarrier(2);
+        doAnswer(invocation -> lockRow(recordRow, writers))
+                .when(focusRecordService).applySession(eq(USER_ID), any(), anyLong());
+        doAnswer(invocation -> lockRow(histogramRow, writers))
+                .when(focusHistogramService).applySession(eq(USER_ID), any(), any(), any());
+        doAnswer(invocation -> unlockRows(recordRow, histogramRow)).when(transactionManager).commit(any());
+        progressBuffer.offer(SESSION_ID, USER_ID, 900, null);
+
+        // Act: a session of the same user and day is recorded meanwhile
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Object> recording = executor.submit(() -> {
+                lockRow(recordRow, writers);
+                lockRow(histogramRow, writers);
+                return unlockRows(recordRow, histogramRow);
+            });
+            progressBuffer.flushAll();
+            recording.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Assert
+        assertFalse(recordRow.isLocked());
+        assertFalse(histogramRow.isLocked());
+        verify(focusRecordService).applySession(USER_ID, STARTED_AT.toLocalDate(), 300L);
+    }
+
+    @Test
+    void flushAll_DropsProgressOfSessionRecordedMeanwhile() {
+        // Arrange: the session was recorded as finished at 1200s after the offer
+        givenStoredProgress(600);
+        givenLockedSession(1200);
+        progressBuffer.offer(SESSION_ID, USER_ID, 1000, null);
+
+        // Act
+        progressBuffer.flushAll();
+
+        // Assert
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+        verifyNoInteractions(focusRecordService, focusHistogramService, eventPublisher);
+    }
+
+    @Test
+    void discard_DropsBufferedProgress() {
+        // Arrange
+        givenStoredProgress(600);
+        progressBuffer.offer(SESSION_ID, USER_ID, 900, null);
+
+        // Act
+        progressBuffer.discard(SESSION_ID);
+        progressBuffer.flushAll();
+
+        // Assert
+        verify(focusSessionRepository, never()).findAllByIdInForUpdate(any());
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    void offer_RejectsStaleAndForeignProgress() {
+        // Arrange
+        givenStoredProgress(1200);
+        when(focusSessionRepository.findSessionProgressByIdAndUserId(SESSION_ID, "auth0|someone-else"))
+                .thenReturn(Optional.empty());
+
+        // Act & Assert: shorter than the stored duration, so never buffered
+        progressBuffer.offer(SESSION_ID, USER_ID, 1000, null);
+        progressBuffer.flushAll();
+        verify(focusSessionRepository, never()).findAllByIdInForUpdate(any());
+
+        assertThrows(ResourceNotFoundException.class,
+                () -> progressBuffer.offer(SESSION_ID, "auth0|someone-else", 1300, null));
+    }
+}
@@ -0,0 +1,220 @@
+package com.todoapp.resource.service.domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.todoapp.resource.config.AppConfigurationProperties;
+import com.todoapp.resource.dto.FocusSessionDto;
+import com.todoapp.resource.event.FocusSessionRecordedEvent;
+import com.todoapp.resource.exception.ResourceNotFoundException;
+import com.todoapp.resource.model.FocusSession;
+import com.todoapp.resource.repository.FocusSessionRepository;
+import com.todoapp.resource.repository.TaskRepository;
+
+@ExtendWith(MockitoExtension.class)
+class FocusSessionServiceTest {
+
+    private static final String USER_ID = "auth0|sessions";
+    private static final LocalDateTime WEDNESDAY = LocalDateTime.of(2025, 3, 5, 9, 0);
+
+    @Mock
+    private FocusSessionRepository focusSessionRepository;
+    @Mock
+    private TaskRepository taskRepository;
+    @Mock
+    private FocusRecordService focusRecordService;
+    @Mock
+    private FocusHistogramService focusHistogramService;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private FocusSessionProgressBuffer progressBuffer;
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private FocusPeriodComparator periodComparator;
+    @Mock
+    private FocusSessionArchiveRouter archiveRouter;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private FocusSessionService focusSessionService;
+
+    @BeforeEach
+    void setUp() {
+        focusSessionService = new FocusSessionService(focusSessionRepository, taskRepository, focusRecordService,
+                focusHistogramService, eventPublisher, progressBuffer, jdbcTemplate,
+                new AppConfigurationProperties(), periodComparator, archiveRouter, transactionManager);
+    }
+
+    private static FocusSessionDto.RecordRequest recordRequest(LocalDateTime startedAt) {
+        return FocusSessionDto.RecordRequest.builder()
+                .sessionType("FOCUS")
+                .status("COMPLETED")
+                .scheduledDuration(600)
+                .actualDuration(600)
+                .startedAt(startedAt)
+                .endedAt(startedAt.plusMinutes(10))
+                .clientSessionId(UUID.randomUUID().toString())
+                .build();
+    }
+
+    private static List<String> clientSessionIds(List<FocusSessionDto.RecordRequest> requests) {
+        return requests.stream().map(FocusSessionDto.RecordRequest::getClientSessionId).toList();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void recordSessions_InsertsOnceAndAppliesDerivedDataPerDay() {
+        // Arrange: three sessions on Wednesday for a task, one on Friday
+        List<FocusSessionDto.RecordRequest> batch = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            FocusSessionDto.RecordRequest request = recordRequest(WEDNESDAY.plusHours(i));
+            request.setTaskId(10L);
+            batch.add(request);
+        }
+        batch.add(recordRequest(WEDNESDAY.plusDays(2)));
+        when(taskRepository.findIdsByUserIdAndIdIn(eq(USER_ID), any())).thenReturn(List.of(10L));
+        when(archiveRouter.findClientSessionIds(eq(USER_ID), anyList(), any(), any()))
+                .thenReturn(List.of());
+
+        // Act
+        FocusSessionDto.BatchRecordResponse response = focusSessionService.recordSessions(batch, USER_ID);
+
+        // Assert: one insert batch, one record and histogram update, one event per day
+        assertEquals(4, response.getRecorded());
+        assertEquals(0, response.getDuplicates());
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), rows.capture());
+        assertEquals(4, rows.getValue().size());
+        LocalDate wednesday = WEDNESDAY.toLocalDate();
+        LocalDate friday = wednesday.plusDays(2);
+        verify(focusRecordService).applySessions(USER_ID, new TreeMap<>(Map.of(wednesday, 1800L, friday, 600L)));
+        verify(focusHistogramService).applySessions(eq(USER_ID), any());
+        verify(eventPublisher).publishEvent(new FocusSessionRecordedEvent(USER_ID, wednesday, null));
+        verify(eventPublisher).publishEvent(new FocusSessionRecordedEvent(USER_ID, friday, null));
+    }
+
+    @Test
+    void recordSessions_SkipsSessionsStoredBefore() {
+        // Arrange
+        List<FocusSessionDto.RecordRequest> batch = List.of(recordRequest(WEDNESDAY),
+                recordRequest(WEDNESDAY.plusHours(1)));
+        when(archiveRouter.findClientSessionIds(eq(USER_ID), anyList(), any(), any()))
+                .thenReturn(clientSessionIds(batch));
+
+        // Act
+        FocusSessionDto.BatchRecordResponse replay = focusSessionService.recordSessions(batch, USER_ID);
+
+        // Assert
+        assertEquals(0, replay.getRecorded());
+        assertEquals(2, replay.getDuplicates());
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+        verifyNoInteractions(focusRecordService, focusHistogramService, eventPublisher);
+    }
+
+    @Test
+    void recordSessions_CountsSessionsStoredConcurrentlyAsDuplicates() {
+        // Arrange: a concurrent replay commits the same sessions first
+        List<FocusSessionDto.RecordRequest> batch = List.of(recordRequest(WEDNESDAY));
+        when(archiveRouter.findClientSessionIds(eq(USER_ID), anyList(), any(), any()))
+                .thenReturn(List.of())
+                .thenReturn(clientSessionIds(batch));
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new DuplicateKeyException("uk_focus_sessions_user_client_session"));
+
+        // Act
+        FocusSessionDto.BatchRecordResponse response = focusSessionService.recordSessions(batch, USER_ID);
+
+        // Assert
+        assertEquals(0, response.getRecorded());
+        assertEquals(1, response.getDuplicates());
+        verify(archiveRouter, times(2)).findClientSessionIds(eq(USER_ID), anyList(), any(), any());
+        verifyNoInteractions(focusRecordService, focusHistogramService, eventPublisher);
+    }
+
+    @Test
+    void recordSessions_RejectsTasksOfOtherUsers() {
+        // Arrange
+        FocusSessionDto.RecordRequest foreign = recordRequest(WEDNESDAY);
+        foreign.setTaskId(10L);
+        when(taskRepository.findIdsByUserIdAndIdIn(eq(USER_ID), any())).thenReturn(List.of());
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class,
+                () -> focusSessionService.recordSessions(List.of(foreign), USER_ID));
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    void recordSession_ReturnsSessionStoredByConcurrentReplay() {
+        // Arrange: not stored when checked, stored by the time of the insert
+        FocusSessionDto.RecordRequest request = recordRequest(WEDNESDAY);
+        FocusSession stored = FocusSession.builder().id(1L).userId(USER_ID)
+                .clientSessionId(request.getClientSessionId()).build();
+        when(archiveRouter.findByClientSessionId(USER_ID, request.getClientSessionId(), WEDNESDAY))
+                .thenReturn(Optional.empty());
+        when(focusSessionRepository.findByUserIdAndClientSessionId(USER_ID, request.getClientSessionId()))
+                .thenReturn(Optional.of(stored));
+        when(focusSessionRepository.save(any()))
+                .thenThrow(new DataIntegrityViolationException("uk_focus_sessions_user_client_session"));
+
+        // Act
+        FocusSession session = focusSessionService.recordSession(request, USER_ID);
+
+        // Assert
+        assertSame(stored, session);
+        verifyNoInteractions(focusRecordService, focusHistogramService, eventPublisher);
+    }
+
+    @Test
+    void getWeeklySummary_ReportsThisWeekAndTheGapToLastWeek() {
+        // Arrange
+        LocalDate wednesday = WEDNESDAY.toLocalDate();
+        when(periodComparator.compare(USER_ID, FocusSessionDto.PeriodUnit.WEEK, wednesday, 2))
+                .thenReturn(FocusSessionDto.PeriodComparison.builder()
+                        .unit(FocusSessionDto.PeriodUnit.WEEK)
+                        .periods(List.of(
+                                FocusSessionDto.PeriodTotal.builder().totalSeconds(1200).build(),
+                                FocusSessionDto.PeriodTotal.builder().totalSeconds(2100).deltaSeconds(900).build()))
+                        .build());
+
+        // Act
+        FocusSessionDto.WeeklySummary weekly = focusSessionService.getWeeklySummary(USER_ID, wednesday);
+
+        // Assert
+        assertEquals(2100, weekly.getTotalSeconds());
+        assertEquals(900, weekly.getGapSeconds());
+    }
+}
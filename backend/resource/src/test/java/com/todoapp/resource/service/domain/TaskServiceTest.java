@@ -2,14 +2,17 @@ package com.todoapp.resource.service.domain;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.time.ZoneOffset;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -21,10 +24,13 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
+import com.todoapp.resource.domain.PomodoroSetting;
 import com.todoapp.resource.dto.RecurrenceRuleDto;
 import com.todoapp.resource.dto.RecurrenceRuleDto.Frequency;
 import com.todoapp.resource.dto.TaskDto;
+import com.todoapp.resource.event.TaskChangedEvent;
 import com.todoapp.resource.model.Category;
 import com.todoapp.resource.model.Task;
 import com.todoapp.resource.model.TaskList;
@@ -49,6 +55,8 @@ class TaskServiceTest {
     private PomodoroSettingRepository pomodoroSettingRepository;
     @Mock
     private FocusSessionRepository focusSessionRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private TaskService taskService;
@@ -161,6 +169,10 @@ class TaskServiceTest {
 
         // Check parent linkage
         assertEquals(t1.getId(), capturedTasks.get(1).getRecurrenceParentId());
+
+        // One event covers the whole series
+        verify(eventPublisher).publishEvent(
+                new TaskChangedEvent(userId, LocalDate.of(2026, 1, 5), LocalDate.of(2026, 1, 14)));
     }
 
     @Test
@@ -220,4 +232,155 @@ class TaskServiceTest {
         assertEquals(2, results.size());
         verify(taskRepository, times(2)).save(any(Task.class));
     }
+
+    @Test
+    void updateTask_Reschedule_PublishesOldAndNewDates() {
+        // Arrange
+        Task task = Task.builder().id(5L).userId(userId).title("Move me")
+                .scheduledStartAt(LocalDate.of(2026, 1, 5).atStartOfDay().atOffset(ZoneOffset.UTC)).build();
+        when(taskRepository.findByIdAndUserId(5L, userId)).thenReturn(Optional.of(task));
+        when(taskRepository.save(any(Task.class))).thenAnswer(i -> i.getArgument(0));
+        TaskDto.Update request = new TaskDto.Update(null, null, null, null, null, null, null, null, null, null,
+                null, LocalDate.of(2026, 2, 2).atStartOfDay().atOffset(ZoneOffset.UTC), null, null);
+
+        // Act
+        taskService.updateTask(5L, request, userId);
+
+        // Assert
+        verify(eventPublisher).publishEvent(
+                new TaskChangedEvent(userId, LocalDate.of(2026, 1, 5), LocalDate.of(2026, 2, 2)));
+    }
+
+    @Test
+    void deleteTask_PublishesTheTaskDate() {
+        // Arrange
+        Task task = Task.builder().id(5L).userId(userId).title("Delete me").isRecurring(false)
+                .scheduledStartAt(LocalDate.of(2026, 1, 5).atStartOfDay().atOffset(ZoneOffset.UTC)).build();
+        when(taskRepository.findByIdAndUserId(5L, userId)).thenReturn(Optional.of(task));
+        when(taskRepository.save(any(Task.class))).thenAnswer(i -> i.getArgument(0));
+
+        // Act
+        taskService.deleteTask(5L, userId);
+
+        // Assert
+        verify(eventPublisher).publishEvent(
+                new TaskChangedEvent(userId, LocalDate.of(2026, 1, 5), LocalDate.of(2026, 1, 5)));
+    }
+
+    private record DayStats(LocalDate date, Long completedCount, Long totalCount, Long estimatedPomodoros,
+            Long actualSeconds) implements TaskRepository.DailyTaskStatsProjection {
+
+        @Override
+        public LocalDate getDate() {
+            return date;
+        }
+
+        @Override
+        public Long getCompletedCount() {
+            return completedCount;
+        }
+
+        @Override
+        public Long getTotalCount() {
+            return totalCount;
+        }
+
+        @Override
+        public Long getEstimatedPomodoros() {
+            return estimatedPomodoros;
+        }
+
+        @Override
+        public Long getActualSeconds() {
+            return actualSeconds;
+        }
+    }
+
+    private void givenFocusDuration(int minutes) {
+        PomodoroSetting setting = new PomodoroSetting();
+        setting.setUserId(userId);
+        setting.setFocusDuration(minutes);
+        when(pomodoroSettingRepository.findByUserId(userId)).thenReturn(Optional.of(setting));
+    }
+
+    @Test
+    void getTaskStatsInRange_IsReadFromOneAggregate() {
+        // Arrange
+        LocalDate monday = LocalDate.of(2025, 3, 3);
+        when(taskRepository.aggregateTaskStatsByUserIdAndScheduledStartAtDateBetween(userId, monday,
+                monday.plusDays(6))).thenReturn(new DayStats(null, 1L, 2L, 2L, 2100L));
+        givenFocusDuration(30);
+
+        // Act
+        TaskDto.Stats stats = taskService.getTaskStatsInRange(userId, monday, monday.plusDays(6));
+
+        // Assert
+        assertEquals(1L, stats.getCompletedCount());
+        assertEquals(2L, stats.getTotalCount());
+        assertEquals(2 * 30, stats.getTotalEstimatedMinutes());
+        assertEquals(35, stats.getTotalActualMinutes());
+        // No task is loaded
+        verifyNoMoreInteractions(taskRepository);
+    }
+
+    @Test
+    void getTaskStatsInRange_EmptyRangeUsesDefaults() {
+        // Arrange
+        LocalDate monday = LocalDate.of(2025, 3, 3);
+        when(taskRepository.aggregateTaskStatsByUserIdAndScheduledStartAtDateBetween(userId, monday, monday))
+                .thenReturn(new DayStats(null, null, null, null, null));
+
+        // Act
+        TaskDto.Stats stats = taskService.getTaskStatsInRange(userId, monday, monday);
+
+        // Assert
+        assertEquals(0L, stats.getCompletedCount());
+        assertEquals(0L, stats.getTotalCount());
+        assertEquals(0, stats.getTotalEstimatedMinutes());
+        assertEquals(0, stats.getTotalActualMinutes());
+    }
+
+    @Test
+    void getTaskStatsForRanges_SumsEachRangeFromOneDailyAggregate() {
+        // Arrange
+        LocalDate monday = LocalDate.of(2025, 3, 3);
+        when(taskRepository.aggregateDailyTaskStatsByUserIdAndScheduledStartAtDateBetween(userId,
+                monday.minusDays(7), monday.plusDays(6))).thenReturn(List.of(
+                        new DayStats(monday.minusDays(3), 1L, 1L, 0L, 0L),
+                        new DayStats(monday.plusDays(1), 1L, 1L, 2L, 2100L),
+                        new DayStats(monday.plusDays(2), 0L, 1L, 0L, 0L)));
+        givenFocusDuration(30);
+
+        // Act
+        List<TaskDto.Stats> stats = taskService.getTaskStatsForRanges(userId, List.of(
+                new TaskDto.StatsRange(monday, monday.plusDays(6)),
+                new TaskDto.StatsRange(monday.minusDays(7), monday.minusDays(1)),
+                new TaskDto.StatsRange(monday.minusDays(7), monday.plusDays(6))));
+
+        // Assert
+        assertEquals(3, stats.size());
+        assertEquals(1L, stats.get(0).getCompletedCount());
+        assertEquals(2L, stats.get(0).getTotalCount());
+        assertEquals(2 * 30, stats.get(0).getTotalEstimatedMinutes());
+        assertEquals(35, stats.get(0).getTotalActualMinutes());
+        assertEquals(1L, stats.get(1).getCompletedCount());
+        assertEquals(1L, stats.get(1).getTotalCount());
+        assertEquals(0, stats.get(1).getTotalActualMinutes());
+        // Overlapping ranges are summed independently
+        assertEquals(2L, stats.get(2).getCompletedCount());
+        assertEquals(3L, stats.get(2).getTotalCount());
+        verify(taskRepository, times(1)).aggregateDailyTaskStatsByUserIdAndScheduledStartAtDateBetween(userId,
+                monday.minusDays(7), monday.plusDays(6));
+        verifyNoMoreInteractions(taskRepository);
+    }
+
+    @Test
+    void getTaskStatsForRanges_RejectsInvalidRanges() {
+        LocalDate monday = LocalDate.of(2025, 3, 3);
+
+        assertThrows(IllegalArgumentException.class, () -> taskService.getTaskStatsForRanges(userId, List.of()));
+        assertThrows(IllegalArgumentException.class, () -> taskService.getTaskStatsForRanges(userId,
+                List.of(new TaskDto.StatsRange(monday, monday.minusDays(1)))));
+        verifyNoMoreInteractions(taskRepository);
+    }
 }
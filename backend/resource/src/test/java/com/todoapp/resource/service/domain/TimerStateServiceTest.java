@@ -0,0 +1,83 @@
+package com.todoapp.resource.service.domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.todoapp.resource.config.AppConfigurationProperties;
+import com.todoapp.resource.dto.TimerDto;
+
+class TimerStateServiceTest {
+
+    private TimerStreamRegistry streamRegistry;
+    private TimerStateService timerStateService;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        streamRegistry = new TimerStreamRegistry(objectMapper, new AppConfigurationProperties());
+        timerStateService = new TimerStateService(streamRegistry);
+    }
+
+    @Test
+    void timerState_IsSharedAcrossDevicesUntilIdle() {
+        timerStateService.subscribe("user1");
+        timerStateService.subscribe("user1");
+        timerStateService.subscribe("user2");
+        assertEquals(3, streamRegistry.connectionCount());
+
+        TimerDto.State running = timerStateService.updateState("user1",
+                new TimerDto.Update(10L, "FOCUS", TimerDto.Status.RUNNING, 1500, 1200, null));
+        assertNotNull(running.endsAt());
+        assertEquals(running, timerStateService.getState("user1"));
+        assertEquals(TimerDto.Status.IDLE, timerStateService.getState("user2").status());
+
+        TimerDto.State paused = timerStateService.updateState("user1",
+                new TimerDto.Update(10L, "FOCUS", TimerDto.Status.PAUSED, 1500, 1100, null));
+        assertNull(paused.endsAt());
+        assertTrue(paused.version() > running.version());
+
+        timerStateService.updateState("user1", new TimerDto.Update(null, null, TimerDto.Status.IDLE, null, null, null));
+        assertEquals(TimerDto.Status.IDLE, timerStateService.getState("user1").status());
+        assertEquals(3, streamRegistry.connectionCount());
+    }
+
+    @Test
+    void timerState_RejectsIncompleteUpdates() {
+        assertThrows(IllegalArgumentException.class, () -> timerStateService.updateState("user1",
+                new TimerDto.Update(10L, "NAP", TimerDto.Status.RUNNING, 1500, 1200, null)));
+        assertThrows(IllegalArgumentException.class, () -> timerStateService.updateState("user1",
+                new TimerDto.Update(10L, "FOCUS", TimerDto.Status.RUNNING, 1500, null, null)));
+    }
+
+    @Test
+    void timerState_KeepsTheLatestVersionUnderConcurrentUpdates() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<TimerDto.State>> updates = IntStream.range(0, 200)
+                    .mapToObj(i -> executor.submit(() -> timerStateService.updateState("user1",
+                            new TimerDto.Update(10L, "FOCUS", TimerDto.Status.RUNNING, 1500, 1500 - i, null))))
+                    .toList();
+            long latest = 0;
+            for (Future<TimerDto.State> update : updates) {
+                latest = Math.max(latest, update.get().version());
+            }
+            assertEquals(latest, timerStateService.getState("user1").version());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.todoapp.resource.service.usecase;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.todoapp.resource.dto.AnalyticsDto;
+import com.todoapp.resource.model.Category;
+import com.todoapp.resource.model.FocusSession;
+import com.todoapp.resource.model.Task;
+import com.todoapp.resource.model.TaskStatus;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Correctness checks and a yearly-volume micro benchmark for
+ * {@link AnalyticsAggregator}.
+ * Timings and allocated bytes are logged, not asserted.
+ */
+@Slf4j
+class AnalyticsAggregatorTest {
+
+    private static final int CATEGORIES = 12;
+    private static final int TASKS = 2_000;
+    private static final int RECURRING_PARENTS = 50;
+    private static final int WARMUP_ROUNDS = 5;
+
+    private final AnalyticsAggregator aggregator = new AnalyticsAggregator();
+
+    @Test
+    void aggregatesSessionsIntoCategoriesTasksAndGroups() {
+        List<Task> tasks = buildTasks();
+        List<FocusSession> sessions = buildSessions(tasks, 10_000);
+
+        List<AnalyticsDto.CategoryFocusTime> categories = aggregator.aggregateCategories(sessions);
+        List<AnalyticsDto.TaskSummary> summaries = aggregator.buildTaskSummaryList(sessions, tasks, 25);
+        List<AnalyticsDto.GroupedTaskSummary> groups = aggregator.groupTaskSummaries(summaries);
+
+        int expectedMinutes = sessions.stream().mapToInt(s -> s.getActualDuration() / 60).sum();
+        assertEquals(CATEGORIES + 1, categories.size());
+        assertEquals(expectedMinutes, categories.stream().mapToInt(AnalyticsDto.CategoryFocusTime::minutes).sum());
+        assertEquals(TASKS, summaries.size());
+        // Task-less sessions do not contribute to task summaries
+        int taskMinutes = sessions.stream().filter(s -> s.getTask() != null)
+                .mapToInt(s -> s.getActualDuration() / 60).sum();
+        assertEquals(taskMinutes, summaries.stream().mapToInt(AnalyticsDto.TaskSummary::focusMinutes).sum());
+        assertEquals(taskMinutes, groups.stream().mapToInt(AnalyticsDto.GroupedTaskSummary::totalFocusMinutes).sum());
+        assertEquals(TASKS, groups.stream().mapToInt(AnalyticsDto.GroupedTaskSummary::totalCount).sum());
+        assertEquals(RECURRING_PARENTS,
+                groups.stream().filter(AnalyticsDto.GroupedTaskSummary::isRecurring).count());
+        for (int i = 1; i < groups.size(); i++) {
+            assertTrue(groups.get(i - 1).totalFocusMinutes() >= groups.get(i).totalFocusMinutes());
+        }
+    }
+
+    @Test
+    void benchmarkYearlyVolumes() {
+        List<Task> tasks = buildTasks();
+        for (int sessionCount : new int[] { 10_000, 100_000 }) {
+            List<FocusSession> sessions = buildSessions(tasks, sessionCount);
+            for (int i = 0; i < WARMUP_ROUNDS; i++) {
+                runAll(sessions, tasks);
+            }
+
+            long allocatedBefore = allocatedBytes();
+            long began = System.nanoTime();
+            runAll(sessions, tasks);
+            long elapsedMicros = (System.nanoTime() - began) / 1_000;
+            long allocated = allocatedBytes() - allocatedBefore;
+
+            log.info("Aggregated {} sessions in {} us, {} KiB allocated", sessionCount, elapsedMicros,
+                    allocated / 1024);
+        }
+    }
+
+    private void runAll(List<FocusSession> sessions, List<Task> tasks) {
+        aggregator.aggregateCategories(sessions);
+        aggregator.groupTaskSummaries(aggregator.buildTaskSummaryList(sessions, tasks, 25));
+    }
+
+    private static long allocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean) {
+            return bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+
+    private static List<Task> buildTasks() {
+        List<Category> categories = new ArrayList<>();
+        for (int i = 0; i < CATEGORIES; i++) {
+            categories.add(Category.builder().id((long) i + 1).name("Category " + i).color("#000000").build());
+        }
+
+        OffsetDateTime yearStart = OffsetDateTime.of(2025, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < TASKS; i++) {
+            tasks.add(Task.builder()
+                    .id((long) i + 1)
+                    .title("Task " + i)
+                    .category(categories.get(i % CATEGORIES))
+                    .status(i % 3 == 0 ? TaskStatus.COMPLETED : TaskStatus.PENDING)
+                    .estimatedPomodoros(i % 4)
+                    .recurrenceParentId(i % 5 == 0 ? (long) ((i / 5) % RECURRING_PARENTS) + 10_000 : null)
+                    .scheduledStartAt(yearStart.plusDays(i % 365))
+                    .build());
+        }
+        return tasks;
+    }
+
+    private static List<FocusSession> buildSessions(List<Task> tasks, int count) {
+        LocalDateTime yearStart = LocalDateTime.of(2025, 1, 1, 0, 0);
+        List<FocusSession> sessions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            // Every tenth session has no task and lands in "Uncategorized"
+            Task task = (i % 10 == 0) ? null : tasks.get(i % tasks.size());
+            LocalDateTime startedAt = yearStart.plusMinutes(i * 5L);
+            sessions.add(FocusSession.builder()
+                    .id((long) i + 1)
+                    .task(task)
+                    .sessionType(FocusSession.SessionType.FOCUS)
+                    .status(FocusSession.SessionStatus.COMPLETED)
+                    .scheduledDuration(1500)
+                    .actualDuration(600 + (i % 1200))
+                    .startedAt(startedAt)
+                    .endedAt(startedAt.plusMinutes(25))
+                    .build());
+        }
+        return sessions;
+    }
+}
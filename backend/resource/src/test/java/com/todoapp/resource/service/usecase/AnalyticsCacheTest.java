@@ -0,0 +1,58 @@
+package com.todoapp.resource.service.usecase;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import com.todoapp.resource.config.AppConfigurationProperties;
+
+class AnalyticsCacheTest {
+
+    private static final String USER_ID = "user1";
+
+    @SuppressWarnings("unchecked")
+    private final AnalyticsCache cache = new AnalyticsCache(new AppConfigurationProperties(),
+            mock(ObjectProvider.class));
+
+    private int load(AnalyticsCache.View view, OffsetDateTime start, OffsetDateTime end, AtomicInteger loads) {
+        return cache.get(USER_ID, view, start, end, loads::incrementAndGet, value -> true);
+    }
+
+    @Test
+    void invalidate_EvictsResultsComparedWithTheChangedPeriod() {
+        OffsetDateTime march = LocalDate.of(2024, 3, 1).atStartOfDay().atOffset(ZoneOffset.ofHours(9));
+        OffsetDateTime april = march.plusMonths(1);
+        OffsetDateTime may = april.plusMonths(1);
+        OffsetDateTime week = LocalDate.of(2024, 4, 15).atStartOfDay().atOffset(ZoneOffset.ofHours(9));
+        AtomicInteger loads = new AtomicInteger();
+
+        load(AnalyticsCache.View.MONTHLY, april, may, loads);
+        load(AnalyticsCache.View.WEEKLY, week, week.plusWeeks(1), loads);
+        load(AnalyticsCache.View.MONTHLY, april, may, loads);
+        load(AnalyticsCache.View.WEEKLY, week, week.plusWeeks(1), loads);
+        assertEquals(2, loads.get());
+
+        // April's result embeds March, the week of the 15th embeds the week before
+        cache.invalidate(USER_ID, LocalDate.of(2024, 3, 10));
+        load(AnalyticsCache.View.MONTHLY, april, may, loads);
+        assertEquals(3, loads.get());
+        load(AnalyticsCache.View.WEEKLY, week, week.plusWeeks(1), loads);
+        assertEquals(3, loads.get());
+
+        cache.invalidate(USER_ID, LocalDate.of(2024, 4, 9));
+        load(AnalyticsCache.View.WEEKLY, week, week.plusWeeks(1), loads);
+        assertEquals(4, loads.get());
+
+        // A change after the range does not touch it
+        cache.invalidate(USER_ID, LocalDate.of(2024, 5, 20));
+        load(AnalyticsCache.View.WEEKLY, week, week.plusWeeks(1), loads);
+        assertEquals(4, loads.get());
+    }
+}
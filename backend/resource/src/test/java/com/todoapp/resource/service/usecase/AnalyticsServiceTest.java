@@ -0,0 +1,549 @@
+package com.todoapp.resource.service.usecase;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.todoapp.resource.config.AppConfigurationProperties;
+import com.todoapp.resource.domain.PomodoroSetting;
+import com.todoapp.resource.dto.AnalyticsDto;
+import com.todoapp.resource.dto.FocusSessionDto;
+import com.todoapp.resource.dto.TaskDto;
+import com.todoapp.resource.job.AnalyticsSnapshotJob;
+import com.todoapp.resource.job.FocusSessionArchiveJob;
+import com.todoapp.resource.model.Category;
+import com.todoapp.resource.model.FocusSession;
+import com.todoapp.resource.model.Task;
+import com.todoapp.resource.model.TaskList;
+import com.todoapp.resource.model.TaskStatus;
+import com.todoapp.resource.repository.AnalyticsSnapshotRepository;
+import com.todoapp.resource.repository.ArchivedFocusSessionRepository;
+import com.todoapp.resource.repository.CategoryRepository;
+import com.todoapp.resource.repository.FocusHistogramRepository;
+import com.todoapp.resource.repository.FocusRecordRepository;
+import com.todoapp.resource.repository.FocusSessionRepository;
+import com.todoapp.resource.repository.PomodoroSettingRepository;
+import com.todoapp.resource.repository.TaskListRepository;
+import com.todoapp.resource.repository.TaskRepository;
+import com.todoapp.resource.service.domain.FocusRecordService;
+import com.todoapp.resource.service.domain.FocusSessionArchiveRouter;
+import com.todoapp.resource.service.domain.FocusSessionService;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Query-count and latency benchmark for the composite analytics endpoints.
+ * Runs against the in-memory H2 database with Hibernate statistics enabled.
+ * Data is committed (not rolled back) because sections run on worker threads.
+ */
+@Slf4j
+@SpringBootTest
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN" })
+class AnalyticsServiceTest {
+
+    private static final String USER_ID = "auth0|analytics";
+    // A past week so that no "today" goal snapshot is written during the reads
+    private static final OffsetDateTime WEEK_START = LocalDate.of(2025, 3, 3).atStartOfDay()
+            .atOffset(ZoneOffset.UTC);
+
+    @MockBean
+    JwtDecoder jwtDecoder;
+
+    @Autowired
+    private AnalyticsService analyticsService;
+    @Autowired
+    private FocusSessionRepository focusSessionRepository;
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private TaskListRepository taskListRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private PomodoroSettingRepository pomodoroSettingRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private AnalyticsCache analyticsCache;
+    @Autowired
+    private FocusSessionService focusSessionService;
+    @Autowired
+    private FocusRecordService focusRecordService;
+    @Autowired
+    private FocusRecordRepository focusRecordRepository;
+    @Autowired
+    private FocusHistogramRepository focusHistogramRepository;
+    @Autowired
+    private AnalyticsSnapshotJob analyticsSnapshotJob;
+    @Autowired
+    private AnalyticsSnapshotRepository analyticsSnapshotRepository;
+    @Autowired
+    private FocusSessionArchiveJob focusSessionArchiveJob;
+    @Autowired
+    private ArchivedFocusSessionRepository archivedFocusSessionRepository;
+    @Autowired
+    private FocusSessionArchiveRouter archiveRouter;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        PomodoroSetting setting = new PomodoroSetting();
+        setting.setUserId(USER_ID);
+        setting.setFocusDuration(30);
+        setting.setDailyGoal(60);
+        pomodoroSettingRepository.save(setting);
+
+        TaskList list = taskListRepository.save(TaskList.builder().userId(USER_ID).title("Work").build());
+        Category category = categoryRepository
+                .save(Category.builder().userId(USER_ID).name("Dev").color("#000000").build());
+
+        // Current week: one completed task (2 pomodoros) and one pending task
+        Task done = taskRepository.save(Task.builder().userId(USER_ID).title("done").taskList(list)
+                .category(category).status(TaskStatus.COMPLETED).estimatedPomodoros(2)
+                .scheduledStartAt(WEEK_START.plusDays(1)).build());
+        taskRepository.save(Task.builder().userId(USER_ID).title("open").taskList(list)
+                .category(category).scheduledStartAt(WEEK_START.plusDays(2)).build());
+        // Previous week: one completed task
+        taskRepository.save(Task.builder().userId(USER_ID).title("previous").taskList(list)
+                .status(TaskStatus.COMPLETED).scheduledStartAt(WEEK_START.minusDays(3)).build());
+
+        LocalDateTime start = WEEK_START.toLocalDateTime();
+        saveSession(done, start.plusDays(1).plusHours(9), 1500, FocusSession.SessionStatus.COMPLETED);
+        saveSession(done, start.plusDays(1).plusHours(10), 600, FocusSession.SessionStatus.INTERRUPTED);
+        saveSession(null, start.minusDays(2).plusHours(9), 1200, FocusSession.SessionStatus.COMPLETED);
+    }
+
+    @AfterEach
+    void tearDown() {
+        focusSessionRepository.deleteAll();
+        focusRecordRepository.deleteAll();
+        focusHistogramRepository.deleteAll();
+        analyticsSnapshotRepository.deleteAll();
+        archivedFocusSessionRepository.deleteAll();
+        taskRepository.deleteAll();
+        categoryRepository.deleteAll();
+        taskListRepository.deleteAll();
+        pomodoroSettingRepository.deleteAll();
+        analyticsCache.invalidateUser(USER_ID);
+    }
+
+    private void saveSession(Task task, LocalDateTime startedAt, int seconds, FocusSession.SessionStatus status) {
+        focusSessionRepository.save(FocusSession.builder()
+                .userId(USER_ID)
+                .task(task)
+                .sessionType(FocusSession.SessionType.FOCUS)
+                .status(status)
+                .scheduledDuration(1500)
+                .actualDuration(seconds)
+                .startedAt(startedAt)
+                .endedAt(startedAt.plusSeconds(seconds))
+                .build());
+    }
+
+    @Test
+    void weeklyAnalytics_ComputesKpiWithConsolidatedQueries() {
+        statistics.clear();
+        long began = System.nanoTime();
+
+        AnalyticsDto.WeeklyAnalyticsDto weekly = analyticsService.getWeeklyAnalytics(USER_ID, WEEK_START,
+                WEEK_START.plusWeeks(1));
+
+        long elapsedMicros = (System.nanoTime() - began) / 1_000;
+        long queries = statistics.getPrepareStatementCount();
+        log.info("Weekly analytics: {} statements in {} us", queries, elapsedMicros);
+
+        AnalyticsDto.KpiData kpi = weekly.getKpi();
+        assertEquals(35, kpi.totalFocusMinutes());
+        assertEquals(35 - 20, kpi.focusComparisonDiffMinutes());
+        assertEquals(1, kpi.tasksCompletedCount());
+        assertEquals(2, kpi.tasksTotalCount());
+        assertEquals(50.0, kpi.rhythmQuality());
+        assertEquals(2 * 30, kpi.totalEstimatedMinutes());
+        assertEquals(35, kpi.totalActualMinutes());
+        assertEquals(-50.0, kpi.taskCompletionRateGrowth());
+        assertTrue(queries <= 12, "weekly analytics issued " + queries + " statements");
+        assertFalse(weekly.isPartial());
+    }
+
+    @Test
+    void dailyAnalytics_ComputesKpiWithConsolidatedQueries() {
+        OffsetDateTime day = WEEK_START.plusDays(1);
+        statistics.clear();
+        long began = System.nanoTime();
+
+        AnalyticsDto.DailyAnalyticsDto daily = analyticsService.getDailyAnalytics(USER_ID, day);
+
+        long elapsedMicros = (System.nanoTime() - began) / 1_000;
+        long queries = statistics.getPrepareStatementCount();
+        log.info("Daily analytics: {} statements in {} us", queries, elapsedMicros);
+
+        assertEquals(35, daily.getKpi().totalFocusMinutes());
+        assertEquals(2, daily.getFocusSessions().size());
+        assertTrue(queries <= 8, "daily analytics issued " + queries + " statements");
+        assertFalse(daily.isPartial());
+    }
+
+    @Test
+    void yearlyHeatmap_UsesOneGroupedQueryPerMetric() {
+        statistics.clear();
+
+        AnalyticsDto.YearlyHeatmap heatmap = analyticsService.getYearlyHeatmap(USER_ID, 2025);
+
+        assertEquals(365, heatmap.focusMinutes().length);
+        assertEquals(365, heatmap.completedTasks().length);
+        assertEquals(LocalDate.of(2025, 1, 1), heatmap.startDate());
+        assertEquals(35, heatmap.focusMinutes()[dayIndex(WEEK_START.plusDays(1))]);
+        assertEquals(20, heatmap.focusMinutes()[dayIndex(WEEK_START.minusDays(2))]);
+        assertEquals(1, heatmap.completedTasks()[dayIndex(WEEK_START.plusDays(1))]);
+        assertEquals(1, heatmap.completedTasks()[dayIndex(WEEK_START.minusDays(3))]);
+        assertEquals(0, heatmap.completedTasks()[dayIndex(WEEK_START.plusDays(2))]);
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    private static int dayIndex(OffsetDateTime dateTime) {
+        return dateTime.getDayOfYear() - 1;
+    }
+
+    @Test
+    void weeklyAnalytics_IsCachedUntilSessionRecordedInRange() {
+        OffsetDateTime end = WEEK_START.plusWeeks(1);
+        AnalyticsDto.WeeklyAnalyticsDto first = analyticsService.getWeeklyAnalytics(USER_ID, WEEK_START, end);
+        assertSame(first, analyticsService.getWeeklyAnalytics(USER_ID, WEEK_START, end));
+
+        // A session two weeks later must not evict this week
+        focusSessionService.recordSession(recordRequest(WEEK_START.plusWeeks(2).toLocalDateTime()), USER_ID);
+        assertSame(first, analyticsService.getWeeklyAnalytics(USER_ID, WEEK_START, end));
+
+        focusSessionService.recordSession(recordRequest(WEEK_START.plusDays(3).toLocalDateTime()), USER_ID);
+        AnalyticsDto.WeeklyAnalyticsDto refreshed = analyticsService.getWeeklyAnalytics(USER_ID, WEEK_START, end);
+        assertEquals(35 + 10, refreshed.getKpi().totalFocusMinutes());
+        assertTrue(analyticsCache.stats().hits() >= 2);
+    }
+
+    @Test
+    void weeklyAnalytics_IsServedFromNightlySnapshotUntilPeriodChanges() {
+        // Snapshots cover weeks in the system time zone
+        OffsetDateTime start = WEEK_START.toLocalDate().atStartOfDay(ZoneId.systemDefault()).toOffsetDateTime();
+        OffsetDateTime end = start.plusWeeks(1);
+        AnalyticsDto.WeeklyAnalyticsDto live = analyticsService.getWeeklyAnalytics(USER_ID, start, end);
+        analyticsSnapshotJob.precomputeAll(end.toLocalDate());
+        assertEquals(2, analyticsSnapshotRepository.count());
+        analyticsCache.invalidateUser(USER_ID);
+
+        statistics.clear();
+        AnalyticsDto.WeeklyAnalyticsDto snapshot = analyticsService.getWeeklyAnalytics(USER_ID, start, end);
+        // Only the snapshot lookup runs, no live aggregation
+        assertEquals(1, statistics.getQueryExecutionCount());
+        assertEquals(live, snapshot);
+
+        // The same local week at another offset is computed live
+        ZoneOffset otherOffset = ZoneOffset.ofTotalSeconds(start.getOffset().getTotalSeconds() + 3600);
+        statistics.clear();
+        analyticsService.getWeeklyAnalytics(USER_ID, start.withOffsetSameLocal(otherOffset),
+                end.withOffsetSameLocal(otherOffset));
+        assertTrue(statistics.getQueryExecutionCount() > 1);
+
+        // A session inside the week deletes its snapshot but not the month's
+        focusSessionService.recordSession(recordRequest(WEEK_START.plusDays(3).toLocalDateTime()), USER_ID);
+        assertEquals(1, analyticsSnapshotRepository.count());
+        assertEquals(35 + 10,
+                analyticsService.getWeeklyAnalytics(USER_ID, start, end).getKpi().totalFocusMinutes());
+    }
+
+    @Test
+    void focusRecords_AreMaintainedIncrementallyAndMatchRebuild() {
+        LocalDateTime weekStart = WEEK_START.toLocalDateTime();
+
+        // No record yet: the first recorded session builds it from history
+        // (Sat 20 min, Tue 35 min, Wed 10 min)
+        focusSessionService.recordSession(recordRequest(weekStart.plusDays(2).plusHours(9)), USER_ID);
+        // In order: applied incrementally (Thu 10 min)
+        focusSessionService.recordSession(recordRequest(weekStart.plusDays(3).plusHours(9)), USER_ID);
+
+        AnalyticsDto.FocusRecords records = analyticsService.getFocusRecords(USER_ID);
+        assertEquals(3, records.longestStreak());
+        assertEquals(WEEK_START.plusDays(3).toLocalDate(), records.lastFocusDate());
+        assertEquals(WEEK_START.plusDays(1).toLocalDate(), records.bestDayDate());
+        assertEquals(35, records.bestDayMinutes());
+        assertEquals(WEEK_START.toLocalDate(), records.bestWeekStart());
+        assertEquals(35 + 10 + 10, records.bestWeekMinutes());
+        // The streak ended long ago
+        assertEquals(0, records.currentStreak());
+        assertFalse(focusRecordService.rebuild(USER_ID), "incremental record drifted from history");
+
+        // Backfilling Monday extends the streak to four days and the best week
+        focusSessionService.recordSession(recordRequest(weekStart.plusHours(9)), USER_ID);
+        records = analyticsService.getFocusRecords(USER_ID);
+        assertEquals(4, records.longestStreak());
+        assertEquals(35 + 10 + 10 + 10, records.bestWeekMinutes());
+        assertFalse(focusRecordService.rebuild(USER_ID));
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void archivedSessions_AreReadOnlyByRangesReachingTheArchive() {
+        OffsetDateTime day = WEEK_START.plusDays(1);
+        FocusSessionDto.RecordRequest replayed = recordRequest(day.toLocalDateTime().plusHours(12));
+        replayed.setClientSessionId(UUID.randomUUID().toString());
+        focusSessionService.recordSessions(List.of(replayed), USER_ID);
+        FocusSessionDto.TotalSummary total = focusSessionService.getTotalSummary(USER_ID);
+        FocusSessionDto.DailySummary dailySummary = focusSessionService.getDailySummary(USER_ID, day.toLocalDate());
+        AnalyticsDto.WeeklyAnalyticsDto weekly = analyticsService.getWeeklyAnalytics(USER_ID, WEEK_START,
+                WEEK_START.plusWeeks(1));
+        AnalyticsDto.DailyAnalyticsDto daily = analyticsService.getDailyAnalytics(USER_ID, day);
+        analyticsCache.invalidateUser(USER_ID);
+        focusRecordService.rebuild(USER_ID);
+
+        // Two years later, everything before June 2025 is moved
+        assertEquals(4, focusSessionArchiveJob.archive(LocalDate.of(2027, 6, 15)));
+        assertEquals(0, focusSessionRepository.count());
+        assertEquals(4, archivedFocusSessionRepository.count());
+
+        assertEquals(total, focusSessionService.getTotalSummary(USER_ID));
+        assertEquals(dailySummary, focusSessionService.getDailySummary(USER_ID, day.toLocalDate()));
+        // Replays of archived sessions are still recognized
+        assertEquals(1, focusSessionService.recordSessions(List.of(replayed), USER_ID).getDuplicates());
+        assertEquals(replayed.getClientSessionId(),
+                focusSessionService.recordSession(replayed, USER_ID).getClientSessionId());
+        assertEquals(0, focusSessionRepository.count());
+
+        assertEquals(weekly, analyticsService.getWeeklyAnalytics(USER_ID, WEEK_START, WEEK_START.plusWeeks(1)));
+        assertEquals(daily, analyticsService.getDailyAnalytics(USER_ID, day));
+        assertFalse(focusRecordService.rebuild(USER_ID), "archived sessions dropped out of the record");
+        assertTrue(archiveRouter.reachesArchive(WEEK_START.toLocalDateTime()));
+        assertFalse(archiveRouter.reachesArchive(LocalDate.of(2025, 6, 1).atStartOfDay()));
+    }
+
+    @Test
+    void columnStore_ServesCategoriesAndTaskSummariesLikeTheQueries() {
+        // A task scheduled for later, focused on during the week
+        Category writing = categoryRepository
+                .save(Category.builder().userId(USER_ID).name("Writing").color("#ffffff").build());
+        Task later = taskRepository.save(Task.builder().userId(USER_ID).title("later")
+                .taskList(taskListRepository.findAll().get(0)).category(writing)
+                .scheduledStartAt(WEEK_START.plusWeeks(3)).build());
+        saveSession(later, WEEK_START.toLocalDateTime().plusDays(3).plusHours(9), 1400,
+                FocusSession.SessionStatus.COMPLETED);
+        OffsetDateTime end = WEEK_START.plusWeeks(1);
+        AnalyticsDto.WeeklyCategoryAggregation categories = analyticsService.getCategoryAggregation(USER_ID,
+                WEEK_START, end);
+        List<AnalyticsDto.GroupedTaskSummary> tasks = analyticsService.getTaskSummary(USER_ID, WEEK_START, end);
+
+        AppConfigurationProperties appProperties = new AppConfigurationProperties();
+        appProperties.getAnalytics().getColumnStore().setEnabled(true);
+        Object queryStore = ReflectionTestUtils.getField(analyticsService, "columnStore");
+        ReflectionTestUtils.setField(analyticsService, "columnStore",
+                new FocusSessionColumnStore(focusSessionRepository, appProperties));
+        try {
+            AnalyticsDto.WeeklyCategoryAggregation fromStore = analyticsService.getCategoryAggregation(USER_ID,
+                    WEEK_START, end);
+            assertEquals(categories.totalMinutes(), fromStore.totalMinutes());
+            assertEquals(new HashSet<>(categories.categories()), new HashSet<>(fromStore.categories()));
+            assertEquals(tasks, analyticsService.getTaskSummary(USER_ID, WEEK_START, end));
+        } finally {
+            ReflectionTestUtils.setField(analyticsService, "columnStore", queryStore);
+        }
+    }
+
+    @Test
+    void periodComparison_IsComputedFromOneBucketedQuery() {
+        LocalDate wednesday = WEEK_START.toLocalDate().plusDays(2);
+
+        statistics.clear();
+        FocusSessionDto.PeriodComparison weeks = focusSessionService.getPeriodComparison(USER_ID,
+                FocusSessionDto.PeriodUnit.WEEK, wednesday, 12);
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(2100, weeks.getPeriods().get(11).getTotalSeconds());
+    }
+
+    @Test
+    void sessionDistribution_IsMergedFromDailyHistograms() {
+        LocalDate monday = WEEK_START.toLocalDate();
+
+        // The first recorded session backfills histograms from history
+        FocusSession wednesday = focusSessionService
+                .recordSession(recordRequest(WEEK_START.plusDays(2).toLocalDateTime()), USER_ID);
+        // Updating it moves it from "completed after 10 min" to "interrupted at 50%"
+        FocusSessionDto.RecordRequest update = recordRequest(wednesday.getStartedAt());
+        update.setId(wednesday.getId());
+        update.setStatus("INTERRUPTED");
+        update.setActualDuration(300);
+        focusSessionService.recordSession(update, USER_ID);
+
+        statistics.clear();
+        AnalyticsDto.SessionDistribution distribution = analyticsService.getSessionDistribution(USER_ID, monday,
+                monday.plusDays(6));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(3, distribution.sessionCount());
+        assertEquals(1, distribution.lengthBuckets()[1]);
+        assertEquals(1, distribution.lengthBuckets()[2]);
+        assertEquals(1, distribution.lengthBuckets()[5]);
+        assertEquals(12.5, distribution.p50Minutes());
+        assertEquals(1, distribution.interruptionBuckets()[4]);
+        assertEquals(1, distribution.interruptionBuckets()[5]);
+        assertEquals(2, distribution.completionByScheduledDuration().size());
+        AnalyticsDto.ScheduledDurationCompletion ten = distribution.completionByScheduledDuration().get(0);
+        assertEquals(10, ten.scheduledMinutes());
+        assertEquals(0, ten.completedCount());
+        AnalyticsDto.ScheduledDurationCompletion pomodoro = distribution.completionByScheduledDuration().get(1);
+        assertEquals(25, pomodoro.scheduledMinutes());
+        assertEquals(2, pomodoro.totalCount());
+        assertEquals(50.0, pomodoro.completionRate());
+    }
+
+    @Test
+    void hourlyProfile_SplitsSessionsAcrossHoursAndCachesWeeks() {
+        LocalDateTime weekStart = WEEK_START.toLocalDateTime();
+        LocalDate saturday = WEEK_START.minusDays(2).toLocalDate();
+        LocalDate sunday = WEEK_START.plusDays(6).toLocalDate();
+        // Wednesday 9:55 for 10 minutes: half in each hour
+        focusSessionService.recordSession(recordRequest(weekStart.plusDays(2).plusHours(9).plusMinutes(55)),
+                USER_ID);
+
+        // A partial week (Sat-Sun) and a full week, loaded in one query
+        statistics.clear();
+        AnalyticsDto.HourlyProfile profile = analyticsService.getHourlyProfile(USER_ID, saturday, sunday);
+        assertEquals(1, statistics.getPrepareStatementCount());
+        int[][] minutes = profile.focusMinutes();
+        assertEquals(25, minutes[1][9]);
+        assertEquals(10, minutes[1][10]);
+        assertEquals(5, minutes[2][9]);
+        assertEquals(5, minutes[2][10]);
+        assertEquals(20, minutes[5][9]);
+
+        // Both weeks are now cached
+        statistics.clear();
+        analyticsService.getHourlyProfile(USER_ID, saturday, sunday);
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        // A new session only reloads its own week
+        focusSessionService.recordSession(recordRequest(weekStart.plusDays(3).plusHours(14)), USER_ID);
+        statistics.clear();
+        profile = analyticsService.getHourlyProfile(USER_ID, saturday, sunday);
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(10, profile.focusMinutes()[3][14]);
+        assertEquals(20, profile.focusMinutes()[5][9]);
+    }
+
+    @Test
+    void query_GroupsSessionAndTaskMetricsByDimensions() {
+        LocalDate monday = WEEK_START.toLocalDate();
+        List<AnalyticsDto.QueryMetric> metrics = List.of(AnalyticsDto.QueryMetric.FOCUS_MINUTES,
+                AnalyticsDto.QueryMetric.SESSIONS, AnalyticsDto.QueryMetric.COMPLETED_TASKS,
+                AnalyticsDto.QueryMetric.ESTIMATE_ACCURACY);
+
+        // Two weeks by week: one session read and one task read
+        statistics.clear();
+        AnalyticsDto.QueryResult byWeek = analyticsService.query(USER_ID, new AnalyticsDto.AnalyticsQuery(
+                List.of(AnalyticsDto.QueryDimension.WEEK), metrics, monday.minusDays(7), monday.plusDays(6),
+                null));
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(2, byWeek.rows().size());
+        AnalyticsDto.QueryRow previous = byWeek.rows().get(0);
+        assertEquals(List.of(monday.minusDays(7)), previous.keys());
+        assertEquals(Arrays.asList(20.0, 1.0, 1.0, null), previous.values());
+        AnalyticsDto.QueryRow current = byWeek.rows().get(1);
+        assertEquals(List.of(monday), current.keys());
+        // 35 focus minutes against an estimate of 2 x 30 minutes
+        assertEquals(Arrays.asList(35.0, 2.0, 1.0, 58.3), current.values());
+
+        // Hour by category, restricted to sessions of categorized tasks
+        Long categoryId = categoryRepository.findAll().get(0).getId();
+        AnalyticsDto.QueryResult byHour = analyticsService.query(USER_ID, new AnalyticsDto.AnalyticsQuery(
+                List.of(AnalyticsDto.QueryDimension.CATEGORY, AnalyticsDto.QueryDimension.HOUR),
+                List.of(AnalyticsDto.QueryMetric.FOCUS_MINUTES), monday, monday.plusDays(6),
+                new AnalyticsDto.QueryFilter(List.of(categoryId), null, null)));
+        assertEquals(2, byHour.rows().size());
+        assertEquals(List.of(categoryId, 9), byHour.rows().get(0).keys());
+        assertEquals(List.of(25.0), byHour.rows().get(0).values());
+        assertEquals(List.of(categoryId, 10), byHour.rows().get(1).keys());
+    }
+
+    @Test
+    void estimationTrend_IsGroupedByWeekAndCategory() {
+        LocalDate monday = WEEK_START.toLocalDate();
+        Long categoryId = categoryRepository.findAll().get(0).getId();
+
+        statistics.clear();
+        List<AnalyticsDto.EstimationAccuracy> trend = analyticsService.getEstimationTrend(USER_ID,
+                monday.minusDays(7), monday.plusDays(6));
+
+        // Task read, pomodoro settings and category names
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(List.of(
+                new AnalyticsDto.EstimationAccuracy(monday.minusDays(7), null, null, 1, null),
+                new AnalyticsDto.EstimationAccuracy(monday, categoryId, "Dev", 1, 58.3)), trend);
+    }
+
+    @Test
+    void habits_AreAggregatedPerSeriesInOneQuery() {
+        LocalDate today = LocalDate.now();
+        Task parent = taskRepository.save(Task.builder().userId(USER_ID).title("run").isRecurring(true)
+                .status(TaskStatus.COMPLETED).scheduledStartAt(occurrence(today.minusDays(5))).build());
+        // -4 done, -3 missed, -2 and -1 done, today pending, tomorrow not yet due
+        TaskStatus[] statuses = { TaskStatus.COMPLETED, TaskStatus.PENDING, TaskStatus.COMPLETED,
+                TaskStatus.COMPLETED, TaskStatus.PENDING, TaskStatus.PENDING };
+        for (int i = 0; i < statuses.length; i++) {
+            taskRepository.save(Task.builder().userId(USER_ID).title("run").recurrenceParentId(parent.getId())
+                    .status(statuses[i]).scheduledStartAt(occurrence(today.minusDays(4 - i))).build());
+        }
+        // A deleted occurrence does not count as missed
+        taskRepository.save(Task.builder().userId(USER_ID).title("run").recurrenceParentId(parent.getId())
+                .isDeleted(true).scheduledStartAt(occurrence(today.minusDays(1))).build());
+
+        statistics.clear();
+        List<AnalyticsDto.Habit> habits = analyticsService.getHabits(USER_ID);
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(List.of(new AnalyticsDto.Habit(parent.getId(), "run", 5, 4, 1, 80.0, 2,
+                today.minusDays(1))), habits);
+    }
+
+    // Habit days are those of the system time zone
+    private static OffsetDateTime occurrence(LocalDate date) {
+        return date.atStartOfDay(ZoneId.systemDefault()).toOffsetDateTime();
+    }
+
+    private FocusSessionDto.RecordRequest recordRequest(LocalDateTime startedAt) {
+        return FocusSessionDto.RecordRequest.builder()
+                .sessionType("FOCUS")
+                .status("COMPLETED")
+                .scheduledDuration(600)
+                .actualDuration(600)
+                .startedAt(startedAt)
+                .endedAt(startedAt.plusMinutes(10))
+                .build();
+    }
+}
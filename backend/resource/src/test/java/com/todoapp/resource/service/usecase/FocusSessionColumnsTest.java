@@ -0,0 +1,130 @@
+package com.todoapp.resource.service.usecase;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.todoapp.resource.model.FocusSession;
+import com.todoapp.resource.repository.FocusSessionRepository;
+
+/**
+ * Range and update checks for {@link FocusSessionColumns}.
+ */
+class FocusSessionColumnsTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2025, 3, 4, 0, 0);
+
+    private record Row(Long id, LocalDateTime startedAt, Integer actualDuration, Long taskId, Long categoryId,
+            FocusSession.SessionType sessionType)
+            implements FocusSessionRepository.SessionColumnProjection {
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public LocalDateTime getStartedAt() {
+            return startedAt;
+        }
+
+        @Override
+        public Integer getActualDuration() {
+            return actualDuration;
+        }
+
+        @Override
+        public Long getTaskId() {
+            return taskId;
+        }
+
+        @Override
+        public Long getCategoryId() {
+            return categoryId;
+        }
+
+        @Override
+        public FocusSession.SessionType getSessionType() {
+            return sessionType;
+        }
+    }
+
+    private static Row focus(long id, LocalDateTime startedAt, int seconds) {
+        return new Row(id, startedAt, seconds, null, null, FocusSession.SessionType.FOCUS);
+    }
+
+    private static Row focus(long id, LocalDateTime startedAt, int seconds, Long taskId, Long categoryId) {
+        return new Row(id, startedAt, seconds, taskId, categoryId, FocusSession.SessionType.FOCUS);
+    }
+
+    @Test
+    void sumsWholeMinutesPerDayWithinHalfOpenRange() {
+        FocusSessionColumns columns = FocusSessionColumns.of(List.of(
+                focus(1, DAY.minusSeconds(1), 600),
+                focus(2, DAY.plusHours(9), 1500),
+                new Row(3L, DAY.plusHours(10), 300, null, null, FocusSession.SessionType.SHORT_BREAK),
+                focus(4, DAY.plusHours(23).plusMinutes(59), 90),
+                focus(5, DAY.plusDays(1), 1200)));
+
+        Map<LocalDate, Long> minutes = columns.dailyFocusMinutes(DAY, DAY.plusDays(1));
+
+        // 1500s + 90s = 26.5 minutes, breaks and sessions outside the range ignored
+        assertEquals(Map.of(DAY.toLocalDate(), 26L), minutes);
+        assertEquals(1, columns.lowerBound(FocusSessionColumns.epochSecond(DAY)));
+        assertEquals(5, columns.lowerBound(FocusSessionColumns.epochSecond(DAY.plusDays(2))));
+    }
+
+    @Test
+    void sumsWholeMinutesPerCategoryAndTask() {
+        FocusSessionColumns columns = FocusSessionColumns.of(List.of(
+                focus(1, DAY.plusHours(8), 90, 10L, 100L),
+                focus(2, DAY.plusHours(9), 90, 10L, 100L),
+                focus(3, DAY.plusHours(10), 600, 20L, null),
+                new Row(4L, DAY.plusHours(11), 300, 20L, null, FocusSession.SessionType.LONG_BREAK),
+                focus(5, DAY.plusHours(12), 1200),
+                focus(6, DAY.plusDays(1), 600, 10L, 100L)));
+
+        // Categories sum seconds first (180s = 3 minutes), tasks round down per session
+        assertEquals(Map.of(100L, 3, FocusSessionColumns.NONE, 30),
+                columns.categoryFocusMinutes(DAY, DAY.plusDays(1)));
+        assertEquals(Map.of(10L, 2, 20L, 10), columns.taskFocusMinutes(DAY, DAY.plusHours(23)));
+        // The task range includes its end
+        assertEquals(Map.of(10L, 12, 20L, 10), columns.taskFocusMinutes(DAY, DAY.plusDays(1)));
+    }
+
+    @Test
+    void upsertKeepsStartOrderAndReplacesExistingSession() {
+        FocusSessionColumns columns = FocusSessionColumns.of(List.of(
+                focus(1, DAY.plusHours(8), 600),
+                focus(2, DAY.plusHours(12), 600)));
+
+        columns.upsert(focus(3, DAY.plusHours(10), 1200));
+        columns.upsert(focus(1, DAY.plusDays(1), 1800));
+        // Progress of the latest session is overwritten in place
+        columns.upsert(focus(1, DAY.plusDays(1), 2400));
+
+        assertEquals(3, columns.size());
+        assertEquals(Map.of(DAY.toLocalDate(), 30L, DAY.toLocalDate().plusDays(1), 40L),
+                columns.dailyFocusMinutes(DAY, DAY.plusDays(2)));
+        assertEquals(2, columns.lowerBound(FocusSessionColumns.epochSecond(DAY.plusHours(13))));
+    }
+
+    @Test
+    void appendsBeyondInitialCapacity() {
+        FocusSessionColumns columns = FocusSessionColumns.of(List.of());
+
+        for (int i = 0; i < 40; i++) {
+            columns.upsert(focus(i, DAY.plusHours(i), 60));
+        }
+
+        assertEquals(40, columns.size());
+        assertEquals(24, columns.dailyFocusMinutes(DAY, DAY.plusDays(1)).get(DAY.toLocalDate()));
+        assertEquals(16, columns.dailyFocusMinutes(DAY.plusDays(1), DAY.plusDays(2))
+                .get(DAY.toLocalDate().plusDays(1)));
+    }
+}
@@ -1,8 +1,16 @@
 import { apiClient } from "@/config/env";
 import type {
+	AnalyticsQuery,
+	AnalyticsQueryResult,
 	DailyAnalyticsData,
+	EstimationAccuracyData,
+	FocusRecordsData,
+	HabitData,
+	HourlyProfileData,
 	MonthlyAnalyticsData,
+	SessionDistributionData,
 	WeeklyAnalyticsData,
+	YearlyHeatmapData,
 } from "../types";
 
 export const analyticsApi = {
@@ -34,4 +42,65 @@ export const analyticsApi = {
 		);
 		return response.data;
 	},
+
+	fetchYearlyHeatmap: async (year: number): Promise<YearlyHeatmapData> => {
+		const response = await apiClient.get<YearlyHeatmapData>(
+			"/api/analytics/heatmap",
+			{ params: { year } },
+		);
+		return response.data;
+	},
+
+	fetchFocusRecords: async (): Promise<FocusRecordsData> => {
+		const response = await apiClient.get<FocusRecordsData>(
+			"/api/analytics/records",
+		);
+		return response.data;
+	},
+
+	fetchHabits: async (): Promise<HabitData[]> => {
+		const response = await apiClient.get<HabitData[]>("/api/analytics/habits");
+		return response.data;
+	},
+
+	fetchSessionDistribution: async (
+		startDate: string,
+		endDate: string,
+	): Promise<SessionDistributionData> => {
+		const response = await apiClient.get<SessionDistributionData>(
+			"/api/analytics/session-distribution",
+			{ params: { startDate, endDate } },
+		);
+		return response.data;
+	},
+
+	fetchHourlyProfile: async (
+		startDate: string,
+		endDate: string,
+	): Promise<HourlyProfileData> => {
+		const response = await apiClient.get<HourlyProfileData>(
+			"/api/analytics/hourly-profile",
+			{ params: { startDate, endDate } },
+		);
+		return response.data;
+	},
+
+	fetchEstimationTrend: async (
+		startDate: string,
+		endDate: string,
+	): Promise<EstimationAccuracyData[]> => {
+		const response = await apiClient.get<EstimationAccuracyData[]>(
+			"/api/analytics/estimation-trend",
+			{ params: { startDate, endDate } },
+		);
+		return response.data;
+	},
+
+	runQuery: async (query: AnalyticsQuery): Promise<AnalyticsQueryResult> => {
+		const response = await apiClient.post<AnalyticsQueryResult>(
+			"/api/analytics/query",
+			query,
+		);
+		return response.data;
+	},
 };
@@ -215,6 +215,134 @@ export interface MonthlyAnalyticsData {
 	categoryAggregation: Record<string, CategoryFocusTime[]>;
 }
 
+/**
+ * Year-long heatmap from API.
+ * Index i of each array is the day startDate + i (365 or 366 entries).
+ */
+export interface YearlyHeatmapData {
+	year: number;
+	startDate: string;
+	focusMinutes: number[];
+	completedTasks: number[];
+}
+
+/**
+ * Focus streaks and personal records from API.
+ * Weeks start on Monday.
+ */
+export interface FocusRecordsData {
+	currentStreak: number;
+	longestStreak: number;
+	lastFocusDate: string | null;
+	bestDayDate: string | null;
+	bestDayMinutes: number;
+	bestWeekStart: string | null;
+	bestWeekMinutes: number;
+}
+
+/**
+ * Distribution of focus session lengths from API.
+ * Bucket i of lengthBuckets covers [i * bucketMinutes, (i + 1) * bucketMinutes)
+ * minutes; the last bucket is open-ended.
+ */
+export interface SessionDistributionData {
+	sessionCount: number;
+	bucketMinutes: number;
+	lengthBuckets: number[];
+	p50Minutes: number;
+	p90Minutes: number;
+	/** Interrupted sessions by 10% steps of the scheduled duration reached */
+	interruptionBuckets: number[];
+	completionByScheduledDuration: {
+		scheduledMinutes: number;
+		totalCount: number;
+		completedCount: number;
+		completionRate: number;
+	}[];
+}
+
+/**
+ * Completion statistics of one recurring task series from API.
+ * Occurrences are due once their day has passed (or today once completed).
+ */
+export interface HabitData {
+	seriesId: number;
+	title: string;
+	dueCount: number;
+	completedCount: number;
+	missedCount: number;
+	completionRate: number;
+	currentRun: number;
+	lastCompletedDate: string | null;
+}
+
+/**
+ * Focus minutes by weekday and hour of day from API.
+ * Row 0 of focusMinutes is Monday; column i is the hour starting at i:00.
+ */
+export interface HourlyProfileData {
+	startDate: string;
+	endDate: string;
+	focusMinutes: number[][];
+}
+
+/**
+ * Estimate accuracy of completed tasks per category per week from API.
+ * accuracy is actual focus time as a percentage of the estimate; weeks
+ * start on Monday.
+ */
+export interface EstimationAccuracyData {
+	weekStart: string;
+	categoryId: number | null;
+	categoryName: string | null;
+	completedTasks: number;
+	accuracy: number | null;
+}
+
+export type AnalyticsQueryDimension =
+	| "DAY"
+	| "WEEK"
+	| "MONTH"
+	| "CATEGORY"
+	| "TASK"
+	| "LIST"
+	| "HOUR";
+
+export type AnalyticsQueryMetric =
+	| "FOCUS_MINUTES"
+	| "SESSIONS"
+	| "COMPLETED_TASKS"
+	| "ESTIMATE_ACCURACY";
+
+/**
+ * Ad-hoc analytics query: metrics grouped by up to several dimensions.
+ * endDate is inclusive; filters are optional id lists.
+ */
+export interface AnalyticsQuery {
+	dimensions: AnalyticsQueryDimension[];
+	metrics: AnalyticsQueryMetric[];
+	startDate: string;
+	endDate: string;
+	filter?: {
+		categoryIds?: number[];
+		taskListIds?: number[];
+		taskIds?: number[];
+	};
+}
+
+/**
+ * Rows of an analytics query. keys follow the requested dimensions (dates
+ * as ISO strings, ids as numbers) and values follow the requested metrics.
+ */
+export interface AnalyticsQueryResult {
+	dimensions: AnalyticsQueryDimension[];
+	metrics: AnalyticsQueryMetric[];
+	rows: {
+		keys: (string | number | null)[];
+		values: (number | null)[];
+	}[];
+}
+
 // ============================================
 // Consolidated Analytics Types
 // ============================================
@@ -234,6 +362,10 @@ export interface WeeklyAnalyticsData {
 
 	// Tasks (Grouped - recurring tasks aggregated)
 	taskSummaries: GroupedTaskSummary[];
+
+	// Set when some sections missed the server-side deadline
+	partial?: boolean;
+	timedOutSections?: string[];
 }
 
 /**
@@ -254,4 +386,8 @@ export interface DailyAnalyticsData {
 
 	// Timeline
 	focusSessions: FocusSessionApiResponse[];
+
+	// Set when some sections missed the server-side deadline
+	partial?: boolean;
+	timedOutSections?: string[];
 }